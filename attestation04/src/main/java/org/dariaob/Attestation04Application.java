@@ -2,11 +2,13 @@ package org.dariaob;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Класс, запускающий приложение и поднятие Spring - контекста
  */
 @SpringBootApplication
+@EnableScheduling
 public class Attestation04Application {
 
     /**
@@ -30,6 +30,7 @@ public class CacheConfig {
                 "specializations",
                 "offices",
                 "doctorSchedule",
+                "doctorScheduleMatrix",
                 "doctorSpecializations",
                 "patientCardsHistory",
 
@@ -51,6 +52,26 @@ public class CacheConfig {
                 .expireAfterWrite(30, TimeUnit.MINUTES)
                 .maximumSize(200));
 
+        // Отрисованные календари врачей сбрасываются событиями изменения приёмов и расписания,
+        // поэтому живут дольше остальных кэшей
+        manager.registerCustomCache("doctorCalendar", Caffeine.newBuilder()
+                .expireAfterWrite(12, TimeUnit.HOURS)
+                .maximumSize(1000)
+                .build());
+
+        // Развёрнутые недели расписания: по записи на пару (врач, неделя), сбрасываются при изменении расписания
+        manager.registerCustomCache("doctorWeekSchedule", Caffeine.newBuilder()
+                .expireAfterWrite(12, TimeUnit.HOURS)
+                .maximumSize(20_000)
+                .build());
+
+        // Собранные профили врачей: сбрасываются по врачу событиями изменения врача, специализаций,
+        // расписания и приёмов; счётчики приёмов привязаны к дню сборки
+        manager.registerCustomCache("doctorProfiles", Caffeine.newBuilder()
+                .expireAfterWrite(12, TimeUnit.HOURS)
+                .maximumSize(1000)
+                .build());
+
         return manager;
     }
 }
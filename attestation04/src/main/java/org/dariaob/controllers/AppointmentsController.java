@@ -1,13 +1,28 @@
 package org.dariaob.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.appointments.AppointmentBatchResultDto;
+import org.dariaob.dto.appointments.AppointmentPageDto;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.dto.appointments.AppointmentRescheduleDto;
+import org.dariaob.dto.appointments.AppointmentRescheduleResultDto;
 import org.dariaob.dto.appointments.AppointmentResponseDto;
 import org.dariaob.services.AppointmentsService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,6 +40,11 @@ public class AppointmentsController {
      */
     private final AppointmentsService appointmentsService;
 
+    /**
+     * Сериализатор JSON для потоковой выгрузки
+     */
+    private final ObjectMapper objectMapper;
+
     /**
      * Получить список всех активных приемов
      * @return List приемов
@@ -41,6 +61,73 @@ public class AppointmentsController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получить страницу активных приёмов с курсорной пагинацией
+     * @param after id последнего приёма предыдущей страницы
+     * @param limit размер страницы
+     * @return страница приёмов и курсор следующей страницы
+     */
+    @Operation(
+            summary = "Получить страницу активных приёмов",
+            description = "Курсорная пагинация по id: для следующей страницы передайте nextCursor в параметре after. " +
+                    "Если передан только after, размер страницы — " + AppointmentsService.DEFAULT_PAGE_SIZE + ".",
+            tags = {"Приёмы"}
+    )
+    @GetMapping(value = "/active", params = "limit")
+    public AppointmentPageDto getActiveAppointmentsPage(
+            @Parameter(description = "id последнего приёма предыдущей страницы") @RequestParam(required = false) Long after,
+            @Parameter(description = "Размер страницы (1-500)") @RequestParam int limit) {
+        List<AppointmentResponseDto> items = appointmentsService.getActiveAppointmentsPage(after, limit).stream()
+                .map(AppointmentResponseDto::new)
+                .collect(Collectors.toList());
+        Long nextCursor = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+        return new AppointmentPageDto(items, nextCursor);
+    }
+
+    /**
+     * Получить страницу активных приёмов размера по умолчанию, если передан только курсор
+     * @param after id последнего приёма предыдущей страницы
+     * @return страница приёмов и курсор следующей страницы
+     */
+    @Operation(hidden = true)
+    @GetMapping(value = "/active", params = {"after", "!limit"})
+    public AppointmentPageDto getActiveAppointmentsPageAfter(@RequestParam Long after) {
+        return getActiveAppointmentsPage(after, AppointmentsService.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Потоковая выгрузка всех активных приёмов
+     * @return JSON-массив приёмов, записываемый в ответ по мере чтения из БД
+     */
+    @Operation(
+            summary = "Потоково выгрузить все активные приёмы",
+            description = "Возвращает JSON-массив всех активных приёмов, не накапливая его в памяти сервера.",
+            tags = {"Приёмы"}
+    )
+    @GetMapping("/active/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllActiveAppointments() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                int[] written = {0};
+                appointmentsService.streamAllActiveAppointments(appointment -> {
+                    try {
+                        generator.writeObject(new AppointmentResponseDto(appointment));
+                        if (++written[0] % AppointmentsService.STREAM_BATCH_SIZE == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Получить активный прием по id
      * @param id Идентификатор приема
@@ -56,6 +143,62 @@ public class AppointmentsController {
         return new AppointmentResponseDto(appointmentsService.getActiveAppointmentById(id));
     }
 
+    /**
+     * Записать пациента на приём
+     * @param dto данные приёма
+     * @return созданный приём
+     */
+    @Operation(
+            summary = "Записать пациента на приём",
+            description = "Создаёт приём одним запросом к БД. Если время пересекается с другим активным приёмом " +
+                    "врача, кабинета или пациента, возвращает 409.",
+            tags = {"Приёмы"}
+    )
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public AppointmentResponseDto createAppointment(
+            @Parameter(description = "Данные приёма") @RequestBody AppointmentRequestDto dto) {
+        Long id = appointmentsService.createAppointment(dto);
+        return new AppointmentResponseDto(appointmentsService.getActiveAppointmentById(id));
+    }
+
+    /**
+     * Записать пакет приёмов
+     * @param dtos данные приёмов
+     * @return результат по каждому приёму пакета
+     */
+    @Operation(
+            summary = "Записать пакет приёмов",
+            description = "Проверяет пересечения для всего пакета сразу и вставляет приёмы одним пакетом JDBC. " +
+                    "Для каждого элемента возвращает CREATED с ID приёма либо причину отказа: " +
+                    "CONFLICT, INVALID или NOT_FOUND.",
+            tags = {"Приёмы"}
+    )
+    @PostMapping("/batch")
+    public List<AppointmentBatchResultDto> createAppointments(
+            @Parameter(description = "Данные приёмов (до 500)") @RequestBody List<AppointmentRequestDto> dtos) {
+        return appointmentsService.createAppointments(dtos);
+    }
+
+    /**
+     * Массово перенести приёмы врача
+     * @param dto параметры переноса
+     * @return перенесённые приёмы
+     */
+    @Operation(
+            summary = "Массово перенести приёмы врача",
+            description = "Сдвигает по времени и (или) передаёт другому врачу все активные приёмы врача, " +
+                    "начинающиеся в диапазоне. Если хотя бы один приём пересечётся с другим, " +
+                    "ничего не переносится и возвращается 409.",
+            tags = {"Приёмы"}
+    )
+    @PostMapping("/reschedule")
+    public AppointmentRescheduleResultDto rescheduleDoctorAppointments(
+            @Parameter(description = "Параметры переноса") @RequestBody AppointmentRescheduleDto dto) {
+        List<Long> ids = appointmentsService.rescheduleDoctorAppointments(dto);
+        return new AppointmentRescheduleResultDto(ids.size(), ids);
+    }
+
     /**
      * Удаление приема через флаг isDeleted
      * @param id идентификатор приема
@@ -103,6 +246,50 @@ public class AppointmentsController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получить активные приёмы врача в диапазоне дат
+     * @param doctorId идентификатор врача
+     * @param from начало диапазона
+     * @param to конец диапазона
+     * @return приёмы, упорядоченные по времени начала
+     */
+    @Operation(
+            summary = "Получить приёмы врача в диапазоне дат",
+            description = "Возвращает активные приёмы врача, начинающиеся в диапазоне [from, to) (не длиннее 31 дня).",
+            tags = {"Приёмы"}
+    )
+    @GetMapping(value = "/doctor/{doctorId}", params = {"from", "to"})
+    public List<AppointmentResponseDto> getActiveAppointmentsByDoctorInRange(
+            @PathVariable Long doctorId,
+            @Parameter(description = "Начало диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return appointmentsService.getActiveAppointmentsByDoctorInRange(doctorId, from, to).stream()
+                .map(AppointmentResponseDto::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Получить активные приёмы в кабинете в диапазоне дат
+     * @param officeId идентификатор кабинета
+     * @param from начало диапазона
+     * @param to конец диапазона
+     * @return приёмы, упорядоченные по времени начала
+     */
+    @Operation(
+            summary = "Получить приёмы в кабинете в диапазоне дат",
+            description = "Возвращает активные приёмы в кабинете, начинающиеся в диапазоне [from, to) (не длиннее 31 дня).",
+            tags = {"Приёмы"}
+    )
+    @GetMapping("/office/{officeId}")
+    public List<AppointmentResponseDto> getActiveAppointmentsByOfficeInRange(
+            @PathVariable Long officeId,
+            @Parameter(description = "Начало диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return appointmentsService.getActiveAppointmentsByOfficeInRange(officeId, from, to).stream()
+                .map(AppointmentResponseDto::new)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Получить активные приёмы по пациенту
      * @param patientId идентификатор пациента
@@ -119,4 +306,26 @@ public class AppointmentsController {
                 .map(AppointmentResponseDto::new)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Получить активные приёмы пациента в диапазоне дат
+     * @param patientId идентификатор пациента
+     * @param from начало диапазона
+     * @param to конец диапазона
+     * @return приёмы, упорядоченные по времени начала
+     */
+    @Operation(
+            summary = "Получить приёмы пациента в диапазоне дат",
+            description = "Возвращает активные приёмы пациента, начинающиеся в диапазоне [from, to) (не длиннее 31 дня).",
+            tags = {"Приёмы"}
+    )
+    @GetMapping(value = "/patient/{patientId}", params = {"from", "to"})
+    public List<AppointmentResponseDto> getActiveAppointmentsByPatientInRange(
+            @PathVariable Long patientId,
+            @Parameter(description = "Начало диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец диапазона") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return appointmentsService.getActiveAppointmentsByPatientInRange(patientId, from, to).stream()
+                .map(AppointmentResponseDto::new)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,54 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.autocomplete.AutocompleteItemDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.services.AutocompleteService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер автодополнения имён пациентов, врачей и названий специализаций
+ */
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Автодополнение", description = "API подсказок по префиксу имени")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Найти пациентов, врачей и специализации по префиксу имени
+     *
+     * @param q     строка запроса
+     * @param types типы сущностей
+     * @param limit максимальное количество подсказок
+     * @return список подсказок
+     * @throws BadFormatException если количество подсказок вне допустимого диапазона
+     */
+    @Operation(
+            summary = "Подсказки по префиксу имени",
+            description = "Возвращает активных пациентов, врачей и специализации, у которых каждое слово запроса " +
+                    "является началом какого-либо слова имени. Регистр и различие «е»/«ё» не учитываются. " +
+                    "Поиск выполняется по индексу в памяти без обращения к БД",
+            tags = {"Автодополнение"}
+    )
+    @GetMapping
+    public List<AutocompleteItemDto> complete(
+            @Parameter(description = "Строка запроса", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Типы сущностей: PATIENT, DOCTOR, SPECIALIZATION")
+            @RequestParam(required = false) List<AutocompleteItemDto.Type> types,
+            @Parameter(description = "Максимальное количество подсказок (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.complete(q, types, limit);
+    }
+}
@@ -0,0 +1,56 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.availability.FreeSlotDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.services.AvailabilityService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер поиска свободного времени для записи к врачам
+ */
+@RestController
+@RequestMapping("/api/v1/availability")
+@RequiredArgsConstructor
+@Tag(name = "Свободное время", description = "API поиска свободных слотов для записи")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    /**
+     * Найти ближайшие свободные слоты у врачей специализации
+     *
+     * @param specializationId идентификатор специализации
+     * @param duration         длительность слота в минутах
+     * @param days             глубина поиска в днях
+     * @param limit            максимальное количество слотов
+     * @return список свободных слотов, упорядоченных по времени начала
+     * @throws BadFormatException если параметры поиска вне допустимых диапазонов
+     */
+    @Operation(
+            summary = "Найти свободные слоты",
+            description = "Возвращает ближайшие свободные слоты у всех активных врачей указанной специализации " +
+                    "с учётом расписания и уже назначенных приёмов",
+            tags = {"Свободное время"}
+    )
+    @GetMapping("/free-slots")
+    public List<FreeSlotDto> findFreeSlots(
+            @Parameter(description = "Идентификатор специализации", required = true)
+            @RequestParam Long specializationId,
+            @Parameter(description = "Длительность слота в минутах")
+            @RequestParam(defaultValue = "20") int duration,
+            @Parameter(description = "Глубина поиска в днях")
+            @RequestParam(defaultValue = "14") int days,
+            @Parameter(description = "Максимальное количество слотов")
+            @RequestParam(defaultValue = "10") int limit) {
+        return availabilityService.findFreeSlots(specializationId, duration, days, limit);
+    }
+}
@@ -6,9 +6,20 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationRequestDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationResultDto;
+import org.dariaob.dto.doctorSchedule.ScheduleConflictDto;
+import org.dariaob.dto.doctorSchedule.ScheduleImportResultDto;
+import org.dariaob.services.DoctorScheduleImportService;
 import org.dariaob.services.DoctorScheduleService;
+import org.dariaob.services.OfficeAllocationService;
+import org.dariaob.services.ScheduleConflictService;
+import org.dariaob.services.ScheduleMatrixService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 
@@ -31,6 +42,26 @@ public class DoctorScheduleController {
      */
     private final DoctorScheduleService doctorScheduleService;
 
+    /**
+     * Сервис проверки пересечений расписаний в кабинетах
+     */
+    private final ScheduleConflictService scheduleConflictService;
+
+    /**
+     * Сервис недельной матрицы расписания
+     */
+    private final ScheduleMatrixService scheduleMatrixService;
+
+    /**
+     * Сервис подбора кабинетов
+     */
+    private final OfficeAllocationService officeAllocationService;
+
+    /**
+     * Сервис импорта расписания из CSV
+     */
+    private final DoctorScheduleImportService doctorScheduleImportService;
+
     /**
      * Получить все активные (неудалённые) записи расписания врачей.
      *
@@ -111,6 +142,60 @@ public class DoctorScheduleController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получить недельную матрицу расписания всех активных врачей.
+     *
+     * @return JSON матрицы «врач × день»
+     */
+    @Operation(
+            summary = "Недельная матрица расписания",
+            description = "Возвращает расписание всех активных врачей одной структурой: строка на врача, " +
+                    "в строке семь дней (с понедельника) со списками окон приёма и кабинетов",
+            tags = {"Расписание врачей"}
+    )
+    @GetMapping(value = "/matrix", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMatrix() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(scheduleMatrixService.getMatrixJson());
+    }
+
+    /**
+     * Найти все пересечения расписаний разных врачей в одном кабинете.
+     *
+     * @return список конфликтов
+     */
+    @Operation(
+            summary = "Аудит расписаний кабинетов",
+            description = "Возвращает все пары записей расписания разных врачей, пересекающиеся по времени " +
+                    "в одном кабинете в один день недели",
+            tags = {"Расписание врачей"}
+    )
+    @GetMapping("/audit")
+    public List<ScheduleConflictDto> audit() {
+        return scheduleConflictService.audit();
+    }
+
+    /**
+     * Подобрать кабинеты для записей расписания.
+     *
+     * @param request записи, доступные кабинеты и бюджет времени
+     * @return предлагаемые назначения кабинетов
+     */
+    @Operation(
+            summary = "Подобрать кабинеты для расписания",
+            description = "Предлагает распределение кабинетов, минимизирующее пересечения врачей в кабинетах " +
+                    "и число занятых за день кабинетов. Ничего не сохраняет. Если записи не переданы, " +
+                    "распределяется текущее расписание",
+            tags = {"Расписание врачей"}
+    )
+    @PostMapping("/office-allocation")
+    public OfficeAllocationResultDto allocateOffices(
+            @Parameter(description = "Записи, кабинеты и бюджет времени")
+            @org.springframework.web.bind.annotation.RequestBody OfficeAllocationRequestDto request) {
+        return officeAllocationService.allocate(request);
+    }
+
     /**
      * Создать новую запись в расписании врача.
      *
@@ -119,7 +204,8 @@ public class DoctorScheduleController {
      */
     @Operation(
             summary = "Создать запись в расписании",
-            description = "Создаёт новую запись в расписании врача",
+            description = "Создаёт новую запись в расписании врача. Если кабинет в это время занят " +
+                    "другим врачом, возвращается 409",
             tags = {"Расписание врачей"}
     )
     @PostMapping
@@ -130,6 +216,25 @@ public class DoctorScheduleController {
         return DoctorScheduleDto.fromEntity(schedule);
     }
 
+    /**
+     * Импортировать записи расписания из CSV.
+     *
+     * @param csv содержимое файла
+     * @return число импортированных записей или ошибки по строкам (400)
+     */
+    @Operation(
+            summary = "Импорт расписания из CSV",
+            description = "Импортирует записи расписания из CSV со строками " +
+                    "doctor_id,day_of_week,start_time,end_time[,office_id]. Файл импортируется целиком: " +
+                    "при любой ошибке ничего не сохраняется и возвращается 400 со списком ошибок по строкам",
+            tags = {"Расписание врачей"}
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ScheduleImportResultDto> importCsv(InputStream csv) {
+        ScheduleImportResultDto result = doctorScheduleImportService.importCsv(csv);
+        return result.getErrors().isEmpty() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     /**
      * Обновить запись в расписании врача.
      *
@@ -139,7 +244,8 @@ public class DoctorScheduleController {
      */
     @Operation(
             summary = "Обновить запись в расписании",
-            description = "Обновляет существующую запись в расписании врача",
+            description = "Обновляет существующую запись в расписании врача. Если кабинет в это время занят " +
+                    "другим врачом, возвращается 409",
             tags = {"Расписание врачей"}
     )
     @PutMapping("/{id}")
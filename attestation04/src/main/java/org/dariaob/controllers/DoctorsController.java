@@ -1,15 +1,24 @@
 package org.dariaob.controllers;
 
+import org.dariaob.dto.doctors.DoctorBatchItemDto;
+import org.dariaob.dto.doctors.DoctorCalendarDto;
+import org.dariaob.dto.doctors.DoctorProfileDto;
 import org.dariaob.dto.doctors.DoctorRequestDto;
 import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.dto.doctors.DoctorWorkloadDto;
 import org.dariaob.models.*;
 import org.dariaob.services.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,6 +36,11 @@ public class DoctorsController {
     private final OfficesService officesService;
     private final SpecializationsService specializationsService;
     private final DoctorSpecializationsService doctorSpecializationsService;
+    private final DoctorCalendarService doctorCalendarService;
+    private final DoctorSearchIndexService doctorSearchIndexService;
+    private final DoctorsBatchService doctorsBatchService;
+    private final DoctorProfileService doctorProfileService;
+    private final WorkloadCounterService workloadCounterService;
 
     /**
      * Получить всех активных врачей.
@@ -43,6 +57,39 @@ public class DoctorsController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Найти активных врачей по специализациям, дню приёма и кабинету.
+     */
+    @Operation(
+            summary = "Поиск врачей по нескольким критериям",
+            description = "Возвращает активных врачей, у которых есть все указанные специализации, "
+                    + "которые принимают в указанный день недели и в указанном кабинете. "
+                    + "Поиск выполняется по индексу в памяти без обращения к БД.",
+            tags = {"Врачи"}
+    )
+    @GetMapping("/search")
+    public List<DoctorResponseDto> searchDoctors(
+            @Parameter(description = "ID специализаций (все сразу)") @RequestParam(required = false) List<Long> specializationIds,
+            @Parameter(description = "День недели (1-7)") @RequestParam(required = false) Short dayOfWeek,
+            @Parameter(description = "ID кабинета") @RequestParam(required = false) Long officeId) {
+        return doctorSearchIndexService.findDoctors(specializationIds, dayOfWeek, officeId);
+    }
+
+    /**
+     * Получить текущую нагрузку врачей.
+     */
+    @Operation(
+            summary = "Нагрузка врачей",
+            description = "Возвращает число активных приёмов сегодня и на текущей неделе для врачей, "
+                    + "у которых есть приёмы на этой неделе. Счётчики ведутся в памяти и периодически "
+                    + "сверяются с БД.",
+            tags = {"Врачи"}
+    )
+    @GetMapping("/workload")
+    public List<DoctorWorkloadDto> getDoctorsWorkload() {
+        return workloadCounterService.getWorkload();
+    }
+
     /**
      * Получить врача по его идентификатору.
      */
@@ -57,6 +104,45 @@ public class DoctorsController {
         return new DoctorResponseDto(doctorsService.getActiveById(id));
     }
 
+    /**
+     * Получить профиль врача.
+     */
+    @Operation(
+            summary = "Профиль врача",
+            description = "Возвращает данные врача с кабинетом и специализациями, его расписание на текущую неделю "
+                    + "и число активных приёмов сегодня, до конца недели и всего предстоящих. "
+                    + "Профиль собирается двумя запросами и кэшируется до изменения врача, расписания или приёмов.",
+            tags = {"Врачи"}
+    )
+    @GetMapping("/{id}/profile")
+    public DoctorProfileDto getDoctorProfile(
+            @Parameter(description = "ID врача") @PathVariable Long id) {
+        return doctorProfileService.getProfile(id);
+    }
+
+    /**
+     * Получить календарь врача в формате iCalendar.
+     */
+    @Operation(
+            summary = "Календарь врача (iCalendar)",
+            description = "Возвращает приёмы и расписание врача в формате text/calendar для подписки из календарных приложений. "
+                    + "Поддерживает условный запрос по ETag: при совпадении If-None-Match возвращается 304 без тела.",
+            tags = {"Врачи"}
+    )
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<byte[]> getDoctorCalendar(
+            @Parameter(description = "ID врача") @PathVariable Long id,
+            WebRequest request) {
+        DoctorCalendarDto calendar = doctorCalendarService.getCalendar(id);
+        if (request.checkNotModified(calendar.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(calendar.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(calendar.getEtag())
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .body(calendar.getBody());
+    }
+
     /**
      * Создать нового врача.
      */
@@ -92,6 +178,22 @@ public class DoctorsController {
         return new DoctorResponseDto(savedDoctor);
     }
 
+    /**
+     * Создать или обновить врачей пакетом.
+     */
+    @Operation(
+            summary = "Пакетно создать или обновить врачей",
+            description = "Создаёт врачей без ID и обновляет врачей с ID вместе с их кабинетами и специализациями. "
+                    + "Пакет сохраняется целиком в одной транзакции: специализации и кабинеты проверяются "
+                    + "одним запросом на пакет, связи со специализациями записываются пакетами JDBC.",
+            tags = {"Врачи"}
+    )
+    @PostMapping("/batch")
+    public List<DoctorResponseDto> saveDoctorsBatch(
+            @Parameter(description = "Данные врачей") @RequestBody List<DoctorBatchItemDto> dtos) {
+        return doctorsBatchService.saveAll(dtos);
+    }
+
     /**
      * Обновить информацию о враче.
      */
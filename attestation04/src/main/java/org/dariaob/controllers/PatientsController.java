@@ -1,11 +1,13 @@
 package org.dariaob.controllers;
 
 import org.dariaob.dto.patients.PatientDto;
+import org.dariaob.dto.patients.PatientTimelinePageDto;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Patients;
 import org.dariaob.models.PatientCards;
 import org.dariaob.services.PatientsService;
 import org.dariaob.services.PatientCardsService;
+import org.dariaob.services.PatientTimelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +28,7 @@ public class PatientsController {
 
     private final PatientsService patientsService;
     private final PatientCardsService patientCardsService;
+    private final PatientTimelineService patientTimelineService;
 
     /**
      * Получить список всех активных (неудаленных) пациентов
@@ -63,6 +66,32 @@ public class PatientsController {
         return convertToDto(patientsService.getActiveById(id));
     }
 
+    /**
+     * Получить ленту пациента: приёмы и изменения медицинской карты
+     *
+     * @param id     идентификатор пациента
+     * @param before курсор предыдущей страницы
+     * @param limit  размер страницы
+     * @return страница ленты и курсор следующей страницы
+     * @throws DataNotFoundException если пациент не найден или удален
+     */
+    @Operation(
+            summary = "Получить ленту пациента",
+            description = "Возвращает приёмы и изменения медицинской карты пациента одним списком от новых к старым. "
+                    + "Курсорная пагинация: для следующей страницы передайте nextCursor в параметре before.",
+            tags = {"Пациенты"}
+    )
+    @GetMapping("/{id}/timeline")
+    public PatientTimelinePageDto getPatientTimeline(
+            @Parameter(description = "Уникальный идентификатор пациента", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Курсор последнего события предыдущей страницы")
+            @RequestParam(required = false) String before,
+            @Parameter(description = "Размер страницы (1-200)")
+            @RequestParam(defaultValue = "50") int limit) {
+        return patientTimelineService.getTimeline(id, before, limit);
+    }
+
     /**
      * Найти пациента по номеру телефона
      *
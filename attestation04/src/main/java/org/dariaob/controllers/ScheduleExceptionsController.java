@@ -0,0 +1,97 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.scheduleExceptions.ScheduleExceptionRequestDto;
+import org.dariaob.dto.scheduleExceptions.ScheduleExceptionResponseDto;
+import org.dariaob.services.ScheduleExceptionsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Контроллер исключений из расписания врачей.
+ */
+@RestController
+@RequestMapping("/api/v1/schedule-exceptions")
+@RequiredArgsConstructor
+@Tag(name = "Исключения из расписания", description = "Праздники, отпуска, больничные и дополнительные смены")
+public class ScheduleExceptionsController {
+
+    private final ScheduleExceptionsService scheduleExceptionsService;
+
+    /**
+     * Получить исключения в диапазоне дат
+     * @param doctorId ID врача
+     * @param from первый день
+     * @param to последний день
+     * @return список исключений
+     */
+    @Operation(
+            summary = "Получить исключения из расписания в диапазоне дат",
+            description = "Если указан врач, возвращаются его исключения и праздники клиники.",
+            tags = {"Исключения из расписания"}
+    )
+    @GetMapping
+    public List<ScheduleExceptionResponseDto> find(
+            @Parameter(description = "ID врача") @RequestParam(required = false) Long doctorId,
+            @Parameter(description = "Первый день") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Последний день") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return scheduleExceptionsService.find(doctorId, from, to).stream()
+                .map(ScheduleExceptionResponseDto::new)
+                .toList();
+    }
+
+    /**
+     * Получить исключение по ID
+     * @param id идентификатор исключения
+     * @return исключение
+     */
+    @Operation(
+            summary = "Получить исключение из расписания по ID",
+            description = "Возвращает активное исключение.",
+            tags = {"Исключения из расписания"}
+    )
+    @GetMapping("/{id}")
+    public ScheduleExceptionResponseDto getById(@PathVariable Long id) {
+        return new ScheduleExceptionResponseDto(scheduleExceptionsService.getById(id));
+    }
+
+    /**
+     * Создать исключение
+     * @param dto данные исключения
+     * @return созданное исключение
+     */
+    @Operation(
+            summary = "Создать исключение из расписания",
+            description = "Праздник без врача закрывает всю клинику; отпуск и больничный снимают рабочее время врача, " +
+                    "дополнительная смена добавляет его. Свободные слоты пересчитываются сразу.",
+            tags = {"Исключения из расписания"}
+    )
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ScheduleExceptionResponseDto create(
+            @Parameter(description = "Данные исключения") @RequestBody ScheduleExceptionRequestDto dto) {
+        return new ScheduleExceptionResponseDto(scheduleExceptionsService.create(dto));
+    }
+
+    /**
+     * Удалить исключение
+     * @param id идентификатор исключения
+     */
+    @Operation(
+            summary = "Удалить исключение из расписания",
+            description = "Мягкое удаление: расписание снова строится только по еженедельным правилам.",
+            tags = {"Исключения из расписания"}
+    )
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long id) {
+        scheduleExceptionsService.delete(id);
+    }
+}
@@ -0,0 +1,90 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.slotHolds.SlotHoldConfirmDto;
+import org.dariaob.dto.slotHolds.SlotHoldRequestDto;
+import org.dariaob.dto.slotHolds.SlotHoldResponseDto;
+import org.dariaob.services.SlotHoldService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Контроллер временных броней слотов на время оформления записи.
+ */
+@RestController
+@RequestMapping("/api/v1/slot-holds")
+@RequiredArgsConstructor
+@Tag(name = "Брони слотов", description = "Временное удержание слота врача и кабинета до подтверждения записи")
+public class SlotHoldsController {
+
+    private final SlotHoldService slotHoldService;
+
+    /**
+     * Удержать слот
+     * @param dto врач, кабинет, интервал и срок брони
+     * @return созданная бронь
+     */
+    @Operation(
+            summary = "Удержать слот",
+            description = "Удерживает интервал врача и кабинета на указанное число минут. " +
+                    "Если интервал занят приёмом или другой бронью, возвращает 409.",
+            tags = {"Брони слотов"}
+    )
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SlotHoldResponseDto hold(@Parameter(description = "Данные брони") @RequestBody SlotHoldRequestDto dto) {
+        return new SlotHoldResponseDto(slotHoldService.hold(dto.getDoctorId(), dto.getOfficeId(),
+                dto.getWorkHoursFrom(), dto.getWorkHoursFor(), dto.getTtlMinutes()));
+    }
+
+    /**
+     * Получить бронь по ID
+     * @param id идентификатор брони
+     * @return бронь
+     */
+    @Operation(
+            summary = "Получить бронь по ID",
+            description = "Возвращает бронь и её текущий статус.",
+            tags = {"Брони слотов"}
+    )
+    @GetMapping("/{id}")
+    public SlotHoldResponseDto getById(@PathVariable Long id) {
+        return new SlotHoldResponseDto(slotHoldService.getById(id));
+    }
+
+    /**
+     * Подтвердить бронь
+     * @param id  идентификатор брони
+     * @param dto данные пациента
+     * @return подтверждённая бронь с ID приёма
+     */
+    @Operation(
+            summary = "Подтвердить бронь",
+            description = "Создаёт приём в удерживаемом интервале. Если бронь истекла или отменена, возвращает 409.",
+            tags = {"Брони слотов"}
+    )
+    @PostMapping("/{id}/confirm")
+    public SlotHoldResponseDto confirm(
+            @PathVariable Long id,
+            @Parameter(description = "Данные пациента") @RequestBody SlotHoldConfirmDto dto) {
+        return new SlotHoldResponseDto(slotHoldService.confirm(id, dto.getPatientId(), dto.getInsuranceId()));
+    }
+
+    /**
+     * Отменить бронь
+     * @param id идентификатор брони
+     */
+    @Operation(
+            summary = "Отменить бронь",
+            description = "Отменяет действующую бронь и освобождает интервал.",
+            tags = {"Брони слотов"}
+    )
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancel(@PathVariable Long id) {
+        slotHoldService.cancel(id);
+    }
+}
@@ -0,0 +1,70 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.waitlist.WaitlistRequestDto;
+import org.dariaob.dto.waitlist.WaitlistResponseDto;
+import org.dariaob.services.WaitlistService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Контроллер листа ожидания освободившихся слотов.
+ */
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@RequiredArgsConstructor
+@Tag(name = "Лист ожидания", description = "Ожидание освободившихся слотов у врача или по специализации")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Поставить пациента в лист ожидания
+     * @param dto пациент, врач или специализация, срочность и окно времени
+     * @return созданная запись
+     */
+    @Operation(
+            summary = "Поставить пациента в лист ожидания",
+            description = "Когда у врача отменяется приём, слот предлагается ожидающему пациенту: " +
+                    "создаётся временная бронь, ID которой появляется в записи (holdId).",
+            tags = {"Лист ожидания"}
+    )
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public WaitlistResponseDto join(@Parameter(description = "Данные записи") @RequestBody WaitlistRequestDto dto) {
+        return new WaitlistResponseDto(waitlistService.join(dto));
+    }
+
+    /**
+     * Получить запись листа ожидания по ID
+     * @param id идентификатор записи
+     * @return запись
+     */
+    @Operation(
+            summary = "Получить запись листа ожидания по ID",
+            description = "Возвращает запись, её статус и бронь предложенного слота.",
+            tags = {"Лист ожидания"}
+    )
+    @GetMapping("/{id}")
+    public WaitlistResponseDto getById(@PathVariable Long id) {
+        return new WaitlistResponseDto(waitlistService.getById(id));
+    }
+
+    /**
+     * Снять запись из листа ожидания
+     * @param id идентификатор записи
+     */
+    @Operation(
+            summary = "Снять запись из листа ожидания",
+            description = "Если пациенту уже предложен слот, бронь отменяется и слот предлагается следующему.",
+            tags = {"Лист ожидания"}
+    )
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancel(@PathVariable Long id) {
+        waitlistService.cancel(id);
+    }
+}
@@ -0,0 +1,113 @@
+package org.dariaob.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.walkIn.WalkInPositionDto;
+import org.dariaob.dto.walkIn.WalkInQueueDto;
+import org.dariaob.dto.walkIn.WalkInRequestDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.dariaob.services.WalkInQueueService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Контроллер живой очереди пациентов без записи по кабинетам.
+ */
+@RestController
+@RequestMapping("/api/v1/offices/{officeId}/walk-in")
+@RequiredArgsConstructor
+@Tag(name = "Живая очередь", description = "Очередь пациентов без записи у кабинета")
+public class WalkInQueueController {
+
+    private final WalkInQueueService walkInQueueService;
+
+    /**
+     * Поставить пациента в очередь
+     * @param officeId идентификатор кабинета
+     * @param dto      подпись талона
+     * @return выданный талон
+     */
+    @Operation(
+            summary = "Встать в живую очередь",
+            description = "Выдаёт следующий по номеру талон очереди кабинета.",
+            tags = {"Живая очередь"}
+    )
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public WalkInTicketDto enqueue(
+            @Parameter(description = "ID кабинета") @PathVariable Long officeId,
+            @Parameter(description = "Подпись талона") @RequestBody(required = false) WalkInRequestDto dto) {
+        return walkInQueueService.enqueue(officeId, dto != null ? dto.getLabel() : null);
+    }
+
+    /**
+     * Вызвать следующий талон
+     * @param officeId идентификатор кабинета
+     * @return вызванный талон или 204, если очередь пуста
+     */
+    @Operation(
+            summary = "Вызвать следующего",
+            description = "Вызывает в кабинет первый талон очереди. Если очередь пуста, возвращает 204.",
+            tags = {"Живая очередь"}
+    )
+    @PostMapping("/next")
+    public ResponseEntity<WalkInTicketDto> callNext(
+            @Parameter(description = "ID кабинета") @PathVariable Long officeId) {
+        return walkInQueueService.callNext(officeId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Получить состояние очереди
+     * @param officeId идентификатор кабинета
+     * @return ожидающие талоны и счётчики очереди
+     */
+    @Operation(
+            summary = "Состояние живой очереди",
+            description = "Возвращает ожидающие талоны в порядке очереди, номер последнего талона и количество вызванных.",
+            tags = {"Живая очередь"}
+    )
+    @GetMapping
+    public WalkInQueueDto getQueue(@Parameter(description = "ID кабинета") @PathVariable Long officeId) {
+        return walkInQueueService.snapshot(officeId);
+    }
+
+    /**
+     * Получить положение талона
+     * @param officeId идентификатор кабинета
+     * @param number   номер талона
+     * @return положение талона в очереди
+     */
+    @Operation(
+            summary = "Положение талона",
+            description = "Возвращает, ожидает ли талон вызова и сколько талонов перед ним.",
+            tags = {"Живая очередь"}
+    )
+    @GetMapping("/{number}")
+    public WalkInPositionDto getPosition(
+            @Parameter(description = "ID кабинета") @PathVariable Long officeId,
+            @Parameter(description = "Номер талона") @PathVariable long number) {
+        return walkInQueueService.position(officeId, number);
+    }
+
+    /**
+     * Подписаться на изменения очереди
+     * @param officeId идентификатор кабинета
+     * @return поток событий SSE
+     */
+    @Operation(
+            summary = "Поток изменений живой очереди",
+            description = "Server-Sent Events: первым событием приходит состояние очереди, затем выдача и вызов талонов.",
+            tags = {"Живая очередь"}
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@Parameter(description = "ID кабинета") @PathVariable Long officeId) {
+        return walkInQueueService.subscribe(officeId);
+    }
+}
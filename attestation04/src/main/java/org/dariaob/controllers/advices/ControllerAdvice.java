@@ -1,6 +1,7 @@
 package org.dariaob.controllers.advices;
 
 import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -47,4 +48,20 @@ public class ControllerAdvice {
                 "type", "INVALID_FORMAT"
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Обрабатывает конфликт с текущим состоянием данных.
+     *
+     * @param ex исключение
+     * @return ответ с HTTP-статусом CONFLICT (409)
+     */
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleConflict(ConflictException ex) {
+        return Map.of(
+                "error", "Конфликт данных",
+                "message", ex.getMessage(),
+                "type", "CONFLICT"
+        );
+    }
+}
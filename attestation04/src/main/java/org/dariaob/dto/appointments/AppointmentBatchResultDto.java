@@ -0,0 +1,78 @@
+package org.dariaob.dto.appointments;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO результата записи одного приёма из пакета.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат записи приёма из пакета")
+public class AppointmentBatchResultDto {
+
+    /**
+     * Итог обработки элемента пакета.
+     */
+    public enum Status {
+        /**
+         * Приём создан.
+         */
+        CREATED,
+        /**
+         * Время пересекается с существующим приёмом или с другим элементом пакета.
+         */
+        CONFLICT,
+        /**
+         * Не заданы обязательные поля или интервал пустой.
+         */
+        INVALID,
+        /**
+         * Пациент не найден или удалён.
+         */
+        NOT_FOUND
+    }
+
+    /**
+     * Позиция элемента в запросе (с нуля).
+     */
+    @Schema(description = "Позиция элемента в запросе (с нуля)")
+    private int index;
+
+    /**
+     * Итог обработки.
+     */
+    @Schema(description = "Итог обработки")
+    private Status status;
+
+    /**
+     * ID созданного приёма.
+     */
+    @Schema(description = "ID созданного приёма", nullable = true)
+    private Long appointmentId;
+
+    /**
+     * Причина отказа.
+     */
+    @Schema(description = "Причина отказа", nullable = true)
+    private String message;
+
+    /**
+     * Результат успешной записи.
+     */
+    public static AppointmentBatchResultDto created(int index, Long appointmentId) {
+        return new AppointmentBatchResultDto(index, Status.CREATED, appointmentId, null);
+    }
+
+    /**
+     * Результат отказа.
+     */
+    public static AppointmentBatchResultDto rejected(int index, Status status, String message) {
+        return new AppointmentBatchResultDto(index, status, null, message);
+    }
+}
@@ -0,0 +1,33 @@
+package org.dariaob.dto.appointments;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO страницы приёмов при курсорной (keyset) пагинации.
+ * Для получения следующей страницы клиент передаёт nextCursor в параметре after.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница активных приёмов с курсором на следующую страницу")
+public class AppointmentPageDto {
+
+    /**
+     * Приёмы текущей страницы, упорядоченные по id.
+     */
+    @Schema(description = "Приёмы текущей страницы")
+    private List<AppointmentResponseDto> items;
+
+    /**
+     * Курсор следующей страницы (id последнего приёма) или null, если страница последняя.
+     */
+    @Schema(description = "Значение параметра after для следующей страницы", nullable = true)
+    private Long nextCursor;
+}
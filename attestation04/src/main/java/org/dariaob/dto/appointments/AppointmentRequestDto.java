@@ -34,6 +34,18 @@ public class AppointmentRequestDto {
     @Schema(description = "Дата и время приема")
     private LocalDateTime date;
 
+    /**
+     * Время начала приема.
+     */
+    @Schema(description = "Время начала приема")
+    private LocalDateTime workHoursFrom;
+
+    /**
+     * Время окончания приема.
+     */
+    @Schema(description = "Время окончания приема")
+    private LocalDateTime workHoursFor;
+
     /**
      * ID кабинета, где будет проходить прием.
      */
@@ -43,7 +55,7 @@ public class AppointmentRequestDto {
     /**
      * ID страхового полиса пациента.
      */
-    @Schema(description = "ID страхового полиса")
+    @Schema(description = "ID страхового полиса (по умолчанию — полис пациента)", nullable = true)
     private Long insuranceId;
 
     /**
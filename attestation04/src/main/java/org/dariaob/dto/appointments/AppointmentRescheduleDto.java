@@ -0,0 +1,47 @@
+package org.dariaob.dto.appointments;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO массового переноса приёмов врача, например на время его болезни.
+ * Приёмы можно сдвинуть по времени, передать другому врачу или сделать и то и другое.
+ */
+@Getter
+@Setter
+@Schema(description = "Параметры массового переноса приёмов врача")
+public class AppointmentRescheduleDto {
+
+    /**
+     * ID врача, чьи приёмы переносятся.
+     */
+    @Schema(description = "ID врача, чьи приёмы переносятся")
+    private Long doctorId;
+
+    /**
+     * Начало диапазона (включительно): переносятся приёмы, начинающиеся в диапазоне.
+     */
+    @Schema(description = "Начало диапазона (включительно)")
+    private LocalDateTime from;
+
+    /**
+     * Конец диапазона (не включительно).
+     */
+    @Schema(description = "Конец диапазона (не включительно)")
+    private LocalDateTime to;
+
+    /**
+     * Сдвиг времени приёмов в минутах.
+     */
+    @Schema(description = "Сдвиг времени в минутах (может быть отрицательным)", nullable = true)
+    private Long shiftMinutes;
+
+    /**
+     * ID врача, которому передаются приёмы.
+     */
+    @Schema(description = "ID врача, которому передаются приёмы (по умолчанию — тот же врач)", nullable = true)
+    private Long targetDoctorId;
+}
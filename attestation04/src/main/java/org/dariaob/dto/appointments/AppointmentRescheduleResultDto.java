@@ -0,0 +1,32 @@
+package org.dariaob.dto.appointments;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO результата массового переноса приёмов.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат массового переноса приёмов")
+public class AppointmentRescheduleResultDto {
+
+    /**
+     * Количество перенесённых приёмов.
+     */
+    @Schema(description = "Количество перенесённых приёмов")
+    private int moved;
+
+    /**
+     * ID перенесённых приёмов.
+     */
+    @Schema(description = "ID перенесённых приёмов")
+    private List<Long> appointmentIds;
+}
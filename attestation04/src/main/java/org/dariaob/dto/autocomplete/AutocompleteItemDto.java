@@ -0,0 +1,45 @@
+package org.dariaob.dto.autocomplete;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO подсказки автодополнения: пациент, врач или специализация, имя которых начинается с запроса.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Подсказка автодополнения")
+public class AutocompleteItemDto {
+
+    /**
+     * Тип сущности подсказки.
+     */
+    public enum Type {
+        PATIENT,
+        DOCTOR,
+        SPECIALIZATION
+    }
+
+    /**
+     * Тип сущности.
+     */
+    @Schema(description = "Тип сущности", example = "DOCTOR")
+    private Type type;
+
+    /**
+     * ID сущности.
+     */
+    @Schema(description = "ID сущности", example = "1")
+    private Long id;
+
+    /**
+     * Имя пациента или врача, название специализации.
+     */
+    @Schema(description = "Имя или название", example = "Иванов Иван Иванович")
+    private String name;
+}
@@ -0,0 +1,50 @@
+package org.dariaob.dto.availability;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO свободного слота для записи к врачу.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Свободный слот для записи к врачу")
+public class FreeSlotDto {
+
+    /**
+     * Идентификатор врача.
+     */
+    @Schema(description = "ID врача")
+    private Long doctorId;
+
+    /**
+     * Полное имя врача.
+     */
+    @Schema(description = "ФИО врача")
+    private String doctorName;
+
+    /**
+     * Кабинет, в котором врач принимает в это время.
+     */
+    @Schema(description = "ID кабинета", nullable = true)
+    private Long officeId;
+
+    /**
+     * Начало слота.
+     */
+    @Schema(description = "Начало слота")
+    private LocalDateTime start;
+
+    /**
+     * Окончание слота.
+     */
+    @Schema(description = "Окончание слота")
+    private LocalDateTime end;
+}
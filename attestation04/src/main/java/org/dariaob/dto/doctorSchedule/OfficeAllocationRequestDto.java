@@ -0,0 +1,70 @@
+package org.dariaob.dto.doctorSchedule;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO запроса на распределение кабинетов по недельному расписанию.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на распределение кабинетов")
+public class OfficeAllocationRequestDto {
+
+    /**
+     * Записи расписания, которым нужны кабинеты.
+     */
+    @Schema(description = "Записи расписания; если не указаны, распределяется текущее активное расписание",
+            nullable = true)
+    private List<Item> schedules;
+
+    /**
+     * Доступные кабинеты.
+     */
+    @Schema(description = "ID доступных кабинетов; если не указаны, используются все активные кабинеты",
+            nullable = true)
+    private List<Long> officeIds;
+
+    /**
+     * Бюджет времени на поиск в миллисекундах.
+     */
+    @Schema(description = "Бюджет времени на поиск, мс (по умолчанию 2000)", nullable = true, example = "2000")
+    private Long timeBudgetMs;
+
+    /**
+     * Запись расписания, которой нужен кабинет.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Запись расписания без кабинета")
+    public static class Item {
+
+        @Schema(description = "ID существующей записи расписания", nullable = true)
+        private Long scheduleId;
+
+        @Schema(description = "ID врача")
+        private Long doctorId;
+
+        @Schema(description = "День недели (1-7)")
+        private Short dayOfWeek;
+
+        @Schema(description = "Время начала приёма")
+        private LocalTime startTime;
+
+        @Schema(description = "Время окончания приёма")
+        private LocalTime endTime;
+
+        @Schema(description = "ID предпочтительного кабинета", nullable = true)
+        private Long preferredOfficeId;
+    }
+}
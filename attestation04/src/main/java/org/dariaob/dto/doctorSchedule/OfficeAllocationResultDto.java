@@ -0,0 +1,74 @@
+package org.dariaob.dto.doctorSchedule;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO результата распределения кабинетов.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Результат распределения кабинетов")
+public class OfficeAllocationResultDto {
+
+    /**
+     * Назначения в порядке записей запроса.
+     */
+    @Schema(description = "Назначения в порядке записей запроса")
+    private List<Assignment> assignments;
+
+    /**
+     * Число пар записей, пересекающихся в одном кабинете.
+     */
+    @Schema(description = "Число пар записей, пересекающихся по времени в одном кабинете")
+    private int conflicts;
+
+    /**
+     * Сумма по дням недели числа занятых кабинетов.
+     */
+    @Schema(description = "Сумма по дням недели числа кабинетов, занятых хотя бы одной записью")
+    private int officeDays;
+
+    /**
+     * Число записей не в предпочтительном кабинете.
+     */
+    @Schema(description = "Число записей, получивших не предпочтительный кабинет")
+    private int preferenceMisses;
+
+    /**
+     * Назначение кабинета записи расписания.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Назначение кабинета")
+    public static class Assignment {
+
+        @Schema(description = "ID записи расписания", nullable = true)
+        private Long scheduleId;
+
+        @Schema(description = "ID врача")
+        private Long doctorId;
+
+        @Schema(description = "День недели (1-7)")
+        private Short dayOfWeek;
+
+        @Schema(description = "Время начала приёма")
+        private LocalTime startTime;
+
+        @Schema(description = "Время окончания приёма")
+        private LocalTime endTime;
+
+        @Schema(description = "ID назначенного кабинета")
+        private Long officeId;
+    }
+}
@@ -0,0 +1,68 @@
+package org.dariaob.dto.doctorSchedule;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+
+/**
+ * DTO конфликта расписаний: записи двух врачей в одном кабинете пересекаются по времени.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Пересечение расписаний двух врачей в одном кабинете")
+public class ScheduleConflictDto {
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * День недели.
+     */
+    @Schema(description = "День недели (1-7)")
+    private Short dayOfWeek;
+
+    /**
+     * ID первой записи расписания.
+     */
+    @Schema(description = "ID записи расписания, начинающейся раньше")
+    private Long firstScheduleId;
+
+    /**
+     * ID врача первой записи.
+     */
+    @Schema(description = "ID врача первой записи")
+    private Long firstDoctorId;
+
+    /**
+     * ID второй записи расписания.
+     */
+    @Schema(description = "ID второй записи расписания")
+    private Long secondScheduleId;
+
+    /**
+     * ID врача второй записи.
+     */
+    @Schema(description = "ID врача второй записи")
+    private Long secondDoctorId;
+
+    /**
+     * Начало пересечения.
+     */
+    @Schema(description = "Начало пересечения")
+    private LocalTime overlapFrom;
+
+    /**
+     * Окончание пересечения.
+     */
+    @Schema(description = "Окончание пересечения")
+    private LocalTime overlapTo;
+}
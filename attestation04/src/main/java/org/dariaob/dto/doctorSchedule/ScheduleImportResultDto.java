@@ -0,0 +1,49 @@
+package org.dariaob.dto.doctorSchedule;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO результата импорта расписания из CSV.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Результат импорта расписания")
+public class ScheduleImportResultDto {
+
+    /**
+     * Число импортированных записей.
+     */
+    @Schema(description = "Число импортированных записей; 0, если найдены ошибки")
+    private int imported;
+
+    /**
+     * Ошибки по строкам файла.
+     */
+    @Schema(description = "Ошибки по строкам файла")
+    private List<RowError> errors;
+
+    /**
+     * Ошибка в строке файла.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Ошибка в строке файла")
+    public static class RowError {
+
+        @Schema(description = "Номер строки файла (с единицы)")
+        private long line;
+
+        @Schema(description = "Описание ошибки")
+        private String message;
+    }
+}
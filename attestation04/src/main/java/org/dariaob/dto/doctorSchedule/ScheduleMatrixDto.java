@@ -0,0 +1,76 @@
+package org.dariaob.dto.doctorSchedule;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Недельная матрица расписания: строка на врача, в строке семь дней с окнами приёма.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Недельная матрица расписания врачей")
+public class ScheduleMatrixDto {
+
+    /**
+     * Строки матрицы по врачам в порядке возрастания ID.
+     */
+    @Schema(description = "Строки матрицы по врачам")
+    private List<Row> doctors;
+
+    /**
+     * Строка матрицы: расписание одного врача.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Расписание врача на неделю")
+    public static class Row {
+
+        @Schema(description = "ID врача")
+        private Long doctorId;
+
+        @Schema(description = "Имя врача")
+        private String doctorName;
+
+        /**
+         * Семь списков окон: элемент 0 — понедельник, элемент 6 — воскресенье.
+         */
+        @Schema(description = "Окна приёма по дням недели, с понедельника по воскресенье")
+        private List<List<Cell>> days;
+    }
+
+    /**
+     * Окно приёма в ячейке матрицы.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Окно приёма")
+    public static class Cell {
+
+        @Schema(description = "ID записи расписания")
+        private Long scheduleId;
+
+        @Schema(description = "Время начала приёма")
+        private LocalTime startTime;
+
+        @Schema(description = "Время окончания приёма")
+        private LocalTime endTime;
+
+        @Schema(description = "ID кабинета или null")
+        private Long officeId;
+
+        @Schema(description = "Название кабинета или null")
+        private String officeName;
+    }
+}
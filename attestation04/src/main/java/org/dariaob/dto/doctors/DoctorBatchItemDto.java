@@ -0,0 +1,20 @@
+package org.dariaob.dto.doctors;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Dto врача в пакетном создании/обновлении
+ */
+@Getter
+@Setter
+@Schema(description = "Данные врача в пакете: без ID — создание, с ID — обновление")
+public class DoctorBatchItemDto extends DoctorRequestDto {
+
+    /**
+     * ID обновляемого врача
+     */
+    @Schema(description = "ID обновляемого врача; не указывается при создании", nullable = true)
+    private Long id;
+}
@@ -0,0 +1,22 @@
+package org.dariaob.dto.doctors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Отрисованный календарь врача в формате iCalendar вместе с его ETag.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorCalendarDto {
+
+    /**
+     * Содержимое календаря (text/calendar, UTF-8).
+     */
+    private final byte[] body;
+
+    /**
+     * ETag содержимого в кавычках.
+     */
+    private final String etag;
+}
@@ -0,0 +1,58 @@
+package org.dariaob.dto.doctors;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO профиля врача: данные врача, расписание текущей недели и число предстоящих приёмов.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Профиль врача")
+public class DoctorProfileDto {
+
+    /**
+     * Данные врача с кабинетом и специализациями.
+     */
+    @Schema(description = "Данные врача")
+    private DoctorResponseDto doctor;
+
+    /**
+     * Понедельник текущей недели.
+     */
+    @Schema(description = "Понедельник текущей недели", example = "2030-01-07")
+    private LocalDate weekStart;
+
+    /**
+     * Записи расписания врача на неделю, по дням и времени начала.
+     */
+    @Schema(description = "Расписание текущей недели")
+    private List<DoctorScheduleDto> weekSchedule;
+
+    /**
+     * Число активных приёмов сегодня.
+     */
+    @Schema(description = "Приёмов сегодня")
+    private long appointmentsToday;
+
+    /**
+     * Число активных приёмов с сегодняшнего дня до конца недели.
+     */
+    @Schema(description = "Приёмов до конца недели, включая сегодня")
+    private long appointmentsThisWeek;
+
+    /**
+     * Число всех активных приёмов с сегодняшнего дня.
+     */
+    @Schema(description = "Всех предстоящих приёмов, включая сегодня")
+    private long appointmentsUpcoming;
+}
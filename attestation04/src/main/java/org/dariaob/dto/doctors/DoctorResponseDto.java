@@ -111,4 +111,22 @@ public class DoctorResponseDto {
             this.specializations = Set.of(); // Возвращаем пустой список
         }
     }
+
+    /**
+     * Конструктор с уже известными названиями специализаций: коллекция связей врача не читается.
+     *
+     * @param doctor          объект врача
+     * @param specializations названия специализаций врача
+     */
+    public DoctorResponseDto(Doctors doctor, Set<String> specializations) {
+        this.id = doctor.getId();
+        this.name = doctor.getName();
+        this.phone = doctor.getPhone();
+        this.workHoursFrom = DateUtils.formatDateTime(doctor.getWorkHoursFrom());
+        this.workHoursFor = DateUtils.formatDateTime(doctor.getWorkHoursFor());
+        this.office = Optional.ofNullable(doctor.getOffice())
+                .map(OfficeDto::new)
+                .orElse(null);
+        this.specializations = specializations;
+    }
 }
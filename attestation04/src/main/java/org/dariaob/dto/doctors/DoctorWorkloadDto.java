@@ -0,0 +1,36 @@
+package org.dariaob.dto.doctors;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO текущей нагрузки врача: число активных приёмов сегодня и на текущей неделе.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Нагрузка врача")
+public class DoctorWorkloadDto {
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача", example = "1")
+    private Long doctorId;
+
+    /**
+     * Число активных приёмов сегодня.
+     */
+    @Schema(description = "Приёмов сегодня")
+    private long today;
+
+    /**
+     * Число активных приёмов на текущей неделе, с понедельника по воскресенье.
+     */
+    @Schema(description = "Приёмов на текущей неделе")
+    private long thisWeek;
+}
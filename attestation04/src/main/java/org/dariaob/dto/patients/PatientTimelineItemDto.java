@@ -0,0 +1,138 @@
+package org.dariaob.dto.patients;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.PatientCardsHistory;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO события ленты пациента: приём или изменение медицинской карты.
+ * Поля, не относящиеся к виду события, равны null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "Событие ленты пациента")
+public class PatientTimelineItemDto {
+
+    /**
+     * Вид события.
+     */
+    public enum Type {
+        /**
+         * Приём у врача
+         */
+        APPOINTMENT,
+        /**
+         * Изменение медицинской карты
+         */
+        CARD_CHANGE
+    }
+
+    /**
+     * Вид события.
+     */
+    @Schema(description = "Вид события")
+    private Type type;
+
+    /**
+     * ID приёма или записи истории карты.
+     */
+    @Schema(description = "ID приёма или записи истории карты")
+    private Long id;
+
+    /**
+     * Время события: начало приёма или момент изменения карты.
+     */
+    @Schema(description = "Время события")
+    private LocalDateTime at;
+
+    /**
+     * Окончание приёма.
+     */
+    @Schema(description = "Окончание приёма", nullable = true)
+    private LocalDateTime workHoursFor;
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача", nullable = true)
+    private Long doctorId;
+
+    /**
+     * Имя врача.
+     */
+    @Schema(description = "Имя врача", nullable = true)
+    private String doctorName;
+
+    /**
+     * Название кабинета.
+     */
+    @Schema(description = "Кабинет", nullable = true)
+    private String officeName;
+
+    /**
+     * Кто внёс изменение в карту.
+     */
+    @Schema(description = "Кто внёс изменение", nullable = true)
+    private String changedBy;
+
+    /**
+     * Предыдущий диагноз.
+     */
+    @Schema(description = "Предыдущий диагноз", nullable = true)
+    private String oldDiagnosis;
+
+    /**
+     * Новый диагноз.
+     */
+    @Schema(description = "Новый диагноз", nullable = true)
+    private String newDiagnosis;
+
+    /**
+     * Новые назначения.
+     */
+    @Schema(description = "Новые назначения", nullable = true)
+    private String newMeds;
+
+    /**
+     * Причина изменения.
+     */
+    @Schema(description = "Причина изменения", nullable = true)
+    private String changeReason;
+
+    /**
+     * Конструктор, преобразующий приём в событие ленты.
+     *
+     * @param appointment приём
+     */
+    public PatientTimelineItemDto(Appointments appointment) {
+        this.type = Type.APPOINTMENT;
+        this.id = appointment.getId();
+        this.at = appointment.getWorkHoursFrom();
+        this.workHoursFor = appointment.getWorkHoursFor();
+        this.doctorId = appointment.getDoctor() != null ? appointment.getDoctor().getId() : null;
+        this.doctorName = appointment.getDoctor() != null ? appointment.getDoctor().getName() : null;
+        this.officeName = appointment.getOffice() != null ? appointment.getOffice().getName() : null;
+    }
+
+    /**
+     * Конструктор, преобразующий запись истории карты в событие ленты.
+     *
+     * @param change запись истории карты
+     */
+    public PatientTimelineItemDto(PatientCardsHistory change) {
+        this.type = Type.CARD_CHANGE;
+        this.id = change.getId();
+        this.at = change.getChangedAt();
+        this.changedBy = change.getChangedBy();
+        this.oldDiagnosis = change.getOldDiagnosis();
+        this.newDiagnosis = change.getNewDiagnosis();
+        this.newMeds = change.getNewMeds();
+        this.changeReason = change.getChangeReason();
+    }
+}
@@ -0,0 +1,33 @@
+package org.dariaob.dto.patients;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO страницы ленты пациента при курсорной пагинации.
+ * Для получения следующей страницы клиент передаёт nextCursor в параметре before.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница ленты пациента с курсором на следующую страницу")
+public class PatientTimelinePageDto {
+
+    /**
+     * События страницы, от новых к старым.
+     */
+    @Schema(description = "События страницы, от новых к старым")
+    private List<PatientTimelineItemDto> items;
+
+    /**
+     * Курсор следующей страницы или null, если страница последняя.
+     */
+    @Schema(description = "Значение параметра before для следующей страницы", nullable = true)
+    private String nextCursor;
+}
@@ -0,0 +1,54 @@
+package org.dariaob.dto.reminders;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.models.ReminderType;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO напоминания о приёме, передаваемого отправителю.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentReminderDto {
+
+    /**
+     * ID приёма.
+     */
+    private Long appointmentId;
+
+    /**
+     * Вид напоминания.
+     */
+    private ReminderType type;
+
+    /**
+     * Имя пациента.
+     */
+    private String patientName;
+
+    /**
+     * Телефон пациента.
+     */
+    private String phone;
+
+    /**
+     * Имя врача.
+     */
+    private String doctorName;
+
+    /**
+     * Кабинет приёма.
+     */
+    private String officeName;
+
+    /**
+     * Начало приёма.
+     */
+    private LocalDateTime workHoursFrom;
+}
@@ -0,0 +1,66 @@
+package org.dariaob.dto.scheduleExceptions;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+import org.dariaob.models.ScheduleExceptionType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO создания исключения из расписания.
+ */
+@Getter
+@Setter
+@Schema(description = "Данные исключения из расписания")
+public class ScheduleExceptionRequestDto {
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача (не указывается для праздника всей клиники)", nullable = true)
+    private Long doctorId;
+
+    /**
+     * Тип исключения.
+     */
+    @Schema(description = "Тип исключения")
+    private ScheduleExceptionType type;
+
+    /**
+     * Первый день действия.
+     */
+    @Schema(description = "Первый день действия", example = "2030-01-01")
+    private LocalDate dateFrom;
+
+    /**
+     * Последний день действия.
+     */
+    @Schema(description = "Последний день действия (по умолчанию совпадает с первым)", nullable = true)
+    private LocalDate dateTo;
+
+    /**
+     * Начало интервала в каждом дне.
+     */
+    @Schema(description = "Начало интервала (не указывается, если исключение на весь день)", nullable = true)
+    private LocalTime startTime;
+
+    /**
+     * Окончание интервала в каждом дне.
+     */
+    @Schema(description = "Окончание интервала (не указывается, если исключение на весь день)", nullable = true)
+    private LocalTime endTime;
+
+    /**
+     * ID кабинета дополнительной смены.
+     */
+    @Schema(description = "ID кабинета дополнительной смены", nullable = true)
+    private Long officeId;
+
+    /**
+     * Причина.
+     */
+    @Schema(description = "Причина", nullable = true)
+    private String reason;
+}
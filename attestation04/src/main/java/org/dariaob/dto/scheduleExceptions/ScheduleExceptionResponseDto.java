@@ -0,0 +1,94 @@
+package org.dariaob.dto.scheduleExceptions;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.models.ScheduleExceptionType;
+import org.dariaob.models.ScheduleExceptions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO исключения из расписания.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Исключение из расписания")
+public class ScheduleExceptionResponseDto {
+
+    /**
+     * ID исключения.
+     */
+    @Schema(description = "ID исключения")
+    private Long id;
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача (null — исключение для всей клиники)", nullable = true)
+    private Long doctorId;
+
+    /**
+     * Тип исключения.
+     */
+    @Schema(description = "Тип исключения")
+    private ScheduleExceptionType type;
+
+    /**
+     * Первый день действия.
+     */
+    @Schema(description = "Первый день действия")
+    private LocalDate dateFrom;
+
+    /**
+     * Последний день действия.
+     */
+    @Schema(description = "Последний день действия")
+    private LocalDate dateTo;
+
+    /**
+     * Начало интервала в каждом дне.
+     */
+    @Schema(description = "Начало интервала (null — весь день)", nullable = true)
+    private LocalTime startTime;
+
+    /**
+     * Окончание интервала в каждом дне.
+     */
+    @Schema(description = "Окончание интервала (null — весь день)", nullable = true)
+    private LocalTime endTime;
+
+    /**
+     * ID кабинета дополнительной смены.
+     */
+    @Schema(description = "ID кабинета дополнительной смены", nullable = true)
+    private Long officeId;
+
+    /**
+     * Причина.
+     */
+    @Schema(description = "Причина", nullable = true)
+    private String reason;
+
+    /**
+     * Конструктор, преобразующий сущность {@link ScheduleExceptions} в DTO.
+     *
+     * @param exception исключение из расписания
+     */
+    public ScheduleExceptionResponseDto(ScheduleExceptions exception) {
+        this.id = exception.getId();
+        this.doctorId = exception.getDoctor() != null ? exception.getDoctor().getId() : null;
+        this.type = exception.getType();
+        this.dateFrom = exception.getDateFrom();
+        this.dateTo = exception.getDateTo();
+        this.startTime = exception.getStartTime();
+        this.endTime = exception.getEndTime();
+        this.officeId = exception.getOffice() != null ? exception.getOffice().getId() : null;
+        this.reason = exception.getReason();
+    }
+}
@@ -0,0 +1,26 @@
+package org.dariaob.dto.slotHolds;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO подтверждения временной брони: данные пациента для создания приёма.
+ */
+@Getter
+@Setter
+@Schema(description = "Данные для подтверждения брони")
+public class SlotHoldConfirmDto {
+
+    /**
+     * ID пациента.
+     */
+    @Schema(description = "ID пациента")
+    private Long patientId;
+
+    /**
+     * ID страхового полиса.
+     */
+    @Schema(description = "ID страхового полиса (по умолчанию — полис пациента)", nullable = true)
+    private Long insuranceId;
+}
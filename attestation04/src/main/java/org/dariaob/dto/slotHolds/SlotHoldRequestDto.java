@@ -0,0 +1,46 @@
+package org.dariaob.dto.slotHolds;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO запроса временной брони слота врача и кабинета.
+ */
+@Getter
+@Setter
+@Schema(description = "Данные для временной брони слота")
+public class SlotHoldRequestDto {
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача")
+    private Long doctorId;
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Начало удерживаемого интервала.
+     */
+    @Schema(description = "Начало интервала")
+    private LocalDateTime workHoursFrom;
+
+    /**
+     * Окончание удерживаемого интервала.
+     */
+    @Schema(description = "Окончание интервала")
+    private LocalDateTime workHoursFor;
+
+    /**
+     * Срок брони в минутах.
+     */
+    @Schema(description = "Срок брони в минутах (по умолчанию 10)", nullable = true)
+    private Integer ttlMinutes;
+}
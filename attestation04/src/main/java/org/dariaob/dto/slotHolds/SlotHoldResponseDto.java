@@ -0,0 +1,86 @@
+package org.dariaob.dto.slotHolds;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO временной брони слота.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Временная бронь слота")
+public class SlotHoldResponseDto {
+
+    /**
+     * ID брони.
+     */
+    @Schema(description = "ID брони")
+    private Long id;
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача")
+    private Long doctorId;
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Начало интервала.
+     */
+    @Schema(description = "Начало интервала")
+    private LocalDateTime workHoursFrom;
+
+    /**
+     * Окончание интервала.
+     */
+    @Schema(description = "Окончание интервала")
+    private LocalDateTime workHoursFor;
+
+    /**
+     * Момент истечения брони.
+     */
+    @Schema(description = "Момент истечения брони")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Статус брони.
+     */
+    @Schema(description = "Статус брони")
+    private SlotHoldStatus status;
+
+    /**
+     * ID приёма, созданного по брони.
+     */
+    @Schema(description = "ID приёма, созданного при подтверждении", nullable = true)
+    private Long appointmentId;
+
+    /**
+     * Конструктор, преобразующий сущность {@link SlotHolds} в DTO.
+     *
+     * @param hold бронь
+     */
+    public SlotHoldResponseDto(SlotHolds hold) {
+        this.id = hold.getId();
+        this.doctorId = hold.getDoctor() != null ? hold.getDoctor().getId() : null;
+        this.officeId = hold.getOffice() != null ? hold.getOffice().getId() : null;
+        this.workHoursFrom = hold.getHoldFrom();
+        this.workHoursFor = hold.getHoldTo();
+        this.expiresAt = hold.getExpiresAt();
+        this.status = hold.getStatus();
+        this.appointmentId = hold.getAppointmentId();
+    }
+}
@@ -0,0 +1,54 @@
+package org.dariaob.dto.waitlist;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+import org.dariaob.models.WaitlistUrgency;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO постановки пациента в лист ожидания.
+ * Указывается либо врач, либо специализация.
+ */
+@Getter
+@Setter
+@Schema(description = "Данные для постановки в лист ожидания")
+public class WaitlistRequestDto {
+
+    /**
+     * ID пациента.
+     */
+    @Schema(description = "ID пациента")
+    private Long patientId;
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача (если пациент ждёт конкретного врача)", nullable = true)
+    private Long doctorId;
+
+    /**
+     * ID специализации.
+     */
+    @Schema(description = "ID специализации (если подходит любой врач)", nullable = true)
+    private Long specializationId;
+
+    /**
+     * Срочность.
+     */
+    @Schema(description = "Срочность (по умолчанию ROUTINE)", nullable = true)
+    private WaitlistUrgency urgency;
+
+    /**
+     * Самое раннее подходящее время приёма.
+     */
+    @Schema(description = "Самое раннее подходящее время приёма", nullable = true)
+    private LocalDateTime earliest;
+
+    /**
+     * Самое позднее подходящее время окончания приёма.
+     */
+    @Schema(description = "Самое позднее подходящее время окончания приёма", nullable = true)
+    private LocalDateTime latest;
+}
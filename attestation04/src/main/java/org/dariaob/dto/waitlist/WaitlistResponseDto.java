@@ -0,0 +1,101 @@
+package org.dariaob.dto.waitlist;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.dariaob.models.WaitlistEntries;
+import org.dariaob.models.WaitlistStatus;
+import org.dariaob.models.WaitlistUrgency;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO записи листа ожидания.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запись листа ожидания")
+public class WaitlistResponseDto {
+
+    /**
+     * ID записи.
+     */
+    @Schema(description = "ID записи")
+    private Long id;
+
+    /**
+     * ID пациента.
+     */
+    @Schema(description = "ID пациента")
+    private Long patientId;
+
+    /**
+     * ID врача.
+     */
+    @Schema(description = "ID врача", nullable = true)
+    private Long doctorId;
+
+    /**
+     * ID специализации.
+     */
+    @Schema(description = "ID специализации", nullable = true)
+    private Long specializationId;
+
+    /**
+     * Срочность.
+     */
+    @Schema(description = "Срочность")
+    private WaitlistUrgency urgency;
+
+    /**
+     * Самое раннее подходящее время приёма.
+     */
+    @Schema(description = "Самое раннее подходящее время приёма", nullable = true)
+    private LocalDateTime earliest;
+
+    /**
+     * Самое позднее подходящее время окончания приёма.
+     */
+    @Schema(description = "Самое позднее подходящее время окончания приёма", nullable = true)
+    private LocalDateTime latest;
+
+    /**
+     * Статус записи.
+     */
+    @Schema(description = "Статус записи")
+    private WaitlistStatus status;
+
+    /**
+     * ID брони предложенного слота.
+     */
+    @Schema(description = "ID брони предложенного слота (подтверждается через /api/v1/slot-holds)", nullable = true)
+    private Long holdId;
+
+    /**
+     * Время постановки в лист ожидания.
+     */
+    @Schema(description = "Время постановки в лист ожидания")
+    private LocalDateTime createdAt;
+
+    /**
+     * Конструктор, преобразующий сущность {@link WaitlistEntries} в DTO.
+     *
+     * @param entry запись листа ожидания
+     */
+    public WaitlistResponseDto(WaitlistEntries entry) {
+        this.id = entry.getId();
+        this.patientId = entry.getPatient() != null ? entry.getPatient().getId() : null;
+        this.doctorId = entry.getDoctor() != null ? entry.getDoctor().getId() : null;
+        this.specializationId = entry.getSpecialization() != null ? entry.getSpecialization().getId() : null;
+        this.urgency = entry.getUrgency();
+        this.earliest = entry.getEarliest();
+        this.latest = entry.getLatest();
+        this.status = entry.getStatus();
+        this.holdId = entry.getHoldId();
+        this.createdAt = entry.getCreatedAt();
+    }
+}
@@ -0,0 +1,42 @@
+package org.dariaob.dto.walkIn;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO положения талона в живой очереди.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Положение талона в живой очереди")
+public class WalkInPositionDto {
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Номер талона.
+     */
+    @Schema(description = "Номер талона")
+    private long number;
+
+    /**
+     * Талон ещё ожидает вызова.
+     */
+    @Schema(description = "Талон ожидает вызова")
+    private boolean waiting;
+
+    /**
+     * Количество талонов впереди.
+     */
+    @Schema(description = "Количество талонов впереди")
+    private long ahead;
+}
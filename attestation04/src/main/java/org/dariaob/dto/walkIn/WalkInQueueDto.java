@@ -0,0 +1,44 @@
+package org.dariaob.dto.walkIn;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO состояния живой очереди кабинета. Используется и для контрольных точек очереди.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Состояние живой очереди кабинета")
+public class WalkInQueueDto {
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Номер последнего выданного талона.
+     */
+    @Schema(description = "Номер последнего выданного талона")
+    private long lastIssued;
+
+    /**
+     * Количество вызванных талонов.
+     */
+    @Schema(description = "Количество вызванных талонов")
+    private long called;
+
+    /**
+     * Ожидающие талоны в порядке очереди.
+     */
+    @Schema(description = "Ожидающие талоны в порядке очереди")
+    private List<WalkInTicketDto> waiting;
+}
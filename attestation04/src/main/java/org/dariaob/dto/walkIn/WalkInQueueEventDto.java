@@ -0,0 +1,56 @@
+package org.dariaob.dto.walkIn;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO изменения живой очереди, отправляемого подписчикам SSE.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Изменение живой очереди кабинета")
+public class WalkInQueueEventDto {
+
+    /**
+     * Вид изменения.
+     */
+    public enum Type {
+        /**
+         * Выдан новый талон
+         */
+        ENQUEUED,
+        /**
+         * Талон вызван в кабинет
+         */
+        CALLED
+    }
+
+    /**
+     * Вид изменения.
+     */
+    @Schema(description = "Вид изменения")
+    private Type type;
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Номер талона.
+     */
+    @Schema(description = "Номер талона")
+    private long number;
+
+    /**
+     * Количество ожидающих талонов после изменения.
+     */
+    @Schema(description = "Количество ожидающих талонов")
+    private int waitingCount;
+}
@@ -0,0 +1,24 @@
+package org.dariaob.dto.walkIn;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO постановки пациента без записи в живую очередь кабинета.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Постановка в живую очередь кабинета")
+public class WalkInRequestDto {
+
+    /**
+     * Подпись талона (имя пациента или комментарий регистратуры).
+     */
+    @Schema(description = "Подпись талона", nullable = true, example = "Иванов И.")
+    private String label;
+}
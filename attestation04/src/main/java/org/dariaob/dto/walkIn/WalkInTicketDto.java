@@ -0,0 +1,44 @@
+package org.dariaob.dto.walkIn;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO талона живой очереди.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Талон живой очереди")
+public class WalkInTicketDto {
+
+    /**
+     * ID кабинета.
+     */
+    @Schema(description = "ID кабинета")
+    private Long officeId;
+
+    /**
+     * Номер талона в очереди кабинета.
+     */
+    @Schema(description = "Номер талона")
+    private long number;
+
+    /**
+     * Подпись талона.
+     */
+    @Schema(description = "Подпись талона", nullable = true)
+    private String label;
+
+    /**
+     * Момент выдачи талона.
+     */
+    @Schema(description = "Момент выдачи талона")
+    private LocalDateTime issuedAt;
+}
@@ -0,0 +1,92 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.dariaob.models.Appointments;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие изменения приёма.
+ * Публикуется сервисом приёмов после записи в БД, чтобы внутрипроцессные индексы
+ * (свободные слоты, счётчики и т.п.) обновлялись инкрементально, без повторных запросов.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AppointmentChangedEvent {
+
+    /**
+     * Тип изменения приёма.
+     */
+    public enum Type {
+        /**
+         * Приём создан
+         */
+        CREATED,
+        /**
+         * Приём мягко удалён (слот освободился)
+         */
+        DELETED,
+        /**
+         * Приём восстановлен (слот снова занят)
+         */
+        RESTORED
+    }
+
+    /**
+     * Тип изменения
+     */
+    private final Type type;
+
+    /**
+     * ID приёма
+     */
+    private final Long appointmentId;
+
+    /**
+     * ID врача
+     */
+    private final Long doctorId;
+
+    /**
+     * ID пациента
+     */
+    private final Long patientId;
+
+    /**
+     * ID кабинета
+     */
+    private final Long officeId;
+
+    /**
+     * Начало приёма
+     */
+    private final LocalDateTime from;
+
+    /**
+     * Окончание приёма
+     */
+    private final LocalDateTime to;
+
+    /**
+     * Создать событие по сущности приёма.
+     * Идентификаторы связанных сущностей берутся из прокси без их загрузки.
+     *
+     * @param type        тип изменения
+     * @param appointment приём
+     * @return событие
+     */
+    public static AppointmentChangedEvent of(Type type, Appointments appointment) {
+        return new AppointmentChangedEvent(
+                type,
+                appointment.getId(),
+                appointment.getDoctor() != null ? appointment.getDoctor().getId() : null,
+                appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+                appointment.getOffice() != null ? appointment.getOffice().getId() : null,
+                appointment.getWorkHoursFrom(),
+                appointment.getWorkHoursFor()
+        );
+    }
+}
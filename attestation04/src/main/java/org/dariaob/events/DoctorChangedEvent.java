@@ -0,0 +1,19 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие изменения врача: создание, изменение данных, мягкое удаление или восстановление.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DoctorChangedEvent {
+
+    /**
+     * ID врача
+     */
+    private final Long doctorId;
+}
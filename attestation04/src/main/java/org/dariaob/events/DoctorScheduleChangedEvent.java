@@ -0,0 +1,21 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие изменения расписания врача.
+ * Если врач неизвестен (например, при удалении записи по ID), doctorId равен null
+ * и подписчики должны сбросить данные по всем врачам.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DoctorScheduleChangedEvent {
+
+    /**
+     * ID врача или null, если изменение может касаться любого врача
+     */
+    private final Long doctorId;
+}
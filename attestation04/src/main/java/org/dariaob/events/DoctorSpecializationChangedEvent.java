@@ -0,0 +1,29 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие привязки специализации к врачу или её отвязки.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DoctorSpecializationChangedEvent {
+
+    /**
+     * ID врача
+     */
+    private final Long doctorId;
+
+    /**
+     * ID специализации
+     */
+    private final Long specializationId;
+
+    /**
+     * true, если специализация привязана; false, если отвязана
+     */
+    private final boolean assigned;
+}
@@ -0,0 +1,19 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие изменения кабинета: создание, изменение данных, мягкое удаление или восстановление.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OfficeChangedEvent {
+
+    /**
+     * ID кабинета или null, если изменились все кабинеты
+     */
+    private final Long officeId;
+}
@@ -0,0 +1,19 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие изменения пациента: создание, изменение данных, мягкое удаление или восстановление.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PatientChangedEvent {
+
+    /**
+     * ID пациента
+     */
+    private final Long patientId;
+}
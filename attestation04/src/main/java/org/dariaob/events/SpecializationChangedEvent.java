@@ -0,0 +1,19 @@
+package org.dariaob.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Событие изменения специализации: создание, изменение названия, мягкое удаление или восстановление.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpecializationChangedEvent {
+
+    /**
+     * ID специализации
+     */
+    private final Long specializationId;
+}
@@ -0,0 +1,16 @@
+package org.dariaob.exceptions;
+
+/**
+ * Конфликт с текущим состоянием данных (например, пересечение приёмов по времени)
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Instantiates a new Conflict exception.
+     *
+     * @param message the message
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -84,4 +84,16 @@ public class Appointments {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "office_id", nullable = false)
     private Offices office;
+
+    /**
+     * Момент отправки напоминания за сутки до приёма.
+     */
+    @Column(name = "reminder_24h_sent_at")
+    private LocalDateTime reminder24hSentAt;
+
+    /**
+     * Момент отправки напоминания за два часа до приёма.
+     */
+    @Column(name = "reminder_2h_sent_at")
+    private LocalDateTime reminder2hSentAt;
 }
@@ -0,0 +1,34 @@
+package org.dariaob.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Вид напоминания о приёме.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReminderType {
+
+    /**
+     * Напоминание за сутки до приёма
+     */
+    DAY_BEFORE(Duration.ofHours(24), "reminder_24h_sent_at"),
+
+    /**
+     * Напоминание за два часа до приёма
+     */
+    TWO_HOURS_BEFORE(Duration.ofHours(2), "reminder_2h_sent_at");
+
+    /**
+     * За сколько до начала приёма отправляется напоминание.
+     */
+    private final Duration leadTime;
+
+    /**
+     * Столбец таблицы приёмов с моментом отправки напоминания.
+     */
+    private final String sentAtColumn;
+}
@@ -0,0 +1,42 @@
+package org.dariaob.models;
+
+/**
+ * Тип исключения из еженедельного расписания врача.
+ */
+public enum ScheduleExceptionType {
+
+    /**
+     * Праздничный или нерабочий день клиники
+     */
+    HOLIDAY(false),
+
+    /**
+     * Отпуск врача
+     */
+    VACATION(false),
+
+    /**
+     * Больничный врача
+     */
+    SICK_LEAVE(false),
+
+    /**
+     * Разовая дополнительная смена врача
+     */
+    EXTRA_SHIFT(true);
+
+    private final boolean working;
+
+    ScheduleExceptionType(boolean working) {
+        this.working = working;
+    }
+
+    /**
+     * Добавляет ли исключение рабочее время (иначе снимает его).
+     *
+     * @return true для дополнительной смены
+     */
+    public boolean isWorking() {
+        return working;
+    }
+}
@@ -0,0 +1,93 @@
+package org.dariaob.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Entity-класс исключения из еженедельного расписания.
+ * Исключение действует каждый день диапазона дат: в интервале времени или весь день, если время не указано.
+ * Исключение без врача относится ко всей клинике.
+ */
+@Entity
+@Table(name = "schedule_exceptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Исключение из расписания")
+public class ScheduleExceptions {
+
+    /**
+     * Уникальный идентификатор исключения.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Идентификатор исключения")
+    private Long id;
+
+    /**
+     * Врач (или null, если исключение относится ко всей клинике).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id")
+    @Schema(description = "Врач")
+    private Doctors doctor;
+
+    /**
+     * Тип исключения.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Schema(description = "Тип исключения")
+    private ScheduleExceptionType type;
+
+    /**
+     * Первый день действия.
+     */
+    @Column(name = "date_from", nullable = false)
+    @Schema(description = "Первый день действия")
+    private LocalDate dateFrom;
+
+    /**
+     * Последний день действия.
+     */
+    @Column(name = "date_to", nullable = false)
+    @Schema(description = "Последний день действия")
+    private LocalDate dateTo;
+
+    /**
+     * Начало интервала в каждом дне (или null для всего дня).
+     */
+    @Column(name = "start_time")
+    @Schema(description = "Начало интервала")
+    private LocalTime startTime;
+
+    /**
+     * Окончание интервала в каждом дне (или null для всего дня).
+     */
+    @Column(name = "end_time")
+    @Schema(description = "Окончание интервала")
+    private LocalTime endTime;
+
+    /**
+     * Кабинет дополнительной смены.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "office_id")
+    @Schema(description = "Кабинет дополнительной смены")
+    private Offices office;
+
+    /**
+     * Причина.
+     */
+    @Column(length = 255)
+    @Schema(description = "Причина")
+    private String reason;
+
+    @Column(name = "is_deleted", nullable = false)
+    @Schema(description = "Признак удаления")
+    private boolean isDeleted = false;
+}
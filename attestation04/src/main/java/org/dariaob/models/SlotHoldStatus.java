@@ -0,0 +1,27 @@
+package org.dariaob.models;
+
+/**
+ * Статус временной брони слота.
+ */
+public enum SlotHoldStatus {
+
+    /**
+     * Бронь действует и удерживает слот
+     */
+    ACTIVE,
+
+    /**
+     * Бронь подтверждена, по ней создан приём
+     */
+    CONFIRMED,
+
+    /**
+     * Бронь истекла и слот освобождён
+     */
+    EXPIRED,
+
+    /**
+     * Бронь отменена клиентом
+     */
+    CANCELLED
+}
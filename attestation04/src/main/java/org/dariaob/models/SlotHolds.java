@@ -0,0 +1,87 @@
+package org.dariaob.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity-класс временной брони слота врача и кабинета.
+ * Бронь удерживает интервал на время оформления записи и истекает, если не подтверждена.
+ */
+@Entity
+@Table(name = "slot_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Временная бронь слота")
+public class SlotHolds {
+
+    /**
+     * Уникальный идентификатор брони.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Идентификатор брони")
+    private Long id;
+
+    /**
+     * Врач, у которого удерживается слот.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    @Schema(description = "Врач")
+    private Doctors doctor;
+
+    /**
+     * Кабинет, в котором удерживается слот.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "office_id", nullable = false)
+    @Schema(description = "Кабинет")
+    private Offices office;
+
+    /**
+     * Начало удерживаемого интервала.
+     */
+    @Column(name = "hold_from", nullable = false)
+    @Schema(description = "Начало интервала")
+    private LocalDateTime holdFrom;
+
+    /**
+     * Окончание удерживаемого интервала.
+     */
+    @Column(name = "hold_to", nullable = false)
+    @Schema(description = "Окончание интервала")
+    private LocalDateTime holdTo;
+
+    /**
+     * Момент истечения брони.
+     */
+    @Column(name = "expires_at", nullable = false)
+    @Schema(description = "Момент истечения брони")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Статус брони.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Schema(description = "Статус брони")
+    private SlotHoldStatus status;
+
+    /**
+     * Приём, созданный при подтверждении брони.
+     */
+    @Column(name = "appointment_id")
+    @Schema(description = "ID приёма, созданного по брони")
+    private Long appointmentId;
+
+    /**
+     * Время создания брони.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Schema(description = "Время создания брони")
+    private LocalDateTime createdAt;
+}
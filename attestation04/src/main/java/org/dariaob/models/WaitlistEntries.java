@@ -0,0 +1,96 @@
+package org.dariaob.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity-класс записи листа ожидания.
+ * Пациент ждёт освободившегося слота у конкретного врача или у любого врача специализации.
+ */
+@Entity
+@Table(name = "waitlist_entries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Запись листа ожидания")
+public class WaitlistEntries {
+
+    /**
+     * Уникальный идентификатор записи.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Идентификатор записи")
+    private Long id;
+
+    /**
+     * Пациент, ожидающий слота.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    @Schema(description = "Пациент")
+    private Patients patient;
+
+    /**
+     * Врач, к которому ждёт пациент (или null, если подходит любой врач специализации).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id")
+    @Schema(description = "Врач")
+    private Doctors doctor;
+
+    /**
+     * Специализация, по которой ждёт пациент (или null, если выбран конкретный врач).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "specialization_id")
+    @Schema(description = "Специализация")
+    private Specializations specialization;
+
+    /**
+     * Срочность.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Schema(description = "Срочность")
+    private WaitlistUrgency urgency;
+
+    /**
+     * Самое раннее подходящее время приёма.
+     */
+    @Column(name = "earliest")
+    @Schema(description = "Самое раннее подходящее время приёма")
+    private LocalDateTime earliest;
+
+    /**
+     * Самое позднее подходящее время окончания приёма.
+     */
+    @Column(name = "latest")
+    @Schema(description = "Самое позднее подходящее время окончания приёма")
+    private LocalDateTime latest;
+
+    /**
+     * Статус записи.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Schema(description = "Статус записи")
+    private WaitlistStatus status;
+
+    /**
+     * Бронь предложенного слота.
+     */
+    @Column(name = "hold_id")
+    @Schema(description = "ID брони предложенного слота")
+    private Long holdId;
+
+    /**
+     * Время постановки в лист ожидания.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Schema(description = "Время постановки в лист ожидания")
+    private LocalDateTime createdAt;
+}
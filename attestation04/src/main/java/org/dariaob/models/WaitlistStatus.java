@@ -0,0 +1,27 @@
+package org.dariaob.models;
+
+/**
+ * Статус записи в листе ожидания.
+ */
+public enum WaitlistStatus {
+
+    /**
+     * Пациент ждёт освободившегося слота
+     */
+    WAITING,
+
+    /**
+     * Пациенту предложен слот, он удерживается бронью
+     */
+    OFFERED,
+
+    /**
+     * Пациент записан на предложенный слот
+     */
+    FULFILLED,
+
+    /**
+     * Запись снята из листа ожидания
+     */
+    CANCELLED
+}
@@ -0,0 +1,22 @@
+package org.dariaob.models;
+
+/**
+ * Срочность записи в листе ожидания. Более срочные записи получают освободившийся слот раньше.
+ */
+public enum WaitlistUrgency {
+
+    /**
+     * Плановый приём
+     */
+    ROUTINE,
+
+    /**
+     * Приём в ближайшее время
+     */
+    SOON,
+
+    /**
+     * Срочный приём
+     */
+    URGENT
+}
@@ -0,0 +1,184 @@
+package org.dariaob.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+import org.dariaob.models.ReminderType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Репозиторий приёмов на JDBC для операций, которые должны выполняться одним SQL-выражением.
+ * Проверка пересечений при записи выполняется ограничениями БД (EXCLUDE USING gist),
+ * поэтому вставка не требует предварительных запросов.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentsJdbcRepository {
+
+    /**
+     * Вставка приёма с подстановкой карты и (при отсутствии) страхового полиса пациента.
+     * Если пациент не найден или удалён, ни одна строка не вставляется.
+     */
+    private static final String INSERT_APPOINTMENT = """
+            INSERT INTO appointments (date, doctor_id, patient_id, work_hours_from, work_hours_for,
+                                      is_deleted, card_id, insurance_id, office_id)
+            SELECT :date, :doctorId, p.id, :from, :to,
+                   false, p.patient_card_id, COALESCE(CAST(:insuranceId AS BIGINT), p.insurance_id), :officeId
+            FROM patients p
+            WHERE p.id = :patientId AND p.is_deleted = false
+            """;
+
+    /**
+     * Страница приёмов, ожидающих напоминания, в интервале времени начала.
+     * Чтение идёт по частичному индексу активных приёмов по {@code work_hours_from};
+     * продолжение страницы задаётся ключом (время начала, ID) последней прочитанной строки.
+     */
+    private static final String SELECT_DUE_REMINDERS = """
+            SELECT a.id, a.work_hours_from, p.name AS patient_name, p.phone, d.name AS doctor_name,
+                   o.name AS office_name
+            FROM appointments a
+            JOIN patients p ON p.id = a.patient_id
+            JOIN doctors d ON d.id = a.doctor_id
+            JOIN offices o ON o.id = a.office_id
+            WHERE a.is_deleted = false
+              AND a.work_hours_from >= :from
+              AND a.work_hours_from < :to
+              AND a.%s IS NULL
+              AND p.is_deleted = false
+              AND (a.work_hours_from > :afterFrom OR (a.work_hours_from = :afterFrom AND a.id > :afterId))
+            ORDER BY a.work_hours_from, a.id
+            LIMIT :limit
+            """;
+
+    private static final String MARK_REMINDERS_SENT = """
+            UPDATE appointments SET %1$s = :sentAt
+            WHERE id IN (:ids) AND %1$s IS NULL
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставить активный приём одним запросом.
+     *
+     * @param doctorId    ID врача
+     * @param patientId   ID пациента
+     * @param officeId    ID кабинета
+     * @param insuranceId ID страхового полиса или null, чтобы взять полис пациента
+     * @param date        дата приёма
+     * @param from        начало приёма
+     * @param to          окончание приёма
+     * @return ID созданного приёма или пустой Optional, если пациент не найден или удалён
+     */
+    public Optional<Long> insertActive(Long doctorId, Long patientId, Long officeId, Long insuranceId,
+                                       LocalDateTime date, LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("doctorId", doctorId)
+                .addValue("patientId", patientId)
+                .addValue("officeId", officeId)
+                .addValue("insuranceId", insuranceId)
+                .addValue("date", date)
+                .addValue("from", from)
+                .addValue("to", to);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(INSERT_APPOINTMENT, params, keyHolder, new String[]{"id"});
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(keyHolder.getKey().longValue());
+    }
+
+    /**
+     * Вставить пакет активных приёмов одним пакетом JDBC.
+     * Пакет отправляется в БД за один обмен; для элементов с ненайденным пациентом строка не вставляется.
+     *
+     * @param appointments данные приёмов
+     * @return ID созданных приёмов в порядке элементов пакета; пустой Optional, если пациент не найден или удалён
+     */
+    public List<Optional<Long>> insertActiveBatch(List<AppointmentRequestDto> appointments) {
+        MapSqlParameterSource[] batch = appointments.stream()
+                .map(request -> new MapSqlParameterSource()
+                        .addValue("doctorId", request.getDoctorId())
+                        .addValue("patientId", request.getPatientId())
+                        .addValue("officeId", request.getOfficeId())
+                        .addValue("insuranceId", request.getInsuranceId())
+                        .addValue("date", request.getDate() != null ? request.getDate() : request.getWorkHoursFrom())
+                        .addValue("from", request.getWorkHoursFrom())
+                        .addValue("to", request.getWorkHoursFor()))
+                .toArray(MapSqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_APPOINTMENT, batch, keyHolder, new String[]{"id"});
+
+        // Ключи возвращаются только для вставленных строк и в порядке выполнения
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Optional<Long>> ids = new ArrayList<>(counts.length);
+        int next = 0;
+        for (int count : counts) {
+            if (count == 0) {
+                ids.add(Optional.empty());
+            } else {
+                ids.add(Optional.of(((Number) keys.get(next++).get("id")).longValue()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Получить страницу активных приёмов, по которым напоминание указанного вида ещё не отправлено.
+     *
+     * @param type      вид напоминания
+     * @param from      начало интервала времени начала приёмов (включительно)
+     * @param to        конец интервала (не включительно)
+     * @param afterFrom время начала последнего прочитанного приёма или {@code from} для первой страницы
+     * @param afterId   ID последнего прочитанного приёма или 0 для первой страницы
+     * @param limit     размер страницы
+     * @return напоминания в порядке времени начала и ID приёма
+     */
+    public List<AppointmentReminderDto> findDueReminders(ReminderType type, LocalDateTime from, LocalDateTime to,
+                                                         LocalDateTime afterFrom, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("afterFrom", afterFrom)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_DUE_REMINDERS.formatted(type.getSentAtColumn()), params,
+                (rs, rowNum) -> new AppointmentReminderDto(
+                        rs.getLong("id"),
+                        type,
+                        rs.getString("patient_name"),
+                        rs.getString("phone"),
+                        rs.getString("doctor_name"),
+                        rs.getString("office_name"),
+                        rs.getTimestamp("work_hours_from").toLocalDateTime()));
+    }
+
+    /**
+     * Отметить напоминания отправленными одним UPDATE.
+     * Уже отмеченные приёмы не перезаписываются.
+     *
+     * @param type   вид напоминания
+     * @param ids    ID приёмов
+     * @param sentAt момент отправки
+     * @return количество отмеченных приёмов
+     */
+    public int markRemindersSent(ReminderType type, Collection<Long> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("sentAt", sentAt);
+        return jdbcTemplate.update(MARK_REMINDERS_SENT.formatted(type.getSentAtColumn()), params);
+    }
+}
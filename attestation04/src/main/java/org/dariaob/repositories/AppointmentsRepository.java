@@ -1,18 +1,30 @@
 package org.dariaob.repositories;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.dariaob.models.Appointments;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Репозиторий для работы с приёмами.
+ * <p>
+ * Таблица приёмов в PostgreSQL секционирована по месяцам времени начала. Приём может переходить через границу
+ * месяца, поэтому запросы пересечений с интервалом ограничивают время начала началом предыдущего месяца:
+ * БД читает только секции двух месяцев, а пропустить можно лишь приём длиннее месяца. Пересечения с ним
+ * всё равно отклоняет БД при записи.
  */
 @Repository
 public interface AppointmentsRepository extends JpaRepository<Appointments, Long> {
@@ -25,6 +37,43 @@ public interface AppointmentsRepository extends JpaRepository<Appointments, Long
     @Query("SELECT a FROM Appointments a WHERE a.isDeleted = false")
     List<Appointments> findAllActive();
 
+    /**
+     * Получить страницу активных приёмов по ключу (keyset-пагинация по id).
+     * Связанные сущности подгружаются одним запросом, чтобы страница сериализовалась без N+1.
+     *
+     * @param afterId id последнего приёма предыдущей страницы (0 для первой страницы)
+     * @param limit   максимальный размер страницы
+     * @return активные приёмы с id больше afterId, упорядоченные по id
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.patient
+        JOIN FETCH a.office
+        JOIN FETCH a.card
+        WHERE a.isDeleted = false AND a.id > ?1
+        ORDER BY a.id
+    """)
+    List<Appointments> findActivePage(Long afterId, Limit limit);
+
+    /**
+     * Потоково прочитать все активные приёмы через курсор JDBC.
+     * Вызывать только внутри транзакции и обязательно закрывать поток.
+     *
+     * @return поток активных приёмов, упорядоченных по id
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.patient
+        JOIN FETCH a.office
+        JOIN FETCH a.card
+        WHERE a.isDeleted = false
+        ORDER BY a.id
+    """)
+    Stream<Appointments> streamAllActive();
+
     /**
      * Найти активный приём по идентификатору.
      *
@@ -72,6 +121,44 @@ public interface AppointmentsRepository extends JpaRepository<Appointments, Long
     @Query("SELECT a FROM Appointments a WHERE a.patient.id = ?1 AND a.isDeleted = false")
     List<Appointments> findAllActiveByPatientId(Long patientId);
 
+    /**
+     * Посчитать предстоящие активные приёмы врача одним агрегирующим запросом.
+     *
+     * @param doctorId идентификатор врача
+     * @param from     начало отсчёта (начало текущего дня)
+     * @param todayEnd конец текущего дня
+     * @param weekEnd  конец текущей недели
+     * @return одна строка: приёмы за сегодня, за текущую неделю и все начиная с {@code from}
+     */
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN a.workHoursFrom < ?3 THEN 1 ELSE 0 END), 0),
+               COALESCE(SUM(CASE WHEN a.workHoursFrom < ?4 THEN 1 ELSE 0 END), 0),
+               COUNT(a)
+        FROM Appointments a
+        WHERE a.doctor.id = ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom >= ?2
+    """)
+    List<Object[]> countUpcomingByDoctorId(Long doctorId, LocalDateTime from, LocalDateTime todayEnd,
+                                           LocalDateTime weekEnd);
+
+    /**
+     * Посчитать активные приёмы по врачам и дням начала в интервале одним агрегирующим запросом.
+     *
+     * @param from начало интервала
+     * @param to   конец интервала (не включительно)
+     * @return строки {@code [ID врача, день, число приёмов]}
+     */
+    @Query("""
+        SELECT a.doctor.id, CAST(a.workHoursFrom AS LocalDate), COUNT(a)
+        FROM Appointments a
+        WHERE a.isDeleted = false
+          AND a.workHoursFrom >= ?1
+          AND a.workHoursFrom < ?2
+        GROUP BY a.doctor.id, CAST(a.workHoursFrom AS LocalDate)
+    """)
+    List<Object[]> countActiveByDoctorAndDayBetween(LocalDateTime from, LocalDateTime to);
+
     /**
      * Проверить, существует ли запись врача, пересекающаяся с указанным интервалом времени.
      *
@@ -87,6 +174,209 @@ public interface AppointmentsRepository extends JpaRepository<Appointments, Long
           AND a.isDeleted = false
           AND a.workHoursFrom < ?3
           AND a.workHoursFor > ?2
+          AND a.workHoursFrom >= truncate(cast(?2 as LocalDateTime), month) - 1 month
     """)
     boolean existsOverlappingAppointment(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы указанных врачей, пересекающиеся с интервалом времени.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @param from      начало интервала
+     * @param to        конец интервала
+     * @return список активных приёмов
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        WHERE a.doctor.id IN ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom < ?3
+          AND a.workHoursFor > ?2
+          AND a.workHoursFrom >= truncate(cast(?2 as LocalDateTime), month) - 1 month
+    """)
+    List<Appointments> findActiveByDoctorIdsBetween(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы в указанных кабинетах, пересекающиеся с интервалом времени.
+     *
+     * @param officeIds идентификаторы кабинетов
+     * @param from      начало интервала
+     * @param to        конец интервала
+     * @return список активных приёмов
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        WHERE a.office.id IN ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom < ?3
+          AND a.workHoursFor > ?2
+          AND a.workHoursFrom >= truncate(cast(?2 as LocalDateTime), month) - 1 month
+    """)
+    List<Appointments> findActiveByOfficeIdsBetween(Collection<Long> officeIds, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы указанных врачей, кабинетов или пациентов, пересекающиеся с интервалом времени.
+     * Используется для проверки пакета записей одним запросом.
+     *
+     * @param doctorIds  идентификаторы врачей
+     * @param officeIds  идентификаторы кабинетов
+     * @param patientIds идентификаторы пациентов
+     * @param from       начало интервала
+     * @param to         конец интервала
+     * @return список активных приёмов
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        WHERE (a.doctor.id IN ?1 OR a.office.id IN ?2 OR a.patient.id IN ?3)
+          AND a.isDeleted = false
+          AND a.workHoursFrom < ?5
+          AND a.workHoursFor > ?4
+          AND a.workHoursFrom >= truncate(cast(?4 as LocalDateTime), month) - 1 month
+    """)
+    List<Appointments> findActiveOverlappingAny(Collection<Long> doctorIds, Collection<Long> officeIds,
+                                                Collection<Long> patientIds, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы врача, начинающиеся в указанном диапазоне.
+     * Выполняется сканированием диапазона индекса {@code (doctor_id, work_hours_from) WHERE is_deleted = false};
+     * связанные сущности подгружаются тем же запросом.
+     *
+     * @param doctorId идентификатор врача
+     * @param from     начало диапазона (включительно)
+     * @param to       конец диапазона (не включительно)
+     * @return список активных приёмов, упорядоченных по времени начала
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.patient
+        JOIN FETCH a.office
+        JOIN FETCH a.card
+        WHERE a.doctor.id = ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom >= ?2
+          AND a.workHoursFrom < ?3
+        ORDER BY a.workHoursFrom
+    """)
+    List<Appointments> findActiveByDoctorIdStartingBetween(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы в кабинете, начинающиеся в указанном диапазоне.
+     * Выполняется сканированием диапазона индекса {@code (office_id, work_hours_from) WHERE is_deleted = false};
+     * связанные сущности подгружаются тем же запросом.
+     *
+     * @param officeId идентификатор кабинета
+     * @param from     начало диапазона (включительно)
+     * @param to       конец диапазона (не включительно)
+     * @return список активных приёмов, упорядоченных по времени начала
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.patient
+        JOIN FETCH a.office
+        JOIN FETCH a.card
+        WHERE a.office.id = ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom >= ?2
+          AND a.workHoursFrom < ?3
+        ORDER BY a.workHoursFrom
+    """)
+    List<Appointments> findActiveByOfficeIdStartingBetween(Long officeId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить активные приёмы пациента, начинающиеся в указанном диапазоне.
+     * Выполняется сканированием диапазона индекса {@code (patient_id, work_hours_from) WHERE is_deleted = false};
+     * связанные сущности подгружаются тем же запросом.
+     *
+     * @param patientId идентификатор пациента
+     * @param from      начало диапазона (включительно)
+     * @param to        конец диапазона (не включительно)
+     * @return список активных приёмов, упорядоченных по времени начала
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.patient
+        JOIN FETCH a.office
+        JOIN FETCH a.card
+        WHERE a.patient.id = ?1
+          AND a.isDeleted = false
+          AND a.workHoursFrom >= ?2
+          AND a.workHoursFrom < ?3
+        ORDER BY a.workHoursFrom
+    """)
+    List<Appointments> findActiveByPatientIdStartingBetween(Long patientId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Перенести приёмы одним запросом: назначить врача, сдвинуть время и временно снять признак активности.
+     * Снятые с активности строки не участвуют в ограничениях исключения, поэтому промежуточные пересечения
+     * внутри переносимого набора не приводят к ошибке; ограничения проверяются при
+     * {@link #reactivate(Collection)}.
+     *
+     * @param ids          идентификаторы приёмов
+     * @param doctorId     идентификатор врача, которому назначаются приёмы
+     * @param shiftMinutes сдвиг времени в минутах
+     * @return количество перенесённых приёмов
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Appointments a
+        SET a.doctor.id = ?2,
+            a.date = a.date + ?3 minute,
+            a.workHoursFrom = a.workHoursFrom + ?3 minute,
+            a.workHoursFor = a.workHoursFor + ?3 minute,
+            a.isDeleted = true
+        WHERE a.id IN ?1 AND a.isDeleted = false
+    """)
+    int moveAndDeactivate(Collection<Long> ids, Long doctorId, long shiftMinutes);
+
+    /**
+     * Вернуть признак активности приёмам одним запросом.
+     *
+     * @param ids идентификаторы приёмов
+     * @return количество обновлённых приёмов
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Appointments a SET a.isDeleted = false WHERE a.id IN ?1")
+    int reactivate(Collection<Long> ids);
+
+    /**
+     * Получить все активные приёмы, пересекающиеся с интервалом времени.
+     *
+     * @param from начало интервала
+     * @param to   конец интервала
+     * @return список активных приёмов
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        WHERE a.isDeleted = false
+          AND a.workHoursFrom < ?2
+          AND a.workHoursFor > ?1
+          AND a.workHoursFrom >= truncate(cast(?1 as LocalDateTime), month) - 1 month
+    """)
+    List<Appointments> findAllActiveBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Получить страницу активных приёмов пациента, начинающихся раньше курсора, от новых к старым (keyset-пагинация).
+     * Приёмы, начинающиеся ровно в момент курсора, возвращаются, только если их ID меньше {@code beforeId}.
+     *
+     * @param patientId ID пациента
+     * @param before    время начала из курсора
+     * @param beforeId  граница ID для приёмов, начинающихся в момент курсора
+     * @param limit     размер страницы
+     * @return приёмы, упорядоченные по убыванию времени начала и ID
+     */
+    @Query("""
+        SELECT a FROM Appointments a
+        JOIN FETCH a.doctor
+        JOIN FETCH a.office
+        WHERE a.patient.id = ?1
+          AND a.isDeleted = false
+          AND (a.workHoursFrom < ?2 OR (a.workHoursFrom = ?2 AND a.id < ?3))
+        ORDER BY a.workHoursFrom DESC, a.id DESC
+    """)
+    List<Appointments> findActiveByPatientIdBefore(Long patientId, LocalDateTime before, Long beforeId, Limit limit);
 }
@@ -0,0 +1,56 @@
+package org.dariaob.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.models.DoctorSchedule;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Репозиторий расписания врачей на JDBC для массовой записи без создания управляемых сущностей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorScheduleJdbcRepository {
+
+    private static final String INSERT_SCHEDULE = """
+            INSERT INTO doctor_schedule (doctor_id, day_of_week, start_time, end_time, office_id, is_deleted)
+            VALUES (:doctorId, :dayOfWeek, :startTime, :endTime, :officeId, false)
+            """;
+
+    /**
+     * Размер пакета JDBC
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставить активные записи расписания пакетами JDBC по {@value #BATCH_SIZE} строк.
+     * ID записей не используются; врач и кабинет берутся по ID.
+     *
+     * @param schedules записи расписания
+     * @return число вставленных строк
+     */
+    public int insertBatch(List<DoctorSchedule> schedules) {
+        int inserted = 0;
+        for (int from = 0; from < schedules.size(); from += BATCH_SIZE) {
+            MapSqlParameterSource[] batch = schedules.subList(from, Math.min(from + BATCH_SIZE, schedules.size()))
+                    .stream()
+                    .map(schedule -> new MapSqlParameterSource()
+                            .addValue("doctorId", schedule.getDoctor().getId())
+                            .addValue("dayOfWeek", schedule.getDayOfWeek())
+                            .addValue("startTime", schedule.getStartTime())
+                            .addValue("endTime", schedule.getEndTime())
+                            .addValue("officeId", schedule.getOffice() != null ? schedule.getOffice().getId() : null))
+                    .toArray(MapSqlParameterSource[]::new);
+            for (int count : jdbcTemplate.batchUpdate(INSERT_SCHEDULE, batch)) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+}
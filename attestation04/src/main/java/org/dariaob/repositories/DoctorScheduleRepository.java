@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +53,63 @@ public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule,
     @Query("SELECT s FROM DoctorSchedule s WHERE s.doctor.id = :doctorId AND s.dayOfWeek = :day AND s.isDeleted = false")
     List<DoctorSchedule> findByDoctorAndDay(Long doctorId, Short day);
 
+    /**
+     * Получить активные записи расписания указанных врачей вместе с врачом и кабинетом одним запросом.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @return список активных записей расписания
+     */
+    @Query("""
+        SELECT s FROM DoctorSchedule s
+        JOIN FETCH s.doctor d
+        LEFT JOIN FETCH s.office
+        WHERE d.id IN :doctorIds AND s.isDeleted = false AND d.isDeleted = false
+    """)
+    List<DoctorSchedule> findActiveByDoctorIds(Collection<Long> doctorIds);
+
+    /**
+     * Получить активные записи расписания активных врачей с указанным кабинетом вместе с врачом и кабинетом
+     * одним запросом.
+     *
+     * @return список активных записей расписания с кабинетом
+     */
+    @Query("""
+        SELECT s FROM DoctorSchedule s
+        JOIN FETCH s.doctor d
+        JOIN FETCH s.office
+        WHERE s.isDeleted = false AND d.isDeleted = false
+    """)
+    List<DoctorSchedule> findAllActiveWithOffice();
+
+    /**
+     * Получить активные записи расписания активных врачей вместе с врачом и кабинетом одним запросом,
+     * упорядоченные по врачу, дню недели и времени начала.
+     *
+     * @return упорядоченный список активных записей расписания
+     */
+    @Query("""
+        SELECT s FROM DoctorSchedule s
+        JOIN FETCH s.doctor d
+        LEFT JOIN FETCH s.office
+        WHERE s.isDeleted = false AND d.isDeleted = false
+        ORDER BY d.id, s.dayOfWeek, s.startTime, s.id
+    """)
+    List<DoctorSchedule> findAllActiveOrderedByDoctorAndDay();
+
+    /**
+     * Получить активные записи расписания активных врачей в кабинете на день недели.
+     *
+     * @param officeId  идентификатор кабинета
+     * @param dayOfWeek день недели (1-7)
+     * @return список активных записей расписания с врачом
+     */
+    @Query("""
+        SELECT s FROM DoctorSchedule s
+        JOIN FETCH s.doctor d
+        WHERE s.office.id = :officeId AND s.dayOfWeek = :dayOfWeek AND s.isDeleted = false AND d.isDeleted = false
+    """)
+    List<DoctorSchedule> findActiveByOfficeAndDay(Long officeId, Short dayOfWeek);
+
     /**
      * Мягко удалить запись расписания по идентификатору.
      *
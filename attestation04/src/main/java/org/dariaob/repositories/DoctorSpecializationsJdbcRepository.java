@@ -0,0 +1,71 @@
+package org.dariaob.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.models.DoctorSpecializationId;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Репозиторий связей врачей и специализаций на JDBC для массовой записи без создания управляемых сущностей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorSpecializationsJdbcRepository {
+
+    private static final String INSERT_LINK = """
+            INSERT INTO doctor_specializations (doctor_id, specialization_id)
+            VALUES (:doctorId, :specializationId)
+            """;
+
+    private static final String DELETE_LINK = """
+            DELETE FROM doctor_specializations
+            WHERE doctor_id = :doctorId AND specialization_id = :specializationId
+            """;
+
+    /**
+     * Размер пакета JDBC
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставить связи пакетами JDBC по {@value #BATCH_SIZE} строк.
+     *
+     * @param links ключи связей
+     * @return число вставленных строк
+     */
+    public int insertBatch(List<DoctorSpecializationId> links) {
+        return executeBatch(INSERT_LINK, links);
+    }
+
+    /**
+     * Удалить связи пакетами JDBC по {@value #BATCH_SIZE} строк.
+     *
+     * @param links ключи связей
+     * @return число удалённых строк
+     */
+    public int deleteBatch(List<DoctorSpecializationId> links) {
+        return executeBatch(DELETE_LINK, links);
+    }
+
+    private int executeBatch(String sql, List<DoctorSpecializationId> links) {
+        int affected = 0;
+        for (int from = 0; from < links.size(); from += BATCH_SIZE) {
+            MapSqlParameterSource[] batch = links.subList(from, Math.min(from + BATCH_SIZE, links.size()))
+                    .stream()
+                    .map(link -> new MapSqlParameterSource()
+                            .addValue("doctorId", link.getDoctorId())
+                            .addValue("specializationId", link.getSpecializationId()))
+                    .toArray(MapSqlParameterSource[]::new);
+            for (int count : jdbcTemplate.batchUpdate(sql, batch)) {
+                affected += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return affected;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,6 +34,14 @@ public interface DoctorSpecializationsRepository extends JpaRepository<DoctorSpe
      */
     List<DoctorSpecializations> findAllByIdDoctorId(Long doctorId);
 
+    /**
+     * Получить все связи указанных врачей одним запросом.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @return список связей врачей с специализациями
+     */
+    List<DoctorSpecializations> findAllByIdDoctorIdIn(Collection<Long> doctorIds);
+
     /**
      * Удалить связь врача и специализации по их идентификаторам.
      *
@@ -51,4 +60,26 @@ public interface DoctorSpecializationsRepository extends JpaRepository<DoctorSpe
      * @return список связей с врачами
      */
     List<DoctorSpecializations> findAllByIdSpecializationId(Long specializationId);
+
+    /**
+     * Получить идентификаторы активных врачей, имеющих указанную специализацию.
+     *
+     * @param specializationId идентификатор специализации
+     * @return список идентификаторов врачей
+     */
+    @Query("SELECT ds.id.doctorId FROM DoctorSpecializations ds WHERE ds.id.specializationId = ?1 AND ds.doctor.isDeleted = false")
+    List<Long> findActiveDoctorIdsBySpecializationId(Long specializationId);
+
+    /**
+     * Получить названия активных специализаций нескольких врачей одним запросом.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @return строки {@code [ID врача, название специализации]}
+     */
+    @Query("""
+            SELECT ds.id.doctorId, sp.name FROM DoctorSpecializations ds
+            JOIN ds.specialization sp
+            WHERE ds.id.doctorId IN ?1 AND sp.isDeleted = false
+            """)
+    List<Object[]> findActiveSpecializationNamesByDoctorIds(Collection<Long> doctorIds);
 }
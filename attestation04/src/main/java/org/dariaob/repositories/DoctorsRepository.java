@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,57 @@ public interface DoctorsRepository extends JpaRepository<Doctors, Long> {
     @Query("SELECT d FROM Doctors d WHERE d.id = :id AND d.isDeleted = false")
     Optional<Doctors> findActiveById(Long id);
 
+    /**
+     * Получить ID активных врачей из указанных.
+     *
+     * @param ids идентификаторы врачей
+     * @return идентификаторы тех из них, что существуют и не удалены
+     */
+    @Query("SELECT d.id FROM Doctors d WHERE d.id IN :ids AND d.isDeleted = false")
+    List<Long> findActiveIds(Collection<Long> ids);
+
+    /**
+     * Получить активных врачей из указанных одним запросом.
+     *
+     * @param ids идентификаторы врачей
+     * @return те из врачей, что существуют и не удалены
+     */
+    @Query("SELECT d FROM Doctors d WHERE d.id IN :ids AND d.isDeleted = false")
+    List<Doctors> findAllActiveByIds(Collection<Long> ids);
+
+    /**
+     * Получить активных врачей из указанных вместе с кабинетом одним запросом.
+     * Коллекция связей врача не загружается: названия специализаций читаются отдельным запросом
+     * {@link DoctorSpecializationsRepository#findActiveSpecializationNamesByDoctorIds(Collection)}.
+     *
+     * @param ids идентификаторы врачей
+     * @return активные врачи с загруженными кабинетами
+     */
+    @Query("""
+            SELECT d FROM Doctors d
+            LEFT JOIN FETCH d.office
+            WHERE d.id IN :ids AND d.isDeleted = false
+            """)
+    List<Doctors> findAllActiveWithOfficeByIds(Collection<Long> ids);
+
+    /**
+     * Получить активного врача для профиля одним запросом: врач с кабинетом, его активные специализации
+     * и активные записи расписания. Коллекция связей врача не загружается; строки — декартово произведение
+     * специализаций и записей расписания.
+     *
+     * @param id идентификатор врача
+     * @return строки {@code [Doctors, Specializations или null, DoctorSchedule или null]}; пусто, если врач не найден
+     */
+    @Query("""
+            SELECT d, sp, s FROM Doctors d
+            LEFT JOIN FETCH d.office
+            LEFT JOIN d.doctorSpecializations ds
+            LEFT JOIN ds.specialization sp ON sp.isDeleted = false
+            LEFT JOIN DoctorSchedule s ON s.doctor = d AND s.isDeleted = false
+            WHERE d.id = :id AND d.isDeleted = false
+            """)
+    List<Object[]> findActiveProfileRows(Long id);
+
     /**
      * Получить активного врача по телефону.
      * Выбирает врача по телефону, где isDeleted = false.
@@ -1,13 +1,16 @@
 package org.dariaob.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.dariaob.models.Offices;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +37,26 @@ public interface OfficesRepository extends JpaRepository<Offices, Long> {
     @Query("SELECT o FROM Offices o WHERE o.id = ?1 AND o.isDeleted = false")
     Optional<Offices> findActiveById(Long id);
 
+    /**
+     * Получить ID активных офисов из указанных.
+     *
+     * @param ids идентификаторы офисов
+     * @return идентификаторы тех из них, что существуют и не удалены
+     */
+    @Query("SELECT o.id FROM Offices o WHERE o.id IN :ids AND o.isDeleted = false")
+    List<Long> findActiveIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Заблокировать строки офисов до конца текущей транзакции (SELECT ... FOR UPDATE).
+     * Строки блокируются в порядке возрастания ID, чтобы параллельные транзакции не взаимоблокировались.
+     *
+     * @param ids идентификаторы офисов
+     * @return заблокированные офисы
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Offices o WHERE o.id IN :ids ORDER BY o.id")
+    List<Offices> lockAllByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Мягко удалить офис, установив флаг isDeleted = true.
      *
@@ -1,11 +1,13 @@
 package org.dariaob.repositories;
 
 import org.dariaob.models.PatientCardsHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,4 +42,22 @@ public interface PatientCardsHistoryRepository extends JpaRepository<PatientCard
      */
     @Query("SELECT h FROM PatientCardsHistory h WHERE h.changedBy = ?1")
     List<PatientCardsHistory> findByChangedBy(String changedBy);
+
+    /**
+     * Получить страницу изменений карты пациента раньше курсора, от новых к старым (keyset-пагинация).
+     * Изменения, внесённые ровно в момент курсора, возвращаются, только если их ID меньше {@code beforeId}.
+     *
+     * @param patientId ID пациента
+     * @param before    момент изменения из курсора
+     * @param beforeId  граница ID для изменений в момент курсора
+     * @param limit     размер страницы
+     * @return записи истории, упорядоченные по убыванию момента изменения и ID
+     */
+    @Query("""
+        SELECT h FROM PatientCardsHistory h
+        WHERE h.card.id = (SELECT p.patientCard.id FROM Patients p WHERE p.id = ?1)
+          AND (h.changedAt < ?2 OR (h.changedAt = ?2 AND h.id < ?3))
+        ORDER BY h.changedAt DESC, h.id DESC
+    """)
+    List<PatientCardsHistory> findByPatientIdBefore(Long patientId, LocalDateTime before, Long beforeId, Limit limit);
 }
@@ -0,0 +1,73 @@
+package org.dariaob.repositories;
+
+import jakarta.transaction.Transactional;
+import org.dariaob.models.ScheduleExceptions;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для работы с исключениями из расписания.
+ */
+@Repository
+public interface ScheduleExceptionsRepository extends JpaRepository<ScheduleExceptions, Long> {
+
+    /**
+     * Найти активное исключение по ID.
+     *
+     * @param id идентификатор исключения
+     * @return Optional с исключением
+     */
+    @Query("SELECT e FROM ScheduleExceptions e WHERE e.id = :id AND e.isDeleted = false")
+    Optional<ScheduleExceptions> findActiveById(Long id);
+
+    /**
+     * Активные исключения врачей и всей клиники, действующие хотя бы в один день диапазона.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @param from      первый день
+     * @param to        последний день
+     * @return исключения с загруженными врачом и кабинетом
+     */
+    @Query("""
+        SELECT e FROM ScheduleExceptions e
+        LEFT JOIN FETCH e.doctor d
+        LEFT JOIN FETCH e.office
+        WHERE e.isDeleted = false
+          AND (d IS NULL OR d.id IN :doctorIds)
+          AND e.dateFrom <= :to AND e.dateTo >= :from
+    """)
+    List<ScheduleExceptions> findActiveForDoctorsBetween(Collection<Long> doctorIds, LocalDate from, LocalDate to);
+
+    /**
+     * Активные исключения, действующие хотя бы в один день диапазона, по дате начала.
+     *
+     * @param from первый день
+     * @param to   последний день
+     * @return исключения с загруженными врачом и кабинетом
+     */
+    @Query("""
+        SELECT e FROM ScheduleExceptions e
+        LEFT JOIN FETCH e.doctor
+        LEFT JOIN FETCH e.office
+        WHERE e.isDeleted = false AND e.dateFrom <= :to AND e.dateTo >= :from
+        ORDER BY e.dateFrom, e.id
+    """)
+    List<ScheduleExceptions> findActiveBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Мягко удалить исключение по идентификатору.
+     *
+     * @param id идентификатор исключения
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduleExceptions e SET e.isDeleted = true WHERE e.id = :id")
+    void softDelete(Long id);
+}
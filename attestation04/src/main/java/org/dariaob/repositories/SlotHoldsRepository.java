@@ -0,0 +1,135 @@
+package org.dariaob.repositories;
+
+import jakarta.transaction.Transactional;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для работы с временными бронями слотов.
+ */
+@Repository
+public interface SlotHoldsRepository extends JpaRepository<SlotHolds, Long> {
+
+    /**
+     * Пространство ключей advisory-блокировок врачей
+     */
+    int DOCTOR_LOCK_NAMESPACE = 1;
+
+    /**
+     * Пространство ключей advisory-блокировок кабинетов
+     */
+    int OFFICE_LOCK_NAMESPACE = 2;
+
+    /**
+     * Получить все брони в указанном статусе.
+     *
+     * @param status статус брони
+     * @return список броней
+     */
+    @Query("SELECT h FROM SlotHolds h WHERE h.status = :status")
+    List<SlotHolds> findAllByStatus(SlotHoldStatus status);
+
+    /**
+     * Проверить, есть ли действующая бронь врача или кабинета, пересекающаяся с интервалом.
+     *
+     * @param doctorId идентификатор врача
+     * @param officeId идентификатор кабинета
+     * @param from     начало интервала
+     * @param to       конец интервала
+     * @param now      текущий момент (истёкшие брони не учитываются)
+     * @return true, если пересекающаяся бронь существует
+     */
+    @Query("""
+        SELECT CASE WHEN COUNT(h) > 0 THEN true ELSE false END
+        FROM SlotHolds h
+        WHERE h.status = org.dariaob.models.SlotHoldStatus.ACTIVE
+          AND h.expiresAt > :now
+          AND (h.doctor.id = :doctorId OR h.office.id = :officeId)
+          AND h.holdFrom < :to
+          AND h.holdTo > :from
+    """)
+    boolean existsActiveOverlapping(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                                    LocalDateTime now);
+
+    /**
+     * Получить действующие брони указанных врачей или кабинетов, пересекающиеся с интервалом.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @param officeIds идентификаторы кабинетов
+     * @param from      начало интервала
+     * @param to        конец интервала
+     * @param now       текущий момент (истёкшие брони не учитываются)
+     * @return список броней
+     */
+    @Query("""
+        SELECT h FROM SlotHolds h
+        WHERE h.status = org.dariaob.models.SlotHoldStatus.ACTIVE
+          AND h.expiresAt > :now
+          AND (h.doctor.id IN :doctorIds OR h.office.id IN :officeIds)
+          AND h.holdFrom < :to
+          AND h.holdTo > :from
+    """)
+    List<SlotHolds> findActiveOverlapping(Collection<Long> doctorIds, Collection<Long> officeIds,
+                                          LocalDateTime from, LocalDateTime to, LocalDateTime now);
+
+    /**
+     * Пометить действующие брони истёкшими одним запросом.
+     *
+     * @param ids идентификаторы броней
+     * @return количество обновлённых броней
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE SlotHolds h SET h.status = org.dariaob.models.SlotHoldStatus.EXPIRED
+        WHERE h.id IN :ids AND h.status = org.dariaob.models.SlotHoldStatus.ACTIVE
+    """)
+    int expireByIds(Collection<Long> ids);
+
+    /**
+     * Пометить истёкшими все действующие брони со сроком до указанного момента.
+     * Используется для броней, созданных другими узлами.
+     *
+     * @param now текущий момент
+     * @return количество обновлённых броней
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE SlotHolds h SET h.status = org.dariaob.models.SlotHoldStatus.EXPIRED
+        WHERE h.status = org.dariaob.models.SlotHoldStatus.ACTIVE AND h.expiresAt <= :now
+    """)
+    int expireAllBefore(LocalDateTime now);
+
+    /**
+     * Попытаться взять транзакционные advisory-блокировки врача и кабинета,
+     * сериализующие проверки интервалов по БД между узлами.
+     *
+     * @param doctorId идентификатор врача
+     * @param officeId идентификатор кабинета
+     * @return true, если получены обе блокировки
+     */
+    default boolean tryLockAcrossNodes(Long doctorId, Long officeId) {
+        return tryAdvisoryXactLock(DOCTOR_LOCK_NAMESPACE, Long.hashCode(doctorId))
+                && tryAdvisoryXactLock(OFFICE_LOCK_NAMESPACE, Long.hashCode(officeId));
+    }
+
+    /**
+     * Попытаться взять транзакционную advisory-блокировку PostgreSQL.
+     * Блокировка снимается автоматически при завершении транзакции.
+     *
+     * @param namespace пространство ключей (врачи, кабинеты)
+     * @param key       ключ внутри пространства
+     * @return true, если блокировка получена
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, :key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(int namespace, int key);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,15 @@ public interface SpecializationsRepository extends JpaRepository<Specializations
     @Query("SELECT s FROM Specializations s WHERE s.isDeleted = false")
     List<Specializations> findAllActive();
 
+    /**
+     * Получить активные специализации из указанных одним запросом
+     *
+     * @param ids ID специализаций
+     * @return те из специализаций, что существуют и не удалены
+     */
+    @Query("SELECT s FROM Specializations s WHERE s.id IN ?1 AND s.isDeleted = false")
+    List<Specializations> findAllActiveByIds(Collection<Long> ids);
+
     /**
      * Найти специализацию по точному названию (без учета регистра)
      *
@@ -0,0 +1,40 @@
+package org.dariaob.repositories;
+
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.WaitlistEntries;
+import org.dariaob.models.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для работы с листом ожидания.
+ */
+@Repository
+public interface WaitlistEntriesRepository extends JpaRepository<WaitlistEntries, Long> {
+
+    /**
+     * Получить все записи в указанном статусе в порядке постановки в лист ожидания.
+     *
+     * @param status статус записи
+     * @return список записей
+     */
+    @Query("SELECT w FROM WaitlistEntries w WHERE w.status = :status ORDER BY w.createdAt, w.id")
+    List<WaitlistEntries> findAllByStatus(WaitlistStatus status);
+
+    /**
+     * Получить записи с выданным предложением, бронь которых перешла в один из указанных статусов.
+     *
+     * @param holdStatuses статусы брони
+     * @return список записей
+     */
+    @Query("""
+        SELECT w FROM WaitlistEntries w
+        WHERE w.status = org.dariaob.models.WaitlistStatus.OFFERED
+          AND w.holdId IN (SELECT h.id FROM SlotHolds h WHERE h.status IN :holdStatuses)
+    """)
+    List<WaitlistEntries> findOfferedByHoldStatusIn(Collection<SlotHoldStatus> holdStatuses);
+}
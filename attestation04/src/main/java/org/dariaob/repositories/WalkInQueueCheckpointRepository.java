@@ -0,0 +1,95 @@
+package org.dariaob.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.walkIn.WalkInQueueDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий контрольных точек живой очереди кабинетов.
+ * Одна строка на кабинет: счётчики очереди и ожидающие талоны в виде JSON.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WalkInQueueCheckpointRepository {
+
+    private static final String UPDATE_CHECKPOINT = """
+            UPDATE walk_in_queue_checkpoints
+            SET last_issued = :lastIssued, called = :called, tickets = :tickets, checkpointed_at = :now
+            WHERE office_id = :officeId
+            """;
+
+    private static final String INSERT_CHECKPOINT = """
+            INSERT INTO walk_in_queue_checkpoints (office_id, last_issued, called, tickets, checkpointed_at)
+            VALUES (:officeId, :lastIssued, :called, :tickets, :now)
+            """;
+
+    private static final String SELECT_CHECKPOINTS = """
+            SELECT office_id, last_issued, called, tickets FROM walk_in_queue_checkpoints
+            """;
+
+    private static final TypeReference<List<WalkInTicketDto>> TICKETS = new TypeReference<>() {
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Сохранить контрольные точки очередей: обновить строки кабинетов, для новых кабинетов вставить.
+     *
+     * @param queues состояния очередей
+     */
+    @Transactional
+    public void saveAll(List<WalkInQueueDto> queues) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WalkInQueueDto queue : queues) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("officeId", queue.getOfficeId())
+                    .addValue("lastIssued", queue.getLastIssued())
+                    .addValue("called", queue.getCalled())
+                    .addValue("tickets", toJson(queue.getWaiting()))
+                    .addValue("now", now);
+            if (jdbcTemplate.update(UPDATE_CHECKPOINT, params) == 0) {
+                jdbcTemplate.update(INSERT_CHECKPOINT, params);
+            }
+        }
+    }
+
+    /**
+     * Получить контрольные точки всех очередей.
+     *
+     * @return состояния очередей
+     */
+    public List<WalkInQueueDto> findAll() {
+        return jdbcTemplate.query(SELECT_CHECKPOINTS, (rs, rowNum) -> new WalkInQueueDto(
+                rs.getLong("office_id"),
+                rs.getLong("last_issued"),
+                rs.getLong("called"),
+                fromJson(rs.getString("tickets"))));
+    }
+
+    private String toJson(List<WalkInTicketDto> tickets) {
+        try {
+            return objectMapper.writeValueAsString(tickets);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Не удалось сохранить талоны очереди", ex);
+        }
+    }
+
+    private List<WalkInTicketDto> fromJson(String tickets) {
+        try {
+            return objectMapper.readValue(tickets, TICKETS);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Не удалось прочитать талоны очереди", ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Обслуживание помесячных секций таблицы приёмов (PostgreSQL).
+ * Заранее создаёт секции на ближайшие месяцы и отсоединяет секции старше срока хранения
+ * в схему {@code clinic_archive}, чтобы запросы по активным приёмам читали только недавние секции.
+ * Сами операции выполняют функции БД из миграции {@code V6_0__partition_appointments.sql}.
+ * <p>
+ * Включается свойством {@code clinic.partitions.enabled}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "clinic.partitions.enabled", havingValue = "true")
+public class AppointmentPartitionService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${clinic.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${clinic.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    /**
+     * Выполнить обслуживание секций при запуске приложения и затем по расписанию.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${clinic.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        createFuturePartitions(currentMonth);
+        archiveOldPartitions(currentMonth);
+    }
+
+    /**
+     * Создать секции с текущего месяца на {@code clinic.partitions.months-ahead} месяцев вперёд.
+     *
+     * @param currentMonth первый день текущего месяца
+     */
+    public void createFuturePartitions(LocalDate currentMonth) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            String partition = jdbcTemplate.queryForObject("SELECT create_appointments_partition(?)",
+                    String.class, Date.valueOf(currentMonth.plusMonths(i)));
+            log.debug("Секция приёмов готова: {}", partition);
+        }
+    }
+
+    /**
+     * Отсоединить в архив секции месяцев старше {@code clinic.partitions.retention-months}.
+     *
+     * @param currentMonth первый день текущего месяца
+     * @return количество перенесённых в архив секций
+     */
+    public int archiveOldPartitions(LocalDate currentMonth) {
+        Integer archived = jdbcTemplate.queryForObject("SELECT archive_appointments_partitions(?)",
+                Integer.class, Date.valueOf(currentMonth.minusMonths(retentionMonths)));
+        if (archived != null && archived > 0) {
+            log.info("Секций приёмов перенесено в архив: {}", archived);
+        }
+        return archived != null ? archived : 0;
+    }
+}
@@ -0,0 +1,153 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+import org.dariaob.models.ReminderType;
+import org.dariaob.repositories.AppointmentsJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Рассылка напоминаний о приёме за сутки и за два часа до начала.
+ * <p>
+ * Окно каждого вида напоминаний просматривается интервалами по {@code clinic.reminders.bucket-minutes}
+ * минут; внутри интервала приёмы читаются страницами по ключу (время начала, ID) через частичный индекс
+ * активных приёмов. Напоминания страницы отправляются на виртуальных потоках, число одновременных отправок
+ * ограничено семафором {@code clinic.reminders.max-concurrency}. Доставленные напоминания отмечаются одним
+ * UPDATE на страницу; недоставленные остаются неотмеченными и повторяются при следующем проходе.
+ * <p>
+ * Включается свойством {@code clinic.reminders.enabled}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "clinic.reminders.enabled", havingValue = "true")
+public class AppointmentReminderService {
+
+    private final AppointmentsJdbcRepository appointmentsJdbcRepository;
+    private final ReminderSender reminderSender;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${clinic.reminders.batch-size:200}")
+    private int batchSize;
+
+    @Value("${clinic.reminders.bucket-minutes:60}")
+    private int bucketMinutes;
+
+    @Value("${clinic.reminders.max-concurrency:32}")
+    private int maxConcurrency;
+
+    /**
+     * Выполнить проход рассылки по расписанию.
+     */
+    @Scheduled(fixedDelayString = "${clinic.reminders.interval-ms:60000}")
+    public void dispatchDue() {
+        int sent = dispatch(LocalDateTime.now());
+        if (sent > 0) {
+            log.info("Отправлено напоминаний: {}", sent);
+        }
+    }
+
+    /**
+     * Отправить все напоминания, срок которых наступил к указанному моменту.
+     * Напоминание за сутки отправляется по приёмам, до начала которых осталось от двух до 24 часов,
+     * напоминание за два часа — по приёмам, до начала которых осталось не более двух часов.
+     * Если предыдущий проход ещё выполняется, новый не начинается.
+     *
+     * @param now текущий момент
+     * @return количество доставленных напоминаний
+     */
+    public int dispatch(LocalDateTime now) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(maxConcurrency);
+            ReminderType[] types = ReminderType.values();
+            int sent = 0;
+            for (int i = 0; i < types.length; i++) {
+                Duration lowerLead = i + 1 < types.length ? types[i + 1].getLeadTime() : Duration.ZERO;
+                sent += dispatchWindow(types[i], now.plus(lowerLead), now.plus(types[i].getLeadTime()),
+                        executor, permits);
+            }
+            return sent;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int dispatchWindow(ReminderType type, LocalDateTime windowFrom, LocalDateTime windowTo,
+                               ExecutorService executor, Semaphore permits) {
+        int sent = 0;
+        for (LocalDateTime bucketFrom = windowFrom; bucketFrom.isBefore(windowTo);
+             bucketFrom = bucketFrom.plusMinutes(bucketMinutes)) {
+            LocalDateTime bucketTo = bucketFrom.plusMinutes(bucketMinutes);
+            if (bucketTo.isAfter(windowTo)) {
+                bucketTo = windowTo;
+            }
+            LocalDateTime afterFrom = bucketFrom;
+            long afterId = 0;
+            List<AppointmentReminderDto> page;
+            do {
+                page = appointmentsJdbcRepository.findDueReminders(type, bucketFrom, bucketTo,
+                        afterFrom, afterId, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                sent += sendPage(type, page, executor, permits);
+                AppointmentReminderDto last = page.get(page.size() - 1);
+                afterFrom = last.getWorkHoursFrom();
+                afterId = last.getAppointmentId();
+            } while (page.size() == batchSize);
+        }
+        return sent;
+    }
+
+    private int sendPage(ReminderType type, List<AppointmentReminderDto> page, ExecutorService executor,
+                         Semaphore permits) {
+        List<Future<Boolean>> results = new ArrayList<>(page.size());
+        for (AppointmentReminderDto reminder : page) {
+            results.add(executor.submit(() -> send(reminder, permits)));
+        }
+        List<Long> delivered = new ArrayList<>(page.size());
+        for (int i = 0; i < page.size(); i++) {
+            try {
+                if (results.get(i).get()) {
+                    delivered.add(page.get(i).getAppointmentId());
+                }
+            } catch (ExecutionException ex) {
+                log.warn("Не удалось отправить напоминание {} по приёму {}", type,
+                        page.get(i).getAppointmentId(), ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        appointmentsJdbcRepository.markRemindersSent(type, delivered, LocalDateTime.now());
+        return delivered.size();
+    }
+
+    private boolean send(AppointmentReminderDto reminder, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        try {
+            return reminderSender.send(reminder);
+        } finally {
+            permits.release();
+        }
+    }
+}
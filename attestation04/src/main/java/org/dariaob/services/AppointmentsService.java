@@ -1,16 +1,42 @@
 package org.dariaob.services;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.appointments.AppointmentBatchResultDto;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.dto.appointments.AppointmentRescheduleDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Appointments;
+import org.dariaob.repositories.AppointmentsJdbcRepository;
 import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Сервис для работы с приёмами
@@ -19,18 +45,106 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AppointmentsService {
 
+    /**
+     * Максимальный размер страницы при курсорной пагинации
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Размер страницы при курсорной пагинации, если он не указан
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Размер порции строк при потоковой выгрузке (совпадает с fetch size курсора)
+     */
+    public static final int STREAM_BATCH_SIZE = 500;
+
+    /**
+     * Максимальная длина диапазона для выборок календаря в днях
+     */
+    public static final int MAX_RANGE_DAYS = 31;
+
+    /**
+     * Максимальное количество приёмов в одном пакете
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * SQLSTATE нарушения ограничения исключения (EXCLUDE) в PostgreSQL
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * SQLSTATE нарушения ограничения CHECK в PostgreSQL и H2
+     */
+    private static final String CHECK_VIOLATION = "23514";
+
+    /**
+     * SQLSTATE нарушения внешнего ключа в PostgreSQL и H2
+     */
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
+    private static final String OVERLAP_MESSAGE = "Время приёма пересекается с другим приёмом или бронью врача или кабинета.";
+    private static final String HELD_MESSAGE = "Время приёма удерживается временной бронью.";
+
     private final AppointmentsRepository appointmentsRepository;
+    private final AppointmentsJdbcRepository appointmentsJdbcRepository;
+    private final SlotReservationService slotReservationService;
+    private final SlotHoldsRepository slotHoldsRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Value("${clinic.holds.multi-node:false}")
+    private boolean multiNode;
 
     /**
-     * Получить все активные приёмы
+     * Получить все активные приёмы.
+     * Полный список не кэшируется: для больших объёмов следует использовать
+     * {@link #getActiveAppointmentsPage(Long, int)} или {@link #streamAllActiveAppointments(Consumer)}.
      *
      * @return the all active appointments
      */
-    @Cacheable(value = "appointments", key = "'allActive'")
     public List<Appointments> getAllActiveAppointments() {
         return appointmentsRepository.findAllActive();
     }
 
+    /**
+     * Получить страницу активных приёмов после указанного id (keyset-пагинация).
+     *
+     * @param afterId id последнего приёма предыдущей страницы, null для первой страницы
+     * @param limit   размер страницы (от 1 до {@value #MAX_PAGE_SIZE})
+     * @return приёмы страницы, упорядоченные по id
+     * @throws BadFormatException если размер страницы вне допустимого диапазона
+     */
+    public List<Appointments> getActiveAppointmentsPage(Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadFormatException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE + ".");
+        }
+        return appointmentsRepository.findActivePage(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Последовательно передать все активные приёмы обработчику, читая их курсором JDBC.
+     * Контекст персистентности очищается после каждой порции из {@value #STREAM_BATCH_SIZE} строк,
+     * поэтому в памяти одновременно находится не больше одной порции.
+     *
+     * @param consumer обработчик приёмов
+     */
+    @Transactional
+    public void streamAllActiveAppointments(Consumer<Appointments> consumer) {
+        int[] processed = {0};
+        try (Stream<Appointments> stream = appointmentsRepository.streamAllActive()) {
+            stream.forEach(appointment -> {
+                consumer.accept(appointment);
+                if (++processed[0] % STREAM_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
     /**
      * Получить активный приём по ID или выбросить исключение
      *
@@ -43,6 +157,458 @@ public class AppointmentsService {
                 .orElseThrow(() -> new DataNotFoundException("Приём с ID " + id + " не найден или удалён."));
     }
 
+    /**
+     * Записать пациента на приём.
+     * Интервал врача и кабинета сначала захватывается в карте слотов в памяти, и только после этого
+     * выполняется один INSERT. Если захватить интервал не удалось, пересечение с приёмами и действующими бронями
+     * подтверждается запросом к БД: карта консервативна и может считать занятым слот, который приём только делит
+     * с соседним. Брони вне горизонта карты (а при {@code clinic.holds.multi-node} — любые брони) в карте
+     * не отражены, поэтому для таких интервалов брони проверяются по БД и после успешного захвата.
+     * Проверки по БД сериализуются с бронями того же врача или кабинета до завершения транзакции.
+     * Пересечения по пациенту (и по врачу и кабинету вне горизонта карты) проверяет БД ограничениями исключения.
+     *
+     * @param request данные приёма
+     * @return ID созданного приёма
+     * @throws BadFormatException    если не заданы обязательные поля или интервал пустой
+     * @throws DataNotFoundException если пациент, врач или кабинет не найдены
+     * @throws ConflictException     если время пересекается с другим активным приёмом или действующей бронью
+     */
+    @Transactional
+    @CacheEvict(value = "appointments", allEntries = true)
+    public Long createAppointment(AppointmentRequestDto request) {
+        validateRequest(request);
+        LocalDateTime from = request.getWorkHoursFrom();
+        LocalDateTime to = request.getWorkHoursFor();
+        boolean claimed = slotReservationService.claim(request.getDoctorId(), request.getOfficeId(), from, to);
+        try {
+            String conflict = databaseConflict(request, claimed);
+            if (conflict != null) {
+                throw new ConflictException(conflict);
+            }
+            return insertClaimed(request);
+        } catch (RuntimeException ex) {
+            if (claimed) {
+                slotReservationService.release(request.getDoctorId(), request.getOfficeId(), from, to);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Записать пациента на приём в интервал, уже удерживаемый временной бронью.
+     * Интервал защищён самой бронью (слотами в карте или записью в БД), поэтому повторно не захватывается
+     * и не освобождается при ошибке, а бронь не считается пересечением.
+     *
+     * @param request данные приёма
+     * @return ID созданного приёма
+     * @throws BadFormatException    если не заданы обязательные поля или интервал пустой
+     * @throws DataNotFoundException если пациент, врач или кабинет не найдены
+     * @throws ConflictException     если время пересекается с другим активным приёмом
+     */
+    @Transactional
+    @CacheEvict(value = "appointments", allEntries = true)
+    public Long createHeldAppointment(AppointmentRequestDto request) {
+        validateRequest(request);
+        return insertClaimed(request);
+    }
+
+    /**
+     * Записать пакет приёмов.
+     * Пересечения проверяются для всего пакета сразу: существующие приёмы врачей, кабинетов и пациентов пакета
+     * читаются одним запросом, а пересечения внутри пакета находятся проходом по элементам,
+     * отсортированным по ресурсу и времени начала. Прошедшие проверку приёмы захватываются в карте слотов
+     * (неудачный захват и интервалы, брони которых в карте не отражены, проверяются по приёмам и броням в БД)
+     * и вставляются одним пакетом JDBC.
+     * Результат сообщается по каждому элементу отдельно.
+     * <p>
+     * Если БД всё же отклонит пакет (пересечение, созданное параллельным запросом), транзакция откатывается целиком.
+     *
+     * @param requests данные приёмов
+     * @return результаты в порядке элементов запроса
+     * @throws BadFormatException если пакет пустой или больше {@value #MAX_BATCH_SIZE} элементов
+     * @throws ConflictException  если БД отклонила пакет из-за пересечения
+     */
+    @Transactional
+    @CacheEvict(value = "appointments", allEntries = true)
+    public List<AppointmentBatchResultDto> createAppointments(List<AppointmentRequestDto> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new BadFormatException("Пакет должен содержать от 1 до " + MAX_BATCH_SIZE + " приёмов.");
+        }
+        AppointmentBatchResultDto[] results = new AppointmentBatchResultDto[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateRequest(requests.get(i));
+                candidates.add(i);
+            } catch (BadFormatException ex) {
+                results[i] = AppointmentBatchResultDto.rejected(i, AppointmentBatchResultDto.Status.INVALID, ex.getMessage());
+            }
+        }
+
+        rejectExistingOverlaps(requests, candidates, results);
+        rejectBatchOverlaps(requests, candidates, results, AppointmentRequestDto::getDoctorId, "врача");
+        rejectBatchOverlaps(requests, candidates, results, AppointmentRequestDto::getOfficeId, "кабинета");
+        rejectBatchOverlaps(requests, candidates, results, AppointmentRequestDto::getPatientId, "пациента");
+
+        List<Integer> claimed = new ArrayList<>();
+        Set<Integer> unclaimed = new HashSet<>();
+        for (Integer i : candidates) {
+            AppointmentRequestDto request = requests.get(i);
+            boolean inMap = slotReservationService.claim(request.getDoctorId(), request.getOfficeId(),
+                    request.getWorkHoursFrom(), request.getWorkHoursFor());
+            String conflict;
+            try {
+                conflict = databaseConflict(request, inMap);
+            } catch (ConflictException ex) {
+                conflict = ex.getMessage();
+            }
+            if (conflict != null) {
+                if (inMap) {
+                    releaseClaim(request);
+                }
+                results[i] = AppointmentBatchResultDto.rejected(i, AppointmentBatchResultDto.Status.CONFLICT, conflict);
+            } else {
+                claimed.add(i);
+                if (!inMap) {
+                    unclaimed.add(i);
+                }
+            }
+        }
+        if (claimed.isEmpty()) {
+            return List.of(results);
+        }
+
+        List<AppointmentRequestDto> toInsert = claimed.stream().map(requests::get).toList();
+        List<Optional<Long>> ids;
+        try {
+            ids = appointmentsJdbcRepository.insertActiveBatch(toInsert);
+        } catch (RuntimeException ex) {
+            claimed.stream().filter(i -> !unclaimed.contains(i)).map(requests::get).forEach(this::releaseClaim);
+            throw ex instanceof DataIntegrityViolationException violation ? translateIntegrityViolation(violation) : ex;
+        }
+        for (int k = 0; k < claimed.size(); k++) {
+            int i = claimed.get(k);
+            AppointmentRequestDto request = toInsert.get(k);
+            Optional<Long> id = ids.get(k);
+            if (id.isPresent()) {
+                results[i] = AppointmentBatchResultDto.created(i, id.get());
+                eventPublisher.publishEvent(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED, id.get(),
+                        request.getDoctorId(), request.getPatientId(), request.getOfficeId(),
+                        request.getWorkHoursFrom(), request.getWorkHoursFor()));
+            } else {
+                if (!unclaimed.contains(i)) {
+                    releaseClaim(request);
+                }
+                results[i] = AppointmentBatchResultDto.rejected(i, AppointmentBatchResultDto.Status.NOT_FOUND,
+                        "Пациент с ID " + request.getPatientId() + " не найден или удалён.");
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Отклонить элементы пакета, пересекающиеся с уже существующими приёмами.
+     * Существующие приёмы всех врачей, кабинетов и пациентов пакета читаются одним запросом.
+     */
+    private void rejectExistingOverlaps(List<AppointmentRequestDto> requests, List<Integer> candidates,
+                                        AppointmentBatchResultDto[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<Long> doctorIds = new HashSet<>();
+        Set<Long> officeIds = new HashSet<>();
+        Set<Long> patientIds = new HashSet<>();
+        LocalDateTime from = LocalDateTime.MAX;
+        LocalDateTime to = LocalDateTime.MIN;
+        for (Integer i : candidates) {
+            AppointmentRequestDto request = requests.get(i);
+            doctorIds.add(request.getDoctorId());
+            officeIds.add(request.getOfficeId());
+            patientIds.add(request.getPatientId());
+            from = request.getWorkHoursFrom().isBefore(from) ? request.getWorkHoursFrom() : from;
+            to = request.getWorkHoursFor().isAfter(to) ? request.getWorkHoursFor() : to;
+        }
+        List<Appointments> existing = appointmentsRepository.findActiveOverlappingAny(doctorIds, officeIds,
+                patientIds, from, to);
+        if (existing.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Appointments>> byDoctor = existing.stream()
+                .collect(Collectors.groupingBy(a -> a.getDoctor().getId()));
+        Map<Long, List<Appointments>> byOffice = existing.stream().filter(a -> a.getOffice() != null)
+                .collect(Collectors.groupingBy(a -> a.getOffice().getId()));
+        Map<Long, List<Appointments>> byPatient = existing.stream().filter(a -> a.getPatient() != null)
+                .collect(Collectors.groupingBy(a -> a.getPatient().getId()));
+
+        candidates.removeIf(i -> {
+            AppointmentRequestDto request = requests.get(i);
+            String owner = overlaps(byDoctor.get(request.getDoctorId()), request) ? "врача"
+                    : overlaps(byOffice.get(request.getOfficeId()), request) ? "кабинета"
+                    : overlaps(byPatient.get(request.getPatientId()), request) ? "пациента"
+                    : null;
+            if (owner == null) {
+                return false;
+            }
+            results[i] = AppointmentBatchResultDto.rejected(i, AppointmentBatchResultDto.Status.CONFLICT,
+                    "Время приёма пересекается с существующим приёмом " + owner + ".");
+            return true;
+        });
+    }
+
+    private static boolean overlaps(List<Appointments> appointments, AppointmentRequestDto request) {
+        return appointments != null && appointments.stream().anyMatch(a ->
+                overlaps(a, request.getWorkHoursFrom(), request.getWorkHoursFor()));
+    }
+
+    private static boolean overlaps(Appointments appointment, LocalDateTime from, LocalDateTime to) {
+        return appointment.getWorkHoursFrom().isBefore(to) && appointment.getWorkHoursFor().isAfter(from);
+    }
+
+    /**
+     * Отклонить элементы пакета, пересекающиеся между собой по одному ресурсу.
+     * Элементы сортируются по ресурсу и времени начала; из пересекающихся остаётся более ранний.
+     */
+    private static void rejectBatchOverlaps(List<AppointmentRequestDto> requests, List<Integer> candidates,
+                                            AppointmentBatchResultDto[] results,
+                                            Function<AppointmentRequestDto, Long> resource, String owner) {
+        List<Integer> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.<Integer, Long>comparing(i -> resource.apply(requests.get(i)))
+                .thenComparing(i -> requests.get(i).getWorkHoursFrom())
+                .thenComparing(Comparator.naturalOrder()));
+        Set<Integer> rejected = new HashSet<>();
+        Long currentResource = null;
+        LocalDateTime busyUntil = null;
+        for (Integer i : sorted) {
+            AppointmentRequestDto request = requests.get(i);
+            Long id = resource.apply(request);
+            if (!id.equals(currentResource)) {
+                currentResource = id;
+                busyUntil = null;
+            }
+            if (busyUntil != null && request.getWorkHoursFrom().isBefore(busyUntil)) {
+                rejected.add(i);
+                results[i] = AppointmentBatchResultDto.rejected(i, AppointmentBatchResultDto.Status.CONFLICT,
+                        "Время приёма пересекается с другим приёмом " + owner + " в этом пакете.");
+            } else {
+                busyUntil = request.getWorkHoursFor();
+            }
+        }
+        candidates.removeAll(rejected);
+    }
+
+    /**
+     * Подтвердить по БД пересечение интервала с приёмами или действующими бронями врача или кабинета.
+     */
+    private boolean overlapsInDatabase(AppointmentRequestDto request) {
+        return appointmentsRepository.existsOverlappingAppointment(request.getDoctorId(),
+                request.getWorkHoursFrom(), request.getWorkHoursFor())
+                || !appointmentsRepository.findActiveByOfficeIdsBetween(List.of(request.getOfficeId()),
+                request.getWorkHoursFrom(), request.getWorkHoursFor()).isEmpty()
+                || heldInDatabase(request);
+    }
+
+    /**
+     * Проверить интервал по БД под блокировкой проверок, общей с бронями. После неудачного захвата в карте
+     * проверяются приёмы и брони; после успешного — только брони, которых может не быть в карте:
+     * брони интервалов вне горизонта карты и, если приложение работает на нескольких узлах, брони других узлов.
+     *
+     * @return сообщение о конфликте или null, если интервал свободен
+     */
+    private String databaseConflict(AppointmentRequestDto request, boolean claimed) {
+        if (claimed && !multiNode
+                && slotReservationService.isCovered(request.getWorkHoursFrom(), request.getWorkHoursFor())) {
+            return null;
+        }
+        lockForDatabaseCheck(request);
+        if (claimed) {
+            return heldInDatabase(request) ? HELD_MESSAGE : null;
+        }
+        return overlapsInDatabase(request) ? OVERLAP_MESSAGE : null;
+    }
+
+    /**
+     * Сериализовать проверку по БД с параллельными бронями и записями того же врача или кабинета
+     * до завершения транзакции: на одном узле — блокировками в памяти, на нескольких — advisory-блокировками.
+     */
+    private void lockForDatabaseCheck(AppointmentRequestDto request) {
+        if (!multiNode) {
+            slotReservationService.lockUntilCompletion(request.getDoctorId(), request.getOfficeId());
+        } else if (!slotHoldsRepository.tryLockAcrossNodes(request.getDoctorId(), request.getOfficeId())) {
+            throw new ConflictException("Интервал сейчас бронируется другим запросом, повторите попытку.");
+        }
+    }
+
+    private boolean heldInDatabase(AppointmentRequestDto request) {
+        return slotHoldsRepository.existsActiveOverlapping(request.getDoctorId(), request.getOfficeId(),
+                request.getWorkHoursFrom(), request.getWorkHoursFor(), LocalDateTime.now());
+    }
+
+    private void releaseClaim(AppointmentRequestDto request) {
+        slotReservationService.release(request.getDoctorId(), request.getOfficeId(),
+                request.getWorkHoursFrom(), request.getWorkHoursFor());
+    }
+
+    private void validateRequest(AppointmentRequestDto request) {
+        if (request.getDoctorId() == null || request.getPatientId() == null || request.getOfficeId() == null
+                || request.getWorkHoursFrom() == null || request.getWorkHoursFor() == null) {
+            throw new BadFormatException("Для записи нужно указать врача, пациента, кабинет и время приёма.");
+        }
+        if (!request.getWorkHoursFor().isAfter(request.getWorkHoursFrom())) {
+            throw new BadFormatException("Время окончания приёма должно быть позже времени начала.");
+        }
+    }
+
+    private Long insertClaimed(AppointmentRequestDto request) {
+        LocalDateTime from = request.getWorkHoursFrom();
+        LocalDateTime to = request.getWorkHoursFor();
+        LocalDateTime date = request.getDate() != null ? request.getDate() : from;
+        Long id;
+        try {
+            id = appointmentsJdbcRepository.insertActive(request.getDoctorId(), request.getPatientId(),
+                            request.getOfficeId(), request.getInsuranceId(), date, from, to)
+                    .orElseThrow(() -> new DataNotFoundException(
+                            "Пациент с ID " + request.getPatientId() + " не найден или удалён."));
+        } catch (DataIntegrityViolationException ex) {
+            throw translateIntegrityViolation(ex);
+        }
+        eventPublisher.publishEvent(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED, id,
+                request.getDoctorId(), request.getPatientId(), request.getOfficeId(), from, to));
+        return id;
+    }
+
+    /**
+     * Массово перенести активные приёмы врача, начинающиеся в диапазоне: сдвинуть по времени
+     * и (или) передать другому врачу.
+     * <p>
+     * Приёмы не загружаются и не сохраняются по одному: пересечения новых интервалов с приёмами целевого врача,
+     * кабинетов и пациентов проверяются за один проход по результату одного запроса, после чего перенос
+     * выполняется двумя UPDATE. Первый переносит строки и временно снимает их с активности, чтобы промежуточные
+     * пересечения внутри переносимого набора не нарушали ограничения исключения, второй возвращает активность
+     * и тем самым проверяет итоговое расписание в БД.
+     * <p>
+     * Из кэша удаляются только затронутые ключи: приёмы по ID, списки врачей и пациентов.
+     *
+     * @param request параметры переноса
+     * @return ID перенесённых приёмов
+     * @throws BadFormatException    если параметры переноса некорректны, диапазон длиннее {@value #MAX_RANGE_DAYS} дней,
+     *                               переносится больше {@value #MAX_BATCH_SIZE} приёмов или приём начинался бы в прошлом
+     * @throws ConflictException     если новые интервалы пересекаются с другими приёмами
+     * @throws DataNotFoundException если целевой врач не найден
+     */
+    @Transactional
+    public List<Long> rescheduleDoctorAppointments(AppointmentRescheduleDto request) {
+        if (request.getDoctorId() == null || request.getFrom() == null || request.getTo() == null) {
+            throw new BadFormatException("Для переноса нужно указать врача и диапазон дат.");
+        }
+        validateRange(request.getFrom(), request.getTo());
+        long shift = request.getShiftMinutes() != null ? request.getShiftMinutes() : 0;
+        Long targetDoctorId = request.getTargetDoctorId() != null ? request.getTargetDoctorId() : request.getDoctorId();
+        if (shift == 0 && targetDoctorId.equals(request.getDoctorId())) {
+            throw new BadFormatException("Нужно указать сдвиг времени или другого врача.");
+        }
+
+        List<Appointments> affected = appointmentsRepository.findActiveByDoctorIdStartingBetween(
+                request.getDoctorId(), request.getFrom(), request.getTo());
+        if (affected.isEmpty()) {
+            return List.of();
+        }
+        if (affected.size() > MAX_BATCH_SIZE) {
+            throw new BadFormatException("Перенос затрагивает больше " + MAX_BATCH_SIZE + " приёмов, сузьте диапазон.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> intoPast = affected.stream()
+                .filter(appointment -> appointment.getWorkHoursFrom().plusMinutes(shift).isBefore(now))
+                .map(Appointments::getId)
+                .toList();
+        if (!intoPast.isEmpty()) {
+            throw new BadFormatException("Перенос невозможен: приёмы с ID " + intoPast + " начинались бы в прошлом.");
+        }
+        List<Long> ids = affected.stream().map(Appointments::getId).toList();
+        rejectRescheduleOverlaps(affected, targetDoctorId, shift);
+
+        try {
+            int moved = appointmentsRepository.moveAndDeactivate(ids, targetDoctorId, shift);
+            if (moved != ids.size()) {
+                throw new ConflictException("Приёмы врача изменились во время переноса, повторите попытку.");
+            }
+            appointmentsRepository.reactivate(ids);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateIntegrityViolation(ex);
+        }
+
+        evictAppointmentKeys(affected, targetDoctorId);
+        for (Appointments appointment : affected) {
+            eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.DELETED, appointment));
+            eventPublisher.publishEvent(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                    appointment.getId(), targetDoctorId,
+                    appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+                    appointment.getOffice() != null ? appointment.getOffice().getId() : null,
+                    appointment.getWorkHoursFrom().plusMinutes(shift), appointment.getWorkHoursFor().plusMinutes(shift)));
+        }
+        return ids;
+    }
+
+    /**
+     * Проверить новые интервалы переносимых приёмов по приёмам целевого врача, кабинетов и пациентов,
+     * прочитанным одним запросом. Пересечения внутри переносимого набора невозможны: все приёмы
+     * сдвигаются на одну величину.
+     */
+    private void rejectRescheduleOverlaps(List<Appointments> affected, Long targetDoctorId, long shift) {
+        Set<Long> ids = new HashSet<>();
+        Set<Long> officeIds = new HashSet<>();
+        Set<Long> patientIds = new HashSet<>();
+        LocalDateTime from = LocalDateTime.MAX;
+        LocalDateTime to = LocalDateTime.MIN;
+        for (Appointments appointment : affected) {
+            ids.add(appointment.getId());
+            officeIds.add(appointment.getOffice().getId());
+            patientIds.add(appointment.getPatient().getId());
+            LocalDateTime newFrom = appointment.getWorkHoursFrom().plusMinutes(shift);
+            LocalDateTime newTo = appointment.getWorkHoursFor().plusMinutes(shift);
+            from = newFrom.isBefore(from) ? newFrom : from;
+            to = newTo.isAfter(to) ? newTo : to;
+        }
+        List<Appointments> others = appointmentsRepository.findActiveOverlappingAny(Set.of(targetDoctorId), officeIds,
+                        patientIds, from, to).stream()
+                .filter(a -> !ids.contains(a.getId()))
+                .toList();
+        if (others.isEmpty()) {
+            return;
+        }
+        List<Long> conflicting = affected.stream()
+                .filter(appointment -> {
+                    LocalDateTime newFrom = appointment.getWorkHoursFrom().plusMinutes(shift);
+                    LocalDateTime newTo = appointment.getWorkHoursFor().plusMinutes(shift);
+                    return others.stream().anyMatch(other ->
+                            (other.getDoctor().getId().equals(targetDoctorId)
+                                    || other.getOffice().getId().equals(appointment.getOffice().getId())
+                                    || other.getPatient().getId().equals(appointment.getPatient().getId()))
+                                    && overlaps(other, newFrom, newTo));
+                })
+                .map(Appointments::getId)
+                .toList();
+        if (!conflicting.isEmpty()) {
+            throw new ConflictException("Перенос невозможен: приёмы с ID " + conflicting
+                    + " пересекаются с другими приёмами врача, кабинета или пациента.");
+        }
+    }
+
+    /**
+     * Удалить из кэша только ключи, затронутые переносом.
+     */
+    private void evictAppointmentKeys(List<Appointments> affected, Long targetDoctorId) {
+        Cache cache = cacheManager.getCache("appointments");
+        if (cache == null) {
+            return;
+        }
+        cache.evict("doctor:" + targetDoctorId);
+        for (Appointments appointment : affected) {
+            cache.evict(appointment.getId());
+            cache.evict("doctor:" + appointment.getDoctor().getId());
+            cache.evict("patient:" + appointment.getPatient().getId());
+        }
+    }
+
     /**
      * Мягко удалить приём
      *
@@ -51,21 +617,28 @@ public class AppointmentsService {
     @Transactional
     @CacheEvict(value = "appointments", allEntries = true)
     public void softDeleteAppointment(Long id) {
-        if (appointmentsRepository.findActiveById(id).isEmpty()) {
-            throw new DataNotFoundException("Нельзя удалить: приём с ID " + id + " не найден или уже удалён.");
-        }
+        Appointments appointment = appointmentsRepository.findActiveById(id)
+                .orElseThrow(() -> new DataNotFoundException("Нельзя удалить: приём с ID " + id + " не найден или уже удалён."));
         appointmentsRepository.softDelete(id);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.DELETED, appointment));
     }
 
     /**
      * Восстановить приём
      *
      * @param id the id
+     * @throws ConflictException если за время удаления слот занял другой приём
      */
     @Transactional
     @CacheEvict(value = "appointments", allEntries = true)
     public void restoreAppointment(Long id) {
-        appointmentsRepository.restore(id);
+        try {
+            appointmentsRepository.restore(id);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateIntegrityViolation(ex);
+        }
+        appointmentsRepository.findActiveById(id).ifPresent(appointment ->
+                eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.RESTORED, appointment)));
     }
 
     /**
@@ -91,7 +664,59 @@ public class AppointmentsService {
     }
 
     /**
-     * Проверить, есть ли пересекающийся приём у врача (для проверки конфликта расписания)
+     * Получить активные приёмы врача, начинающиеся в диапазоне (например, «врач на ближайшие 7 дней»).
+     *
+     * @param doctorId ID врача
+     * @param from     начало диапазона (включительно)
+     * @param to       конец диапазона (не включительно)
+     * @return приёмы, упорядоченные по времени начала
+     * @throws BadFormatException если диапазон некорректен или длиннее {@value #MAX_RANGE_DAYS} дней
+     */
+    public List<Appointments> getActiveAppointmentsByDoctorInRange(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return appointmentsRepository.findActiveByDoctorIdStartingBetween(doctorId, from, to);
+    }
+
+    /**
+     * Получить активные приёмы в кабинете, начинающиеся в диапазоне (например, «кабинет на сегодня»).
+     *
+     * @param officeId ID кабинета
+     * @param from     начало диапазона (включительно)
+     * @param to       конец диапазона (не включительно)
+     * @return приёмы, упорядоченные по времени начала
+     * @throws BadFormatException если диапазон некорректен или длиннее {@value #MAX_RANGE_DAYS} дней
+     */
+    public List<Appointments> getActiveAppointmentsByOfficeInRange(Long officeId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return appointmentsRepository.findActiveByOfficeIdStartingBetween(officeId, from, to);
+    }
+
+    /**
+     * Получить активные приёмы пациента, начинающиеся в диапазоне.
+     *
+     * @param patientId ID пациента
+     * @param from      начало диапазона (включительно)
+     * @param to        конец диапазона (не включительно)
+     * @return приёмы, упорядоченные по времени начала
+     * @throws BadFormatException если диапазон некорректен или длиннее {@value #MAX_RANGE_DAYS} дней
+     */
+    public List<Appointments> getActiveAppointmentsByPatientInRange(Long patientId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return appointmentsRepository.findActiveByPatientIdStartingBetween(patientId, from, to);
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new BadFormatException("Конец диапазона должен быть позже начала.");
+        }
+        if (to.isAfter(from.plusDays(MAX_RANGE_DAYS))) {
+            throw new BadFormatException("Диапазон не может быть длиннее " + MAX_RANGE_DAYS + " дней.");
+        }
+    }
+
+    /**
+     * Проверить, есть ли пересекающийся приём у врача (для проверки конфликта расписания).
+     * Если карта слотов показывает, что интервал свободен, запрос к БД не выполняется.
      *
      * @param doctorId the doctor id
      * @param from     the from
@@ -99,6 +724,33 @@ public class AppointmentsService {
      * @return the boolean
      */
     public boolean hasTimeConflict(Long doctorId, LocalDateTime from, LocalDateTime to) {
-        return appointmentsRepository.existsOverlappingAppointment(doctorId, from, to);
+        return slotReservationService.mayConflict(doctorId, from, to)
+                && appointmentsRepository.existsOverlappingAppointment(doctorId, from, to);
+    }
+
+    /**
+     * Преобразовать нарушение ограничения БД в исключение предметной области.
+     */
+    private static RuntimeException translateIntegrityViolation(DataIntegrityViolationException ex) {
+        String sqlState = sqlStateOf(ex);
+        if (EXCLUSION_VIOLATION.equals(sqlState)) {
+            return new ConflictException("Время приёма пересекается с другим приёмом врача, кабинета или пациента.");
+        }
+        if (CHECK_VIOLATION.equals(sqlState)) {
+            return new BadFormatException("Время окончания приёма должно быть позже времени начала.");
+        }
+        if (sqlState != null && FOREIGN_KEY_VIOLATIONS.contains(sqlState)) {
+            return new DataNotFoundException("Врач или кабинет для приёма не найдены.");
+        }
+        return ex;
+    }
+
+    private static String sqlStateOf(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
     }
 }
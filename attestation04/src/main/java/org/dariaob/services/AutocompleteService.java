@@ -0,0 +1,274 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.autocomplete.AutocompleteItemDto;
+import org.dariaob.dto.autocomplete.AutocompleteItemDto.Type;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.PatientChangedEvent;
+import org.dariaob.events.SpecializationChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Patients;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Автодополнение по префиксу имён пациентов, врачей и названий специализаций.
+ * <p>
+ * Имена разбиваются на слова, приведённые к нижнему регистру с заменой «ё» на «е». Слова хранятся
+ * в упорядоченном множестве, поэтому все слова с заданным префиксом идут подряд и находятся одним
+ * проходом по хвосту множества без обращения к БД. В запросе из нескольких слов каждое слово должно
+ * быть префиксом какого-либо слова имени: «ив ив» находит «Иванов Иван».
+ * <p>
+ * Индекс строится при старте и обновляется по событиям изменения пациента, врача и специализации:
+ * сущность перечитывается из БД и её слова заменяются.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    /**
+     * Количество подсказок по умолчанию
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Максимальное количество подсказок
+     */
+    public static final int MAX_LIMIT = 50;
+
+    private static final int MAX_SCANNED = 5000;
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final PatientsRepository patientsRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final SpecializationsRepository specializationsRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Index index = new Index();
+
+    /**
+     * Найти сущности, имена которых начинаются с запроса.
+     *
+     * @param query строка запроса; каждое её слово — префикс слова имени
+     * @param types типы сущностей; null или пусто — все
+     * @param limit максимальное количество подсказок (1-50), null — 10
+     * @return подсказки в порядке слов имён
+     * @throws BadFormatException если количество подсказок вне диапазона
+     */
+    public List<AutocompleteItemDto> complete(String query, Collection<Type> types, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new BadFormatException("Количество подсказок должно быть от 1 до " + MAX_LIMIT + ".");
+        }
+        String[] prefixes = tokenize(query);
+        if (prefixes.length == 0) {
+            return List.of();
+        }
+        String driver = Arrays.stream(prefixes).reduce((a, b) -> b.length() > a.length() ? b : a).orElseThrow();
+        Set<Type> allowed = types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : EnumSet.copyOf(types);
+
+        Index current = index;
+        List<AutocompleteItemDto> result = new ArrayList<>();
+        Set<EntryKey> seen = new HashSet<>();
+        int scanned = 0;
+        for (TokenKey key : current.tokens.tailSet(new TokenKey(driver, -1, Long.MIN_VALUE))) {
+            if (!key.token().startsWith(driver) || ++scanned > MAX_SCANNED) {
+                break;
+            }
+            EntryKey entryKey = new EntryKey(Type.values()[key.type()], key.id());
+            if (!allowed.contains(entryKey.type()) || !seen.add(entryKey)) {
+                continue;
+            }
+            Entry entry = current.entries.get(entryKey);
+            if (entry != null && entry.matches(prefixes)) {
+                result.add(new AutocompleteItemDto(entryKey.type(), entryKey.id(), entry.name()));
+                if (result.size() == max) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Построить индекс заново по данным БД. Если во время чтения индекс менялся по событиям,
+     * чтение повторяется, а последняя попытка выполняется под монитором, чтобы не затереть более свежие изменения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 1; attempt < MAX_REBUILD_ATTEMPTS; attempt++) {
+            long seen = version.get();
+            Index built = load();
+            synchronized (this) {
+                if (version.get() == seen) {
+                    index = built;
+                    version.incrementAndGet();
+                    return;
+                }
+            }
+        }
+        synchronized (this) {
+            index = load();
+            version.incrementAndGet();
+        }
+    }
+
+    private Index load() {
+        Index built = new Index();
+        for (Patients patient : patientsRepository.findAllActive()) {
+            built.put(Type.PATIENT, patient.getId(), patient.getName());
+        }
+        for (Doctors doctor : doctorsRepository.findAllActive()) {
+            built.put(Type.DOCTOR, doctor.getId(), doctor.getName());
+        }
+        for (Specializations specialization : specializationsRepository.findAllActive()) {
+            built.put(Type.SPECIALIZATION, specialization.getId(), specialization.getName());
+        }
+        return built;
+    }
+
+    /**
+     * Перечитать пациента после его изменения, удаления или восстановления.
+     *
+     * @param event событие изменения пациента
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (event.getPatientId() != null) {
+            update(Type.PATIENT, event.getPatientId(),
+                    () -> patientsRepository.findActiveById(event.getPatientId()).map(Patients::getName));
+        }
+    }
+
+    /**
+     * Перечитать врача после его изменения, удаления или восстановления.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            update(Type.DOCTOR, event.getDoctorId(),
+                    () -> doctorsRepository.findActiveById(event.getDoctorId()).map(Doctors::getName));
+        }
+    }
+
+    /**
+     * Перечитать специализацию после её изменения, удаления или восстановления.
+     *
+     * @param event событие изменения специализации
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecializationChanged(SpecializationChangedEvent event) {
+        if (event.getSpecializationId() != null) {
+            update(Type.SPECIALIZATION, event.getSpecializationId(),
+                    () -> specializationsRepository.findActiveById(event.getSpecializationId())
+                            .map(Specializations::getName));
+        }
+    }
+
+    /**
+     * Заменить слова сущности. Имя читается под монитором, чтобы из двух событий одной сущности
+     * последним применялось более свежее состояние.
+     */
+    private synchronized void update(Type type, Long id, Supplier<Optional<String>> reader) {
+        Optional<String> name = reader.get();
+        index.remove(type, id);
+        name.ifPresent(value -> index.put(type, id, value));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Разбить строку на слова в нижнем регистре с заменой «ё» на «е».
+     *
+     * @param text строка
+     * @return непустые слова
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String folded = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        return SEPARATORS.splitAsStream(folded).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+
+    private record TokenKey(String token, int type, long id) implements Comparable<TokenKey> {
+
+        @Override
+        public int compareTo(TokenKey other) {
+            int byToken = token.compareTo(other.token);
+            if (byToken != 0) {
+                return byToken;
+            }
+            return type != other.type ? Integer.compare(type, other.type) : Long.compare(id, other.id);
+        }
+    }
+
+    private record EntryKey(Type type, long id) {
+    }
+
+    private record Entry(String name, String[] tokens) {
+
+        boolean matches(String[] prefixes) {
+            for (String prefix : prefixes) {
+                if (Arrays.stream(tokens).noneMatch(token -> token.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Слова имён и сами имена. Изменяется только под монитором сервиса, читается без блокировок.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListSet<TokenKey> tokens = new ConcurrentSkipListSet<>();
+        private final Map<EntryKey, Entry> entries = new ConcurrentHashMap<>();
+
+        void put(Type type, Long id, String name) {
+            if (id == null || name == null) {
+                return;
+            }
+            String[] words = tokenize(name);
+            entries.put(new EntryKey(type, id), new Entry(name, words));
+            for (String word : words) {
+                tokens.add(new TokenKey(word, type.ordinal(), id));
+            }
+        }
+
+        void remove(Type type, Long id) {
+            Entry entry = entries.remove(new EntryKey(type, id));
+            if (entry != null) {
+                for (String word : entry.tokens()) {
+                    tokens.remove(new TokenKey(word, type.ordinal(), id));
+                }
+            }
+        }
+    }
+}
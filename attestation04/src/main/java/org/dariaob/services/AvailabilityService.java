@@ -0,0 +1,526 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.availability.FreeSlotDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.dariaob.utils.WorkingWindows;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис поиска свободных слотов для записи.
+ * Держит в памяти индекс доступности по паре (врач, день): рабочие окна из {@link ScheduleExpansionService}
+ * и занятые приёмами врача интервалы, а также занятость кабинетов по паре (кабинет, день) — приёмы
+ * всех врачей в кабинете. Индекс заполняется лениво запросами на всю выборку
+ * и дальше обновляется инкрементально по событиям изменения приёмов, расписания и врачей.
+ * Действующие брони живут минуты и меняются без событий, поэтому читаются одним запросом при каждом поиске;
+ * остальное — проход по памяти без запросов к БД.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    /**
+     * Максимальная глубина поиска в днях
+     */
+    public static final int MAX_DAYS = 31;
+
+    /**
+     * Максимальное количество слотов в ответе
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Минимальная и максимальная длительность слота в минутах
+     */
+    public static final int MIN_DURATION = 5;
+    public static final int MAX_DURATION = 480;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ScheduleExpansionService scheduleExpansionService;
+    private final AppointmentsRepository appointmentsRepository;
+    private final DoctorSpecializationsRepository doctorSpecializationsRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final SlotHoldsRepository slotHoldsRepository;
+
+    private final Map<DoctorDay, DayAvailability> index = new ConcurrentHashMap<>();
+    private final Map<OfficeDay, Occupancy> officeIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Ключи врачей и кабинетов, которые сейчас загружаются из БД, и ключи, изменившиеся во время загрузки.
+     * Изменившиеся не попадают в индекс и будут перечитаны при следующем поиске.
+     */
+    private final Set<Object> loading = ConcurrentHashMap.newKeySet();
+    private final Set<Object> stale = ConcurrentHashMap.newKeySet();
+
+    private volatile LocalDate purgedBefore = LocalDate.MIN;
+
+    /**
+     * Найти ближайшие свободные слоты у врачей указанной специализации.
+     *
+     * @param specializationId ID специализации
+     * @param durationMinutes  длительность слота в минутах
+     * @param days             глубина поиска в днях, начиная с сегодняшнего
+     * @param limit            максимальное количество слотов
+     * @return свободные слоты, упорядоченные по времени начала
+     */
+    public List<FreeSlotDto> findFreeSlots(Long specializationId, int durationMinutes, int days, int limit) {
+        validate(durationMinutes, days, limit);
+        List<Long> doctorIds = doctorSpecializationsRepository.findActiveDoctorIdsBySpecializationId(specializationId);
+        return findFreeSlots(doctorIds, durationMinutes, LocalDateTime.now(), days, limit);
+    }
+
+    /**
+     * Найти ближайшие свободные слоты у указанных врачей начиная с заданного момента.
+     * Слот свободен, если в его интервале нет приёмов и действующих броней ни врача, ни кабинета окна.
+     *
+     * @param doctorIds       идентификаторы врачей
+     * @param durationMinutes длительность слота в минутах
+     * @param now             момент, раньше которого слоты не предлагаются
+     * @param days            глубина поиска в днях
+     * @param limit           максимальное количество слотов
+     * @return свободные слоты, упорядоченные по времени начала
+     */
+    public List<FreeSlotDto> findFreeSlots(Collection<Long> doctorIds, int durationMinutes,
+                                           LocalDateTime now, int days, int limit) {
+        validate(durationMinutes, days, limit);
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDate firstDay = now.toLocalDate();
+        purgeBefore(firstDay);
+        Set<Long> officeIds = ensureLoaded(doctorIds, firstDay, days);
+        List<SlotHolds> holds = slotHoldsRepository.findActiveOverlapping(doctorIds, officeIds, now,
+                firstDay.plusDays(days).atStartOfDay(), LocalDateTime.now());
+
+        List<FreeSlotDto> result = new ArrayList<>();
+        for (int d = 0; d < days && result.size() < limit; d++) {
+            LocalDate date = firstDay.plusDays(d);
+            int notBefore = d == 0 ? minuteOfDayCeil(now) : 0;
+            Map<Long, List<int[]>> officeBusy = new HashMap<>();
+            Function<Long, List<int[]>> busyOfOffice = officeId -> officeBusy.computeIfAbsent(officeId,
+                    id -> officeOccupied(id, date, holds));
+
+            List<FreeSlotDto> candidates = new ArrayList<>();
+            for (Long doctorId : doctorIds) {
+                DayAvailability day = index.get(new DoctorDay(doctorId, date));
+                if (day != null) {
+                    List<int[]> held = heldIntervals(holds, hold -> doctorId.equals(hold.getDoctor().getId()), date);
+                    day.collectFreeSlots(doctorId, date, durationMinutes, notBefore, limit - result.size(),
+                            held, busyOfOffice, candidates);
+                }
+            }
+            candidates.sort(Comparator.comparing(FreeSlotDto::getStart).thenComparing(FreeSlotDto::getDoctorId));
+            result.addAll(candidates.subList(0, Math.min(candidates.size(), limit - result.size())));
+        }
+        return result;
+    }
+
+    /**
+     * Обновить индекс врача и кабинета после изменения приёма.
+     * Вызывается после фиксации транзакции, чтобы индекс не опережал БД.
+     *
+     * @param event событие изменения приёма
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getDoctorId() == null || event.getFrom() == null || event.getTo() == null) {
+            return;
+        }
+        for (LocalDate date = event.getFrom().toLocalDate(); date.atStartOfDay().isBefore(event.getTo());
+             date = date.plusDays(1)) {
+            DoctorDay doctorKey = new DoctorDay(event.getDoctorId(), date);
+            DayAvailability day = index.get(doctorKey);
+            apply(event, date, doctorKey, day != null ? day.busy : null);
+            if (event.getOfficeId() != null) {
+                OfficeDay officeKey = new OfficeDay(event.getOfficeId(), date);
+                apply(event, date, officeKey, officeIndex.get(officeKey));
+            }
+        }
+    }
+
+    /**
+     * Сбросить индекс врача (или всех врачей) после изменения расписания.
+     *
+     * @param event событие изменения расписания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        evict(event.getDoctorId());
+    }
+
+    /**
+     * Сбросить индекс врача после изменения его данных: имя врача входит в слоты.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Сбросить пары (врач, день) врача или всех врачей, если ID не указан.
+     */
+    private void evict(Long doctorId) {
+        loading.stream()
+                .filter(key -> key instanceof DoctorDay doctorDay
+                        && (doctorId == null || doctorDay.doctorId().equals(doctorId)))
+                .forEach(stale::add);
+        index.keySet().removeIf(key -> doctorId == null || key.doctorId().equals(doctorId));
+    }
+
+    private void apply(AppointmentChangedEvent event, LocalDate date, Object key, Occupancy occupancy) {
+        if (loading.contains(key)) {
+            stale.add(key);
+        }
+        if (occupancy == null) {
+            return;
+        }
+        if (event.getType() == AppointmentChangedEvent.Type.DELETED) {
+            occupancy.release(event.getAppointmentId());
+        } else {
+            occupancy.occupy(event.getAppointmentId(), date, event.getFrom(), event.getTo());
+        }
+    }
+
+    /**
+     * Догрузить в индекс отсутствующие пары (врач, день) и занятость кабинетов их рабочих окон.
+     *
+     * @return ID кабинетов рабочих окон в диапазоне поиска
+     */
+    private Set<Long> ensureLoaded(Collection<Long> doctorIds, LocalDate firstDay, int days) {
+        loadDoctorDays(doctorIds, firstDay, days);
+
+        Set<OfficeDay> officeDays = new HashSet<>();
+        for (Long doctorId : doctorIds) {
+            for (int d = 0; d < days; d++) {
+                LocalDate date = firstDay.plusDays(d);
+                DayAvailability day = index.get(new DoctorDay(doctorId, date));
+                if (day != null) {
+                    day.offices().forEach(officeId -> officeDays.add(new OfficeDay(officeId, date)));
+                }
+            }
+        }
+        loadOfficeDays(officeDays);
+        return officeDays.stream().map(OfficeDay::officeId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Загрузить отсутствующие пары (врач, день): рабочие окна из развёрнутого расписания,
+     * приёмы и имена врачей — по одному запросу на всю выборку.
+     */
+    private void loadDoctorDays(Collection<Long> doctorIds, LocalDate firstDay, int days) {
+        List<DoctorDay> missing = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            for (int d = 0; d < days; d++) {
+                DoctorDay key = new DoctorDay(doctorId, firstDay.plusDays(d));
+                if (!index.containsKey(key)) {
+                    missing.add(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missingDoctors = missing.stream().map(DoctorDay::doctorId).collect(Collectors.toSet());
+        LocalDate minDay = missing.stream().map(DoctorDay::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate maxDay = missing.stream().map(DoctorDay::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        loading.addAll(missing);
+        try {
+            Map<Long, WorkingWindows> windowsByDoctor = scheduleExpansionService.expand(
+                    missingDoctors, minDay, maxDay.plusDays(1));
+            Map<Long, String> doctorNames = new HashMap<>();
+            for (Doctors doctor : doctorsRepository.findAllById(missingDoctors)) {
+                doctorNames.put(doctor.getId(), doctor.getName());
+            }
+            List<Appointments> appointments = appointmentsRepository.findActiveByDoctorIdsBetween(
+                    missingDoctors, minDay.atStartOfDay(), maxDay.plusDays(1).atStartOfDay());
+
+            Map<DoctorDay, DayAvailability> built = new HashMap<>();
+            for (DoctorDay key : missing) {
+                built.put(key, DayAvailability.of(windowsByDoctor.get(key.doctorId()), key.date(),
+                        doctorNames.get(key.doctorId())));
+            }
+            for (Appointments appointment : appointments) {
+                Long doctorId = appointment.getDoctor().getId();
+                for (LocalDate date = appointment.getWorkHoursFrom().toLocalDate();
+                     date.atStartOfDay().isBefore(appointment.getWorkHoursFor()); date = date.plusDays(1)) {
+                    DayAvailability day = built.get(new DoctorDay(doctorId, date));
+                    if (day != null) {
+                        day.busy.occupy(appointment.getId(), date, appointment.getWorkHoursFrom(),
+                                appointment.getWorkHoursFor());
+                    }
+                }
+            }
+            built.forEach((key, day) -> {
+                if (!stale.remove(key)) {
+                    index.putIfAbsent(key, day);
+                }
+            });
+        } finally {
+            missing.forEach(loading::remove);
+        }
+    }
+
+    /**
+     * Загрузить занятость отсутствующих пар (кабинет, день) одним запросом приёмов всех врачей в этих кабинетах.
+     */
+    private void loadOfficeDays(Set<OfficeDay> officeDays) {
+        List<OfficeDay> missing = officeDays.stream().filter(key -> !officeIndex.containsKey(key)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missingOffices = missing.stream().map(OfficeDay::officeId).collect(Collectors.toSet());
+        LocalDate minDay = missing.stream().map(OfficeDay::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate maxDay = missing.stream().map(OfficeDay::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        loading.addAll(missing);
+        try {
+            List<Appointments> appointments = appointmentsRepository.findActiveByOfficeIdsBetween(
+                    missingOffices, minDay.atStartOfDay(), maxDay.plusDays(1).atStartOfDay());
+
+            Map<OfficeDay, Occupancy> built = new HashMap<>();
+            missing.forEach(key -> built.put(key, new Occupancy()));
+            for (Appointments appointment : appointments) {
+                Long officeId = appointment.getOffice().getId();
+                for (LocalDate date = appointment.getWorkHoursFrom().toLocalDate();
+                     date.atStartOfDay().isBefore(appointment.getWorkHoursFor()); date = date.plusDays(1)) {
+                    Occupancy occupancy = built.get(new OfficeDay(officeId, date));
+                    if (occupancy != null) {
+                        occupancy.occupy(appointment.getId(), date, appointment.getWorkHoursFrom(),
+                                appointment.getWorkHoursFor());
+                    }
+                }
+            }
+            built.forEach((key, occupancy) -> {
+                if (!stale.remove(key)) {
+                    officeIndex.putIfAbsent(key, occupancy);
+                }
+            });
+        } finally {
+            missing.forEach(loading::remove);
+        }
+    }
+
+    /**
+     * Занятые интервалы кабинета в день: приёмы всех врачей и действующие брони кабинета.
+     *
+     * @return интервалы или null, если занятость кабинета не загружена и окно предлагать нельзя
+     */
+    private List<int[]> officeOccupied(Long officeId, LocalDate date, List<SlotHolds> holds) {
+        Occupancy occupancy = officeIndex.get(new OfficeDay(officeId, date));
+        if (occupancy == null) {
+            return null;
+        }
+        List<int[]> occupied = occupancy.snapshot();
+        occupied.addAll(heldIntervals(holds, hold -> officeId.equals(hold.getOffice().getId()), date));
+        return occupied;
+    }
+
+    private static List<int[]> heldIntervals(List<SlotHolds> holds, Predicate<SlotHolds> filter, LocalDate date) {
+        List<int[]> intervals = new ArrayList<>();
+        for (SlotHolds hold : holds) {
+            if (filter.test(hold) && hold.getHoldFrom().isBefore(date.plusDays(1).atStartOfDay())
+                    && hold.getHoldTo().isAfter(date.atStartOfDay())) {
+                intervals.add(interval(date, hold.getHoldFrom(), hold.getHoldTo()));
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * Удалить из индекса прошедшие дни (не чаще раза в сутки).
+     */
+    private void purgeBefore(LocalDate today) {
+        if (purgedBefore.isBefore(today)) {
+            index.keySet().removeIf(key -> key.date().isBefore(today));
+            officeIndex.keySet().removeIf(key -> key.date().isBefore(today));
+            purgedBefore = today;
+        }
+    }
+
+    private static void validate(int durationMinutes, int days, int limit) {
+        if (durationMinutes < MIN_DURATION || durationMinutes > MAX_DURATION) {
+            throw new BadFormatException("Длительность слота должна быть от " + MIN_DURATION + " до " + MAX_DURATION + " минут.");
+        }
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadFormatException("Глубина поиска должна быть от 1 до " + MAX_DAYS + " дней.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadFormatException("Количество слотов должно быть от 1 до " + MAX_LIMIT + ".");
+        }
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int minuteOfDayCeil(LocalDateTime dateTime) {
+        int minute = minuteOfDay(dateTime.toLocalTime());
+        return dateTime.getSecond() > 0 || dateTime.getNano() > 0 ? minute + 1 : minute;
+    }
+
+    /**
+     * Часть интервала, приходящаяся на день, в минутах от начала суток.
+     */
+    private static int[] interval(LocalDate date, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        int start = from.isAfter(dayStart) ? minuteOfDay(from.toLocalTime()) : 0;
+        int end = to.isBefore(dayStart.plusDays(1)) ? minuteOfDayCeil(to) : MINUTES_PER_DAY;
+        return new int[]{start, end};
+    }
+
+    /**
+     * Ключ индекса: врач и календарный день.
+     */
+    private record DoctorDay(Long doctorId, LocalDate date) {
+    }
+
+    /**
+     * Ключ занятости кабинета: кабинет и календарный день.
+     */
+    private record OfficeDay(Long officeId, LocalDate date) {
+    }
+
+    /**
+     * Занятые приёмами интервалы за день по ID приёма.
+     */
+    private static final class Occupancy {
+
+        private final Map<Long, int[]> busy = new HashMap<>();
+
+        synchronized void occupy(Long appointmentId, LocalDate date, LocalDateTime from, LocalDateTime to) {
+            busy.put(appointmentId, interval(date, from, to));
+        }
+
+        synchronized void release(Long appointmentId) {
+            busy.remove(appointmentId);
+        }
+
+        synchronized List<int[]> snapshot() {
+            return new ArrayList<>(busy.values());
+        }
+    }
+
+    /**
+     * Доступность врача в один день: рабочие окна в минутах от начала суток
+     * и занятые приёмами врача интервалы.
+     */
+    private static final class DayAvailability {
+
+        private final int[] windowStart;
+        private final int[] windowEnd;
+        private final Long[] windowOffice;
+        private final String doctorName;
+        private final Occupancy busy = new Occupancy();
+
+        private DayAvailability(int[] windowStart, int[] windowEnd, Long[] windowOffice, String doctorName) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.windowOffice = windowOffice;
+            this.doctorName = doctorName;
+        }
+
+        static DayAvailability of(WorkingWindows windows, LocalDate date, String doctorName) {
+            int[] range = windows.indexRange(date);
+            int dayStart = windows.minuteOf(date);
+            int size = range[1] - range[0];
+            int[] start = new int[size];
+            int[] end = new int[size];
+            Long[] office = new Long[size];
+            for (int i = 0; i < size; i++) {
+                start[i] = windows.startMinute(range[0] + i) - dayStart;
+                end[i] = windows.endMinute(range[0] + i) - dayStart;
+                office[i] = windows.officeId(range[0] + i);
+            }
+            return new DayAvailability(start, end, office, doctorName);
+        }
+
+        Set<Long> offices() {
+            Set<Long> offices = new HashSet<>();
+            for (Long officeId : windowOffice) {
+                if (officeId != null) {
+                    offices.add(officeId);
+                }
+            }
+            return offices;
+        }
+
+        /**
+         * Собрать свободные слоты дня, исключая занятость врача, его брони
+         * и занятость кабинета каждого окна.
+         */
+        void collectFreeSlots(Long doctorId, LocalDate date, int duration, int notBefore, int limit,
+                              List<int[]> held, Function<Long, List<int[]>> officeBusy, List<FreeSlotDto> out) {
+            if (windowStart.length == 0) {
+                return;
+            }
+            List<int[]> own = busy.snapshot();
+            own.addAll(held);
+
+            int emitted = 0;
+            for (int w = 0; w < windowStart.length && emitted < limit; w++) {
+                List<int[]> occupied = new ArrayList<>(own);
+                if (windowOffice[w] != null) {
+                    List<int[]> office = officeBusy.apply(windowOffice[w]);
+                    if (office == null) {
+                        continue;
+                    }
+                    occupied.addAll(office);
+                }
+                occupied.sort(Comparator.comparingInt(interval -> interval[0]));
+
+                int cursor = Math.max(windowStart[w], notBefore);
+                for (int[] interval : occupied) {
+                    if (emitted >= limit || interval[0] >= windowEnd[w]) {
+                        break;
+                    }
+                    if (interval[1] <= cursor) {
+                        continue;
+                    }
+                    emitted += emit(doctorId, date, w, cursor, Math.min(interval[0], windowEnd[w]), duration,
+                            limit - emitted, out);
+                    cursor = Math.max(cursor, interval[1]);
+                }
+                emitted += emit(doctorId, date, w, cursor, windowEnd[w], duration, limit - emitted, out);
+            }
+        }
+
+        private int emit(Long doctorId, LocalDate date, int window, int from, int to, int duration,
+                         int limit, List<FreeSlotDto> out) {
+            int count = 0;
+            for (int start = from; start + duration <= to && count < limit; start += duration, count++) {
+                LocalDateTime slotStart = date.atStartOfDay().plusMinutes(start);
+                out.add(new FreeSlotDto(doctorId, doctorName, windowOffice[window],
+                        slotStart, slotStart.plusMinutes(duration)));
+            }
+            return count;
+        }
+    }
+}
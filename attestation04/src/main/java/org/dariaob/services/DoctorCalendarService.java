@@ -0,0 +1,283 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctors.DoctorCalendarDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.OfficeChangedEvent;
+import org.dariaob.events.PatientChangedEvent;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Календарь врача в формате iCalendar (RFC 5545) для подписки из календарных приложений.
+ * <p>
+ * Отрисованный календарь хранится в кэше {@code doctorCalendar} как массив байтов вместе с ETag,
+ * поэтому повторные опросы не обращаются к БД, а при совпадении If-None-Match отвечают 304.
+ * Запись кэша сбрасывается событиями изменения приёмов и расписания врача, а также изменениями врача,
+ * пациентов его приёмов и кабинетов, имена которых попадают в календарь. Календарь, отрисованный
+ * параллельно с изменением, в кэш не попадает: перед отрисовкой запоминается поколение врача,
+ * и результат сохраняется, только если поколение не изменилось.
+ * <p>
+ * Время записывается без часового пояса (плавающее время), как оно хранится в БД.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorCalendarService {
+
+    /**
+     * Глубина календаря в прошлое и будущее в днях
+     */
+    public static final int DAYS_BACK = 30;
+    public static final int DAYS_AHEAD = 90;
+
+    private static final String CACHE_NAME = "doctorCalendar";
+    private static final String PRODUCT_ID = "-//dariaob//Clinic//RU";
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String[] BY_DAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    private final DoctorsRepository doctorsRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final CacheManager cacheManager;
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    /**
+     * Получить календарь врача из кэша или отрисовать его.
+     *
+     * @param doctorId ID врача
+     * @return календарь и его ETag
+     * @throws DataNotFoundException если врач не найден
+     */
+    public DoctorCalendarDto getCalendar(Long doctorId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            DoctorCalendarDto cached = cache.get(doctorId, DoctorCalendarDto.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long global = globalGeneration.get();
+        long generation = generation(doctorId);
+        DoctorCalendarDto rendered = render(doctorId, LocalDateTime.now());
+        if (cache != null && globalGeneration.get() == global && generation(doctorId) == generation) {
+            cache.put(doctorId, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Отрисовать календарь врача: активные приёмы в окне от {@link #DAYS_BACK} дней назад
+     * до {@link #DAYS_AHEAD} дней вперёд и еженедельные правила расписания.
+     *
+     * @param doctorId ID врача
+     * @param now      текущий момент
+     * @return календарь и его ETag
+     * @throws DataNotFoundException если врач не найден
+     */
+    public DoctorCalendarDto render(Long doctorId, LocalDateTime now) {
+        Doctors doctor = doctorsRepository.findActiveById(doctorId)
+                .orElseThrow(() -> new DataNotFoundException("Врач с ID " + doctorId + " не найден."));
+        LocalDate today = now.toLocalDate();
+        List<Appointments> appointments = appointmentsRepository.findActiveByDoctorIdStartingBetween(doctorId,
+                today.minusDays(DAYS_BACK).atStartOfDay(), today.plusDays(DAYS_AHEAD).atStartOfDay());
+        List<DoctorSchedule> schedule = doctorScheduleRepository.findActiveByDoctorIds(List.of(doctorId));
+
+        String stamp = now.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)
+                .format(UTC_FORMAT);
+        StringBuilder ics = new StringBuilder();
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:" + PRODUCT_ID);
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "X-WR-CALNAME:" + escape(doctor.getName()));
+        for (DoctorSchedule rule : schedule) {
+            if (rule.getDayOfWeek() == null || rule.getDayOfWeek() < 1 || rule.getDayOfWeek() > 7) {
+                continue;
+            }
+            LocalDate first = today.minusDays(DAYS_BACK)
+                    .with(TemporalAdjusters.nextOrSame(DayOfWeek.of(rule.getDayOfWeek())));
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:schedule-" + rule.getId() + "@clinic");
+            line(ics, "DTSTAMP:" + stamp);
+            line(ics, "DTSTART:" + first.atTime(rule.getStartTime()).format(LOCAL_FORMAT));
+            line(ics, "DTEND:" + first.atTime(rule.getEndTime()).format(LOCAL_FORMAT));
+            line(ics, "RRULE:FREQ=WEEKLY;BYDAY=" + BY_DAY[rule.getDayOfWeek() - 1]);
+            line(ics, "SUMMARY:Приём по расписанию");
+            if (rule.getOffice() != null) {
+                line(ics, "LOCATION:" + escape(rule.getOffice().getName()));
+            }
+            line(ics, "TRANSP:TRANSPARENT");
+            line(ics, "END:VEVENT");
+        }
+        for (Appointments appointment : appointments) {
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:appointment-" + appointment.getId() + "@clinic");
+            line(ics, "DTSTAMP:" + stamp);
+            line(ics, "DTSTART:" + appointment.getWorkHoursFrom().format(LOCAL_FORMAT));
+            line(ics, "DTEND:" + appointment.getWorkHoursFor().format(LOCAL_FORMAT));
+            line(ics, "SUMMARY:" + escape("Пациент: " + appointment.getPatient().getName()));
+            line(ics, "LOCATION:" + escape(appointment.getOffice().getName()));
+            line(ics, "STATUS:CONFIRMED");
+            line(ics, "END:VEVENT");
+        }
+        line(ics, "END:VCALENDAR");
+
+        byte[] body = ics.toString().getBytes(StandardCharsets.UTF_8);
+        return new DoctorCalendarDto(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    /**
+     * Сбросить календарь врача после изменения приёма.
+     * Перенос приёма к другому врачу публикует события для обоих врачей.
+     *
+     * @param event событие изменения приёма
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Сбросить календарь врача (или всех врачей) после изменения расписания.
+     *
+     * @param event событие изменения расписания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+            return;
+        }
+        evictAll();
+    }
+
+    /**
+     * Сбросить календарь врача после изменения его данных: имя врача — название календаря.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Сбросить календари врачей, у которых пациент записан в пределах окна календаря:
+     * имя пациента входит в описание приёма.
+     *
+     * @param event событие изменения пациента
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (event.getPatientId() == null) {
+            return;
+        }
+        // Окно с запасом в день, чтобы не пропустить календари, отрисованные накануне
+        LocalDate today = LocalDate.now();
+        appointmentsRepository.findActiveByPatientIdStartingBetween(event.getPatientId(),
+                        today.minusDays(DAYS_BACK + 1).atStartOfDay(), today.plusDays(DAYS_AHEAD + 1).atStartOfDay())
+                .stream()
+                .map(appointment -> appointment.getDoctor().getId())
+                .distinct()
+                .forEach(this::evict);
+    }
+
+    /**
+     * Сбросить все календари после изменения кабинета: название кабинета входит и в правила расписания,
+     * и в приёмы многих врачей, а кабинеты меняются редко.
+     *
+     * @param event событие изменения кабинета
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfficeChanged(OfficeChangedEvent event) {
+        evictAll();
+    }
+
+    private void evictAll() {
+        globalGeneration.incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(Long doctorId) {
+        generations.computeIfAbsent(doctorId, id -> new AtomicLong()).incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(doctorId);
+        }
+    }
+
+    private long generation(Long doctorId) {
+        AtomicLong generation = generations.get(doctorId);
+        return generation != null ? generation.get() : 0;
+    }
+
+    /**
+     * Экранирование текстового значения по RFC 5545.
+     */
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Добавить строку содержимого с переносом длинных строк по 75 октетов и окончанием CRLF.
+     */
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+}
@@ -0,0 +1,210 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+import org.dariaob.dto.doctors.DoctorProfileDto;
+import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.DoctorSpecializationChangedEvent;
+import org.dariaob.events.SpecializationChangedEvent;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Профиль врача для страницы врача, собранный двумя запросами и кэшируемый готовым DTO.
+ * <p>
+ * Врач с кабинетом, активными специализациями и расписанием читается одним запросом с соединениями,
+ * без поштучной загрузки связей врача; число предстоящих приёмов — одним агрегирующим запросом.
+ * <p>
+ * Профиль сбрасывается по врачу событиями изменения врача, его специализаций, расписания и приёмов;
+ * переименование специализации и изменение расписания без врача сбрасывают все профили, а изменения
+ * кабинетов — {@link OfficesService}. Как и в {@link DoctorCalendarService}, перед сборкой запоминается
+ * поколение врача, и профиль кладётся в кэш, только если поколение не изменилось. Счётчики приёмов
+ * считаются по дням, поэтому профиль, собранный в прошлый день, пересобирается.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorProfileService {
+
+    private static final String CACHE_NAME = "doctorProfiles";
+
+    private final DoctorsRepository doctorsRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final CacheManager cacheManager;
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    /**
+     * Профиль в кэше вместе с днём, на который посчитаны приёмы.
+     */
+    private record Cached(LocalDate day, DoctorProfileDto profile) {
+    }
+
+    /**
+     * Получить профиль врача из кэша или собрать его.
+     *
+     * @param doctorId ID врача
+     * @return профиль врача
+     * @throws DataNotFoundException если врач не найден или удалён
+     */
+    public DoctorProfileDto getProfile(Long doctorId) {
+        LocalDate today = LocalDate.now();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            Cached cached = cache.get(doctorId, Cached.class);
+            if (cached != null && cached.day().equals(today)) {
+                return cached.profile();
+            }
+        }
+        long global = globalGeneration.get();
+        long generation = generation(doctorId);
+        DoctorProfileDto profile = build(doctorId, today);
+        if (cache != null && globalGeneration.get() == global && generation(doctorId) == generation) {
+            cache.put(doctorId, new Cached(today, profile));
+        }
+        return profile;
+    }
+
+    /**
+     * Собрать профиль врача на указанный день.
+     *
+     * @param doctorId ID врача
+     * @param today    текущий день
+     * @return профиль врача
+     * @throws DataNotFoundException если врач не найден или удалён
+     */
+    public DoctorProfileDto build(Long doctorId, LocalDate today) {
+        List<Object[]> rows = doctorsRepository.findActiveProfileRows(doctorId);
+        if (rows.isEmpty()) {
+            throw new DataNotFoundException("Врач с ID " + doctorId + " не найден или удалён.");
+        }
+        Doctors doctor = (Doctors) rows.get(0)[0];
+        Set<String> specializations = new HashSet<>();
+        Map<Long, DoctorSchedule> schedules = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] instanceof Specializations specialization && specialization.getName() != null) {
+                specializations.add(specialization.getName());
+            }
+            if (row[2] instanceof DoctorSchedule schedule) {
+                schedules.putIfAbsent(schedule.getId(), schedule);
+            }
+        }
+        List<DoctorScheduleDto> weekSchedule = schedules.values().stream()
+                .sorted(Comparator.comparing(DoctorSchedule::getDayOfWeek)
+                        .thenComparing(DoctorSchedule::getStartTime)
+                        .thenComparing(DoctorSchedule::getId))
+                .map(DoctorScheduleDto::fromEntity)
+                .toList();
+
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        List<Object[]> counts = appointmentsRepository.countUpcomingByDoctorId(doctorId, today.atStartOfDay(),
+                today.plusDays(1).atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay());
+        Object[] count = counts.isEmpty() ? new Object[]{0L, 0L, 0L} : counts.get(0);
+
+        return new DoctorProfileDto(new DoctorResponseDto(doctor, specializations), weekStart, weekSchedule,
+                ((Number) count[0]).longValue(), ((Number) count[1]).longValue(), ((Number) count[2]).longValue());
+    }
+
+    /**
+     * Сбросить профиль врача после изменения приёма.
+     * Перенос приёма к другому врачу публикует события для обоих врачей.
+     *
+     * @param event событие изменения приёма
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Сбросить профиль врача (или всех врачей) после изменения расписания.
+     *
+     * @param event событие изменения расписания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        } else {
+            evictAll();
+        }
+    }
+
+    /**
+     * Сбросить профиль врача после изменения его данных, удаления или восстановления.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (event.getDoctorId() != null) {
+            evict(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Сбросить профиль врача после привязки или отвязки специализации.
+     *
+     * @param event событие изменения специализаций врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorSpecializationChanged(DoctorSpecializationChangedEvent event) {
+        evict(event.getDoctorId());
+    }
+
+    /**
+     * Сбросить все профили после изменения специализации: её название может быть у любого врача.
+     *
+     * @param event событие изменения специализации
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecializationChanged(SpecializationChangedEvent event) {
+        evictAll();
+    }
+
+    private void evict(Long doctorId) {
+        generations.computeIfAbsent(doctorId, id -> new AtomicLong()).incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(doctorId);
+        }
+    }
+
+    private void evictAll() {
+        globalGeneration.incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private long generation(Long doctorId) {
+        AtomicLong generation = generations.get(doctorId);
+        return generation != null ? generation.get() : 0;
+    }
+}
@@ -0,0 +1,312 @@
+package org.dariaob.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctorSchedule.ScheduleConflictDto;
+import org.dariaob.dto.doctorSchedule.ScheduleImportResultDto;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleJdbcRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Массовый импорт недельного расписания врачей из CSV.
+ * <p>
+ * Формат строки: {@code doctor_id,day_of_week,start_time,end_time[,office_id]}, время в формате
+ * {@code HH:mm}; первая строка может быть заголовком. Файл читается построчно, строки разбираются
+ * и проверяются параллельно, существование врачей и кабинетов проверяется двумя запросами на весь файл,
+ * а пересечения — проходом по строкам каждого врача вместе с его действующими правилами и одним проходом
+ * заметающей прямой по расписанию клиники вместе с импортируемыми строками. Кабинеты файла блокируются
+ * до конца транзакции перед проверкой, как и при изменении одной записи.
+ * <p>
+ * Импорт выполняется целиком или не выполняется вовсе: при любой ошибке ничего не сохраняется
+ * и возвращается список ошибок по строкам. Корректный файл записывается пакетами JDBC в одной транзакции,
+ * а кэши расписания сбрасываются один раз после её фиксации.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorScheduleImportService {
+
+    /**
+     * Максимальное число строк в файле
+     */
+    public static final int MAX_ROWS = 20_000;
+
+    /**
+     * Максимальное число ошибок в ответе
+     */
+    public static final int MAX_ERRORS = 100;
+
+    private static final String HEADER_PREFIX = "doctor_id";
+    private static final String CACHE_NAME = "doctorSchedule";
+
+    private final DoctorScheduleJdbcRepository doctorScheduleJdbcRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final OfficesRepository officesRepository;
+    private final ScheduleConflictService scheduleConflictService;
+    private final ScheduleExpansionService scheduleExpansionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    /**
+     * Разобранная строка файла: запись расписания или ошибка разбора.
+     */
+    private record Row(long line, DoctorSchedule schedule, String error) {
+    }
+
+    /**
+     * Непустая строка файла с её номером.
+     */
+    private record Line(long number, String text) {
+    }
+
+    /**
+     * Импортировать расписание из CSV.
+     *
+     * @param csv содержимое файла в UTF-8
+     * @return число импортированных записей или ошибки по строкам
+     * @throws BadFormatException если файл не читается или в нём больше {@link #MAX_ROWS} строк
+     */
+    @Transactional
+    public ScheduleImportResultDto importCsv(InputStream csv) {
+        List<Row> rows = parse(read(csv));
+
+        Set<Long> doctorIds = new HashSet<>();
+        Set<Long> officeIds = new HashSet<>();
+        for (Row row : rows) {
+            if (row.schedule() != null) {
+                doctorIds.add(row.schedule().getDoctor().getId());
+                if (row.schedule().getOffice() != null) {
+                    officeIds.add(row.schedule().getOffice().getId());
+                }
+            }
+        }
+        Set<Long> activeDoctors = doctorIds.isEmpty() ? Set.of() : Set.copyOf(doctorsRepository.findActiveIds(doctorIds));
+        Set<Long> activeOffices = officeIds.isEmpty() ? Set.of() : Set.copyOf(officesRepository.findActiveIds(officeIds));
+
+        List<ScheduleImportResultDto.RowError> errors = new ArrayList<>(rows.parallelStream()
+                .map(row -> {
+                    if (row.error() != null) {
+                        return new ScheduleImportResultDto.RowError(row.line(), row.error());
+                    }
+                    Long doctorId = row.schedule().getDoctor().getId();
+                    if (!activeDoctors.contains(doctorId)) {
+                        return new ScheduleImportResultDto.RowError(row.line(), "Врач с ID " + doctorId + " не найден.");
+                    }
+                    Offices office = row.schedule().getOffice();
+                    if (office != null && !activeOffices.contains(office.getId())) {
+                        return new ScheduleImportResultDto.RowError(row.line(),
+                                "Кабинет с ID " + office.getId() + " не найден.");
+                    }
+                    return null;
+                })
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<DoctorSchedule> schedules = rows.stream().map(Row::schedule).filter(Objects::nonNull).toList();
+        scheduleConflictService.lockOffices(officeIds);
+        errors.addAll(doctorOverlaps(schedules, activeDoctors.isEmpty() ? List.of()
+                : doctorScheduleRepository.findActiveByDoctorIds(activeDoctors)));
+        errors.addAll(officeConflicts(schedules));
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingLong(ScheduleImportResultDto.RowError::getLine));
+            return new ScheduleImportResultDto(0, List.copyOf(errors.subList(0, Math.min(errors.size(), MAX_ERRORS))));
+        }
+
+        int imported = doctorScheduleJdbcRepository.insertBatch(schedules);
+        changed();
+        return new ScheduleImportResultDto(imported, List.of());
+    }
+
+    /**
+     * Прочитать непустые строки файла с их номерами, пропустив заголовок.
+     */
+    private static List<Line> read(InputStream csv) {
+        List<Line> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            long number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (number == 1) {
+                    line = line.replace("\uFEFF", "");
+                    if (line.trim().toLowerCase().startsWith(HEADER_PREFIX)) {
+                        continue;
+                    }
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (lines.size() == MAX_ROWS) {
+                    throw new BadFormatException("В файле больше " + MAX_ROWS + " строк.");
+                }
+                lines.add(new Line(number, line));
+            }
+        } catch (IOException e) {
+            throw new BadFormatException("Не удалось прочитать файл: " + e.getMessage());
+        }
+        return lines;
+    }
+
+    /**
+     * Разобрать строки параллельно. Запись получает временный отрицательный ID по номеру строки,
+     * чтобы конфликты расписания можно было сопоставить со строками файла.
+     */
+    private static List<Row> parse(List<Line> lines) {
+        return lines.parallelStream()
+                .map(line -> parseLine(line.number(), line.text()))
+                .toList();
+    }
+
+    private static Row parseLine(long line, String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 4 && fields.length != 5) {
+            return new Row(line, null, "Ожидается 4 или 5 полей: doctor_id,day_of_week,start_time,end_time[,office_id].");
+        }
+        try {
+            Doctors doctor = new Doctors();
+            doctor.setId(Long.parseLong(fields[0].trim()));
+            short day = Short.parseShort(fields[1].trim());
+            if (day < 1 || day > 7) {
+                return new Row(line, null, "День недели должен быть от 1 до 7.");
+            }
+            LocalTime start = LocalTime.parse(fields[2].trim());
+            LocalTime end = LocalTime.parse(fields[3].trim());
+            if (!start.isBefore(end)) {
+                return new Row(line, null, "Время начала должно быть раньше окончания.");
+            }
+            Offices office = fields.length == 5 && !fields[4].isBlank()
+                    ? new Offices(Long.parseLong(fields[4].trim()), null, false) : null;
+            return new Row(line, new DoctorSchedule(-line, doctor, day, start, end, office, false), null);
+        } catch (NumberFormatException e) {
+            return new Row(line, null, "Некорректное число: " + e.getMessage());
+        } catch (DateTimeParseException e) {
+            return new Row(line, null, "Некорректное время: " + e.getParsedString());
+        }
+    }
+
+    /**
+     * Пересечения строк файла одного врача в один день — друг с другом и с действующими правилами врача в БД.
+     * Пересечения правил БД между собой не сообщаются: они не относятся к файлу.
+     */
+    private static List<ScheduleImportResultDto.RowError> doctorOverlaps(List<DoctorSchedule> schedules,
+                                                                         List<DoctorSchedule> existing) {
+        List<DoctorSchedule> all = new ArrayList<>(schedules);
+        existing.stream()
+                .filter(rule -> rule.getDayOfWeek() != null && rule.getStartTime() != null
+                        && rule.getEndTime() != null && rule.getEndTime().isAfter(rule.getStartTime()))
+                .forEach(all::add);
+        List<DoctorSchedule> sorted = all.stream()
+                .sorted(Comparator.comparing((DoctorSchedule s) -> s.getDoctor().getId())
+                        .thenComparing(DoctorSchedule::getDayOfWeek)
+                        .thenComparing(DoctorSchedule::getStartTime))
+                .toList();
+        List<ScheduleImportResultDto.RowError> errors = new ArrayList<>();
+        DoctorSchedule latest = null;
+        for (DoctorSchedule current : sorted) {
+            if (latest == null || !latest.getDoctor().getId().equals(current.getDoctor().getId())
+                    || !latest.getDayOfWeek().equals(current.getDayOfWeek())) {
+                latest = current;
+                continue;
+            }
+            if (latest.getEndTime().isAfter(current.getStartTime())) {
+                if (current.getId() < 0) {
+                    errors.add(new ScheduleImportResultDto.RowError(-current.getId(),
+                            "Пересекается " + withRecord(latest.getId()) + " того же врача."));
+                } else if (latest.getId() < 0) {
+                    errors.add(new ScheduleImportResultDto.RowError(-latest.getId(),
+                            "Пересекается " + withRecord(current.getId()) + " того же врача."));
+                }
+            }
+            if (current.getEndTime().isAfter(latest.getEndTime())) {
+                latest = current;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Пересечения строк файла с записями других врачей в том же кабинете — в БД и в самом файле.
+     */
+    private List<ScheduleImportResultDto.RowError> officeConflicts(List<DoctorSchedule> schedules) {
+        List<ScheduleImportResultDto.RowError> errors = new ArrayList<>();
+        for (ScheduleConflictDto conflict : scheduleConflictService.findConflicts(schedules)) {
+            Long first = conflict.getFirstScheduleId();
+            Long second = conflict.getSecondScheduleId();
+            if (second < 0) {
+                errors.add(new ScheduleImportResultDto.RowError(-second, "Кабинет с ID " + conflict.getOfficeId()
+                        + " в это время занят другим врачом (" + describe(first) + ")."));
+            } else {
+                errors.add(new ScheduleImportResultDto.RowError(-first, "Кабинет с ID " + conflict.getOfficeId()
+                        + " в это время занят другим врачом (" + describe(second) + ")."));
+            }
+        }
+        return errors;
+    }
+
+    private static String describe(Long scheduleId) {
+        return scheduleId < 0 ? "строка " + -scheduleId : "запись расписания " + scheduleId;
+    }
+
+    private static String withRecord(Long scheduleId) {
+        return scheduleId < 0 ? "со строкой " + -scheduleId : "с записью расписания " + scheduleId;
+    }
+
+    /**
+     * Сбросить кэши расписания один раз после фиксации импорта и оповестить подписчиков.
+     * Сброс выполняется раньше подписчиков события, чтобы они перечитали уже новое расписание.
+     */
+    private void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(null));
+    }
+
+    private void evict() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+        scheduleExpansionService.evict(null);
+    }
+}
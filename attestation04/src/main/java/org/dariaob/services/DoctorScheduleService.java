@@ -1,11 +1,18 @@
 package org.dariaob.services;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.ConflictException;
 import org.dariaob.models.DoctorSchedule;
 import org.dariaob.repositories.DoctorScheduleRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,12 +20,20 @@ import java.util.Optional;
 /**
  * Сервис для управления расписанием врачей.
  * Реализует CRUD-операции и soft delete.
+ * Каждое изменение сбрасывает развёрнутые недели врача в {@link ScheduleExpansionService}
+ * и публикует {@link DoctorScheduleChangedEvent}.
+ * <p>
+ * Изменения выполняются в транзакции: проверка пересечений блокирует кабинет до фиксации,
+ * поэтому параллельные записи в один кабинет не проходят проверку одновременно.
  */
 @Service
 @RequiredArgsConstructor
 public class DoctorScheduleService {
 
     private final DoctorScheduleRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleExpansionService scheduleExpansionService;
+    private final ScheduleConflictService scheduleConflictService;
 
     /**
      * Получить все активные (неудалённые) записи расписания.
@@ -69,11 +84,16 @@ public class DoctorScheduleService {
      *
      * @param schedule объект расписания
      * @return сохранённый объект
+     * @throws ConflictException если в это время кабинет занят другим врачом
      */
+    @Transactional
     @CacheEvict(value = "doctorSchedule", allEntries = true)
     public DoctorSchedule create(DoctorSchedule schedule) {
         schedule.setDeleted(false);  // Или аналогичное назначение значения по умолчанию
-        return repository.save(schedule);
+        scheduleConflictService.check(schedule);
+        DoctorSchedule saved = repository.save(schedule);
+        changed(doctorIdOf(saved));
+        return saved;
     }
 
     /**
@@ -82,7 +102,9 @@ public class DoctorScheduleService {
      * @param id      идентификатор существующего расписания
      * @param updated обновлённые данные
      * @return обновлённое расписание
+     * @throws ConflictException если в это время кабинет занят другим врачом
      */
+    @Transactional
     @CacheEvict(value = "doctorSchedule", allEntries = true)
     public DoctorSchedule update(Long id, DoctorSchedule updated) {
         return repository.findById(id)
@@ -92,7 +114,10 @@ public class DoctorScheduleService {
                     existing.setEndTime(updated.getEndTime());
                     existing.setOffice(updated.getOffice());
                     existing.setDayOfWeek(updated.getDayOfWeek());
-                    return repository.save(existing);
+                    scheduleConflictService.check(existing);
+                    DoctorSchedule saved = repository.save(existing);
+                    changed(doctorIdOf(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Расписание не найдено"));
     }
@@ -102,18 +127,56 @@ public class DoctorScheduleService {
      *
      * @param id идентификатор расписания
      */
+    @Transactional
     @CacheEvict(value = "doctorSchedule", allEntries = true)
     public void delete(Long id) {
+        Long doctorId = repository.findById(id).map(DoctorScheduleService::doctorIdOf).orElse(null);
         repository.softDelete(id); // Используем метод softDelete из репозитория
+        changed(doctorId);
     }
 
     /**
      * Восстановить soft-deleted расписание.
      *
      * @param id идентификатор расписания
+     * @throws ConflictException если в это время кабинет уже занят другим врачом
      */
+    @Transactional
     @CacheEvict(value = "doctorSchedule", allEntries = true)
     public void restore(Long id) {
+        Optional<DoctorSchedule> schedule = repository.findById(id);
+        schedule.ifPresent(scheduleConflictService::check);
+        Long doctorId = schedule.map(DoctorScheduleService::doctorIdOf).orElse(null);
         repository.restore(id); // Используем метод restore из репозитория
+        changed(doctorId);
+    }
+
+    /**
+     * Сбросить развёрнутое расписание и оповестить подписчиков.
+     * Развёрнутые недели сбрасываются до публикации события и ещё раз сразу после фиксации, раньше
+     * подписчиков события: недели, прочитанные до фиксации по старым правилам, не остаются в кэше.
+     *
+     * @param doctorId ID врача или null, если врач неизвестен
+     */
+    private void changed(Long doctorId) {
+        scheduleExpansionService.evict(doctorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    scheduleExpansionService.evict(doctorId);
+                }
+            });
+        }
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId));
+    }
+
+    private static Long doctorIdOf(DoctorSchedule schedule) {
+        return schedule != null && schedule.getDoctor() != null ? schedule.getDoctor().getId() : null;
     }
 }
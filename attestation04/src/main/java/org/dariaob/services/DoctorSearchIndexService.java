@@ -0,0 +1,319 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.DoctorSpecializationChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.DoctorSpecializations;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс врачей в памяти для поиска по нескольким критериям.
+ * <p>
+ * Каждый врач получает порядковый номер, и для каждой специализации, дня недели, кабинета
+ * и пары (день, кабинет) хранится {@link BitSet} номеров врачей. Поиск по нескольким критериям —
+ * пересечение битовых множеств без обращения к БД. Кабинет врача — закреплённый за ним кабинет
+ * и кабинеты записей расписания; запись без кабинета считается приёмом в закреплённом кабинете.
+ * <p>
+ * Индекс строится при старте и обновляется по событиям: привязка и отвязка специализации меняют
+ * один бит, изменение врача или его расписания перечитывают одного врача, изменение расписания
+ * с неизвестным врачом перестраивает индекс целиком.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorSearchIndexService {
+
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final DoctorsRepository doctorsRepository;
+    private final DoctorSpecializationsRepository doctorSpecializationsRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private Index index = new Index();
+
+    /**
+     * Найти активных врачей, удовлетворяющих всем указанным критериям.
+     *
+     * @param specializationIds специализации, которые должны быть у врача все сразу; null или пусто — любые
+     * @param dayOfWeek         день недели (1-7), в который врач принимает, или null
+     * @param officeId          кабинет врача или null; вместе с днём — кабинет приёма в этот день
+     * @return ID врачей по возрастанию
+     * @throws BadFormatException если день недели вне диапазона 1-7
+     */
+    public List<Long> search(Collection<Long> specializationIds, Short dayOfWeek, Long officeId) {
+        if (dayOfWeek != null && (dayOfWeek < 1 || dayOfWeek > DAYS_IN_WEEK)) {
+            throw new BadFormatException("День недели должен быть от 1 до 7.");
+        }
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) index.active.clone();
+            if (specializationIds != null) {
+                for (Long specializationId : specializationIds) {
+                    result.and(index.bySpecialization.getOrDefault(specializationId, Index.EMPTY));
+                }
+            }
+            if (dayOfWeek != null && officeId != null) {
+                result.and(index.byDayOffice.get(dayOfWeek - 1).getOrDefault(officeId, Index.EMPTY));
+            } else if (dayOfWeek != null) {
+                result.and(index.byDay[dayOfWeek - 1]);
+            } else if (officeId != null) {
+                result.and(index.byOffice.getOrDefault(officeId, Index.EMPTY));
+            }
+            List<Long> ids = new ArrayList<>(result.cardinality());
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                ids.add(index.doctorIds.get(ordinal));
+            }
+            ids.sort(Comparator.naturalOrder());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Найти активных врачей по критериям {@link #search(Collection, Short, Long)}.
+     * Врачи с кабинетами и названия их специализаций читаются двумя запросами на весь результат,
+     * коллекции связей врачей не загружаются.
+     *
+     * @param specializationIds специализации
+     * @param dayOfWeek         день недели (1-7) или null
+     * @param officeId          кабинет или null
+     * @return врачи по возрастанию ID
+     */
+    public List<DoctorResponseDto> findDoctors(Collection<Long> specializationIds, Short dayOfWeek, Long officeId) {
+        List<Long> ids = search(specializationIds, dayOfWeek, officeId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<String>> names = new HashMap<>();
+        for (Object[] row : doctorSpecializationsRepository.findActiveSpecializationNamesByDoctorIds(ids)) {
+            names.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        return doctorsRepository.findAllActiveWithOfficeByIds(ids).stream()
+                .sorted(Comparator.comparing(Doctors::getId))
+                .map(doctor -> new DoctorResponseDto(doctor, names.getOrDefault(doctor.getId(), Set.of())))
+                .toList();
+    }
+
+    /**
+     * Построить индекс заново по данным БД. Если во время чтения индекс менялся по событиям,
+     * чтение повторяется, чтобы не затереть более свежие изменения; последняя попытка читает БД
+     * под блокировкой записи, поэтому события ждут её завершения и применяются уже к новому индексу.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 1; attempt < MAX_REBUILD_ATTEMPTS; attempt++) {
+            long seen = version.get();
+            Index built = load();
+            lock.writeLock().lock();
+            try {
+                if (version.get() == seen) {
+                    index = built;
+                    version.incrementAndGet();
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            index = load();
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Index load() {
+        Index built = new Index();
+        Map<Long, Long> homeOffices = new HashMap<>();
+        for (Doctors doctor : doctorsRepository.findAllActive()) {
+            int ordinal = built.ordinal(doctor.getId());
+            built.active.set(ordinal);
+            if (doctor.getOffice() != null) {
+                homeOffices.put(doctor.getId(), doctor.getOffice().getId());
+                built.set(built.byOffice, doctor.getOffice().getId(), ordinal);
+            }
+        }
+        for (DoctorSpecializations link : doctorSpecializationsRepository.findAll()) {
+            if (link.getId() != null) {
+                built.set(built.bySpecialization, link.getId().getSpecializationId(),
+                        built.ordinal(link.getId().getDoctorId()));
+            }
+        }
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()) {
+            Long doctorId = schedule.getDoctor().getId();
+            built.addSchedule(built.ordinal(doctorId), schedule, homeOffices.get(doctorId));
+        }
+        return built;
+    }
+
+    /**
+     * Перечитать одного врача: активность, закреплённый кабинет, специализации и расписание.
+     *
+     * @param doctorId ID врача
+     */
+    public void reindex(Long doctorId) {
+        Optional<Doctors> doctor = doctorsRepository.findActiveById(doctorId);
+        List<DoctorSpecializations> links = doctor.isPresent()
+                ? doctorSpecializationsRepository.findAllByIdDoctorId(doctorId) : List.of();
+        List<DoctorSchedule> schedules = doctor.isPresent()
+                ? doctorScheduleRepository.findActiveByDoctorIds(List.of(doctorId)) : List.of();
+        Long homeOffice = doctor.map(Doctors::getOffice).map(Offices::getId).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            int ordinal = index.ordinal(doctorId);
+            index.clear(ordinal);
+            if (doctor.isEmpty()) {
+                return;
+            }
+            index.active.set(ordinal);
+            if (homeOffice != null) {
+                index.set(index.byOffice, homeOffice, ordinal);
+            }
+            for (DoctorSpecializations link : links) {
+                index.set(index.bySpecialization, link.getId().getSpecializationId(), ordinal);
+            }
+            for (DoctorSchedule schedule : schedules) {
+                index.addSchedule(ordinal, schedule, homeOffice);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Обновить бит специализации врача.
+     *
+     * @param event событие привязки или отвязки специализации
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpecializationChanged(DoctorSpecializationChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = index.ordinal(event.getDoctorId());
+            if (event.isAssigned()) {
+                index.set(index.bySpecialization, event.getSpecializationId(), ordinal);
+            } else {
+                BitSet bits = index.bySpecialization.get(event.getSpecializationId());
+                if (bits != null) {
+                    bits.clear(ordinal);
+                }
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Перечитать врача после его изменения, удаления или восстановления.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        reindex(event.getDoctorId());
+    }
+
+    /**
+     * Перечитать дни и кабинеты врача после изменения расписания; при неизвестном враче — перестроить индекс.
+     *
+     * @param event событие изменения расписания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        if (event.getDoctorId() == null) {
+            rebuild();
+        } else {
+            reindex(event.getDoctorId());
+        }
+    }
+
+    /**
+     * Битовые множества индекса. Порядковые номера врачей не переиспользуются.
+     */
+    private static final class Index {
+
+        private static final BitSet EMPTY = new BitSet();
+
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Long> doctorIds = new ArrayList<>();
+        private final BitSet active = new BitSet();
+        private final Map<Long, BitSet> bySpecialization = new HashMap<>();
+        private final BitSet[] byDay = new BitSet[DAYS_IN_WEEK];
+        private final Map<Long, BitSet> byOffice = new HashMap<>();
+        private final List<Map<Long, BitSet>> byDayOffice = new ArrayList<>(DAYS_IN_WEEK);
+
+        private Index() {
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                byDay[day] = new BitSet();
+                byDayOffice.add(new HashMap<>());
+            }
+        }
+
+        private int ordinal(Long doctorId) {
+            return ordinals.computeIfAbsent(doctorId, id -> {
+                doctorIds.add(id);
+                return doctorIds.size() - 1;
+            });
+        }
+
+        private void set(Map<Long, BitSet> bits, Long key, int ordinal) {
+            bits.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        }
+
+        private void addSchedule(int ordinal, DoctorSchedule schedule, Long homeOffice) {
+            Short day = schedule.getDayOfWeek();
+            if (day == null || day < 1 || day > DAYS_IN_WEEK) {
+                return;
+            }
+            byDay[day - 1].set(ordinal);
+            Long officeId = schedule.getOffice() != null ? schedule.getOffice().getId() : homeOffice;
+            if (officeId != null) {
+                set(byOffice, officeId, ordinal);
+                set(byDayOffice.get(day - 1), officeId, ordinal);
+            }
+        }
+
+        private void clear(int ordinal) {
+            active.clear(ordinal);
+            bySpecialization.values().forEach(bits -> bits.clear(ordinal));
+            byOffice.values().forEach(bits -> bits.clear(ordinal));
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                byDay[day].clear(ordinal);
+                byDayOffice.get(day).values().forEach(bits -> bits.clear(ordinal));
+            }
+        }
+    }
+}
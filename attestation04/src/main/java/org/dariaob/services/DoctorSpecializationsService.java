@@ -2,23 +2,27 @@ package org.dariaob.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.DoctorSpecializationChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.DoctorSpecializations;
 import org.dariaob.repositories.DoctorSpecializationsRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 /**
  * Сервис для работы со связями врачей и специализаций.
+ * Каждое изменение связи публикует {@link DoctorSpecializationChangedEvent}.
  */
 @Service
 @RequiredArgsConstructor
 public class DoctorSpecializationsService {
 
     private final DoctorSpecializationsRepository doctorSpecializationsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить все специализации врача по ID врача.
@@ -45,6 +49,7 @@ public class DoctorSpecializationsService {
             throw new DataNotFoundException("Связь врача с специализацией не найдена.");
         }
         doctorSpecializationsRepository.deleteByDoctorIdAndSpecializationId(doctorId, specializationId);
+        eventPublisher.publishEvent(new DoctorSpecializationChangedEvent(doctorId, specializationId, false));
     }
 
     /**
@@ -56,7 +61,12 @@ public class DoctorSpecializationsService {
     @Transactional
     @CacheEvict(value = "doctorSpecializations", key = "#doctorSpecialization.id.doctorId")
     public DoctorSpecializations save(DoctorSpecializations doctorSpecialization) {
-        return doctorSpecializationsRepository.save(doctorSpecialization);
+        DoctorSpecializations saved = doctorSpecializationsRepository.save(doctorSpecialization);
+        if (saved != null && saved.getId() != null) {
+            eventPublisher.publishEvent(new DoctorSpecializationChangedEvent(saved.getId().getDoctorId(),
+                    saved.getId().getSpecializationId(), true));
+        }
+        return saved;
     }
 
     /**
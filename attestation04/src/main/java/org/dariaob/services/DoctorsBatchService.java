@@ -0,0 +1,193 @@
+package org.dariaob.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctors.DoctorBatchItemDto;
+import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSpecializationId;
+import org.dariaob.models.DoctorSpecializations;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.DoctorSpecializationsJdbcRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Пакетное создание и обновление врачей вместе с их специализациями.
+ * <p>
+ * Все специализации, кабинеты и обновляемые врачи пакета читаются запросами {@code IN} на весь пакет,
+ * текущие связи обновляемых врачей — одним запросом, а недостающие и лишние связи
+ * вставляются и удаляются пакетами JDBC. Пакет сохраняется целиком в одной транзакции,
+ * кэши врачей сбрасываются один раз.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorsBatchService {
+
+    /**
+     * Максимальное число врачей в пакете
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final DoctorsRepository doctorsRepository;
+    private final OfficesRepository officesRepository;
+    private final SpecializationsRepository specializationsRepository;
+    private final DoctorSpecializationsRepository doctorSpecializationsRepository;
+    private final DoctorSpecializationsJdbcRepository doctorSpecializationsJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Создать или обновить врачей пакетом. Врач без ID создаётся, врач с ID обновляется;
+     * специализации обновляемого врача заменяются указанными.
+     *
+     * @param items данные врачей
+     * @return сохранённые врачи в порядке пакета
+     * @throws BadFormatException    если пакет пуст, слишком велик, без кабинета или с повторами врачей
+     * @throws DataNotFoundException если врач, кабинет или специализация не найдены или удалены
+     */
+    @Transactional
+    @CacheEvict(value = {"doctors", "doctorSpecializations"}, allEntries = true)
+    public List<DoctorResponseDto> saveAll(List<DoctorBatchItemDto> items) {
+        validate(items);
+        Map<Long, Specializations> specializations = loadSpecializations(items);
+        Map<Long, Offices> offices = loadOffices(items);
+        Map<Long, Doctors> existing = loadDoctors(items);
+
+        List<Doctors> doctors = new ArrayList<>(items.size());
+        for (DoctorBatchItemDto item : items) {
+            Doctors doctor = item.getId() != null ? existing.get(item.getId()) : item.toEntity();
+            doctor.setName(item.getName());
+            doctor.setPhone(item.getPhone());
+            doctor.setWorkHoursFrom(item.getWorkHoursFrom());
+            doctor.setWorkHoursFor(item.getWorkHoursFor());
+            doctor.setOffice(offices.get(item.getOfficeId()));
+            doctors.add(doctor);
+        }
+        List<Doctors> saved = doctorsRepository.saveAll(doctors);
+        doctorsRepository.flush();
+
+        Map<Long, Set<Long>> current = existing.isEmpty() ? Map.of()
+                : doctorSpecializationsRepository.findAllByIdDoctorIdIn(existing.keySet()).stream()
+                .map(DoctorSpecializations::getId)
+                .collect(Collectors.groupingBy(DoctorSpecializationId::getDoctorId,
+                        Collectors.mapping(DoctorSpecializationId::getSpecializationId, Collectors.toSet())));
+        List<DoctorSpecializationId> toInsert = new ArrayList<>();
+        List<DoctorSpecializationId> toDelete = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Long doctorId = saved.get(i).getId();
+            Set<Long> wanted = specializationIds(items.get(i));
+            Set<Long> present = current.getOrDefault(doctorId, Set.of());
+            wanted.stream().filter(id -> !present.contains(id))
+                    .forEach(id -> toInsert.add(new DoctorSpecializationId(doctorId, id)));
+            present.stream().filter(id -> !wanted.contains(id))
+                    .forEach(id -> toDelete.add(new DoctorSpecializationId(doctorId, id)));
+        }
+        doctorSpecializationsJdbcRepository.deleteBatch(toDelete);
+        doctorSpecializationsJdbcRepository.insertBatch(toInsert);
+
+        List<DoctorResponseDto> result = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Doctors doctor = saved.get(i);
+            result.add(new DoctorResponseDto(doctor, specializationIds(items.get(i)).stream()
+                    .map(specializations::get)
+                    .map(Specializations::getName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet())));
+            eventPublisher.publishEvent(new DoctorChangedEvent(doctor.getId()));
+        }
+        return result;
+    }
+
+    private void validate(List<DoctorBatchItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadFormatException("Пакет врачей пуст.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadFormatException("В пакете не может быть больше " + MAX_BATCH_SIZE + " врачей.");
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (DoctorBatchItemDto item : items) {
+            if (item.getOfficeId() == null) {
+                throw new BadFormatException("Для каждого врача в пакете должен быть указан кабинет.");
+            }
+            if (item.getSpecializationIds() != null && item.getSpecializationIds().stream().anyMatch(Objects::isNull)) {
+                throw new BadFormatException("ID специализации в пакете не может быть пустым.");
+            }
+            if (item.getId() != null && !ids.add(item.getId())) {
+                throw new BadFormatException("Врач с ID " + item.getId() + " указан в пакете несколько раз.");
+            }
+            if (item.getPhone() != null && !phones.add(item.getPhone())) {
+                throw new BadFormatException("Телефон " + item.getPhone() + " указан в пакете несколько раз.");
+            }
+        }
+    }
+
+    private Map<Long, Specializations> loadSpecializations(List<DoctorBatchItemDto> items) {
+        Set<Long> ids = items.stream()
+                .flatMap(item -> specializationIds(item).stream())
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Specializations> found = specializationsRepository.findAllActiveByIds(ids).stream()
+                .collect(Collectors.toMap(Specializations::getId, Function.identity()));
+        requireAll(ids, found.keySet(), "Специализации с ID ");
+        return found;
+    }
+
+    private Map<Long, Offices> loadOffices(List<DoctorBatchItemDto> items) {
+        Set<Long> ids = items.stream().map(DoctorBatchItemDto::getOfficeId).collect(Collectors.toSet());
+        Map<Long, Offices> found = officesRepository.findAllById(ids).stream()
+                .filter(office -> !office.isDeleted())
+                .collect(Collectors.toMap(Offices::getId, Function.identity()));
+        requireAll(ids, found.keySet(), "Кабинеты с ID ");
+        return found;
+    }
+
+    private Map<Long, Doctors> loadDoctors(List<DoctorBatchItemDto> items) {
+        Set<Long> ids = items.stream()
+                .map(DoctorBatchItemDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Doctors> found = doctorsRepository.findAllActiveByIds(ids).stream()
+                .collect(Collectors.toMap(Doctors::getId, Function.identity()));
+        requireAll(ids, found.keySet(), "Врачи с ID ");
+        return found;
+    }
+
+    private static void requireAll(Set<Long> requested, Collection<Long> found, String what) {
+        Set<Long> missing = new TreeSet<>(requested);
+        missing.removeAll(found);
+        if (!missing.isEmpty()) {
+            throw new DataNotFoundException(what + missing + " не найдены или удалены.");
+        }
+    }
+
+    private static Set<Long> specializationIds(DoctorBatchItemDto item) {
+        return item.getSpecializationIds() != null ? item.getSpecializationIds() : Set.of();
+    }
+}
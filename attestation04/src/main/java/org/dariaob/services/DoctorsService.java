@@ -2,23 +2,27 @@ package org.dariaob.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.DoctorChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Doctors;
 import org.dariaob.repositories.DoctorsRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 /**
  * Сервис для работы с врачами.
+ * Каждое изменение врача публикует {@link DoctorChangedEvent}.
  */
 @Service
 @RequiredArgsConstructor
 public class DoctorsService {
 
     private final DoctorsRepository doctorsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить все активные записи о врачах.
@@ -72,6 +76,7 @@ public class DoctorsService {
             throw new DataNotFoundException("Врач с ID " + id + " не найден или уже удалён.");
         }
         doctorsRepository.softDelete(id);
+        eventPublisher.publishEvent(new DoctorChangedEvent(id));
     }
 
     /**
@@ -87,6 +92,7 @@ public class DoctorsService {
             throw new DataNotFoundException("Врач с ID " + id + " не найден или уже восстановлен.");
         }
         doctorsRepository.restore(id);
+        eventPublisher.publishEvent(new DoctorChangedEvent(id));
     }
 
     /**
@@ -98,6 +104,10 @@ public class DoctorsService {
     @Transactional
     @CacheEvict(value = "doctors", allEntries = true)
     public Doctors save(Doctors doctor) {
-        return doctorsRepository.save(doctor);
+        Doctors saved = doctorsRepository.save(doctor);
+        if (saved != null) {
+            eventPublisher.publishEvent(new DoctorChangedEvent(saved.getId()));
+        }
+        return saved;
     }
 }
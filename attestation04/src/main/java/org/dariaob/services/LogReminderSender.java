@@ -0,0 +1,24 @@
+package org.dariaob.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отправитель напоминаний, записывающий их в журнал приложения.
+ * Используется, пока не подключён настоящий канал доставки ({@code clinic.reminders.sender=log}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "clinic.reminders.sender", havingValue = "log", matchIfMissing = true)
+public class LogReminderSender implements ReminderSender {
+
+    @Override
+    public boolean send(AppointmentReminderDto reminder) {
+        log.info("Напоминание {} по приёму {}: {} ({}), врач {}, кабинет {}, начало {}",
+                reminder.getType(), reminder.getAppointmentId(), reminder.getPatientName(), reminder.getPhone(),
+                reminder.getDoctorName(), reminder.getOfficeName(), reminder.getWorkHoursFrom());
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationRequestDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationResultDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.utils.OfficeAllocationSolver;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подбор кабинетов для недельного расписания врачей.
+ * <p>
+ * Сервис только предлагает распределение и ничего не сохраняет: назначенные кабинеты
+ * применяются обычным обновлением записей расписания. Поиск выполняет {@link OfficeAllocationSolver}
+ * параллельно по дням недели в пределах бюджета времени.
+ */
+@Service
+@RequiredArgsConstructor
+public class OfficeAllocationService {
+
+    /**
+     * Бюджет времени по умолчанию и максимальный, мс
+     */
+    public static final long DEFAULT_TIME_BUDGET_MS = 2_000;
+    public static final long MAX_TIME_BUDGET_MS = 10_000;
+
+    /**
+     * Максимальное число записей в запросе
+     */
+    public static final int MAX_SCHEDULES = 10_000;
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final OfficesRepository officesRepository;
+
+    /**
+     * Распределить кабинеты по записям расписания так, чтобы записи разных врачей не пересекались
+     * в одном кабинете, за день было занято как можно меньше кабинетов и записи по возможности
+     * оставались в предпочтительных кабинетах.
+     *
+     * @param request записи, кабинеты и бюджет времени
+     * @return назначения и стоимость решения
+     * @throws BadFormatException    если запись или бюджет времени заданы некорректно
+     * @throws DataNotFoundException если кабинет не найден или нет ни одного кабинета
+     */
+    public OfficeAllocationResultDto allocate(OfficeAllocationRequestDto request) {
+        long budget = request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : DEFAULT_TIME_BUDGET_MS;
+        if (budget < 1 || budget > MAX_TIME_BUDGET_MS) {
+            throw new BadFormatException("Бюджет времени должен быть от 1 до " + MAX_TIME_BUDGET_MS + " мс.");
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+        List<OfficeAllocationRequestDto.Item> items = request.getSchedules() != null
+                ? request.getSchedules() : currentSchedules();
+        if (items.size() > MAX_SCHEDULES) {
+            throw new BadFormatException("Не больше " + MAX_SCHEDULES + " записей в запросе.");
+        }
+        List<Long> officeIds = officeIds(request.getOfficeIds());
+        Map<Long, Integer> officeIndex = new HashMap<>();
+        for (int i = 0; i < officeIds.size(); i++) {
+            officeIndex.put(officeIds.get(i), i);
+        }
+
+        int n = items.size();
+        int[] day = new int[n];
+        int[] start = new int[n];
+        int[] end = new int[n];
+        int[] preferred = new int[n];
+        for (int i = 0; i < n; i++) {
+            OfficeAllocationRequestDto.Item item = items.get(i);
+            validate(i, item);
+            day[i] = item.getDayOfWeek();
+            start[i] = item.getStartTime().toSecondOfDay();
+            end[i] = item.getEndTime().toSecondOfDay();
+            preferred[i] = item.getPreferredOfficeId() != null
+                    ? officeIndex.getOrDefault(item.getPreferredOfficeId(), -1) : -1;
+        }
+
+        OfficeAllocationSolver.Solution solution =
+                OfficeAllocationSolver.solve(day, start, end, preferred, officeIds.size(), deadline);
+        List<OfficeAllocationResultDto.Assignment> assignments = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            OfficeAllocationRequestDto.Item item = items.get(i);
+            assignments.add(new OfficeAllocationResultDto.Assignment(item.getScheduleId(), item.getDoctorId(),
+                    item.getDayOfWeek(), item.getStartTime(), item.getEndTime(),
+                    officeIds.get(solution.room()[i])));
+        }
+        return new OfficeAllocationResultDto(assignments, solution.conflicts(), solution.roomDays(),
+                solution.preferenceMisses());
+    }
+
+    /**
+     * Текущее активное расписание; нынешний кабинет записи считается предпочтительным.
+     */
+    private List<OfficeAllocationRequestDto.Item> currentSchedules() {
+        List<OfficeAllocationRequestDto.Item> items = new ArrayList<>();
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()) {
+            Offices office = schedule.getOffice();
+            items.add(new OfficeAllocationRequestDto.Item(schedule.getId(), schedule.getDoctor().getId(),
+                    schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime(),
+                    office != null ? office.getId() : null));
+        }
+        return items;
+    }
+
+    /**
+     * Кабинеты для распределения: указанные в запросе (все должны быть активны) или все активные.
+     */
+    private List<Long> officeIds(List<Long> requested) {
+        List<Long> active = officesRepository.findAllActive().stream().map(Offices::getId).sorted().toList();
+        if (requested == null || requested.isEmpty()) {
+            if (active.isEmpty()) {
+                throw new DataNotFoundException("Нет активных кабинетов.");
+            }
+            return active;
+        }
+        Set<Long> ids = new LinkedHashSet<>(requested);
+        for (Long id : ids) {
+            if (id == null || !active.contains(id)) {
+                throw new DataNotFoundException("Кабинет с ID " + id + " не найден.");
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    private static void validate(int index, OfficeAllocationRequestDto.Item item) {
+        if (item == null || item.getDoctorId() == null || item.getDayOfWeek() == null
+                || item.getStartTime() == null || item.getEndTime() == null) {
+            throw new BadFormatException("Запись " + index + ": не заданы врач, день или время.");
+        }
+        if (item.getDayOfWeek() < 1 || item.getDayOfWeek() > 7) {
+            throw new BadFormatException("Запись " + index + ": день недели должен быть от 1 до 7.");
+        }
+        if (!item.getStartTime().isBefore(item.getEndTime())) {
+            throw new BadFormatException("Запись " + index + ": время начала должно быть раньше окончания.");
+        }
+    }
+}
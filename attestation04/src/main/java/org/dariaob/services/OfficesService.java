@@ -2,11 +2,13 @@ package org.dariaob.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.OfficeChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Offices;
 import org.dariaob.repositories.OfficesRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.List;
 public class OfficesService {
 
     private final OfficesRepository officesRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить все активные офисы (используется кэш).
@@ -48,12 +51,13 @@ public class OfficesService {
      * @param id the id
      */
     @Transactional
-    @CacheEvict(value = "offices", allEntries = true)
+    @CacheEvict(value = {"offices", "doctorProfiles"}, allEntries = true)
     public void softDeleteOffice(Long id) {
         if (officesRepository.findActiveById(id).isEmpty()) {
             throw new DataNotFoundException("Нельзя удалить: офис с ID " + id + " не найден или уже удалён.");
         }
         officesRepository.softDelete(id);
+        eventPublisher.publishEvent(new OfficeChangedEvent(id));
     }
 
     /**
@@ -62,9 +66,10 @@ public class OfficesService {
      * @param id the id
      */
     @Transactional
-    @CacheEvict(value = "offices", allEntries = true)
+    @CacheEvict(value = {"offices", "doctorProfiles"}, allEntries = true)
     public void restoreOffice(Long id) {
         officesRepository.restore(id);
+        eventPublisher.publishEvent(new OfficeChangedEvent(id));
     }
 
     /**
@@ -74,17 +79,22 @@ public class OfficesService {
      * @return the offices
      */
     @Transactional
-    @CacheEvict(value = "offices", allEntries = true)
+    @CacheEvict(value = {"offices", "doctorProfiles"}, allEntries = true)
     public Offices saveOffice(Offices office) {
-        return officesRepository.save(office);
+        Offices saved = officesRepository.save(office);
+        if (saved != null) {
+            eventPublisher.publishEvent(new OfficeChangedEvent(saved.getId()));
+        }
+        return saved;
     }
 
     /**
      * Удалить все офисы
      */
     @Transactional
-    @CacheEvict(value = "offices", allEntries = true)
+    @CacheEvict(value = {"offices", "doctorProfiles"}, allEntries = true)
     public void softDeleteAll() {
         officesRepository.softDeleteAll();
+        eventPublisher.publishEvent(new OfficeChangedEvent(null));
     }
 }
@@ -0,0 +1,134 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.patients.PatientTimelineItemDto;
+import org.dariaob.dto.patients.PatientTimelinePageDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.PatientCardsHistoryRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.utils.SortedMerge;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Лента пациента: приёмы и изменения медицинской карты в одном потоке, от новых к старым.
+ * <p>
+ * Оба источника читаются из БД уже упорядоченными страницами по ключу (время, ID) и сливаются
+ * k-way merge без пересортировки. Для страницы из N событий из каждого источника читается не больше
+ * N строк. Курсор — ключ последнего события страницы: время, вид и ID.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatientTimelineService {
+
+    /**
+     * Максимальный размер страницы ленты
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Порядок ленты: по убыванию времени, затем вида и ID события
+     */
+    private static final Comparator<PatientTimelineItemDto> ORDER = Comparator
+            .comparing(PatientTimelineItemDto::getAt)
+            .thenComparing(PatientTimelineItemDto::getType)
+            .thenComparing(PatientTimelineItemDto::getId)
+            .reversed();
+
+    /**
+     * Граница первой страницы: позже любого события
+     */
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String CURSOR_SEPARATOR = "~";
+
+    private final PatientsRepository patientsRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final PatientCardsHistoryRepository patientCardsHistoryRepository;
+
+    /**
+     * Получить страницу ленты пациента.
+     *
+     * @param patientId ID пациента
+     * @param before    курсор предыдущей страницы или null для первой страницы
+     * @param limit     размер страницы (от 1 до {@value #MAX_PAGE_SIZE})
+     * @return события страницы и курсор следующей страницы
+     * @throws BadFormatException    если курсор или размер страницы некорректны
+     * @throws DataNotFoundException если пациент не найден
+     */
+    public PatientTimelinePageDto getTimeline(Long patientId, String before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadFormatException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE + ".");
+        }
+        Cursor cursor = before != null ? Cursor.parse(before) : null;
+        if (patientsRepository.findActiveById(patientId).isEmpty()) {
+            throw new DataNotFoundException("Пациент с ID " + patientId + " не найден.");
+        }
+
+        LocalDateTime at = cursor != null ? cursor.at() : END_OF_TIME;
+        Iterator<PatientTimelineItemDto> appointments = appointmentsRepository
+                .findActiveByPatientIdBefore(patientId, at, idBound(cursor, PatientTimelineItemDto.Type.APPOINTMENT),
+                        Limit.of(limit))
+                .stream().map(PatientTimelineItemDto::new).iterator();
+        Iterator<PatientTimelineItemDto> changes = patientCardsHistoryRepository
+                .findByPatientIdBefore(patientId, at, idBound(cursor, PatientTimelineItemDto.Type.CARD_CHANGE),
+                        Limit.of(limit))
+                .stream().map(PatientTimelineItemDto::new).iterator();
+
+        Iterator<PatientTimelineItemDto> merged = SortedMerge.merge(List.of(appointments, changes), ORDER);
+        List<PatientTimelineItemDto> items = new ArrayList<>(limit);
+        while (items.size() < limit && merged.hasNext()) {
+            items.add(merged.next());
+        }
+        String nextCursor = items.size() == limit ? Cursor.of(items.get(items.size() - 1)).format() : null;
+        return new PatientTimelinePageDto(items, nextCursor);
+    }
+
+    /**
+     * Граница ID источника для событий, совпадающих по времени с курсором.
+     * В порядке ленты после курсора идут события того же времени с меньшим видом,
+     * а события того же вида — только с меньшим ID.
+     */
+    private static Long idBound(Cursor cursor, PatientTimelineItemDto.Type type) {
+        if (cursor == null || type.compareTo(cursor.type()) < 0) {
+            return Long.MAX_VALUE;
+        }
+        return type == cursor.type() ? cursor.id() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Курсор ленты: ключ последнего события страницы.
+     */
+    private record Cursor(LocalDateTime at, PatientTimelineItemDto.Type type, Long id) {
+
+        static Cursor of(PatientTimelineItemDto item) {
+            return new Cursor(item.getAt(), item.getType(), item.getId());
+        }
+
+        static Cursor parse(String value) {
+            String[] parts = value.split(CURSOR_SEPARATOR);
+            if (parts.length != 3) {
+                throw new BadFormatException("Некорректный курсор ленты: " + value);
+            }
+            try {
+                return new Cursor(LocalDateTime.parse(parts[0]), PatientTimelineItemDto.Type.valueOf(parts[1]),
+                        Long.parseLong(parts[2]));
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                throw new BadFormatException("Некорректный курсор ленты: " + value);
+            }
+        }
+
+        String format() {
+            return at + CURSOR_SEPARATOR + type + CURSOR_SEPARATOR + id;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package org.dariaob.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.PatientChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Patients;
 import org.dariaob.repositories.PatientsRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.List;
 public class PatientsService {
 
     private final PatientsRepository patientsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить всех активных пациентов.
@@ -69,6 +72,7 @@ public class PatientsService {
             throw new DataNotFoundException("Пациент с ID " + id + " не найден или уже удалён.");
         }
         patientsRepository.softDelete(id);
+        eventPublisher.publishEvent(new PatientChangedEvent(id));
     }
 
     /**
@@ -84,6 +88,7 @@ public class PatientsService {
             throw new DataNotFoundException("Пациент с ID " + id + " не найден или уже восстановлен.");
         }
         patientsRepository.restore(id);
+        eventPublisher.publishEvent(new PatientChangedEvent(id));
     }
 
     /**
@@ -95,6 +100,10 @@ public class PatientsService {
     @Transactional
     @CacheEvict(value = {"patientsAllActive", "patientsById", "patientsByPhone"}, allEntries = true)
     public Patients save(Patients patient) {
-        return patientsRepository.save(patient);
+        Patients saved = patientsRepository.save(patient);
+        if (saved != null) {
+            eventPublisher.publishEvent(new PatientChangedEvent(saved.getId()));
+        }
+        return saved;
     }
 }
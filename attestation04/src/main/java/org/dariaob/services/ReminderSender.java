@@ -0,0 +1,18 @@
+package org.dariaob.services;
+
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+
+/**
+ * Канал доставки напоминаний о приёме (SMS-шлюз, почта и т.п.).
+ * Реализация вызывается из виртуальных потоков рассылки и должна быть потокобезопасной.
+ */
+public interface ReminderSender {
+
+    /**
+     * Отправить напоминание.
+     *
+     * @param reminder напоминание
+     * @return true, если напоминание принято каналом доставки; false, чтобы повторить отправку при следующем проходе
+     */
+    boolean send(AppointmentReminderDto reminder);
+}
@@ -0,0 +1,159 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctorSchedule.ScheduleConflictDto;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка расписаний на пересечения врачей в одном кабинете.
+ * <p>
+ * Записи сортируются по (кабинет, день недели, начало) и просматриваются заметающей прямой:
+ * в куче по времени окончания держатся записи текущего кабинета и дня, ещё не закончившиеся к началу
+ * очередной записи, и каждая из них пересекается с очередной. Аудит всей клиники стоит O(n log n + k),
+ * где k — число найденных конфликтов, вместо попарного сравнения записей.
+ * <p>
+ * Пересечение записей одного врача конфликтом не считается.
+ * <p>
+ * Проверка перед сохранением берёт блокировку строки кабинета до конца транзакции, поэтому две транзакции,
+ * записывающие расписание в один кабинет, проверяются и сохраняются по очереди и не пропускают конфликт друг друга.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleConflictService {
+
+    private static final Comparator<DoctorSchedule> SWEEP_ORDER = Comparator
+            .comparing((DoctorSchedule s) -> s.getOffice().getId())
+            .thenComparing(DoctorSchedule::getDayOfWeek)
+            .thenComparing(DoctorSchedule::getStartTime)
+            .thenComparing(DoctorSchedule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final OfficesRepository officesRepository;
+
+    /**
+     * Заблокировать кабинеты до конца текущей транзакции перед проверкой и записью их расписания.
+     *
+     * @param officeIds идентификаторы кабинетов
+     */
+    public void lockOffices(Collection<Long> officeIds) {
+        if (!officeIds.isEmpty()) {
+            officesRepository.lockAllByIds(officeIds);
+        }
+    }
+
+    /**
+     * Найти все пересечения расписаний разных врачей в одном кабинете.
+     *
+     * @return конфликты по кабинету, дню недели и времени начала
+     */
+    public List<ScheduleConflictDto> audit() {
+        return sweep(doctorScheduleRepository.findAllActiveWithOffice());
+    }
+
+    /**
+     * Проверить, что запись расписания не пересекается с записями других врачей в том же кабинете.
+     * Записи без кабинета, дня недели или времени не проверяются. Вызывается в транзакции, которая сохраняет
+     * запись: кабинет остаётся заблокированным до её завершения.
+     *
+     * @param schedule создаваемая или изменённая запись; при изменении её прежняя версия исключается по ID
+     * @throws ConflictException если запись пересекается с записями других врачей
+     */
+    public void check(DoctorSchedule schedule) {
+        if (!isComparable(schedule)) {
+            return;
+        }
+        lockOffices(List.of(schedule.getOffice().getId()));
+        List<DoctorSchedule> sameOfficeDay = new ArrayList<>(doctorScheduleRepository
+                .findActiveByOfficeAndDay(schedule.getOffice().getId(), schedule.getDayOfWeek()).stream()
+                .filter(other -> schedule.getId() == null || !schedule.getId().equals(other.getId()))
+                .toList());
+        sameOfficeDay.add(schedule);
+
+        List<ScheduleConflictDto> conflicts = sweep(sameOfficeDay).stream()
+                .filter(conflict -> Objects.equals(conflict.getFirstScheduleId(), schedule.getId())
+                        || Objects.equals(conflict.getSecondScheduleId(), schedule.getId()))
+                .toList();
+        if (!conflicts.isEmpty()) {
+            String others = conflicts.stream()
+                    .map(conflict -> Objects.equals(conflict.getFirstScheduleId(), schedule.getId())
+                            ? conflict.getSecondScheduleId() : conflict.getFirstScheduleId())
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            throw new ConflictException("Кабинет с ID " + schedule.getOffice().getId()
+                    + " в это время уже занят другим врачом (записи расписания: " + others + ").");
+        }
+    }
+
+    /**
+     * Найти пересечения новых записей с активными записями других врачей и друг с другом
+     * одним проходом по всем записям клиники.
+     *
+     * @param candidates новые записи; их ID должны быть уникальны и не совпадать с ID сохранённых записей
+     * @return конфликты, в которых участвует хотя бы одна новая запись
+     */
+    public List<ScheduleConflictDto> findConflicts(Collection<DoctorSchedule> candidates) {
+        Set<Long> candidateIds = candidates.stream().map(DoctorSchedule::getId).collect(Collectors.toSet());
+        List<DoctorSchedule> all = new ArrayList<>(doctorScheduleRepository.findAllActiveWithOffice());
+        all.addAll(candidates);
+        return sweep(all).stream()
+                .filter(conflict -> candidateIds.contains(conflict.getFirstScheduleId())
+                        || candidateIds.contains(conflict.getSecondScheduleId()))
+                .toList();
+    }
+
+    /**
+     * Заметающая прямая по записям: сортировка по (кабинет, день, начало) и куча ещё не закончившихся записей.
+     *
+     * @param schedules записи расписания
+     * @return все пересечения записей разных врачей
+     */
+    private static List<ScheduleConflictDto> sweep(List<DoctorSchedule> schedules) {
+        List<DoctorSchedule> sorted = schedules.stream()
+                .filter(ScheduleConflictService::isComparable)
+                .sorted(SWEEP_ORDER)
+                .toList();
+        List<ScheduleConflictDto> conflicts = new ArrayList<>();
+        PriorityQueue<DoctorSchedule> open = new PriorityQueue<>(Comparator.comparing(DoctorSchedule::getEndTime));
+        DoctorSchedule previous = null;
+        for (DoctorSchedule current : sorted) {
+            if (previous == null || !previous.getOffice().getId().equals(current.getOffice().getId())
+                    || !previous.getDayOfWeek().equals(current.getDayOfWeek())) {
+                open.clear();
+            }
+            while (!open.isEmpty() && !open.peek().getEndTime().isAfter(current.getStartTime())) {
+                open.poll();
+            }
+            for (DoctorSchedule other : open) {
+                if (!other.getDoctor().getId().equals(current.getDoctor().getId())) {
+                    conflicts.add(new ScheduleConflictDto(current.getOffice().getId(), current.getDayOfWeek(),
+                            other.getId(), other.getDoctor().getId(), current.getId(), current.getDoctor().getId(),
+                            current.getStartTime(),
+                            other.getEndTime().isBefore(current.getEndTime()) ? other.getEndTime() : current.getEndTime()));
+                }
+            }
+            open.add(current);
+            previous = current;
+        }
+        return conflicts;
+    }
+
+    private static boolean isComparable(DoctorSchedule schedule) {
+        return schedule.getOffice() != null && schedule.getOffice().getId() != null
+                && schedule.getDoctor() != null && schedule.getDoctor().getId() != null
+                && schedule.getDayOfWeek() != null && schedule.getStartTime() != null && schedule.getEndTime() != null
+                && schedule.getEndTime().isAfter(schedule.getStartTime());
+    }
+}
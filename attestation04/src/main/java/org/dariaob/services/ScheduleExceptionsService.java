@@ -0,0 +1,152 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.scheduleExceptions.ScheduleExceptionRequestDto;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.ScheduleExceptionType;
+import org.dariaob.models.ScheduleExceptions;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.ScheduleExceptionsRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Сервис исключений из еженедельного расписания: праздников клиники, отпусков и больничных врачей,
+ * разовых дополнительных смен.
+ * Исключения учитываются при развёртывании расписания в {@link ScheduleExpansionService}; каждое изменение
+ * сбрасывает развёрнутые недели врача (или всех врачей для исключения клиники) и публикует
+ * {@link DoctorScheduleChangedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleExceptionsService {
+
+    /**
+     * Максимальная длина исключения и диапазона выборки в днях
+     */
+    public static final int MAX_DAYS = 366;
+
+    private final ScheduleExceptionsRepository scheduleExceptionsRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final OfficesRepository officesRepository;
+    private final ScheduleExpansionService scheduleExpansionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Создать исключение из расписания.
+     *
+     * @param request данные исключения
+     * @return сохранённое исключение
+     * @throws BadFormatException    если данные исключения некорректны
+     * @throws DataNotFoundException если врач или кабинет не найдены
+     */
+    public ScheduleExceptions create(ScheduleExceptionRequestDto request) {
+        LocalDate dateTo = request.getDateTo() != null ? request.getDateTo() : request.getDateFrom();
+        validate(request, dateTo);
+
+        ScheduleExceptions exception = new ScheduleExceptions();
+        if (request.getDoctorId() != null) {
+            exception.setDoctor(doctorsRepository.getReferenceById(request.getDoctorId()));
+        }
+        if (request.getOfficeId() != null) {
+            exception.setOffice(officesRepository.getReferenceById(request.getOfficeId()));
+        }
+        exception.setType(request.getType());
+        exception.setDateFrom(request.getDateFrom());
+        exception.setDateTo(dateTo);
+        exception.setStartTime(request.getStartTime());
+        exception.setEndTime(request.getEndTime());
+        exception.setReason(request.getReason());
+        exception.setDeleted(false);
+
+        ScheduleExceptions saved;
+        try {
+            saved = scheduleExceptionsRepository.saveAndFlush(exception);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DataNotFoundException("Врач или кабинет исключения из расписания не найдены.");
+        }
+        changed(request.getDoctorId());
+        return saved;
+    }
+
+    /**
+     * Получить активное исключение по ID.
+     *
+     * @param id ID исключения
+     * @return исключение
+     * @throws DataNotFoundException если исключение не найдено
+     */
+    public ScheduleExceptions getById(Long id) {
+        return scheduleExceptionsRepository.findActiveById(id)
+                .orElseThrow(() -> new DataNotFoundException("Исключение из расписания с ID " + id + " не найдено."));
+    }
+
+    /**
+     * Получить активные исключения, действующие в диапазоне дат.
+     *
+     * @param doctorId ID врача или null для всех врачей; исключения клиники возвращаются всегда
+     * @param from     первый день
+     * @param to       последний день
+     * @return исключения по дате начала
+     * @throws BadFormatException если диапазон некорректен
+     */
+    public List<ScheduleExceptions> find(Long doctorId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return doctorId != null
+                ? scheduleExceptionsRepository.findActiveForDoctorsBetween(List.of(doctorId), from, to)
+                : scheduleExceptionsRepository.findActiveBetween(from, to);
+    }
+
+    /**
+     * Удалить исключение (soft delete).
+     *
+     * @param id ID исключения
+     * @throws DataNotFoundException если исключение не найдено
+     */
+    public void delete(Long id) {
+        ScheduleExceptions exception = getById(id);
+        scheduleExceptionsRepository.softDelete(id);
+        changed(exception.getDoctor() != null ? exception.getDoctor().getId() : null);
+    }
+
+    private void changed(Long doctorId) {
+        scheduleExpansionService.evict(doctorId);
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId));
+    }
+
+    private static void validate(ScheduleExceptionRequestDto request, LocalDate dateTo) {
+        if (request.getType() == null || request.getDateFrom() == null) {
+            throw new BadFormatException("Для исключения нужно указать тип и первый день действия.");
+        }
+        validateRange(request.getDateFrom(), dateTo);
+        if ((request.getStartTime() == null) != (request.getEndTime() == null)) {
+            throw new BadFormatException("Время исключения указывается полностью (начало и окончание) или не указывается.");
+        }
+        if (request.getStartTime() != null && !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new BadFormatException("Окончание исключения должно быть позже начала.");
+        }
+        if (request.getType() == ScheduleExceptionType.EXTRA_SHIFT
+                && (request.getDoctorId() == null || request.getStartTime() == null)) {
+            throw new BadFormatException("Для дополнительной смены нужно указать врача и время.");
+        }
+        if (request.getType() != ScheduleExceptionType.HOLIDAY && request.getDoctorId() == null) {
+            throw new BadFormatException("Без врача можно указать только праздник клиники.");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadFormatException("Последний день должен быть не раньше первого.");
+        }
+        if (from.plusDays(MAX_DAYS).isBefore(to)) {
+            throw new BadFormatException("Диапазон не должен быть длиннее " + MAX_DAYS + " дней.");
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.ScheduleExceptions;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.ScheduleExceptionsRepository;
+import org.dariaob.utils.IntervalOps;
+import org.dariaob.utils.WorkingWindows;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Развёртывание еженедельных правил {@link DoctorSchedule} в датированные рабочие окна.
+ * <p>
+ * Правила разворачиваются лениво по неделям (с понедельника) и хранятся в кэше {@code doctorWeekSchedule}
+ * по паре (врач, неделя) в виде {@link WorkingWindows}. Запрос диапазона склеивает недели из кэша,
+ * а недостающие недели всех запрошенных врачей строятся по одному запросу правил и одному запросу исключений.
+ * <p>
+ * Исключения ({@link ScheduleExceptions}) накладываются на окна правил линейными проходами {@link IntervalOps}:
+ * сначала вычитаются праздники, отпуска и больничные, затем добавляются дополнительные смены.
+ * <p>
+ * Кэш сбрасывается из {@link DoctorScheduleService} при каждом изменении расписания: в ключ записи входят
+ * поколения расписания врача и всей клиники, сброс увеличивает поколение и удаляет из кэша записанные недели
+ * врача. Запись, построенная по старому поколению и положенная в кэш уже после сброса, удаляется сразу.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleExpansionService {
+
+    /**
+     * Максимальная длина запрашиваемого диапазона в днях
+     */
+    public static final int MAX_DAYS = 400;
+
+    private static final String CACHE_NAME = "doctorWeekSchedule";
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final ScheduleExceptionsRepository scheduleExceptionsRepository;
+    private final CacheManager cacheManager;
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final Map<Long, Set<WeekKey>> cachedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Рабочие окна врача в диапазоне дней.
+     *
+     * @param doctorId ID врача
+     * @param from     первый день
+     * @param to       день после последнего
+     * @return окна, начинающиеся в диапазоне, с днём отсчёта {@code from}
+     * @throws BadFormatException если диапазон некорректен
+     */
+    public WorkingWindows expand(Long doctorId, LocalDate from, LocalDate to) {
+        return expand(List.of(doctorId), from, to).get(doctorId);
+    }
+
+    /**
+     * Рабочие окна нескольких врачей в диапазоне дней.
+     * Недели, которых нет в кэше, разворачиваются по одному запросу правил для всех таких врачей.
+     *
+     * @param doctorIds идентификаторы врачей
+     * @param from      первый день
+     * @param to        день после последнего
+     * @return окна по ID врача; врач без расписания получает пустой список
+     * @throws BadFormatException если диапазон некорректен
+     */
+    public Map<Long, WorkingWindows> expand(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from) || from.plusDays(MAX_DAYS).isBefore(to)) {
+            throw new BadFormatException("Диапазон расписания должен быть не длиннее " + MAX_DAYS + " дней.");
+        }
+        List<LocalDate> weeks = new ArrayList<>();
+        for (LocalDate week = weekStart(from); week.isBefore(to); week = week.plusWeeks(1)) {
+            weeks.add(week);
+        }
+
+        // Ключи строятся один раз до загрузки: если расписание изменится во время загрузки,
+        // результат попадёт в кэш под устаревшим поколением и больше не будет прочитан
+        Map<Long, List<WeekKey>> keys = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            keys.put(doctorId, weeks.stream().map(week -> key(doctorId, week)).toList());
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<WeekKey, WorkingWindows> found = new HashMap<>();
+        Map<Long, List<WeekKey>> missing = new HashMap<>();
+        keys.forEach((doctorId, doctorKeys) -> {
+            for (WeekKey key : doctorKeys) {
+                WorkingWindows cached = cache != null ? cache.get(key, WorkingWindows.class) : null;
+                if (cached != null) {
+                    found.put(key, cached);
+                } else {
+                    missing.computeIfAbsent(doctorId, id -> new ArrayList<>()).add(key);
+                }
+            }
+        });
+        if (!missing.isEmpty()) {
+            Map<WeekKey, WorkingWindows> built = load(missing);
+            if (cache != null) {
+                built.forEach((key, windows) -> put(cache, key, windows));
+            }
+            found.putAll(built);
+        }
+
+        Map<Long, WorkingWindows> result = new HashMap<>();
+        LocalDate origin = weeks.isEmpty() ? from : weeks.get(0);
+        keys.forEach((doctorId, doctorKeys) -> {
+            List<WorkingWindows> parts = doctorKeys.stream().map(found::get).toList();
+            result.put(doctorId, WorkingWindows.concat(origin, parts).slice(from, to));
+        });
+        return result;
+    }
+
+    /**
+     * Сбросить развёрнутые недели врача.
+     *
+     * @param doctorId ID врача или null, чтобы сбросить недели всех врачей
+     */
+    public void evict(Long doctorId) {
+        if (doctorId == null) {
+            globalGeneration.incrementAndGet();
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.clear();
+            }
+            cachedKeys.clear();
+        } else {
+            generations.computeIfAbsent(doctorId, id -> new AtomicLong()).incrementAndGet();
+            Set<WeekKey> stale = cachedKeys.remove(doctorId);
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (stale != null && cache != null) {
+                stale.forEach(cache::evict);
+            }
+        }
+    }
+
+    /**
+     * Положить неделю в кэш и запомнить ключ для сброса по врачу.
+     * Если поколение сменилось во время загрузки, запись удаляется: её уже никто не прочитает.
+     */
+    private void put(Cache cache, WeekKey key, WorkingWindows windows) {
+        cache.put(key, windows);
+        cachedKeys.computeIfAbsent(key.doctorId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+        if (!key.equals(key(key.doctorId(), key.week()))) {
+            cache.evict(key);
+            Set<WeekKey> tracked = cachedKeys.get(key.doctorId());
+            if (tracked != null) {
+                tracked.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Развернуть недостающие недели врачей по одному запросу правил и одному запросу исключений.
+     */
+    private Map<WeekKey, WorkingWindows> load(Map<Long, List<WeekKey>> missing) {
+        Map<Long, List<DoctorSchedule>> rulesByDoctor = doctorScheduleRepository.findActiveByDoctorIds(missing.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(rule -> rule.getDoctor().getId()));
+
+        LocalDate firstWeek = missing.values().stream().flatMap(List::stream).map(WeekKey::week)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate lastWeek = missing.values().stream().flatMap(List::stream).map(WeekKey::week)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        List<ScheduleExceptions> clinicExceptions = new ArrayList<>();
+        Map<Long, List<ScheduleExceptions>> exceptionsByDoctor = new HashMap<>();
+        for (ScheduleExceptions exception : scheduleExceptionsRepository.findActiveForDoctorsBetween(
+                missing.keySet(), firstWeek, lastWeek.plusDays(6))) {
+            if (exception.getDoctor() == null) {
+                clinicExceptions.add(exception);
+            } else {
+                exceptionsByDoctor.computeIfAbsent(exception.getDoctor().getId(), id -> new ArrayList<>()).add(exception);
+            }
+        }
+
+        Map<WeekKey, WorkingWindows> built = new HashMap<>();
+        missing.forEach((doctorId, doctorKeys) -> {
+            List<DoctorSchedule> rules = rulesByDoctor.getOrDefault(doctorId, List.of());
+            List<ScheduleExceptions> exceptions = new ArrayList<>(clinicExceptions);
+            exceptions.addAll(exceptionsByDoctor.getOrDefault(doctorId, List.of()));
+            for (WeekKey key : doctorKeys) {
+                WorkingWindows windows = expandWeek(key.week(), rules);
+                if (!exceptions.isEmpty()) {
+                    windows = IntervalOps.union(
+                            IntervalOps.subtract(windows, exceptionWindows(key.week(), exceptions, false)),
+                            exceptionWindows(key.week(), exceptions, true));
+                }
+                built.put(key, windows);
+            }
+        });
+        return built;
+    }
+
+    /**
+     * Развернуть правила в окна одной недели. Правила без дня недели или с пустым интервалом пропускаются.
+     *
+     * @param week  понедельник недели
+     * @param rules правила врача
+     * @return окна недели с днём отсчёта {@code week}
+     */
+    private static WorkingWindows expandWeek(LocalDate week, List<DoctorSchedule> rules) {
+        List<DoctorSchedule> valid = rules.stream()
+                .filter(rule -> rule.getDayOfWeek() != null && rule.getDayOfWeek() >= 1 && rule.getDayOfWeek() <= 7)
+                .filter(rule -> rule.getStartTime() != null && rule.getEndTime() != null
+                        && rule.getEndTime().isAfter(rule.getStartTime()))
+                .sorted(Comparator.comparing(DoctorSchedule::getDayOfWeek).thenComparing(DoctorSchedule::getStartTime))
+                .toList();
+        int[] start = new int[valid.size()];
+        int[] end = new int[valid.size()];
+        long[] office = new long[valid.size()];
+        for (int i = 0; i < valid.size(); i++) {
+            DoctorSchedule rule = valid.get(i);
+            int dayOffset = (rule.getDayOfWeek() - 1) * WorkingWindows.MINUTES_PER_DAY;
+            start[i] = dayOffset + minuteOfDay(rule.getStartTime());
+            end[i] = dayOffset + minuteOfDay(rule.getEndTime());
+            office[i] = rule.getOffice() != null && rule.getOffice().getId() != null
+                    ? rule.getOffice().getId() : WorkingWindows.NO_OFFICE;
+        }
+        return new WorkingWindows(week, start, end, office);
+    }
+
+    /**
+     * Окна исключений одного вида в пределах недели: каждый день действия исключения даёт окно
+     * в указанном интервале времени или на весь день.
+     *
+     * @param week       понедельник недели
+     * @param exceptions исключения врача и клиники
+     * @param working    true — дополнительные смены, false — снимающие рабочее время исключения
+     * @return окна недели с днём отсчёта {@code week}, упорядоченные по началу
+     */
+    private static WorkingWindows exceptionWindows(LocalDate week, List<ScheduleExceptions> exceptions,
+                                                   boolean working) {
+        List<long[]> windows = new ArrayList<>();
+        LocalDate weekEnd = week.plusDays(6);
+        for (ScheduleExceptions exception : exceptions) {
+            if (exception.getType() == null || exception.getType().isWorking() != working
+                    || exception.getDateFrom().isAfter(weekEnd) || exception.getDateTo().isBefore(week)) {
+                continue;
+            }
+            boolean wholeDay = exception.getStartTime() == null || exception.getEndTime() == null;
+            int from = wholeDay ? 0 : minuteOfDay(exception.getStartTime());
+            int to = wholeDay ? WorkingWindows.MINUTES_PER_DAY : minuteOfDay(exception.getEndTime());
+            long office = exception.getOffice() != null ? exception.getOffice().getId() : WorkingWindows.NO_OFFICE;
+            LocalDate first = exception.getDateFrom().isBefore(week) ? week : exception.getDateFrom();
+            LocalDate last = exception.getDateTo().isAfter(weekEnd) ? weekEnd : exception.getDateTo();
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                int dayOffset = (int) ChronoUnit.DAYS.between(week, date) * WorkingWindows.MINUTES_PER_DAY;
+                windows.add(new long[]{dayOffset + from, dayOffset + to, office});
+            }
+        }
+        windows.sort(Comparator.comparingLong(window -> window[0]));
+        int[] start = new int[windows.size()];
+        int[] end = new int[windows.size()];
+        long[] office = new long[windows.size()];
+        for (int i = 0; i < windows.size(); i++) {
+            start[i] = (int) windows.get(i)[0];
+            end[i] = (int) windows.get(i)[1];
+            office[i] = windows.get(i)[2];
+        }
+        return new WorkingWindows(week, start, end, office);
+    }
+
+    private WeekKey key(Long doctorId, LocalDate week) {
+        AtomicLong generation = generations.get(doctorId);
+        return new WeekKey(doctorId, week, generation != null ? generation.get() : 0, globalGeneration.get());
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Ключ кэша: врач, понедельник недели и поколения расписания врача и всей клиники.
+     */
+    private record WeekKey(Long doctorId, LocalDate week, long generation, long globalGeneration) {
+    }
+}
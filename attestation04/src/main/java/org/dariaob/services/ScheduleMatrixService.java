@@ -0,0 +1,165 @@
+package org.dariaob.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.dariaob.dto.doctorSchedule.ScheduleMatrixDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.OfficeChangedEvent;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Недельная матрица расписания «врач × день» для доски расписания.
+ * <p>
+ * Матрица строится одним запросом с подгрузкой врачей и кабинетов и хранится в кэше
+ * {@code doctorScheduleMatrix} уже сериализованной в JSON, поэтому повторные запросы
+ * отдают готовые байты без обращения к БД и без сериализации. Кэш сбрасывается любым
+ * изменением расписания, врача или кабинета только через {@link #evict()}, поэтому матрица,
+ * построенная параллельно с изменением, в кэш не попадает.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleMatrixService {
+
+    private static final String CACHE_NAME = "doctorScheduleMatrix";
+    private static final String CACHE_KEY = "matrix";
+    private static final int DAYS_IN_WEEK = 7;
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Получить матрицу в виде JSON из кэша или построить её.
+     *
+     * @return JSON матрицы в UTF-8
+     */
+    public byte[] getMatrixJson() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            byte[] cached = cache.get(CACHE_KEY, byte[].class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long current = generation.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать матрицу расписания.", e);
+        }
+        if (cache != null && generation.get() == current) {
+            cache.put(CACHE_KEY, json);
+        }
+        return json;
+    }
+
+    /**
+     * Построить матрицу по активным записям расписания активных врачей.
+     * Записи приходят упорядоченными по врачу, дню и времени начала, поэтому строки
+     * собираются за один проход; активные врачи без расписания получают пустые строки.
+     *
+     * @return матрица расписания
+     */
+    public ScheduleMatrixDto build() {
+        List<ScheduleMatrixDto.Row> rows = new ArrayList<>();
+        ScheduleMatrixDto.Row row = null;
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()) {
+            Short day = schedule.getDayOfWeek();
+            if (day == null || day < 1 || day > DAYS_IN_WEEK) {
+                continue;
+            }
+            Doctors doctor = schedule.getDoctor();
+            if (row == null || !row.getDoctorId().equals(doctor.getId())) {
+                row = emptyRow(doctor);
+                rows.add(row);
+            }
+            Offices office = schedule.getOffice();
+            row.getDays().get(day - 1).add(new ScheduleMatrixDto.Cell(schedule.getId(),
+                    schedule.getStartTime(), schedule.getEndTime(),
+                    office != null ? office.getId() : null, office != null ? office.getName() : null));
+        }
+        Set<Long> scheduled = new HashSet<>();
+        rows.forEach(scheduledRow -> scheduled.add(scheduledRow.getDoctorId()));
+        boolean added = false;
+        for (Doctors doctor : doctorsRepository.findAllActive()) {
+            if (scheduled.add(doctor.getId())) {
+                rows.add(emptyRow(doctor));
+                added = true;
+            }
+        }
+        if (added) {
+            rows.sort(Comparator.comparing(ScheduleMatrixDto.Row::getDoctorId));
+        }
+        return new ScheduleMatrixDto(rows);
+    }
+
+    /**
+     * Сбросить матрицу при изменении врача: имя, удаление и восстановление меняют строки матрицы.
+     *
+     * @param event событие изменения врача
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        evict();
+    }
+
+    /**
+     * Сбросить матрицу при изменении кабинета: название кабинета входит в ячейки матрицы.
+     *
+     * @param event событие изменения кабинета
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfficeChanged(OfficeChangedEvent event) {
+        evict();
+    }
+
+    /**
+     * Сбросить матрицу при изменении расписания любого врача.
+     *
+     * @param event событие изменения расписания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        evict();
+    }
+
+    /**
+     * Сбросить закэшированную матрицу.
+     */
+    public void evict() {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(CACHE_KEY);
+        }
+    }
+
+    private static ScheduleMatrixDto.Row emptyRow(Doctors doctor) {
+        List<List<ScheduleMatrixDto.Cell>> days = new ArrayList<>(DAYS_IN_WEEK);
+        for (int i = 0; i < DAYS_IN_WEEK; i++) {
+            days.add(new ArrayList<>());
+        }
+        return new ScheduleMatrixDto.Row(doctor.getId(), doctor.getName(), days);
+    }
+}
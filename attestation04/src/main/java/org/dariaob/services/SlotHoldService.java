@@ -0,0 +1,312 @@
+package org.dariaob.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сервис временных броней слотов.
+ * Пациент выбирает слот, и он удерживается за ним на время оформления записи,
+ * после чего бронь подтверждается (создаётся приём) или истекает.
+ * <p>
+ * Сроки броней хранятся в колесе таймеров; истёкшие брони снимаются пакетно одним UPDATE.
+ * На одном узле взаимное исключение обеспечивает карта слотов в памяти. Интервалы вне горизонта карты
+ * и интервалы, которые не удалось захватить в карте, проверяются по броням и приёмам в БД; такие проверки
+ * на узле сериализуются блокировками врача и кабинета до завершения транзакции, а интервал в горизонте после проверки
+ * помечается в карте. Обычная запись проверяет по БД брони, которых в карте нет, поэтому не может занять
+ * удерживаемый интервал. Если включено {@code clinic.holds.multi-node},
+ * интервал дополнительно сериализуется advisory-блокировками PostgreSQL по врачу и кабинету и всегда
+ * проверяется по БД.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotHoldService {
+
+    /**
+     * Срок брони по умолчанию в минутах
+     */
+    public static final int DEFAULT_TTL_MINUTES = 10;
+
+    /**
+     * Максимальный срок брони в минутах
+     */
+    public static final int MAX_TTL_MINUTES = 30;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+
+    private final SlotHoldsRepository slotHoldsRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final OfficesRepository officesRepository;
+    private final AppointmentsRepository appointmentsRepository;
+    private final AppointmentsService appointmentsService;
+    private final SlotReservationService slotReservationService;
+
+    private final TimerWheel<HeldInterval> timerWheel =
+            new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    @Value("${clinic.holds.multi-node:false}")
+    private boolean multiNode;
+
+    /**
+     * Удержать интервал врача и кабинета.
+     *
+     * @param doctorId   ID врача
+     * @param officeId   ID кабинета
+     * @param from       начало интервала
+     * @param to         окончание интервала
+     * @param ttlMinutes срок брони в минутах или null для срока по умолчанию
+     * @return созданная бронь
+     * @throws BadFormatException    если параметры брони некорректны или интервал начинается в прошлом
+     * @throws ConflictException     если интервал уже занят приёмом или другой бронью
+     * @throws DataNotFoundException если врач или кабинет не найдены
+     */
+    @Transactional
+    public SlotHolds hold(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to, Integer ttlMinutes) {
+        int ttl = ttlMinutes != null ? ttlMinutes : DEFAULT_TTL_MINUTES;
+        if (doctorId == null || officeId == null || from == null || to == null) {
+            throw new BadFormatException("Для брони нужно указать врача, кабинет и интервал.");
+        }
+        if (!to.isAfter(from)) {
+            throw new BadFormatException("Время окончания брони должно быть позже времени начала.");
+        }
+        if (ttl < 1 || ttl > MAX_TTL_MINUTES) {
+            throw new BadFormatException("Срок брони должен быть от 1 до " + MAX_TTL_MINUTES + " минут.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (from.isBefore(now)) {
+            throw new BadFormatException("Нельзя забронировать интервал, который уже начался.");
+        }
+        if (multiNode) {
+            checkAcrossNodes(doctorId, officeId, from, to, now);
+        }
+        boolean covered = slotReservationService.isCovered(from, to);
+        boolean claimed = covered && slotReservationService.claim(doctorId, officeId, from, to);
+        if (!claimed && !multiNode) {
+            slotReservationService.lockUntilCompletion(doctorId, officeId);
+            checkDatabase(doctorId, officeId, from, to, now);
+            if (covered) {
+                // Захват не удался из-за слота, общего с соседним приёмом: без пометки запись в остальные
+                // слоты интервала прошла бы по карте без проверки брони
+                slotReservationService.occupy(doctorId, officeId, from, to);
+                claimed = true;
+            }
+        }
+
+        SlotHolds saved;
+        try {
+            SlotHolds hold = new SlotHolds();
+            hold.setDoctor(doctorsRepository.getReferenceById(doctorId));
+            hold.setOffice(officesRepository.getReferenceById(officeId));
+            hold.setHoldFrom(from);
+            hold.setHoldTo(to);
+            hold.setExpiresAt(now.plusMinutes(ttl));
+            hold.setStatus(SlotHoldStatus.ACTIVE);
+            hold.setCreatedAt(now);
+            saved = slotHoldsRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException ex) {
+            if (claimed) {
+                slotReservationService.release(doctorId, officeId, from, to);
+            }
+            throw new DataNotFoundException("Врач с ID " + doctorId + " или кабинет с ID " + officeId + " не найдены.");
+        } catch (RuntimeException ex) {
+            if (claimed) {
+                slotReservationService.release(doctorId, officeId, from, to);
+            }
+            throw ex;
+        }
+        timerWheel.schedule(saved.getId(), new HeldInterval(saved.getId(), doctorId, officeId, from, to, claimed),
+                toMillis(saved.getExpiresAt()));
+        return saved;
+    }
+
+    /**
+     * Получить бронь по ID.
+     *
+     * @param id ID брони
+     * @return бронь
+     * @throws DataNotFoundException если бронь не найдена
+     */
+    public SlotHolds getById(Long id) {
+        return slotHoldsRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("Бронь с ID " + id + " не найдена."));
+    }
+
+    /**
+     * Подтвердить бронь: создать приём в удерживаемом интервале.
+     *
+     * @param id          ID брони
+     * @param patientId   ID пациента
+     * @param insuranceId ID страхового полиса или null
+     * @return подтверждённая бронь с ID созданного приёма
+     * @throws DataNotFoundException если бронь или пациент не найдены
+     * @throws ConflictException     если бронь уже истекла, отменена или подтверждена
+     */
+    @Transactional
+    public SlotHolds confirm(Long id, Long patientId, Long insuranceId) {
+        SlotHolds hold = getById(id);
+        if (hold.getStatus() != SlotHoldStatus.ACTIVE || !hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new ConflictException("Бронь с ID " + id + " уже не действует.");
+        }
+        HeldInterval local = timerWheel.cancel(id);
+        if (local == null && !multiNode) {
+            throw new ConflictException("Бронь с ID " + id + " уже не действует.");
+        }
+
+        AppointmentRequestDto request = new AppointmentRequestDto();
+        request.setDoctorId(hold.getDoctor().getId());
+        request.setOfficeId(hold.getOffice().getId());
+        request.setPatientId(patientId);
+        request.setInsuranceId(insuranceId);
+        request.setWorkHoursFrom(hold.getHoldFrom());
+        request.setWorkHoursFor(hold.getHoldTo());
+
+        Long appointmentId;
+        try {
+            appointmentId = appointmentsService.createHeldAppointment(request);
+        } catch (RuntimeException ex) {
+            if (local != null) {
+                timerWheel.schedule(id, local, toMillis(hold.getExpiresAt()));
+            }
+            throw ex;
+        }
+        hold.setStatus(SlotHoldStatus.CONFIRMED);
+        hold.setAppointmentId(appointmentId);
+        return slotHoldsRepository.save(hold);
+    }
+
+    /**
+     * Отменить бронь и освободить интервал.
+     *
+     * @param id ID брони
+     * @throws DataNotFoundException если бронь не найдена
+     * @throws ConflictException     если бронь уже не действует
+     */
+    @Transactional
+    public void cancel(Long id) {
+        SlotHolds hold = getById(id);
+        if (hold.getStatus() != SlotHoldStatus.ACTIVE) {
+            throw new ConflictException("Бронь с ID " + id + " уже не действует.");
+        }
+        hold.setStatus(SlotHoldStatus.CANCELLED);
+        slotHoldsRepository.save(hold);
+        HeldInterval local = timerWheel.cancel(id);
+        if (local != null) {
+            release(local);
+        }
+    }
+
+    /**
+     * Снять истёкшие брони: продвинуть колесо таймеров, пометить брони истёкшими одним UPDATE
+     * и освободить их интервалы в карте слотов.
+     */
+    @Scheduled(fixedDelayString = "${clinic.holds.sweep-interval-ms:1000}")
+    public void sweepExpired() {
+        List<HeldInterval> expired = timerWheel.advance(System.currentTimeMillis());
+        if (!expired.isEmpty()) {
+            slotHoldsRepository.expireByIds(expired.stream().map(HeldInterval::holdId).toList());
+            expired.forEach(this::release);
+            log.debug("Истекло броней: {}", expired.size());
+        }
+        if (multiNode) {
+            slotHoldsRepository.expireAllBefore(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Восстановить действующие брони после перезапуска: истёкшие снять, остальные вернуть в колесо и карту слотов.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> stale = new ArrayList<>();
+        for (SlotHolds hold : slotHoldsRepository.findAllByStatus(SlotHoldStatus.ACTIVE)) {
+            boolean covered = slotReservationService.isCovered(hold.getHoldFrom(), hold.getHoldTo());
+            HeldInterval interval = new HeldInterval(hold.getId(), hold.getDoctor().getId(), hold.getOffice().getId(),
+                    hold.getHoldFrom(), hold.getHoldTo(), covered);
+            if (hold.getExpiresAt().isAfter(now) && (!covered
+                    || slotReservationService.claim(interval.doctorId(), interval.officeId(), interval.from(), interval.to()))) {
+                timerWheel.schedule(hold.getId(), interval, toMillis(hold.getExpiresAt()));
+            } else {
+                stale.add(hold.getId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            slotHoldsRepository.expireByIds(stale);
+        }
+    }
+
+    /**
+     * Количество действующих броней этого узла.
+     *
+     * @return количество броней
+     */
+    public int activeLocalHolds() {
+        return timerWheel.size();
+    }
+
+    /**
+     * Проверка интервала для нескольких узлов: advisory-блокировки по врачу и кабинету до конца транзакции
+     * и поиск пересечений с приёмами и бронями в БД.
+     */
+    private void checkAcrossNodes(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                                  LocalDateTime now) {
+        if (!slotHoldsRepository.tryLockAcrossNodes(doctorId, officeId)) {
+            throw new ConflictException("Интервал сейчас бронируется другим запросом, повторите попытку.");
+        }
+        checkDatabase(doctorId, officeId, from, to, now);
+    }
+
+    /**
+     * Поиск пересечений интервала с действующими бронями и приёмами врача и кабинета в БД.
+     */
+    private void checkDatabase(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                               LocalDateTime now) {
+        if (slotHoldsRepository.existsActiveOverlapping(doctorId, officeId, from, to, now)
+                || appointmentsRepository.existsOverlappingAppointment(doctorId, from, to)
+                || !appointmentsRepository.findActiveByOfficeIdsBetween(List.of(officeId), from, to).isEmpty()) {
+            throw new ConflictException("Интервал уже занят приёмом или другой бронью.");
+        }
+    }
+
+    private void release(HeldInterval interval) {
+        if (interval.claimed()) {
+            slotReservationService.release(interval.doctorId(), interval.officeId(), interval.from(), interval.to());
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Удерживаемый бронью интервал.
+     *
+     * @param claimed захвачен ли интервал в карте слотов (иначе бронь проверена по БД и слоты ей не принадлежат)
+     */
+    private record HeldInterval(Long holdId, Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                                boolean claimed) {
+    }
+}
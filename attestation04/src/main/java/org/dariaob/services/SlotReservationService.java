@@ -0,0 +1,508 @@
+package org.dariaob.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Неблокирующий резерв слотов врачей и кабинетов в памяти.
+ * День врача (кабинета) хранится как битовая карта в {@link AtomicLongArray}: один бит на {@value #SLOT_MINUTES}-минутный слот.
+ * Захват интервала выполняется через CAS, поэтому проверка пересечения — операция над несколькими словами
+ * памяти, а запись в БД выполняется только после успешного захвата.
+ * <p>
+ * Карта консервативна: при захвате и пометке интервал округляется наружу до границ слотов, поэтому «свободно»
+ * в карте гарантирует отсутствие пересечения, а «занято» может требовать уточнения по БД. Приёмы, начинающиеся
+ * и заканчивающиеся на границе минуты, слотов не делят. При освобождении интервал округляется внутрь:
+ * слот, неполностью покрытый интервалом, может быть занят соседним приёмом и остаётся занятым до перезагрузки дня.
+ * <p>
+ * Захват в транзакции освобождается, если транзакция откатится, в том числе при фиксации.
+ * Покрываются дни от сегодняшнего на {@value #HORIZON_DAYS} дней вперёд; остальные проверяются только в БД.
+ * Такие проверки сериализуются блокировками врача и кабинета до завершения транзакции
+ * (см. {@link #lockUntilCompletion(Long, Long)}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotReservationService {
+
+    /**
+     * Длительность одного слота в минутах
+     */
+    public static final int SLOT_MINUTES = 1;
+
+    /**
+     * Глубина покрытия картой в днях
+     */
+    public static final int HORIZON_DAYS = 62;
+
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    private static final long LOCK_TIMEOUT_SECONDS = 5;
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final DoctorScheduleRepository doctorScheduleRepository;
+
+    private final Map<SlotKey, AtomicLongArray> days = new ConcurrentHashMap<>();
+
+    /**
+     * Блокировки проверок по БД: по одной на врача и на кабинет
+     */
+    private final Map<ResourceKey, ReentrantLock> databaseCheckLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Ключ ресурса транзакции со списком захватов, которые нужно освободить при откате
+     */
+    private final Object transactionKey = new Object();
+
+    private volatile LocalDate purgedBefore = LocalDate.MIN;
+
+    /**
+     * Заполнить карту при старте приложения: дни приёма врачей по расписанию
+     * и все активные приёмы в горизонте (по врачам и кабинетам).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(HORIZON_DAYS);
+        Map<SlotKey, AtomicLongArray> built = new HashMap<>();
+        Function<SlotKey, AtomicLongArray> allocate = key -> built.computeIfAbsent(key, k -> new AtomicLongArray(WORDS_PER_DAY));
+
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllActive()) {
+            if (schedule.getDoctor() == null || schedule.getDayOfWeek() == null) {
+                continue;
+            }
+            for (LocalDate date = today; date.isBefore(end); date = date.plusDays(1)) {
+                if (date.getDayOfWeek().getValue() == schedule.getDayOfWeek()) {
+                    allocate.apply(new SlotKey(Resource.DOCTOR, schedule.getDoctor().getId(), date));
+                }
+            }
+        }
+        List<Appointments> appointments = appointmentsRepository.findAllActiveBetween(today.atStartOfDay(), end.atStartOfDay());
+        for (Appointments appointment : appointments) {
+            Long officeId = appointment.getOffice() != null ? appointment.getOffice().getId() : null;
+            segments(appointment.getDoctor().getId(), officeId, appointment.getWorkHoursFrom(),
+                    appointment.getWorkHoursFor(), allocate, true)
+                    .forEach(segment -> segment.apply((value, mask) -> value | mask));
+        }
+        built.forEach(days::putIfAbsent);
+        purgedBefore = today;
+        log.info("Карта слотов построена: {} дней врачей, {} приёмов", built.size(), appointments.size());
+    }
+
+    /**
+     * Захватить интервал врача.
+     *
+     * @param doctorId ID врача
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     * @return true, если интервал свободен в карте и захвачен; false, если пересекается с занятым
+     */
+    public boolean claim(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        return claim(doctorId, null, from, to);
+    }
+
+    /**
+     * Захватить интервал одновременно у врача и в кабинете.
+     * Либо захватываются все слоты интервала, либо ни одного. Неудачный захват означает только возможное
+     * пересечение: слот на границе интервала, не совпадающей с границей минуты, может делить соседний приём,
+     * поэтому конфликт нужно подтвердить по БД. Дни вне горизонта не захватываются (см. {@link #isCovered}).
+     *
+     * @param doctorId ID врача
+     * @param officeId ID кабинета или null, если кабинет не резервируется
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     * @return true, если интервал свободен в карте и захвачен; false, если пересекается с занятым
+     */
+    public boolean claim(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to) {
+        List<Segment> segments = segments(doctorId, officeId, from, to, this::loadDay, true);
+        for (int i = 0; i < segments.size(); i++) {
+            if (!segments.get(i).tryClaim()) {
+                for (int j = 0; j < i; j++) {
+                    segments.get(j).apply((value, mask) -> value & ~mask);
+                }
+                return false;
+            }
+        }
+        if (!segments.isEmpty()) {
+            releaseOnRollback(new Claim(doctorId, officeId, from, to, new AtomicBoolean()));
+        }
+        return true;
+    }
+
+    /**
+     * Пометить интервал врача и кабинета занятым без проверки свободности слотов.
+     * Нужен для интервала, который проверен по БД после неудачного захвата (слот на границе делит соседний
+     * приём): иначе остальные слоты интервала остались бы свободными в карте. Как и захват, пометка в транзакции
+     * снимается при откате и освобождается через {@link #release(Long, Long, LocalDateTime, LocalDateTime)}.
+     *
+     * @param doctorId ID врача
+     * @param officeId ID кабинета или null
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     */
+    public void occupy(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to) {
+        List<Segment> segments = segments(doctorId, officeId, from, to, this::loadDay, true);
+        segments.forEach(segment -> segment.apply((value, mask) -> value | mask));
+        if (!segments.isEmpty()) {
+            releaseOnRollback(new Claim(doctorId, officeId, from, to, new AtomicBoolean()));
+        }
+    }
+
+    /**
+     * Освободить интервал врача.
+     *
+     * @param doctorId ID врача
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     */
+    public void release(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        release(doctorId, null, from, to);
+    }
+
+    /**
+     * Освободить интервал врача и кабинета.
+     * Захват текущей транзакции освобождается один раз: повторно его не освободит и откат транзакции.
+     *
+     * @param doctorId ID врача
+     * @param officeId ID кабинета или null
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     */
+    public void release(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to) {
+        List<Claim> pending = pendingClaims();
+        if (pending != null) {
+            for (Claim claim : pending) {
+                if (claim.matches(doctorId, officeId, from, to) && !claim.released().get()) {
+                    releaseOnce(claim);
+                    return;
+                }
+            }
+        }
+        clear(doctorId, officeId, from, to);
+    }
+
+    /**
+     * Покрывается ли интервал картой целиком. Интервалы вне горизонта нужно проверять по БД.
+     *
+     * @param from начало интервала
+     * @param to   окончание интервала
+     * @return true, если все дни интервала в горизонте карты
+     */
+    public boolean isCovered(LocalDateTime from, LocalDateTime to) {
+        LocalDate today = LocalDate.now();
+        return !from.toLocalDate().isBefore(today) && !to.isAfter(today.plusDays(HORIZON_DAYS).atStartOfDay());
+    }
+
+    /**
+     * Проверить по карте, может ли интервал пересекаться с занятыми слотами.
+     * Возвращает false только если весь интервал покрыт картой и свободен в ней.
+     *
+     * @param doctorId ID врача
+     * @param from     начало интервала
+     * @param to       окончание интервала
+     * @return true, если пересечение возможно и его нужно уточнить в БД
+     */
+    public boolean mayConflict(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        if (!isCovered(from, to)) {
+            return true;
+        }
+        for (Segment segment : segments(doctorId, null, from, to, this::loadDay, true)) {
+            if (segment.isOccupied()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Взять блокировки проверок по БД врача и кабинета до завершения текущей транзакции, чтобы параллельная
+     * бронь или запись, проверяющая по БД пересекающийся интервал, увидела уже сохранённую.
+     * Блокировки отдельные для каждого врача и кабинета, поэтому проверки разных врачей и кабинетов не ждут
+     * друг друга. Вне транзакции блокировки не берутся.
+     *
+     * @param doctorId ID врача
+     * @param officeId ID кабинета или null
+     * @throws ConflictException если блокировку не удалось получить за {@value #LOCK_TIMEOUT_SECONDS} секунд
+     */
+    public void lockUntilCompletion(Long doctorId, Long officeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<ReentrantLock> acquired = new ArrayList<>();
+        for (ResourceKey key : resourceKeys(doctorId, officeId)) {
+            ReentrantLock lock = databaseCheckLocks.computeIfAbsent(key, k -> new ReentrantLock());
+            boolean locked;
+            try {
+                locked = lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                locked = false;
+            }
+            if (!locked) {
+                acquired.forEach(ReentrantLock::unlock);
+                throw new ConflictException("Интервал сейчас проверяется другим запросом, повторите попытку.");
+            }
+            acquired.add(lock);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    private static List<ResourceKey> resourceKeys(Long doctorId, Long officeId) {
+        List<ResourceKey> keys = new ArrayList<>();
+        if (doctorId != null) {
+            keys.add(new ResourceKey(Resource.DOCTOR, doctorId));
+        }
+        if (officeId != null) {
+            keys.add(new ResourceKey(Resource.OFFICE, officeId));
+        }
+        return keys;
+    }
+
+    /**
+     * Синхронизировать карту с изменением приёма после фиксации транзакции.
+     * Созданные и восстановленные приёмы помечаются занятыми (повторная пометка безопасна),
+     * удалённые — освобождаются.
+     *
+     * Выполняется раньше других слушателей, чтобы они видели освобождённые слоты.
+     *
+     * @param event событие изменения приёма
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getDoctorId() == null || event.getFrom() == null || event.getTo() == null) {
+            return;
+        }
+        if (event.getType() == AppointmentChangedEvent.Type.DELETED) {
+            clear(event.getDoctorId(), event.getOfficeId(), event.getFrom(), event.getTo());
+        } else {
+            segments(event.getDoctorId(), event.getOfficeId(), event.getFrom(), event.getTo(), this::loadDay, true)
+                    .forEach(segment -> segment.apply((value, mask) -> value | mask));
+        }
+    }
+
+    /**
+     * Снять в карте слоты, целиком покрытые интервалом.
+     */
+    private void clear(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to) {
+        segments(doctorId, officeId, from, to, days::get, false)
+                .forEach(segment -> segment.apply((value, mask) -> value & ~mask));
+    }
+
+    private void releaseOnce(Claim claim) {
+        if (claim.released().compareAndSet(false, true)) {
+            clear(claim.doctorId(), claim.officeId(), claim.from(), claim.to());
+        }
+    }
+
+    /**
+     * Запомнить захват в текущей транзакции, чтобы освободить его, если транзакция не будет зафиксирована.
+     * Вне транзакции захват освобождает вызывающий код.
+     */
+    private void releaseOnRollback(Claim claim) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Claim> pending = pendingClaims();
+        if (pending == null) {
+            List<Claim> claims = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(transactionKey, claims);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                    if (status != STATUS_COMMITTED) {
+                        claims.forEach(SlotReservationService.this::releaseOnce);
+                    }
+                }
+            });
+            pending = claims;
+        }
+        pending.add(claim);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Claim> pendingClaims() {
+        return (List<Claim>) TransactionSynchronizationManager.getResource(transactionKey);
+    }
+
+    /**
+     * Получить карту дня врача или кабинета, при необходимости загрузив её из БД.
+     * Дни вне горизонта не загружаются.
+     */
+    private AtomicLongArray loadDay(SlotKey key) {
+        LocalDate today = LocalDate.now();
+        if (key.date().isBefore(today) || !key.date().isBefore(today.plusDays(HORIZON_DAYS))) {
+            return null;
+        }
+        if (purgedBefore.isBefore(today)) {
+            days.keySet().removeIf(day -> day.date().isBefore(today));
+            purgedBefore = today;
+        }
+        return days.computeIfAbsent(key, this::readDay);
+    }
+
+    private AtomicLongArray readDay(SlotKey key) {
+        AtomicLongArray bitmap = new AtomicLongArray(WORDS_PER_DAY);
+        LocalDateTime dayStart = key.date().atStartOfDay();
+        List<Appointments> appointments = key.resource() == Resource.DOCTOR
+                ? appointmentsRepository.findActiveByDoctorIdsBetween(List.of(key.id()), dayStart, dayStart.plusDays(1))
+                : appointmentsRepository.findActiveByOfficeIdsBetween(List.of(key.id()), dayStart, dayStart.plusDays(1));
+        for (Appointments appointment : appointments) {
+            int[] range = slotRange(key.date(), appointment.getWorkHoursFrom(), appointment.getWorkHoursFor(), true);
+            forEachWord(range[0], range[1], (word, mask) -> bitmap.updateAndGet(word, value -> value | mask));
+        }
+        return bitmap;
+    }
+
+    /**
+     * Разбить интервал врача и кабинета на отрезки по словам битовых карт дней.
+     * Дни, для которых карта недоступна, пропускаются.
+     *
+     * @param outward округлять ли интервал наружу (захват и пометка) или внутрь (освобождение)
+     */
+    private static List<Segment> segments(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                                          Function<SlotKey, AtomicLongArray> dayLookup, boolean outward) {
+        List<Segment> result = new ArrayList<>();
+        if (from == null || to == null || !to.isAfter(from)) {
+            return result;
+        }
+        addSegments(Resource.DOCTOR, doctorId, from, to, dayLookup, outward, result);
+        addSegments(Resource.OFFICE, officeId, from, to, dayLookup, outward, result);
+        return result;
+    }
+
+    private static void addSegments(Resource resource, Long id, LocalDateTime from, LocalDateTime to,
+                                    Function<SlotKey, AtomicLongArray> dayLookup, boolean outward,
+                                    List<Segment> result) {
+        if (id == null) {
+            return;
+        }
+        for (LocalDate date = from.toLocalDate(); date.atStartOfDay().isBefore(to); date = date.plusDays(1)) {
+            AtomicLongArray bitmap = dayLookup.apply(new SlotKey(resource, id, date));
+            if (bitmap == null) {
+                continue;
+            }
+            int[] range = slotRange(date, from, to, outward);
+            forEachWord(range[0], range[1], (word, mask) -> result.add(new Segment(bitmap, word, mask)));
+        }
+    }
+
+    /**
+     * Диапазон слотов [start, end) дня, покрываемый интервалом, с округлением наружу
+     * или внутрь (только слоты, целиком лежащие в интервале).
+     */
+    private static int[] slotRange(LocalDate date, LocalDateTime from, LocalDateTime to, boolean outward) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        long startNanos = from.isAfter(dayStart) ? Duration.between(dayStart, from).toNanos() : 0;
+        long endNanos = to.isBefore(dayEnd) ? Duration.between(dayStart, to).toNanos() : Duration.ofDays(1).toNanos();
+        long slotNanos = Duration.ofMinutes(SLOT_MINUTES).toNanos();
+        int start = (int) (outward ? startNanos / slotNanos : (startNanos + slotNanos - 1) / slotNanos);
+        int end = (int) (outward ? (endNanos + slotNanos - 1) / slotNanos : endNanos / slotNanos);
+        return new int[]{start, Math.min(end, SLOTS_PER_DAY)};
+    }
+
+    private static void forEachWord(int startSlot, int endSlot, WordConsumer consumer) {
+        for (int slot = startSlot; slot < endSlot; ) {
+            int word = slot / Long.SIZE;
+            int bitFrom = slot % Long.SIZE;
+            int bitTo = Math.min(endSlot - word * Long.SIZE, Long.SIZE);
+            long mask = bitTo == Long.SIZE ? -1L << bitFrom : ((1L << bitTo) - 1) & (-1L << bitFrom);
+            consumer.accept(word, mask);
+            slot = (word + 1) * Long.SIZE;
+        }
+    }
+
+    @FunctionalInterface
+    private interface WordConsumer {
+        void accept(int word, long mask);
+    }
+
+    /**
+     * Тип ресурса, занятость которого хранится в карте.
+     */
+    private enum Resource {
+        DOCTOR,
+        OFFICE
+    }
+
+    /**
+     * Ключ карты: ресурс (врач или кабинет) и календарный день.
+     */
+    private record SlotKey(Resource resource, Long id, LocalDate date) {
+    }
+
+    /**
+     * Ключ блокировки проверок по БД: врач или кабинет.
+     */
+    private record ResourceKey(Resource resource, Long id) {
+    }
+
+    /**
+     * Захват интервала в транзакции.
+     */
+    private record Claim(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to, AtomicBoolean released) {
+
+        boolean matches(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to) {
+            return Objects.equals(this.doctorId, doctorId) && Objects.equals(this.officeId, officeId)
+                    && this.from.equals(from) && this.to.equals(to);
+        }
+    }
+
+    /**
+     * Набор битов одного слова карты дня.
+     */
+    private record Segment(AtomicLongArray bitmap, int word, long mask) {
+
+        boolean tryClaim() {
+            while (true) {
+                long current = bitmap.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+                if (bitmap.compareAndSet(word, current, current | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isOccupied() {
+            return (bitmap.get(word) & mask) != 0;
+        }
+
+        void apply(LongBinaryOperator operator) {
+            bitmap.accumulateAndGet(word, mask, operator);
+        }
+    }
+}
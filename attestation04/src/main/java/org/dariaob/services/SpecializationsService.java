@@ -2,11 +2,13 @@ package org.dariaob.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.dariaob.events.SpecializationChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Specializations;
 import org.dariaob.repositories.SpecializationsRepository;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.List;
 public class SpecializationsService {
 
     private final SpecializationsRepository specializationsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить все активные специализации (из кэша).
@@ -65,6 +68,7 @@ public class SpecializationsService {
             throw new DataNotFoundException("Специализация с ID " + id + " не найдена или уже удалена.");
         }
         specializationsRepository.softDelete(id);
+        eventPublisher.publishEvent(new SpecializationChangedEvent(id));
     }
 
     /**
@@ -79,6 +83,7 @@ public class SpecializationsService {
             throw new DataNotFoundException("Специализация с ID " + id + " не найдена или уже восстановлена.");
         }
         specializationsRepository.restore(id);
+        eventPublisher.publishEvent(new SpecializationChangedEvent(id));
     }
 
     /**
@@ -100,6 +105,10 @@ public class SpecializationsService {
     @Transactional
     @CacheEvict(value = "specializations", allEntries = true)
     public Specializations save(Specializations specialization) {
-        return specializationsRepository.save(specialization);
+        Specializations saved = specializationsRepository.save(specialization);
+        if (saved != null) {
+            eventPublisher.publishEvent(new SpecializationChangedEvent(saved.getId()));
+        }
+        return saved;
     }
 }
@@ -0,0 +1,117 @@
+package org.dariaob.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Хешированное колесо таймеров для элементов с ограниченным сроком жизни.
+ * Элемент попадает в ячейку по тику своего срока; продвижение колеса просматривает только ячейки
+ * прошедших тиков, поэтому стоимость обхода зависит от числа истёкших элементов, а не от всех действующих.
+ * Сроки длиннее одного оборота колеса хранятся в той же ячейке и пропускаются до нужного оборота.
+ * Отмена ленивая: элемент удаляется из индекса, а из ячейки — при ближайшем обходе.
+ *
+ * @param <T> данные, возвращаемые при истечении элемента
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Entry<T>>[] buckets;
+    private final Map<Long, Entry<T>> live = new ConcurrentHashMap<>();
+
+    private long processedTick;
+
+    /**
+     * Создать колесо таймеров.
+     *
+     * @param tickMillis  длительность тика в миллисекундах
+     * @param wheelSize   количество ячеек (степень двойки)
+     * @param startMillis момент запуска колеса
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Размер колеса должен быть степенью двойки: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.processedTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Добавить элемент со сроком истечения. Повторное добавление того же ключа заменяет срок.
+     *
+     * @param key            ключ элемента
+     * @param value          данные элемента
+     * @param deadlineMillis момент истечения
+     */
+    public synchronized void schedule(Long key, T value, long deadlineMillis) {
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, processedTick + 1);
+        Entry<T> entry = new Entry<>(key, value, tick);
+        live.put(key, entry);
+        buckets[(int) (tick & mask)].add(entry);
+    }
+
+    /**
+     * Отменить элемент.
+     *
+     * @param key ключ элемента
+     * @return данные элемента или null, если он уже истёк или не был добавлен
+     */
+    public T cancel(Long key) {
+        Entry<T> entry = live.remove(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * Продвинуть колесо до указанного момента и извлечь истёкшие элементы.
+     *
+     * @param nowMillis текущий момент
+     * @return данные истёкших элементов
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (targetTick <= processedTick) {
+            return expired;
+        }
+        long ticks = Math.min(targetTick - processedTick, buckets.length);
+        for (long i = 1; i <= ticks; i++) {
+            Iterator<Entry<T>> iterator = buckets[(int) ((processedTick + i) & mask)].iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (live.get(entry.key()) != entry) {
+                    iterator.remove();
+                } else if (entry.tick() <= targetTick) {
+                    iterator.remove();
+                    if (live.remove(entry.key(), entry)) {
+                        expired.add(entry.value());
+                    }
+                }
+            }
+        }
+        processedTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * Количество действующих элементов.
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return live.size();
+    }
+
+    private record Entry<T>(Long key, T value, long tick) {
+    }
+}
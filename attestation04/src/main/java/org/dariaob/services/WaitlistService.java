@@ -0,0 +1,400 @@
+package org.dariaob.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.waitlist.WaitlistRequestDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.models.WaitlistEntries;
+import org.dariaob.models.WaitlistStatus;
+import org.dariaob.models.WaitlistUrgency;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.dariaob.repositories.WaitlistEntriesRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис листа ожидания.
+ * <p>
+ * Ожидающие записи хранятся в очередях с приоритетом отдельно для каждого врача и каждой специализации:
+ * первой идёт более срочная запись, при равной срочности — поставленная раньше. Когда приём отменяется,
+ * освободившийся слот предлагается лучшей подходящей записи из очереди врача и очередей его специализаций:
+ * слот удерживается временной бронью, которую пациент подтверждает через {@code /api/v1/slot-holds}.
+ * Выбор записи — извлечение из кучи за O(log n); записи, которым слот не подходит по времени, возвращаются в очередь.
+ * <p>
+ * Состояние хранится в БД; очереди строятся заново при запуске одним запросом. Очереди меняются
+ * только после фиксации транзакции, поэтому откаченная запись не попадает в очередь и не теряется из неё.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    /**
+     * Срок брони предложенного слота в минутах
+     */
+    public static final int OFFER_TTL_MINUTES = 15;
+
+    private final WaitlistEntriesRepository waitlistEntriesRepository;
+    private final PatientsRepository patientsRepository;
+    private final DoctorsRepository doctorsRepository;
+    private final SpecializationsRepository specializationsRepository;
+    private final DoctorSpecializationsRepository doctorSpecializationsRepository;
+    private final SlotHoldsRepository slotHoldsRepository;
+    private final SlotHoldService slotHoldService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<QueueKey, PriorityQueue<Waiting>> queues = new HashMap<>();
+    private final Map<Long, Waiting> waiting = new HashMap<>();
+
+    /**
+     * Поставить пациента в лист ожидания.
+     *
+     * @param request данные записи
+     * @return созданная запись
+     * @throws BadFormatException    если не указан пациент, указаны одновременно врач и специализация
+     *                               или окно времени некорректно
+     * @throws DataNotFoundException если пациент, врач или специализация не найдены
+     */
+    @Transactional
+    public WaitlistEntries join(WaitlistRequestDto request) {
+        if (request.getPatientId() == null) {
+            throw new BadFormatException("Для постановки в лист ожидания нужно указать пациента.");
+        }
+        if ((request.getDoctorId() == null) == (request.getSpecializationId() == null)) {
+            throw new BadFormatException("Нужно указать либо врача, либо специализацию.");
+        }
+        if (request.getEarliest() != null && request.getLatest() != null
+                && !request.getLatest().isAfter(request.getEarliest())) {
+            throw new BadFormatException("Конец окна ожидания должен быть позже начала.");
+        }
+
+        WaitlistEntries entry = new WaitlistEntries();
+        entry.setPatient(patientsRepository.getReferenceById(request.getPatientId()));
+        if (request.getDoctorId() != null) {
+            entry.setDoctor(doctorsRepository.getReferenceById(request.getDoctorId()));
+        } else {
+            entry.setSpecialization(specializationsRepository.getReferenceById(request.getSpecializationId()));
+        }
+        entry.setUrgency(request.getUrgency() != null ? request.getUrgency() : WaitlistUrgency.ROUTINE);
+        entry.setEarliest(request.getEarliest());
+        entry.setLatest(request.getLatest());
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(LocalDateTime.now());
+
+        WaitlistEntries saved;
+        try {
+            saved = waitlistEntriesRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DataNotFoundException("Пациент, врач или специализация для листа ожидания не найдены.");
+        }
+        Waiting queued = Waiting.of(saved);
+        afterCommit(() -> enqueue(queued));
+        return saved;
+    }
+
+    /**
+     * Получить запись листа ожидания по ID.
+     *
+     * @param id ID записи
+     * @return запись
+     * @throws DataNotFoundException если запись не найдена
+     */
+    public WaitlistEntries getById(Long id) {
+        return waitlistEntriesRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("Запись листа ожидания с ID " + id + " не найдена."));
+    }
+
+    /**
+     * Снять запись из листа ожидания. Если пациенту уже предложен слот, бронь отменяется
+     * и после фиксации слот предлагается следующей записи.
+     *
+     * @param id ID записи
+     * @throws DataNotFoundException если запись не найдена
+     * @throws ConflictException     если запись уже снята или исполнена
+     */
+    @Transactional
+    public void cancel(Long id) {
+        WaitlistEntries entry = getById(id);
+        if (entry.getStatus() != WaitlistStatus.WAITING && entry.getStatus() != WaitlistStatus.OFFERED) {
+            throw new ConflictException("Запись листа ожидания с ID " + id + " уже не действует.");
+        }
+        WaitlistStatus previous = entry.getStatus();
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        waitlistEntriesRepository.save(entry);
+        afterCommit(() -> {
+            synchronized (this) {
+                waiting.remove(id);
+            }
+        });
+        if (previous == WaitlistStatus.OFFERED && entry.getHoldId() != null) {
+            SlotHolds hold = slotHoldService.getById(entry.getHoldId());
+            if (hold.getStatus() == SlotHoldStatus.ACTIVE) {
+                slotHoldService.cancel(hold.getId());
+                // Слот предлагается только после фиксации отмены брони: до неё бронь ещё активна в БД
+                Long doctorId = hold.getDoctor().getId();
+                Long officeId = hold.getOffice().getId();
+                LocalDateTime from = hold.getHoldFrom();
+                LocalDateTime to = hold.getHoldTo();
+                afterCommit(() -> offerFreedSlot(doctorId, officeId, from, to, id));
+            }
+        }
+    }
+
+    /**
+     * Предложить освободившийся после отмены приёма слот листу ожидания.
+     * Выполняется после того, как карта слотов освободила интервал.
+     *
+     * @param event событие изменения приёма
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getType() != AppointmentChangedEvent.Type.DELETED || event.getDoctorId() == null
+                || event.getOfficeId() == null || event.getFrom() == null || event.getTo() == null
+                || !event.getFrom().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        offerFreedSlot(event.getDoctorId(), event.getOfficeId(), event.getFrom(), event.getTo(), null);
+    }
+
+    /**
+     * Предложить слот лучшей подходящей записи: удержать его бронью на {@value #OFFER_TTL_MINUTES} минут.
+     *
+     * @param doctorId  ID врача
+     * @param officeId  ID кабинета
+     * @param from      начало слота
+     * @param to        окончание слота
+     * @param excludeId ID записи, которой слот предлагать не нужно, или null
+     * @return ID записи, получившей предложение, или пустой Optional, если подходящих записей нет
+     */
+    public Optional<Long> offerFreedSlot(Long doctorId, Long officeId, LocalDateTime from, LocalDateTime to,
+                                         Long excludeId) {
+        List<QueueKey> keys = new ArrayList<>();
+        keys.add(QueueKey.doctor(doctorId));
+        doctorSpecializationsRepository.findAllByIdDoctorId(doctorId)
+                .forEach(ds -> keys.add(QueueKey.specialization(ds.getId().getSpecializationId())));
+
+        Waiting candidate = pollBestMatching(keys, from, to, excludeId);
+        if (candidate == null) {
+            return Optional.empty();
+        }
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> {
+                SlotHolds hold = slotHoldService.hold(doctorId, officeId, from, to, OFFER_TTL_MINUTES);
+                WaitlistEntries entry = getById(candidate.id());
+                entry.setStatus(WaitlistStatus.OFFERED);
+                entry.setHoldId(hold.getId());
+                waitlistEntriesRepository.save(entry);
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось предложить слот записи листа ожидания {}: {}", candidate.id(), ex.getMessage());
+            enqueue(candidate);
+            return Optional.empty();
+        }
+        log.info("Записи листа ожидания {} предложен слот врача {} с {}", candidate.id(), doctorId, from);
+        return Optional.of(candidate.id());
+    }
+
+    /**
+     * Сверить выданные предложения с бронями: подтверждённые брони исполняют запись,
+     * а истёкшие или отменённые возвращают её в очередь и передают слот следующей записи.
+     */
+    @Scheduled(fixedDelayString = "${clinic.waitlist.reconcile-interval-ms:60000}")
+    public void reconcileOffers() {
+        List<WaitlistEntries> fulfilled = waitlistEntriesRepository.findOfferedByHoldStatusIn(
+                List.of(SlotHoldStatus.CONFIRMED));
+        fulfilled.forEach(entry -> entry.setStatus(WaitlistStatus.FULFILLED));
+        waitlistEntriesRepository.saveAll(fulfilled);
+
+        List<WaitlistEntries> lapsed = waitlistEntriesRepository.findOfferedByHoldStatusIn(
+                List.of(SlotHoldStatus.EXPIRED, SlotHoldStatus.CANCELLED));
+        if (lapsed.isEmpty()) {
+            return;
+        }
+        Map<Long, SlotHolds> holds = slotHoldsRepository.findAllById(
+                        lapsed.stream().map(WaitlistEntries::getHoldId).toList()).stream()
+                .collect(Collectors.toMap(SlotHolds::getId, hold -> hold));
+        Map<Long, SlotHolds> holdByEntry = new HashMap<>();
+        for (WaitlistEntries entry : lapsed) {
+            SlotHolds hold = holds.get(entry.getHoldId());
+            if (hold != null) {
+                holdByEntry.put(entry.getId(), hold);
+            }
+            entry.setStatus(WaitlistStatus.WAITING);
+            entry.setHoldId(null);
+        }
+        waitlistEntriesRepository.saveAll(lapsed);
+        lapsed.forEach(entry -> enqueue(Waiting.of(entry)));
+        holdByEntry.forEach((entryId, hold) -> {
+            if (hold.getHoldFrom().isAfter(LocalDateTime.now())) {
+                offerFreedSlot(hold.getDoctor().getId(), hold.getOffice().getId(), hold.getHoldFrom(),
+                        hold.getHoldTo(), entryId);
+            }
+        });
+    }
+
+    /**
+     * Построить очереди заново из ожидающих записей в БД.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        queues.clear();
+        waiting.clear();
+        Map<QueueKey, List<Waiting>> grouped = waitlistEntriesRepository.findAllByStatus(WaitlistStatus.WAITING)
+                .stream()
+                .map(Waiting::of)
+                .peek(entry -> waiting.put(entry.id(), entry))
+                .collect(Collectors.groupingBy(Waiting::key));
+        // Конструктор очереди из коллекции строит кучу за линейное время
+        grouped.forEach((key, entries) -> queues.put(key, new PriorityQueue<>(entries)));
+        log.info("Лист ожидания восстановлен: {} записей в {} очередях", waiting.size(), queues.size());
+    }
+
+    /**
+     * Количество ожидающих записей в очередях.
+     *
+     * @return количество записей
+     */
+    public synchronized int waitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * Выполнить действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void enqueue(Waiting entry) {
+        waiting.put(entry.id(), entry);
+        queues.computeIfAbsent(entry.key(), key -> new PriorityQueue<>()).add(entry);
+    }
+
+    /**
+     * Извлечь лучшую запись, которой подходит слот, из нескольких очередей.
+     * Снятые записи удаляются из кучи лениво при извлечении.
+     */
+    private synchronized Waiting pollBestMatching(List<QueueKey> keys, LocalDateTime from, LocalDateTime to,
+                                                  Long excludeId) {
+        List<Waiting> skipped = new ArrayList<>();
+        Waiting best = null;
+        for (QueueKey key : keys) {
+            PriorityQueue<Waiting> queue = queues.get(key);
+            if (queue == null) {
+                continue;
+            }
+            Waiting head;
+            while ((head = queue.poll()) != null) {
+                if (waiting.get(head.id()) != head) {
+                    continue;
+                }
+                if (head.id().equals(excludeId) || !head.accepts(from, to)) {
+                    skipped.add(head);
+                    continue;
+                }
+                break;
+            }
+            if (head == null) {
+                continue;
+            }
+            if (best == null || head.compareTo(best) < 0) {
+                if (best != null) {
+                    skipped.add(best);
+                }
+                best = head;
+            } else {
+                skipped.add(head);
+            }
+        }
+        skipped.forEach(entry -> queues.get(entry.key()).add(entry));
+        if (best != null) {
+            waiting.remove(best.id());
+        }
+        return best;
+    }
+
+    /**
+     * Очередь листа ожидания: врача или специализации.
+     */
+    private record QueueKey(boolean bySpecialization, Long id) {
+
+        static QueueKey doctor(Long doctorId) {
+            return new QueueKey(false, doctorId);
+        }
+
+        static QueueKey specialization(Long specializationId) {
+            return new QueueKey(true, specializationId);
+        }
+    }
+
+    /**
+     * Ожидающая запись в очереди. Порядок: срочность по убыванию, затем время постановки и ID.
+     */
+    private record Waiting(Long id, QueueKey key, WaitlistUrgency urgency, LocalDateTime createdAt,
+                           LocalDateTime earliest, LocalDateTime latest) implements Comparable<Waiting> {
+
+        static Waiting of(WaitlistEntries entry) {
+            QueueKey key = entry.getDoctor() != null
+                    ? QueueKey.doctor(entry.getDoctor().getId())
+                    : QueueKey.specialization(entry.getSpecialization().getId());
+            return new Waiting(entry.getId(), key, entry.getUrgency(), entry.getCreatedAt(),
+                    entry.getEarliest(), entry.getLatest());
+        }
+
+        boolean accepts(LocalDateTime from, LocalDateTime to) {
+            return (earliest == null || !from.isBefore(earliest)) && (latest == null || !to.isAfter(latest));
+        }
+
+        @Override
+        public int compareTo(Waiting other) {
+            int byUrgency = other.urgency.compareTo(urgency);
+            if (byUrgency != 0) {
+                return byUrgency;
+            }
+            int byTime = createdAt.compareTo(other.createdAt);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
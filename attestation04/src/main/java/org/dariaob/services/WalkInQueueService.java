@@ -0,0 +1,263 @@
+package org.dariaob.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.walkIn.WalkInPositionDto;
+import org.dariaob.dto.walkIn.WalkInQueueDto;
+import org.dariaob.dto.walkIn.WalkInQueueEventDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.WalkInQueueCheckpointRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Живая очередь пациентов без записи по кабинетам.
+ * <p>
+ * Очередь кабинета построена на неблокирующих структурах: талоны хранятся в очереди
+ * {@link ConcurrentLinkedQueue}, в которую пишут многие киоски, а читает регистратура кабинета;
+ * номера ожидающих талонов — упорядоченное множество {@link ConcurrentSkipListSet}, количество вызванных
+ * и версия очереди — атомарные счётчики. Постановка и вызов выполняются без блокировок, положение талона
+ * считается по ожидающим номерам и не зависит от порядка вызова. Талоны, выданные разными киосками одновременно,
+ * могут попасть в очередь не строго по возрастанию номеров — такие пациенты пришли в одно и то же мгновение.
+ * <p>
+ * Изменения рассылаются подписчикам SSE отдельным потоком, чтобы медленные клиенты не задерживали киоски.
+ * Изменившиеся очереди периодически сохраняются в {@code walk_in_queue_checkpoints} и восстанавливаются
+ * при запуске; изменения после последней контрольной точки при аварийном останове теряются.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalkInQueueService {
+
+    /**
+     * Время жизни подписки SSE в миллисекундах
+     */
+    public static final long SSE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private static final String SSE_EVENT_NAME = "walk-in";
+
+    private final OfficesRepository officesRepository;
+    private final WalkInQueueCheckpointRepository checkpointRepository;
+
+    private final Map<Long, OfficeQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("walk-in-sse").daemon().factory());
+
+    /**
+     * Поставить пациента в очередь кабинета.
+     *
+     * @param officeId ID кабинета
+     * @param label    подпись талона или null
+     * @return выданный талон
+     * @throws DataNotFoundException если кабинет не найден
+     */
+    public WalkInTicketDto enqueue(Long officeId, String label) {
+        OfficeQueue queue = queueOf(officeId);
+        long number = queue.issued.incrementAndGet();
+        WalkInTicketDto ticket = new WalkInTicketDto(officeId, number, label, LocalDateTime.now());
+        queue.waitingNumbers.add(number);
+        queue.tickets.offer(ticket);
+        queue.version.incrementAndGet();
+        publish(new WalkInQueueEventDto(WalkInQueueEventDto.Type.ENQUEUED, officeId, number,
+                queue.waitingNumbers.size()));
+        return ticket;
+    }
+
+    /**
+     * Вызвать следующий талон очереди кабинета.
+     *
+     * @param officeId ID кабинета
+     * @return вызванный талон или пустой Optional, если очередь пуста
+     * @throws DataNotFoundException если кабинет не найден
+     */
+    public Optional<WalkInTicketDto> callNext(Long officeId) {
+        OfficeQueue queue = queueOf(officeId);
+        WalkInTicketDto ticket = queue.tickets.poll();
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        queue.waitingNumbers.remove(ticket.getNumber());
+        queue.called.incrementAndGet();
+        queue.version.incrementAndGet();
+        publish(new WalkInQueueEventDto(WalkInQueueEventDto.Type.CALLED, officeId, ticket.getNumber(),
+                queue.waitingNumbers.size()));
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Получить положение талона в очереди.
+     * Впереди находятся ожидающие талоны с меньшими номерами; их число считается по множеству
+     * ожидающих номеров, поэтому положение верно и тогда, когда талоны вызываются не по порядку.
+     *
+     * @param officeId ID кабинета
+     * @param number   номер талона
+     * @return положение талона
+     * @throws DataNotFoundException если кабинет или талон не найдены
+     */
+    public WalkInPositionDto position(Long officeId, long number) {
+        OfficeQueue queue = queueOf(officeId);
+        if (number < 1 || number > queue.issued.get()) {
+            throw new DataNotFoundException("Талон " + number + " в очереди кабинета " + officeId + " не найден.");
+        }
+        if (!queue.waitingNumbers.contains(number)) {
+            return new WalkInPositionDto(officeId, number, false, 0);
+        }
+        long ahead = queue.waitingNumbers.headSet(number).size();
+        return new WalkInPositionDto(officeId, number, true, ahead);
+    }
+
+    /**
+     * Получить состояние очереди кабинета.
+     *
+     * @param officeId ID кабинета
+     * @return номер последнего талона, количество вызванных и ожидающие талоны
+     * @throws DataNotFoundException если кабинет не найден
+     */
+    public WalkInQueueDto snapshot(Long officeId) {
+        return snapshot(officeId, queueOf(officeId));
+    }
+
+    /**
+     * Подписаться на изменения очереди кабинета.
+     * Первым событием подписчик получает текущее состояние очереди.
+     *
+     * @param officeId ID кабинета
+     * @return поток событий SSE
+     * @throws DataNotFoundException если кабинет не найден
+     */
+    public SseEmitter subscribe(Long officeId) {
+        OfficeQueue queue = queueOf(officeId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        Set<SseEmitter> officeSubscribers = subscribers.computeIfAbsent(officeId, id -> ConcurrentHashMap.newKeySet());
+        officeSubscribers.add(emitter);
+        emitter.onCompletion(() -> officeSubscribers.remove(emitter));
+        emitter.onTimeout(() -> officeSubscribers.remove(emitter));
+        emitter.onError(ex -> officeSubscribers.remove(emitter));
+        notifier.execute(() -> send(officeSubscribers, emitter, snapshot(officeId, queue)));
+        return emitter;
+    }
+
+    /**
+     * Сохранить контрольные точки очередей, изменившихся с прошлого сохранения.
+     *
+     * @return количество сохранённых очередей
+     */
+    @Scheduled(fixedDelayString = "${clinic.walk-in.checkpoint-interval-ms:5000}")
+    public int checkpoint() {
+        List<WalkInQueueDto> changed = new ArrayList<>();
+        List<Runnable> commits = new ArrayList<>();
+        queues.forEach((officeId, queue) -> {
+            long version = queue.version.get();
+            if (version != queue.checkpointedVersion) {
+                changed.add(snapshot(officeId, queue));
+                commits.add(() -> queue.checkpointedVersion = version);
+            }
+        });
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        checkpointRepository.saveAll(changed);
+        commits.forEach(Runnable::run);
+        return changed.size();
+    }
+
+    /**
+     * Восстановить очереди из контрольных точек после перезапуска.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        for (WalkInQueueDto saved : checkpointRepository.findAll()) {
+            OfficeQueue queue = new OfficeQueue();
+            queue.issued.set(saved.getLastIssued());
+            queue.called.set(saved.getCalled());
+            for (WalkInTicketDto ticket : saved.getWaiting()) {
+                queue.waitingNumbers.add(ticket.getNumber());
+                queue.tickets.offer(ticket);
+            }
+            queues.put(saved.getOfficeId(), queue);
+        }
+        log.info("Восстановлено живых очередей: {}", queues.size());
+    }
+
+    /**
+     * Сохранить очереди и остановить рассылку при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            checkpoint();
+        } finally {
+            notifier.shutdownNow();
+        }
+    }
+
+    private OfficeQueue queueOf(Long officeId) {
+        OfficeQueue queue = queues.get(officeId);
+        if (queue != null) {
+            return queue;
+        }
+        if (officesRepository.findActiveById(officeId).isEmpty()) {
+            throw new DataNotFoundException("Кабинет с ID " + officeId + " не найден.");
+        }
+        return queues.computeIfAbsent(officeId, id -> new OfficeQueue());
+    }
+
+    private static WalkInQueueDto snapshot(Long officeId, OfficeQueue queue) {
+        // Счётчик выданных читается после вызванных, поэтому в снимке вызванных не больше, чем выданных
+        long called = queue.called.get();
+        List<WalkInTicketDto> waiting = List.copyOf(queue.tickets);
+        return new WalkInQueueDto(officeId, queue.issued.get(), called, waiting);
+    }
+
+    private void publish(WalkInQueueEventDto event) {
+        Set<SseEmitter> officeSubscribers = subscribers.get(event.getOfficeId());
+        if (officeSubscribers == null || officeSubscribers.isEmpty()) {
+            return;
+        }
+        notifier.execute(() -> officeSubscribers.forEach(emitter -> send(officeSubscribers, emitter, event)));
+    }
+
+    private static void send(Set<SseEmitter> officeSubscribers, SseEmitter emitter, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(SSE_EVENT_NAME).data(data));
+        } catch (IOException | IllegalStateException ex) {
+            officeSubscribers.remove(emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    /**
+     * Живая очередь одного кабинета.
+     */
+    private static final class OfficeQueue {
+        private final Queue<WalkInTicketDto> tickets = new ConcurrentLinkedQueue<>();
+        private final NavigableSet<Long> waitingNumbers = new ConcurrentSkipListSet<>();
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong called = new AtomicLong();
+        private final AtomicLong version = new AtomicLong();
+        private volatile long checkpointedVersion;
+    }
+}
@@ -0,0 +1,222 @@
+package org.dariaob.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dariaob.dto.doctors.DoctorWorkloadDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Счётчики нагрузки врачей в памяти: число активных приёмов по врачу и дню начала.
+ * <p>
+ * Каждая пара (врач, день) — отдельный {@link LongAdder}, поэтому одновременные записи к разным
+ * и к одному врачу не конкурируют за одну ячейку. Счётчики обновляются по событиям создания, удаления
+ * и восстановления приёмов и хранятся для текущей и следующей недели, чтобы смена недели не обнуляла их
+ * до сверки. Периодически счётчики сверяются с агрегирующим запросом к БД и заменяются целиком.
+ * Замена выполняется, только если с момента перед запросом не пришло ни одного события: иначе
+ * неизвестно, учёл ли запрос этот приём, и замена могла бы посчитать его дважды. В этом случае
+ * сверка повторяется, а если события идут непрерывно — старые счётчики остаются до следующей сверки.
+ * <p>
+ * Нагрузка публикуется как метрики {@value #METRIC_NAME} с тегами {@code doctor} и {@code period}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkloadCounterService {
+
+    /**
+     * Имя метрики нагрузки
+     */
+    public static final String METRIC_NAME = "clinic.doctor.appointments";
+
+    private static final int DAYS_TRACKED = 14;
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+    private final AppointmentsRepository appointmentsRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Long> gauged = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<Bucket, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Ячейка счётчика: врач и день начала приёмов.
+     */
+    private record Bucket(long doctorId, LocalDate day) {
+    }
+
+    /**
+     * Нагрузка всех врачей, у которых есть приёмы на текущей неделе.
+     *
+     * @return нагрузка по возрастанию ID врача
+     */
+    public List<DoctorWorkloadDto> getWorkload() {
+        LocalDate today = LocalDate.now();
+        Set<Long> doctorIds = new HashSet<>();
+        counters.forEach((bucket, adder) -> {
+            if (inWeek(bucket.day(), today) && adder.sum() != 0) {
+                doctorIds.add(bucket.doctorId());
+            }
+        });
+        return doctorIds.stream()
+                .sorted(Comparator.naturalOrder())
+                .map(doctorId -> new DoctorWorkloadDto(doctorId, today(doctorId), thisWeek(doctorId)))
+                .toList();
+    }
+
+    /**
+     * Число активных приёмов врача сегодня.
+     *
+     * @param doctorId ID врача
+     * @return число приёмов
+     */
+    public long today(long doctorId) {
+        LongAdder adder = counters.get(new Bucket(doctorId, LocalDate.now()));
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Число активных приёмов врача на текущей неделе, с понедельника по воскресенье.
+     *
+     * @param doctorId ID врача
+     * @return число приёмов
+     */
+    public long thisWeek(long doctorId) {
+        Map<Bucket, LongAdder> current = counters;
+        LocalDate day = weekStart(LocalDate.now());
+        long total = 0;
+        for (int i = 0; i < 7; i++, day = day.plusDays(1)) {
+            LongAdder adder = current.get(new Bucket(doctorId, day));
+            if (adder != null) {
+                total += adder.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Учесть создание, удаление или восстановление приёма.
+     * Перенос приёма публикует удаление старого и создание нового.
+     *
+     * @param event событие изменения приёма
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getDoctorId() == null || event.getFrom() == null) {
+            return;
+        }
+        LocalDate day = event.getFrom().toLocalDate();
+        LocalDate trackedFrom = weekStart(LocalDate.now());
+        if (day.isBefore(trackedFrom) || !day.isBefore(trackedFrom.plusDays(DAYS_TRACKED))) {
+            return;
+        }
+        long delta = event.getType() == AppointmentChangedEvent.Type.DELETED ? -1 : 1;
+        // Под общей блокировкой: сверка не может заменить счётчики между изменением ячейки и версии
+        swapLock.readLock().lock();
+        try {
+            counters.computeIfAbsent(new Bucket(event.getDoctorId(), day), bucket -> new LongAdder()).add(delta);
+            version.incrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        registerGauges(event.getDoctorId());
+    }
+
+    /**
+     * Сверить счётчики с БД: пересчитать приёмы текущей и следующей недели одним запросом
+     * и заменить счётчики целиком, если во время запроса не было событий.
+     */
+    @Scheduled(fixedDelayString = "${clinic.workload.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= MAX_RECONCILE_ATTEMPTS; attempt++) {
+            long seen = version.get();
+            LocalDate from = weekStart(LocalDate.now());
+            Map<Bucket, LongAdder> built = new ConcurrentHashMap<>();
+            for (Object[] row : appointmentsRepository.countActiveByDoctorAndDayBetween(from.atStartOfDay(),
+                    from.plusDays(DAYS_TRACKED).atStartOfDay())) {
+                LongAdder adder = new LongAdder();
+                adder.add(((Number) row[2]).longValue());
+                built.put(new Bucket(((Number) row[0]).longValue(), (LocalDate) row[1]), adder);
+            }
+            int drift;
+            swapLock.writeLock().lock();
+            try {
+                // Событие после начала запроса могло как попасть в результат, так и нет — не заменять
+                if (version.get() != seen) {
+                    continue;
+                }
+                drift = drift(counters, built);
+                counters = built;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            built.keySet().forEach(bucket -> registerGauges(bucket.doctorId()));
+            if (drift > 0) {
+                log.info("Счётчики нагрузки врачей сверены с БД: исправлено {} ячеек", drift);
+            }
+            return;
+        }
+        log.debug("Счётчики нагрузки врачей менялись во время сверки; повтор при следующей сверке");
+    }
+
+    private void registerGauges(long doctorId) {
+        if (!gauged.add(doctorId)) {
+            return;
+        }
+        Gauge.builder(METRIC_NAME, this, service -> service.today(doctorId))
+                .description("Активные приёмы врача за период")
+                .tag("doctor", String.valueOf(doctorId))
+                .tag("period", "today")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME, this, service -> service.thisWeek(doctorId))
+                .description("Активные приёмы врача за период")
+                .tag("doctor", String.valueOf(doctorId))
+                .tag("period", "week")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    private static int drift(Map<Bucket, LongAdder> before, Map<Bucket, LongAdder> after) {
+        Set<Bucket> buckets = new HashSet<>(before.keySet());
+        buckets.addAll(after.keySet());
+        int drift = 0;
+        for (Bucket bucket : buckets) {
+            LongAdder old = before.get(bucket);
+            LongAdder fresh = after.get(bucket);
+            if ((old != null ? old.sum() : 0) != (fresh != null ? fresh.sum() : 0)) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    private static boolean inWeek(LocalDate day, LocalDate today) {
+        LocalDate start = weekStart(today);
+        return !day.isBefore(start) && day.isBefore(start.plusWeeks(1));
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,147 @@
+package org.dariaob.utils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Операции над упорядоченными по началу списками окон {@link WorkingWindows} с общим днём отсчёта.
+ * Каждая операция — один линейный проход двумя указателями по отсортированным массивам,
+ * поэтому наложение исключений на расписание стоит O(n + k) без сортировки и без объектов на окно.
+ */
+public class IntervalOps {
+
+    private IntervalOps() {
+    }
+
+    /**
+     * Объединить пересекающиеся и смежные окна. Кабинет объединённого окна берётся из первого окна.
+     *
+     * @param windows упорядоченные по началу окна
+     * @return непересекающиеся окна в том же порядке
+     */
+    public static WorkingWindows normalize(WorkingWindows windows) {
+        Builder out = new Builder(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+            int start = windows.startMinute(i);
+            int end = windows.endMinute(i);
+            if (out.size > 0 && start <= out.end[out.size - 1]) {
+                out.end[out.size - 1] = Math.max(out.end[out.size - 1], end);
+            } else {
+                out.add(start, end, windows.officeIdOrNone(i));
+            }
+        }
+        return out.build(windows.getOrigin());
+    }
+
+    /**
+     * Вычесть из окон интервалы {@code cuts}. Окно, разрезанное интервалом, распадается на части
+     * с тем же кабинетом.
+     *
+     * @param windows упорядоченные по началу окна
+     * @param cuts    упорядоченные по началу вычитаемые интервалы (кабинет не учитывается)
+     * @return оставшиеся части окон в порядке начала
+     */
+    public static WorkingWindows subtract(WorkingWindows windows, WorkingWindows cuts) {
+        requireSameOrigin(windows, cuts);
+        if (cuts.size() == 0) {
+            return windows;
+        }
+        // После объединения концы вычитаемых интервалов тоже возрастают, и указатель не возвращается назад
+        WorkingWindows disjoint = normalize(cuts);
+        Builder out = new Builder(windows.size() + disjoint.size());
+        int c = 0;
+        for (int i = 0; i < windows.size(); i++) {
+            int cursor = windows.startMinute(i);
+            int end = windows.endMinute(i);
+            while (c < disjoint.size() && disjoint.endMinute(c) <= cursor) {
+                c++;
+            }
+            for (int k = c; k < disjoint.size() && disjoint.startMinute(k) < end && cursor < end; k++) {
+                if (disjoint.startMinute(k) > cursor) {
+                    out.add(cursor, disjoint.startMinute(k), windows.officeIdOrNone(i));
+                }
+                cursor = Math.max(cursor, disjoint.endMinute(k));
+            }
+            if (cursor < end) {
+                out.add(cursor, end, windows.officeIdOrNone(i));
+            }
+        }
+        return out.build(windows.getOrigin());
+    }
+
+    /**
+     * Добавить к окнам интервалы {@code additions}: из добавляемых берутся только части,
+     * не покрытые существующими окнами, и сливаются с ними в один упорядоченный список.
+     *
+     * @param windows   упорядоченные по началу окна
+     * @param additions упорядоченные по началу добавляемые окна
+     * @return объединённые окна в порядке начала
+     */
+    public static WorkingWindows union(WorkingWindows windows, WorkingWindows additions) {
+        requireSameOrigin(windows, additions);
+        if (additions.size() == 0) {
+            return windows;
+        }
+        return merge(windows, subtract(additions, windows));
+    }
+
+    /**
+     * Слить два упорядоченных по началу списка окон.
+     */
+    private static WorkingWindows merge(WorkingWindows a, WorkingWindows b) {
+        Builder out = new Builder(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() || j < b.size()) {
+            if (j >= b.size() || (i < a.size() && a.startMinute(i) <= b.startMinute(j))) {
+                out.add(a.startMinute(i), a.endMinute(i), a.officeIdOrNone(i));
+                i++;
+            } else {
+                out.add(b.startMinute(j), b.endMinute(j), b.officeIdOrNone(j));
+                j++;
+            }
+        }
+        return out.build(a.getOrigin());
+    }
+
+    private static void requireSameOrigin(WorkingWindows a, WorkingWindows b) {
+        if (!a.getOrigin().equals(b.getOrigin())) {
+            throw new IllegalArgumentException("Списки окон должны иметь общий день отсчёта.");
+        }
+    }
+
+    /**
+     * Накопитель окон в растущих массивах.
+     */
+    private static final class Builder {
+
+        private int[] start;
+        private int[] end;
+        private long[] office;
+        private int size;
+
+        private Builder(int capacity) {
+            start = new int[capacity];
+            end = new int[capacity];
+            office = new long[capacity];
+        }
+
+        private void add(int windowStart, int windowEnd, long windowOffice) {
+            if (size == start.length) {
+                int capacity = Math.max(8, size * 2);
+                start = Arrays.copyOf(start, capacity);
+                end = Arrays.copyOf(end, capacity);
+                office = Arrays.copyOf(office, capacity);
+            }
+            start[size] = windowStart;
+            end[size] = windowEnd;
+            office[size] = windowOffice;
+            size++;
+        }
+
+        private WorkingWindows build(LocalDate origin) {
+            return new WorkingWindows(origin, Arrays.copyOf(start, size), Arrays.copyOf(end, size),
+                    Arrays.copyOf(office, size));
+        }
+    }
+}
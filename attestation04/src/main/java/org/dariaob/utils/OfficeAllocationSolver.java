@@ -0,0 +1,334 @@
+package org.dariaob.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Распределение кабинетов по недельным записям расписания.
+ * <p>
+ * Записи разных дней недели не влияют друг на друга, поэтому каждый день решается отдельной
+ * задачей fork/join. Решение дня строится жадно (записи по времени начала, в первую очередь
+ * в уже занятый днём свободный кабинет, затем в предпочтительный), после чего улучшается локальным
+ * поиском — переносом записи в другой кабинет и обменом кабинетами двух записей — до истечения
+ * бюджета времени или пока улучшения не перестают находиться. Принимаются только ходы, не
+ * ухудшающие решение, поэтому текущее решение всегда лучшее из найденных.
+ * <p>
+ * Стоимость решения лексикографическая: пересечения записей в одном кабинете, затем число
+ * кабинетов, занятых хотя бы одной записью за день, затем записи не в предпочтительном кабинете.
+ */
+public final class OfficeAllocationSolver {
+
+    private static final long CONFLICT_WEIGHT = 1_000_000L;
+    private static final long ROOM_WEIGHT = 1_000L;
+    private static final long PREFERENCE_WEIGHT = 1L;
+    private static final int DEADLINE_CHECK_MASK = 0xFF;
+    private static final long SEED = 0x5DEECE66DL;
+
+    private OfficeAllocationSolver() {
+    }
+
+    /**
+     * Результат распределения.
+     *
+     * @param room             индекс кабинета для каждой записи
+     * @param conflicts        число пар пересекающихся записей в одном кабинете
+     * @param roomDays         сумма по дням числа занятых кабинетов
+     * @param preferenceMisses число записей не в предпочтительном кабинете
+     */
+    public record Solution(int[] room, int conflicts, int roomDays, int preferenceMisses) {
+    }
+
+    /**
+     * Распределить кабинеты.
+     *
+     * @param day           день недели каждой записи
+     * @param start         начало каждой записи (в любых единицах от начала дня)
+     * @param end           окончание каждой записи, больше начала
+     * @param preferred     индекс предпочтительного кабинета каждой записи или -1
+     * @param rooms         число кабинетов, не меньше одного
+     * @param deadlineNanos момент {@link System#nanoTime()}, после которого поиск прекращается
+     * @return распределение и его стоимость
+     */
+    public static Solution solve(int[] day, int[] start, int[] end, int[] preferred, int rooms, long deadlineNanos) {
+        if (rooms < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один кабинет.");
+        }
+        Integer[] byDay = new Integer[day.length];
+        for (int i = 0; i < byDay.length; i++) {
+            byDay[i] = i;
+        }
+        Arrays.sort(byDay, (a, b) -> Integer.compare(day[a], day[b]));
+        List<DayTask> tasks = new ArrayList<>();
+        for (int from = 0; from < byDay.length; ) {
+            int to = from;
+            while (to < byDay.length && day[byDay[to]] == day[byDay[from]]) {
+                to++;
+            }
+            int[] items = new int[to - from];
+            for (int i = from; i < to; i++) {
+                items[i - from] = byDay[i];
+            }
+            tasks.add(new DayTask(items, start, end, preferred, rooms,
+                    deadlineNanos, new SplittableRandom(SEED ^ day[byDay[from]])));
+            from = to;
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        int[] room = new int[day.length];
+        int conflicts = 0;
+        int roomDays = 0;
+        int misses = 0;
+        for (DayTask task : tasks) {
+            for (int k = 0; k < task.items.length; k++) {
+                room[task.items[k]] = task.room[k];
+            }
+            conflicts += task.conflicts;
+            roomDays += task.roomDays;
+            misses += task.misses;
+        }
+        return new Solution(room, conflicts, roomDays, misses);
+    }
+
+    /**
+     * Решение одного дня. Записи дня адресуются локальными индексами {@code 0..n-1}.
+     */
+    private static final class DayTask extends RecursiveAction {
+
+        private final int[] items;
+        private final int[] start;
+        private final int[] end;
+        private final int[] preferred;
+        private final int rooms;
+        private final long deadlineNanos;
+        private final SplittableRandom random;
+
+        private final int[] room;
+        private final int[][] members;
+        private final int[] size;
+        private final int[] position;
+
+        private int conflicts;
+        private int roomDays;
+        private int misses;
+
+        private DayTask(int[] items, int[] start, int[] end, int[] preferred, int rooms, long deadlineNanos,
+                        SplittableRandom random) {
+            int n = items.length;
+            this.items = items;
+            this.start = new int[n];
+            this.end = new int[n];
+            this.preferred = new int[n];
+            for (int k = 0; k < n; k++) {
+                this.start[k] = start[items[k]];
+                this.end[k] = end[items[k]];
+                this.preferred[k] = preferred[items[k]] < rooms ? preferred[items[k]] : -1;
+            }
+            this.rooms = rooms;
+            this.deadlineNanos = deadlineNanos;
+            this.random = random;
+            this.room = new int[n];
+            this.members = new int[rooms][];
+            this.size = new int[rooms];
+            this.position = new int[n];
+        }
+
+        @Override
+        protected void compute() {
+            greedy();
+            if (rooms > 1 && items.length > 1) {
+                search();
+            }
+            for (int k = 0; k < items.length; k++) {
+                conflicts += overlaps(k, room[k]);
+                if (preferred[k] >= 0 && room[k] != preferred[k]) {
+                    misses++;
+                }
+            }
+            conflicts /= 2;
+            for (int r = 0; r < rooms; r++) {
+                if (size[r] > 0) {
+                    roomDays++;
+                }
+            }
+        }
+
+        /**
+         * Жадное распределение в порядке начала: свободный предпочтительный кабинет среди занятых днём,
+         * иначе занятый днём кабинет, освободившийся позже всех, иначе новый кабинет (предпочтительный,
+         * если свободен), иначе кабинет, освобождающийся раньше всех.
+         */
+        private void greedy() {
+            int n = items.length;
+            Integer[] order = new Integer[n];
+            for (int k = 0; k < n; k++) {
+                order[k] = k;
+            }
+            Arrays.sort(order, (a, b) -> start[a] != start[b]
+                    ? Integer.compare(start[a], start[b]) : Integer.compare(end[a], end[b]));
+            int[] lastEnd = new int[rooms];
+            Arrays.fill(lastEnd, Integer.MIN_VALUE);
+            boolean[] opened = new boolean[rooms];
+            for (int k : order) {
+                int p = preferred[k];
+                int chosen = -1;
+                if (p >= 0 && opened[p] && lastEnd[p] <= start[k]) {
+                    chosen = p;
+                }
+                for (int r = 0; chosen < 0 && r < rooms; r++) {
+                    if (opened[r] && lastEnd[r] <= start[k] && (chosen < 0 || lastEnd[r] > lastEnd[chosen])) {
+                        chosen = r;
+                    }
+                }
+                if (chosen < 0 && p >= 0 && !opened[p]) {
+                    chosen = p;
+                }
+                for (int r = 0; chosen < 0 && r < rooms; r++) {
+                    if (!opened[r]) {
+                        chosen = r;
+                    }
+                }
+                if (chosen < 0) {
+                    chosen = 0;
+                    for (int r = 1; r < rooms; r++) {
+                        if (lastEnd[r] < lastEnd[chosen]) {
+                            chosen = r;
+                        }
+                    }
+                }
+                opened[chosen] = true;
+                lastEnd[chosen] = Math.max(lastEnd[chosen], end[k]);
+                add(k, chosen);
+            }
+        }
+
+        /**
+         * Локальный поиск переносами и обменами до дедлайна или до {@code staleLimit} попыток без улучшения.
+         */
+        private void search() {
+            int n = items.length;
+            long staleLimit = 200L * n + 1_000;
+            long stale = 0;
+            for (long iteration = 0; stale < staleLimit; iteration++) {
+                if ((iteration & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+                    return;
+                }
+                int k = random.nextInt(n);
+                long delta;
+                if (random.nextBoolean()) {
+                    int target = pickRoom(k);
+                    if (target == room[k]) {
+                        stale++;
+                        continue;
+                    }
+                    delta = moveDelta(k, target);
+                    if (delta <= 0) {
+                        remove(k);
+                        add(k, target);
+                    }
+                } else {
+                    int j = random.nextInt(n);
+                    if (room[j] == room[k]) {
+                        stale++;
+                        continue;
+                    }
+                    delta = swapDelta(k, j);
+                    if (delta <= 0) {
+                        int a = room[k];
+                        int b = room[j];
+                        remove(k);
+                        remove(j);
+                        add(k, b);
+                        add(j, a);
+                    }
+                }
+                stale = delta < 0 ? 0 : stale + 1;
+            }
+        }
+
+        /**
+         * Кабинет для переноса: обычно кабинет другой записи дня (уже занятый), иногда предпочтительный
+         * или произвольный.
+         */
+        private int pickRoom(int k) {
+            int dice = random.nextInt(10);
+            if (dice < 2 && preferred[k] >= 0) {
+                return preferred[k];
+            }
+            if (dice < 8) {
+                return room[random.nextInt(items.length)];
+            }
+            return random.nextInt(rooms);
+        }
+
+        private long moveDelta(int k, int target) {
+            int current = room[k];
+            if (current == target) {
+                return 0;
+            }
+            long conflictDelta = overlaps(k, target) - overlaps(k, current);
+            long roomDelta = (size[current] == 1 ? -1 : 0) + (size[target] == 0 ? 1 : 0);
+            return conflictDelta * CONFLICT_WEIGHT + roomDelta * ROOM_WEIGHT
+                    + (miss(k, target) - miss(k, current)) * PREFERENCE_WEIGHT;
+        }
+
+        private long swapDelta(int k, int j) {
+            int a = room[k];
+            int b = room[j];
+            int pair = overlap(k, j) ? 1 : 0;
+            long conflictDelta = (overlaps(k, b) - pair) + (overlaps(j, a) - pair)
+                    - overlaps(k, a) - overlaps(j, b);
+            long preferenceDelta = miss(k, b) + miss(j, a) - miss(k, a) - miss(j, b);
+            return conflictDelta * CONFLICT_WEIGHT + preferenceDelta * PREFERENCE_WEIGHT;
+        }
+
+        private int miss(int k, int r) {
+            return preferred[k] >= 0 && preferred[k] != r ? 1 : 0;
+        }
+
+        /**
+         * Число записей кабинета, кроме самой {@code k}, пересекающихся с записью {@code k}.
+         */
+        private int overlaps(int k, int r) {
+            int count = 0;
+            int[] list = members[r];
+            for (int i = 0; i < size[r]; i++) {
+                int other = list[i];
+                if (other != k && overlap(k, other)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean overlap(int a, int b) {
+            return start[a] < end[b] && start[b] < end[a];
+        }
+
+        private void add(int k, int r) {
+            if (members[r] == null) {
+                members[r] = new int[4];
+            } else if (size[r] == members[r].length) {
+                members[r] = Arrays.copyOf(members[r], size[r] * 2);
+            }
+            room[k] = r;
+            position[k] = size[r];
+            members[r][size[r]++] = k;
+        }
+
+        private void remove(int k) {
+            int r = room[k];
+            int last = members[r][--size[r]];
+            members[r][position[k]] = last;
+            position[last] = position[k];
+        }
+    }
+}
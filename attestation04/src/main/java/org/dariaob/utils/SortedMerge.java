@@ -0,0 +1,65 @@
+package org.dariaob.utils;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Слияние нескольких уже упорядоченных последовательностей в одну (k-way merge).
+ * Из каждого источника в памяти держится только текущий элемент; очередной элемент результата
+ * выбирается из кучи голов источников за O(log k), поэтому сортировать объединение не нужно.
+ */
+public class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    /**
+     * Слить упорядоченные источники в один упорядоченный итератор.
+     * Каждый источник должен быть упорядочен тем же компаратором; при равенстве элементов
+     * раньше выдаётся элемент источника с меньшим индексом.
+     *
+     * @param sources упорядоченные источники
+     * @param order   порядок элементов
+     * @param <T>     тип элементов
+     * @return итератор по всем элементам источников в порядке {@code order}
+     */
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> {
+            int cmp = order.compare(a.value, b.value);
+            return cmp != 0 ? cmp : Integer.compare(a.source, b.source);
+        });
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<? extends T> source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), i, source));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                if (head.iterator.hasNext()) {
+                    heads.add(new Head<>(head.iterator.next(), head.source, head.iterator));
+                }
+                return head.value;
+            }
+        };
+    }
+
+    /**
+     * Текущий элемент источника.
+     */
+    private record Head<T>(T value, int source, Iterator<? extends T> iterator) {
+    }
+}
@@ -0,0 +1,191 @@
+package org.dariaob.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Неизменяемый список рабочих окон врача, отсчитанных от начала дня {@code origin}.
+ * <p>
+ * Окна хранятся в параллельных массивах примитивов: начало и конец в минутах от {@code origin}
+ * и ID кабинета ({@link #NO_OFFICE}, если кабинет не указан). Окна упорядочены по началу,
+ * поэтому окна дня находятся двоичным поиском, а объединение соседних недель — копированием массивов.
+ */
+public final class WorkingWindows {
+
+    /**
+     * Количество минут в сутках
+     */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Значение ID кабинета для окна без кабинета
+     */
+    public static final long NO_OFFICE = 0L;
+
+    private final LocalDate origin;
+    private final int[] start;
+    private final int[] end;
+    private final long[] office;
+
+    /**
+     * Создать список окон. Массивы не копируются и не должны изменяться после передачи.
+     *
+     * @param origin день, от начала которого отсчитываются минуты
+     * @param start  начала окон в минутах, по возрастанию
+     * @param end    окончания окон в минутах
+     * @param office ID кабинетов окон
+     */
+    public WorkingWindows(LocalDate origin, int[] start, int[] end, long[] office) {
+        if (start.length != end.length || start.length != office.length) {
+            throw new IllegalArgumentException("Массивы окон должны быть одинаковой длины.");
+        }
+        this.origin = origin;
+        this.start = start;
+        this.end = end;
+        this.office = office;
+    }
+
+    /**
+     * Пустой список окон.
+     *
+     * @param origin день отсчёта
+     * @return список без окон
+     */
+    public static WorkingWindows empty(LocalDate origin) {
+        return new WorkingWindows(origin, new int[0], new int[0], new long[0]);
+    }
+
+    /**
+     * Склеить упорядоченные по {@code origin} списки окон в один список с новым днём отсчёта.
+     * Окна частей не должны пересекаться по дням: тогда результат остаётся упорядоченным без сортировки.
+     *
+     * @param origin новый день отсчёта
+     * @param parts  части в порядке возрастания времени
+     * @return объединённый список
+     */
+    public static WorkingWindows concat(LocalDate origin, List<WorkingWindows> parts) {
+        int size = parts.stream().mapToInt(WorkingWindows::size).sum();
+        int[] start = new int[size];
+        int[] end = new int[size];
+        long[] office = new long[size];
+        int offset = 0;
+        for (WorkingWindows part : parts) {
+            int shift = Math.toIntExact(ChronoUnit.DAYS.between(origin, part.origin)) * MINUTES_PER_DAY;
+            for (int i = 0; i < part.size(); i++) {
+                start[offset + i] = part.start[i] + shift;
+                end[offset + i] = part.end[i] + shift;
+            }
+            System.arraycopy(part.office, 0, office, offset, part.size());
+            offset += part.size();
+        }
+        return new WorkingWindows(origin, start, end, office);
+    }
+
+    /**
+     * Окна, начинающиеся в полуинтервале дней [{@code from}, {@code to}), с днём отсчёта {@code from}.
+     *
+     * @param from первый день
+     * @param to   день после последнего
+     * @return подсписок окон
+     */
+    public WorkingWindows slice(LocalDate from, LocalDate to) {
+        int fromIndex = lowerBound(minuteOf(from));
+        int toIndex = lowerBound(minuteOf(to));
+        int shift = minuteOf(from);
+        int[] slicedStart = new int[toIndex - fromIndex];
+        int[] slicedEnd = new int[toIndex - fromIndex];
+        for (int i = fromIndex; i < toIndex; i++) {
+            slicedStart[i - fromIndex] = start[i] - shift;
+            slicedEnd[i - fromIndex] = end[i] - shift;
+        }
+        return new WorkingWindows(from, slicedStart, slicedEnd, Arrays.copyOfRange(office, fromIndex, toIndex));
+    }
+
+    /**
+     * Индекс первого окна, начинающегося не раньше указанной минуты.
+     *
+     * @param minute минута от начала дня отсчёта
+     * @return индекс окна или {@link #size()}, если таких окон нет
+     */
+    public int lowerBound(int minute) {
+        int low = 0;
+        int high = start.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (start[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Индексы окон, начинающихся в указанный день.
+     *
+     * @param date день
+     * @return полуинтервал индексов {@code [from, to)}
+     */
+    public int[] indexRange(LocalDate date) {
+        int dayStart = minuteOf(date);
+        return new int[]{lowerBound(dayStart), lowerBound(dayStart + MINUTES_PER_DAY)};
+    }
+
+    /**
+     * Минута начала указанного дня относительно дня отсчёта.
+     *
+     * @param date день
+     * @return минута от начала дня отсчёта
+     */
+    public int minuteOf(LocalDate date) {
+        return Math.toIntExact(ChronoUnit.DAYS.between(origin, date)) * MINUTES_PER_DAY;
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    public int size() {
+        return start.length;
+    }
+
+    public int startMinute(int index) {
+        return start[index];
+    }
+
+    public int endMinute(int index) {
+        return end[index];
+    }
+
+    public LocalDateTime start(int index) {
+        return origin.atStartOfDay().plusMinutes(start[index]);
+    }
+
+    public LocalDateTime end(int index) {
+        return origin.atStartOfDay().plusMinutes(end[index]);
+    }
+
+    /**
+     * ID кабинета окна.
+     *
+     * @param index индекс окна
+     * @return ID кабинета или null, если кабинет не указан
+     */
+    public Long officeId(int index) {
+        return office[index] != NO_OFFICE ? office[index] : null;
+    }
+
+    /**
+     * ID кабинета окна без упаковки.
+     *
+     * @param index индекс окна
+     * @return ID кабинета или {@link #NO_OFFICE}
+     */
+    public long officeIdOrNone(int index) {
+        return office[index];
+    }
+}
@@ -0,0 +1,19 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Контрольные точки живой очереди кабинетов.
+-- Очередь живёт в памяти приложения; периодически её состояние сохраняется сюда
+-- и восстанавливается при запуске.
+CREATE TABLE IF NOT EXISTS walk_in_queue_checkpoints (
+    office_id BIGINT PRIMARY KEY REFERENCES offices(id),
+    last_issued BIGINT NOT NULL,
+    called BIGINT NOT NULL,
+    tickets TEXT NOT NULL,
+    checkpointed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT walk_in_queue_called_le_issued CHECK (called <= last_issued)
+);
+
+COMMENT ON TABLE walk_in_queue_checkpoints IS 'Контрольные точки живой очереди кабинетов';
+COMMENT ON COLUMN walk_in_queue_checkpoints.last_issued IS 'Номер последнего выданного талона';
+COMMENT ON COLUMN walk_in_queue_checkpoints.called IS 'Количество вызванных талонов';
+COMMENT ON COLUMN walk_in_queue_checkpoints.tickets IS 'Ожидающие талоны в порядке очереди (JSON)';
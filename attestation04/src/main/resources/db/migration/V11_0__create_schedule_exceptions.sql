@@ -0,0 +1,39 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Исключения из еженедельного расписания: праздники клиники, отпуска и больничные врачей, дополнительные смены
+CREATE TABLE IF NOT EXISTS schedule_exceptions (
+    id BIGSERIAL PRIMARY KEY,
+    doctor_id BIGINT,
+    type VARCHAR(16) NOT NULL,
+    date_from DATE NOT NULL,
+    date_to DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    office_id BIGINT,
+    reason VARCHAR(255),
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE CASCADE,
+    FOREIGN KEY (office_id) REFERENCES offices(id) ON DELETE SET NULL,
+    CONSTRAINT schedule_exceptions_dates CHECK (date_to >= date_from),
+    CONSTRAINT schedule_exceptions_times CHECK ((start_time IS NULL) = (end_time IS NULL)
+        AND (start_time IS NULL OR end_time > start_time)),
+    CONSTRAINT schedule_exceptions_extra_shift CHECK (type <> 'EXTRA_SHIFT'
+        OR (doctor_id IS NOT NULL AND start_time IS NOT NULL))
+);
+
+-- Выборка исключений врачей по диапазону дат при развёртывании расписания
+CREATE INDEX IF NOT EXISTS idx_schedule_exceptions_doctor_dates ON schedule_exceptions (doctor_id, date_from, date_to)
+    WHERE is_deleted = false;
+
+COMMENT ON TABLE schedule_exceptions IS 'Исключения из еженедельного расписания врачей';
+COMMENT ON COLUMN schedule_exceptions.id IS 'Идентификатор исключения';
+COMMENT ON COLUMN schedule_exceptions.doctor_id IS 'Идентификатор врача (NULL — исключение для всей клиники)';
+COMMENT ON COLUMN schedule_exceptions.type IS 'Тип: HOLIDAY, VACATION, SICK_LEAVE, EXTRA_SHIFT';
+COMMENT ON COLUMN schedule_exceptions.date_from IS 'Первый день действия';
+COMMENT ON COLUMN schedule_exceptions.date_to IS 'Последний день действия';
+COMMENT ON COLUMN schedule_exceptions.start_time IS 'Начало интервала в каждом дне (NULL — весь день)';
+COMMENT ON COLUMN schedule_exceptions.end_time IS 'Окончание интервала в каждом дне (NULL — весь день)';
+COMMENT ON COLUMN schedule_exceptions.office_id IS 'Кабинет дополнительной смены';
+COMMENT ON COLUMN schedule_exceptions.reason IS 'Причина';
+COMMENT ON COLUMN schedule_exceptions.is_deleted IS 'Признак удаления';
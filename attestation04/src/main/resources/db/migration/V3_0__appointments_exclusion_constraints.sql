@@ -0,0 +1,38 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Расширение для использования равенства по BIGINT в GiST-индексах
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Запрет пересечения активных приёмов у одного врача.
+-- Интервал полуоткрытый [from, for), поэтому приёмы «встык» допустимы.
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_doctor_no_overlap
+    EXCLUDE USING gist (
+        doctor_id WITH =,
+        tsrange(work_hours_from, work_hours_for, '[)') WITH &&
+    ) WHERE (is_deleted = false);
+
+-- Запрет пересечения активных приёмов в одном кабинете
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_office_no_overlap
+    EXCLUDE USING gist (
+        office_id WITH =,
+        tsrange(work_hours_from, work_hours_for, '[)') WITH &&
+    ) WHERE (is_deleted = false);
+
+-- Запрет пересечения активных приёмов у одного пациента
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_patient_no_overlap
+    EXCLUDE USING gist (
+        patient_id WITH =,
+        tsrange(work_hours_from, work_hours_for, '[)') WITH &&
+    ) WHERE (is_deleted = false);
+
+-- Интервал приёма должен быть непустым
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_time_order CHECK (work_hours_for > work_hours_from);
+
+COMMENT ON CONSTRAINT appointments_doctor_no_overlap ON appointments IS 'Врач не может вести два активных приёма одновременно';
+COMMENT ON CONSTRAINT appointments_office_no_overlap ON appointments IS 'Кабинет не может быть занят двумя активными приёмами одновременно';
+COMMENT ON CONSTRAINT appointments_patient_no_overlap ON appointments IS 'Пациент не может быть записан на два активных приёма одновременно';
@@ -0,0 +1,35 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Временные брони слотов на время оформления записи
+CREATE TABLE IF NOT EXISTS slot_holds (
+    id BIGSERIAL PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    office_id BIGINT NOT NULL,
+    hold_from TIMESTAMP NOT NULL,
+    hold_to TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    appointment_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE CASCADE,
+    FOREIGN KEY (office_id) REFERENCES offices(id) ON DELETE CASCADE,
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE SET NULL,
+    CONSTRAINT slot_holds_time_order CHECK (hold_to > hold_from)
+);
+
+-- Быстрый поиск активных броней: проверка пересечений и пакетное истечение
+CREATE INDEX IF NOT EXISTS idx_slot_holds_active_expires ON slot_holds (expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_slot_holds_active_doctor ON slot_holds (doctor_id, hold_from) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_slot_holds_active_office ON slot_holds (office_id, hold_from) WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE slot_holds IS 'Временные брони слотов врача и кабинета';
+COMMENT ON COLUMN slot_holds.id IS 'Идентификатор брони';
+COMMENT ON COLUMN slot_holds.doctor_id IS 'Идентификатор врача';
+COMMENT ON COLUMN slot_holds.office_id IS 'Идентификатор кабинета';
+COMMENT ON COLUMN slot_holds.hold_from IS 'Начало удерживаемого интервала';
+COMMENT ON COLUMN slot_holds.hold_to IS 'Окончание удерживаемого интервала';
+COMMENT ON COLUMN slot_holds.expires_at IS 'Момент истечения брони';
+COMMENT ON COLUMN slot_holds.status IS 'Статус брони: ACTIVE, CONFIRMED, EXPIRED, CANCELLED';
+COMMENT ON COLUMN slot_holds.appointment_id IS 'Приём, созданный при подтверждении брони';
+COMMENT ON COLUMN slot_holds.created_at IS 'Время создания брони';
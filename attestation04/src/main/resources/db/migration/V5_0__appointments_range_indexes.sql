@@ -0,0 +1,21 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Индексы для выборок календаря: активные приёмы врача, кабинета или пациента,
+-- начинающиеся в диапазоне. Частичные индексы не содержат удалённых приёмов,
+-- поэтому запрос сводится к сканированию диапазона без фильтрации строк.
+CREATE INDEX IF NOT EXISTS idx_appointments_doctor_from_active
+    ON appointments (doctor_id, work_hours_from)
+    WHERE is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_appointments_office_from_active
+    ON appointments (office_id, work_hours_from)
+    WHERE is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_from_active
+    ON appointments (patient_id, work_hours_from)
+    WHERE is_deleted = false;
+
+COMMENT ON INDEX idx_appointments_doctor_from_active IS 'Активные приёмы врача по времени начала';
+COMMENT ON INDEX idx_appointments_office_from_active IS 'Активные приёмы кабинета по времени начала';
+COMMENT ON INDEX idx_appointments_patient_from_active IS 'Активные приёмы пациента по времени начала';
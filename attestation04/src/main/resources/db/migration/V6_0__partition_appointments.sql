@@ -0,0 +1,220 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Переход таблицы приёмов на помесячное секционирование по времени начала приёма.
+-- Старые секции отсоединяются в схему архива заданием обслуживания (AppointmentPartitionService),
+-- а запросы по интервалам времени ограничивают время начала, поэтому читают только секции нужных месяцев.
+
+CREATE SCHEMA IF NOT EXISTS clinic_archive;
+COMMENT ON SCHEMA clinic_archive IS 'Архив отсоединённых секций таблицы приёмов';
+
+-- Внешний ключ на секционированную таблицу должен включать ключ секционирования,
+-- поэтому ссылка брони на приём остаётся без ограничения
+ALTER TABLE slot_holds DROP CONSTRAINT IF EXISTS slot_holds_appointment_id_fkey;
+
+-- Прежняя таблица освобождает имена индексов и последовательность для новой
+ALTER SEQUENCE appointments_id_seq OWNED BY NONE;
+ALTER TABLE appointments RENAME TO appointments_legacy;
+ALTER TABLE appointments_legacy RENAME CONSTRAINT appointments_pkey TO appointments_legacy_pkey;
+DROP INDEX IF EXISTS idx_appointments_doctor_from_active;
+DROP INDEX IF EXISTS idx_appointments_office_from_active;
+DROP INDEX IF EXISTS idx_appointments_patient_from_active;
+
+CREATE TABLE appointments (
+    id BIGINT NOT NULL DEFAULT nextval('appointments_id_seq'),
+    date TIMESTAMP NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    work_hours_from TIMESTAMP NOT NULL,
+    work_hours_for TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    card_id BIGINT NOT NULL,
+    insurance_id BIGINT NOT NULL,
+    office_id BIGINT NOT NULL,
+    PRIMARY KEY (id, work_hours_from),
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (card_id) REFERENCES patient_cards(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    FOREIGN KEY (office_id) REFERENCES offices(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    CONSTRAINT appointments_time_order CHECK (work_hours_for > work_hours_from)
+) PARTITION BY RANGE (work_hours_from);
+
+ALTER SEQUENCE appointments_id_seq OWNED BY appointments.id;
+
+COMMENT ON TABLE appointments IS 'Таблица с данными о приеме (секционирована по месяцам времени начала приема)';
+COMMENT ON COLUMN appointments.id IS 'Идентификатор приема';
+COMMENT ON COLUMN appointments.date IS 'Дата приема';
+COMMENT ON COLUMN appointments.doctor_id IS 'Идентификатор врача';
+COMMENT ON COLUMN appointments.patient_id IS 'Идентификатор пациента';
+COMMENT ON COLUMN appointments.work_hours_from IS 'Время начала приема (ключ секционирования)';
+COMMENT ON COLUMN appointments.work_hours_for IS 'Время окончания приема';
+COMMENT ON COLUMN appointments.is_deleted IS 'Признак удаления приема';
+COMMENT ON COLUMN appointments.card_id IS 'Идентификатор карты пациента';
+COMMENT ON COLUMN appointments.insurance_id IS 'Идентификатор страхового полиса';
+COMMENT ON COLUMN appointments.office_id IS 'Идентификатор кабинета приема';
+
+-- Частичные индексы для выборок календаря создаются на каждой секции автоматически
+CREATE INDEX idx_appointments_doctor_from_active ON appointments (doctor_id, work_hours_from) WHERE is_deleted = false;
+CREATE INDEX idx_appointments_office_from_active ON appointments (office_id, work_hours_from) WHERE is_deleted = false;
+CREATE INDEX idx_appointments_patient_from_active ON appointments (patient_id, work_hours_from) WHERE is_deleted = false;
+
+-- Ограничения исключения не поддерживаются на секционированной таблице без ключа секционирования,
+-- поэтому они создаются на каждой секции. Пересечения приёмов из разных секций возможны только с приёмом,
+-- переходящим через границу месяца; их проверяет триггер appointments_cross_month_overlap.
+CREATE OR REPLACE FUNCTION add_appointments_partition_constraints(p_partition TEXT) RETURNS VOID
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_column TEXT;
+BEGIN
+    FOREACH v_column IN ARRAY ARRAY['doctor', 'office', 'patient'] LOOP
+        EXECUTE format(
+            'ALTER TABLE clinic_db.%I ADD CONSTRAINT %I EXCLUDE USING gist '
+            || '(%I WITH =, tsrange(work_hours_from, work_hours_for, ''[)'') WITH &&) WHERE (is_deleted = false)',
+            p_partition, p_partition || '_' || v_column || '_no_overlap', v_column || '_id');
+    END LOOP;
+END;
+$$;
+
+-- Секция по умолчанию принимает приёмы за месяцы, для которых секция ещё не создана
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+SELECT add_appointments_partition_constraints('appointments_default');
+
+-- Создать секцию месяца (appointments_pYYYY_MM). Строки этого месяца, попавшие в секцию по умолчанию,
+-- переносятся в новую секцию до присоединения. Повторный вызов для существующей секции ничего не делает.
+CREATE OR REPLACE FUNCTION create_appointments_partition(p_month DATE) RETURNS TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := 'appointments_p' || to_char(p_month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(format('clinic_db.%I', v_name)) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+    EXECUTE format('CREATE TABLE clinic_db.%I (LIKE clinic_db.appointments INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                   v_name);
+    EXECUTE format('WITH moved AS (DELETE FROM clinic_db.appointments_default '
+                   || 'WHERE work_hours_from >= %L AND work_hours_from < %L RETURNING *) '
+                   || 'INSERT INTO clinic_db.%I SELECT * FROM moved', v_from, v_to, v_name);
+    PERFORM clinic_db.add_appointments_partition_constraints(v_name);
+    EXECUTE format('ALTER TABLE clinic_db.appointments ATTACH PARTITION clinic_db.%I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_from, v_to);
+    RETURN v_name;
+END;
+$$;
+
+-- Отсоединить секции месяцев, закончившихся до указанной даты, и перенести их в схему архива
+CREATE OR REPLACE FUNCTION archive_appointments_partitions(p_before DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_partition TEXT;
+    v_archived  INTEGER := 0;
+BEGIN
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'clinic_db.appointments'::REGCLASS
+          AND c.relname ~ '^appointments_p[0-9]{4}_[0-9]{2}$'
+        ORDER BY c.relname
+    LOOP
+        IF to_date(substr(v_partition, 15), 'YYYY_MM') + INTERVAL '1 month' <= p_before THEN
+            EXECUTE format('ALTER TABLE clinic_db.appointments DETACH PARTITION clinic_db.%I', v_partition);
+            EXECUTE format('ALTER TABLE clinic_db.%I SET SCHEMA clinic_archive', v_partition);
+            v_archived := v_archived + 1;
+        END IF;
+    END LOOP;
+    RETURN v_archived;
+END;
+$$;
+
+COMMENT ON FUNCTION create_appointments_partition(DATE) IS 'Создать секцию таблицы приёмов за месяц';
+COMMENT ON FUNCTION archive_appointments_partitions(DATE) IS 'Перенести секции приёмов за прошедшие месяцы в архив';
+
+-- Секции с месяца самого раннего приёма по третий месяц вперёд
+DO $$
+DECLARE
+    v_month DATE;
+BEGIN
+    FOR v_month IN
+        SELECT generate_series(
+                       date_trunc('month', COALESCE((SELECT min(work_hours_from) FROM appointments_legacy), now())),
+                       date_trunc('month', now()) + INTERVAL '3 months',
+                       INTERVAL '1 month')::DATE
+    LOOP
+        PERFORM create_appointments_partition(v_month);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO appointments (id, date, doctor_id, patient_id, work_hours_from, work_hours_for,
+                          is_deleted, card_id, insurance_id, office_id)
+SELECT id, date, doctor_id, patient_id, work_hours_from, work_hours_for,
+       is_deleted, card_id, insurance_id, office_id
+FROM appointments_legacy;
+
+DROP TABLE appointments_legacy;
+
+-- Приёмы, переходящие через границу месяца (например, с 23:30 последнего дня до 00:30 первого).
+-- Таких приёмов мало, поэтому индекс маленький и проверка ниже по нему почти бесплатна
+CREATE INDEX idx_appointments_month_crossing ON appointments (work_hours_for)
+    WHERE is_deleted = false
+      AND date_trunc('month', work_hours_from) <> date_trunc('month', work_hours_for - INTERVAL '1 microsecond');
+
+-- Проверка пересечений активного приёма с приёмами других секций по врачу, кабинету и пациенту:
+-- с приёмами прошлых месяцев, переходящими в месяц его начала, и, если он сам переходит через границу,
+-- с приёмами следующих месяцев. Параллельные вставки сериализуются advisory-блокировками месяцев
+-- (пространство ключей 3): приём, переходящий в месяц, берёт блокировку месяца исключительно, остальные
+-- приёмы месяца — разделяемо, поэтому обычные записи друг друга не ждут. Нарушение сообщается с тем же
+-- SQLSTATE, что и у ограничений исключения.
+CREATE OR REPLACE FUNCTION check_appointments_cross_month_overlap() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_month_start TIMESTAMP := date_trunc('month', NEW.work_hours_from);
+    v_next_month  TIMESTAMP := v_month_start + INTERVAL '1 month';
+    v_month       TIMESTAMP;
+    v_conflict    BIGINT;
+BEGIN
+    IF NEW.is_deleted THEN
+        RETURN NULL;
+    END IF;
+    PERFORM pg_advisory_xact_lock_shared(3, (extract(YEAR FROM v_month_start) * 12
+                                             + extract(MONTH FROM v_month_start))::INTEGER);
+    v_month := v_next_month;
+    WHILE v_month < NEW.work_hours_for LOOP
+        PERFORM pg_advisory_xact_lock(3, (extract(YEAR FROM v_month) * 12 + extract(MONTH FROM v_month))::INTEGER);
+        v_month := v_month + INTERVAL '1 month';
+    END LOOP;
+
+    SELECT a.id INTO v_conflict
+    FROM clinic_db.appointments a
+    WHERE a.is_deleted = false
+      AND date_trunc('month', a.work_hours_from) <> date_trunc('month', a.work_hours_for - INTERVAL '1 microsecond')
+      AND a.work_hours_from < v_month_start
+      AND a.work_hours_for > NEW.work_hours_from
+      AND (a.doctor_id = NEW.doctor_id OR a.office_id = NEW.office_id OR a.patient_id = NEW.patient_id)
+    LIMIT 1;
+    IF v_conflict IS NULL AND NEW.work_hours_for > v_next_month THEN
+        SELECT a.id INTO v_conflict
+        FROM clinic_db.appointments a
+        WHERE a.is_deleted = false
+          AND a.work_hours_from >= v_next_month
+          AND a.work_hours_from < NEW.work_hours_for
+          AND (a.doctor_id = NEW.doctor_id OR a.office_id = NEW.office_id OR a.patient_id = NEW.patient_id)
+        LIMIT 1;
+    END IF;
+    IF v_conflict IS NOT NULL THEN
+        RAISE EXCEPTION USING ERRCODE = 'exclusion_violation',
+            MESSAGE = format('Приём %s пересекается с приёмом %s из секции другого месяца', NEW.id, v_conflict);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER appointments_cross_month_overlap
+    AFTER INSERT OR UPDATE OF doctor_id, office_id, patient_id, work_hours_from, work_hours_for, is_deleted
+    ON appointments
+    FOR EACH ROW EXECUTE FUNCTION check_appointments_cross_month_overlap();
+
+COMMENT ON FUNCTION check_appointments_cross_month_overlap() IS
+    'Запрет пересечения активных приёмов из разных секций (приёмы через границу месяца)';
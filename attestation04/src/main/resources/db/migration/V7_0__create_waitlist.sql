@@ -0,0 +1,38 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Лист ожидания: пациенты, ожидающие освободившегося слота у врача или по специализации
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id BIGSERIAL PRIMARY KEY,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT,
+    specialization_id BIGINT,
+    urgency VARCHAR(16) NOT NULL,
+    earliest TIMESTAMP,
+    latest TIMESTAMP,
+    status VARCHAR(16) NOT NULL,
+    hold_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id) ON DELETE CASCADE,
+    FOREIGN KEY (specialization_id) REFERENCES specializations(id) ON DELETE CASCADE,
+    FOREIGN KEY (hold_id) REFERENCES slot_holds(id) ON DELETE SET NULL,
+    CONSTRAINT waitlist_entries_target CHECK ((doctor_id IS NULL) <> (specialization_id IS NULL)),
+    CONSTRAINT waitlist_entries_window CHECK (earliest IS NULL OR latest IS NULL OR latest > earliest)
+);
+
+-- Восстановление очередей при запуске и сверка выданных предложений
+CREATE INDEX IF NOT EXISTS idx_waitlist_entries_waiting ON waitlist_entries (created_at) WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS idx_waitlist_entries_offered ON waitlist_entries (hold_id) WHERE status = 'OFFERED';
+
+COMMENT ON TABLE waitlist_entries IS 'Лист ожидания освободившихся слотов';
+COMMENT ON COLUMN waitlist_entries.id IS 'Идентификатор записи листа ожидания';
+COMMENT ON COLUMN waitlist_entries.patient_id IS 'Идентификатор пациента';
+COMMENT ON COLUMN waitlist_entries.doctor_id IS 'Идентификатор врача (если пациент ждёт конкретного врача)';
+COMMENT ON COLUMN waitlist_entries.specialization_id IS 'Идентификатор специализации (если подходит любой врач)';
+COMMENT ON COLUMN waitlist_entries.urgency IS 'Срочность: ROUTINE, SOON, URGENT';
+COMMENT ON COLUMN waitlist_entries.earliest IS 'Самое раннее подходящее время приёма';
+COMMENT ON COLUMN waitlist_entries.latest IS 'Самое позднее подходящее время окончания приёма';
+COMMENT ON COLUMN waitlist_entries.status IS 'Статус: WAITING, OFFERED, FULFILLED, CANCELLED';
+COMMENT ON COLUMN waitlist_entries.hold_id IS 'Бронь слота, предложенного пациенту';
+COMMENT ON COLUMN waitlist_entries.created_at IS 'Время постановки в лист ожидания';
@@ -0,0 +1,18 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Состояние доставки напоминаний о приёме: момент отправки или NULL, если напоминание ещё не отправлено.
+-- Столбцы добавляются в секционированную таблицу и распространяются на все секции.
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS reminder_24h_sent_at TIMESTAMP;
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS reminder_2h_sent_at TIMESTAMP;
+
+COMMENT ON COLUMN appointments.reminder_24h_sent_at IS 'Момент отправки напоминания за сутки до приёма';
+COMMENT ON COLUMN appointments.reminder_2h_sent_at IS 'Момент отправки напоминания за два часа до приёма';
+
+-- Индекс для рассылки напоминаний: активные приёмы по времени начала.
+-- Рассылка читает приёмы пакетами по интервалам времени начала, не затрагивая удалённые.
+CREATE INDEX IF NOT EXISTS idx_appointments_from_active
+    ON appointments (work_hours_from)
+    WHERE is_deleted = false;
+
+COMMENT ON INDEX idx_appointments_from_active IS 'Активные приёмы по времени начала для рассылки напоминаний';
@@ -0,0 +1,9 @@
+-- Установка схемы
+SET search_path TO clinic_db;
+
+-- Индекс для ленты пациента: история карты по убыванию момента изменения.
+-- Страница ленты читается диапазонным сканированием без сортировки.
+CREATE INDEX IF NOT EXISTS idx_patient_cards_history_card_changed
+    ON patient_cards_history (card_id, changed_at DESC, id DESC);
+
+COMMENT ON INDEX idx_patient_cards_history_card_changed IS 'История карты по убыванию момента изменения';
@@ -5,7 +5,9 @@ import lombok.SneakyThrows;
 import org.dariaob.Attestation04Application;
 import org.dariaob.TestWithContainer;
 import org.dariaob.controllers.AppointmentsController;
+import org.dariaob.dto.appointments.AppointmentBatchResultDto;
 import org.dariaob.dto.appointments.AppointmentResponseDto;
+import org.dariaob.exceptions.ConflictException;
 import org.dariaob.models.*;
 import org.dariaob.repositories.UsersRepository;
 import org.dariaob.security.jwt.JwtFilter;
@@ -33,8 +35,13 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -58,6 +65,11 @@ public class AppointmentsControllerTest extends TestWithContainer {
     @MockitoBean
     private AppointmentsService appointmentsService;
 
+    private static final String CREATE_REQUEST = """
+            {"doctorId": 1, "patientId": 1, "officeId": 1,
+             "workHoursFrom": "2030-01-07T10:00:00", "workHoursFor": "2030-01-07T10:30:00"}
+            """;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     private MockMvc mockMvc;
@@ -91,6 +103,66 @@ public class AppointmentsControllerTest extends TestWithContainer {
                 .andExpect(MockMvcResultMatchers.content().string(expected));
     }
 
+    /**
+     * Gets active appointments page test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Appointments - Controller - Get active page")
+    public void getActiveAppointmentsPageTest() {
+        Mockito.when(appointmentsService.getActiveAppointmentsPage(null, 1))
+                .thenReturn(List.of(getAppointmentForTest()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/appointments/active").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+
+        Mockito.when(appointmentsService.getActiveAppointmentsPage(1L, 10))
+                .thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/appointments/active")
+                        .param("after", "1")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        Mockito.when(appointmentsService.getActiveAppointmentsPage(1L, AppointmentsService.DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/appointments/active").param("after", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+        Mockito.verify(appointmentsService, Mockito.never()).getAllActiveAppointments();
+    }
+
+    /**
+     * Stream all active appointments test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Appointments - Controller - Stream all active")
+    @SuppressWarnings("unchecked")
+    public void streamAllActiveAppointmentsTest() {
+        Appointments appointment = getAppointmentForTest();
+        Mockito.doAnswer(invocation -> {
+            Consumer<Appointments> consumer = invocation.getArgument(0);
+            consumer.accept(appointment);
+            consumer.accept(appointment);
+            return null;
+        }).when(appointmentsService).streamAllActiveAppointments(any(Consumer.class));
+
+        var result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/appointments/active/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     /**
      * Gets active appointment by id test.
      */
@@ -109,6 +181,104 @@ public class AppointmentsControllerTest extends TestWithContainer {
                 .andExpect(MockMvcResultMatchers.content().string(expected));
     }
 
+    /**
+     * Create appointment test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Appointments - Controller - Create")
+    public void createAppointmentTest() {
+        Appointments appointment = getAppointmentForTest();
+        Mockito.when(appointmentsService.createAppointment(any())).thenReturn(1L);
+        Mockito.when(appointmentsService.getActiveAppointmentById(1L)).thenReturn(appointment);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/appointments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    /**
+     * Create appointment overlap test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Appointments - Controller - Create - Overlap")
+    public void createAppointmentOverlapTest() {
+        Mockito.when(appointmentsService.createAppointment(any()))
+                .thenThrow(new ConflictException("Время приёма пересекается с другим приёмом врача, кабинета или пациента."));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/appointments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_REQUEST))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("CONFLICT"));
+    }
+
+    /**
+     * Create appointments batch test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Appointments - Controller - Create batch")
+    public void createAppointmentsBatchTest() {
+        Mockito.when(appointmentsService.createAppointments(any())).thenReturn(List.of(
+                AppointmentBatchResultDto.created(0, 1L),
+                AppointmentBatchResultDto.rejected(1, AppointmentBatchResultDto.Status.CONFLICT,
+                        "Время приёма пересекается с другим приёмом врача в этом пакете.")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/appointments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + CREATE_REQUEST + "," + CREATE_REQUEST + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].appointmentId").value(1))
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"));
+    }
+
+    /**
+     * Reschedule appointments test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Appointments - Controller - Reschedule")
+    public void rescheduleAppointmentsTest() {
+        Mockito.when(appointmentsService.rescheduleDoctorAppointments(any())).thenReturn(List.of(1L, 2L));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/appointments/reschedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"doctorId": 1, "targetDoctorId": 2,
+                                 "from": "2030-01-07T00:00:00", "to": "2030-01-10T00:00:00"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved").value(2))
+                .andExpect(jsonPath("$.appointmentIds[1]").value(2));
+    }
+
+    /**
+     * Get appointments by office in range test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Appointments - Controller - Get by office in range")
+    public void getAppointmentsByOfficeInRangeTest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 7, 0, 0);
+        Mockito.when(appointmentsService.getActiveAppointmentsByOfficeInRange(3L, from, from.plusDays(1)))
+                .thenReturn(List.of(getAppointmentForTest()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/appointments/office/3")
+                        .param("from", "2030-01-07T00:00:00")
+                        .param("to", "2030-01-08T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     /**
      * Soft delete appointment test.
      */
@@ -193,7 +363,9 @@ public class AppointmentsControllerTest extends TestWithContainer {
                 false,
                 new PatientCards(10L, null, null, null, false, patients),
                 123456L,
-                new Offices(5L, "A101", false)
+                new Offices(5L, "A101", false),
+                null,
+                null
         );
     }
 
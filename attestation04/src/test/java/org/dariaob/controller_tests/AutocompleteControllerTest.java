@@ -0,0 +1,105 @@
+package org.dariaob.controller_tests;
+
+import org.dariaob.Attestation04Application;
+import org.dariaob.controllers.AutocompleteController;
+import org.dariaob.dto.autocomplete.AutocompleteItemDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.AutocompleteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Autocomplete controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        AutocompleteController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class AutocompleteControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private AutocompleteService autocompleteService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Complete test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Autocomplete - Controller - Complete")
+    public void completeTest() throws Exception {
+        AutocompleteItemDto item = new AutocompleteItemDto(AutocompleteItemDto.Type.DOCTOR, 1L, "Иванов Иван");
+        Mockito.when(autocompleteService.complete("иван", List.of(AutocompleteItemDto.Type.DOCTOR), 5))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/autocomplete")
+                        .param("q", "иван")
+                        .param("types", "DOCTOR")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("DOCTOR"))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Иванов Иван"));
+    }
+
+    /**
+     * Complete bad request test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Autocomplete - Controller - Complete - Bad request")
+    public void completeBadRequestTest() throws Exception {
+        Mockito.when(autocompleteService.complete("иван", null, 100))
+                .thenThrow(new BadFormatException("Количество подсказок должно быть от 1 до 50."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/autocomplete")
+                        .param("q", "иван")
+                        .param("limit", "100"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,104 @@
+package org.dariaob.controller_tests;
+
+import org.dariaob.Attestation04Application;
+import org.dariaob.controllers.AvailabilityController;
+import org.dariaob.dto.availability.FreeSlotDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.AvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Availability controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        AvailabilityController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class AvailabilityControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private AvailabilityService availabilityService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Find free slots test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Availability - Controller - Find free slots")
+    public void findFreeSlotsTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        FreeSlotDto slot = new FreeSlotDto(1L, "Dr. Smith", 2L, start, start.plusMinutes(20));
+        Mockito.when(availabilityService.findFreeSlots(3L, 20, 14, 10)).thenReturn(List.of(slot));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/availability/free-slots")
+                        .param("specializationId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].doctorId").value(1))
+                .andExpect(jsonPath("$[0].officeId").value(2))
+                .andExpect(jsonPath("$[0].start").value("2030-01-07T09:00:00"));
+    }
+
+    /**
+     * Find free slots bad request test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Availability - Controller - Find free slots - Bad request")
+    public void findFreeSlotsBadRequestTest() throws Exception {
+        Mockito.when(availabilityService.findFreeSlots(3L, 1, 14, 10))
+                .thenThrow(new BadFormatException("Длительность слота должна быть от 5 до 480 минут."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/availability/free-slots")
+                        .param("specializationId", "3")
+                        .param("duration", "1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -8,6 +8,8 @@ import org.dariaob.Attestation04Application;
 import org.dariaob.TestWithContainer;
 import org.dariaob.controllers.DoctorScheduleController;
 import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationRequestDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationResultDto;
 import org.dariaob.models.DoctorSchedule;
 import org.dariaob.models.Doctors;
 import org.dariaob.models.Offices;
@@ -15,7 +17,13 @@ import org.dariaob.repositories.UsersRepository;
 import org.dariaob.security.jwt.JwtFilter;
 import org.dariaob.security.jwt.JwtService;
 import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.DoctorScheduleImportService;
 import org.dariaob.services.DoctorScheduleService;
+import org.dariaob.services.OfficeAllocationService;
+import org.dariaob.services.ScheduleConflictService;
+import org.dariaob.services.ScheduleMatrixService;
+import org.dariaob.dto.doctorSchedule.ScheduleConflictDto;
+import org.dariaob.dto.doctorSchedule.ScheduleImportResultDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,6 +42,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
@@ -62,6 +71,18 @@ public class DoctorScheduleControllerTest extends TestWithContainer {
     @MockitoBean
     private DoctorScheduleService doctorScheduleService;
 
+    @MockitoBean
+    private ScheduleConflictService scheduleConflictService;
+
+    @MockitoBean
+    private ScheduleMatrixService scheduleMatrixService;
+
+    @MockitoBean
+    private OfficeAllocationService officeAllocationService;
+
+    @MockitoBean
+    private DoctorScheduleImportService doctorScheduleImportService;
+
     private final ObjectMapper mapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -231,4 +252,86 @@ public class DoctorScheduleControllerTest extends TestWithContainer {
                 false
         );
     }
+
+    /**
+     * Audit test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Audit office conflicts")
+    public void auditTest() {
+        Mockito.when(scheduleConflictService.audit()).thenReturn(List.of(new ScheduleConflictDto(5L, (short) 1,
+                1L, 10L, 2L, 11L, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/doctor-schedules/audit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].officeId").value(5))
+                .andExpect(jsonPath("$[0].secondScheduleId").value(2))
+                .andExpect(jsonPath("$[0].overlapTo").value("11:00:00"));
+    }
+
+    /**
+     * Matrix test.
+     */
+    @Test
+    @DisplayName("Doctor schedule - Controller - Weekly matrix")
+    @SneakyThrows
+    public void matrixTest() {
+        Mockito.when(scheduleMatrixService.getMatrixJson())
+                .thenReturn("{\"doctors\":[{\"doctorId\":1}]}".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/doctor-schedules/matrix"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.doctors[0].doctorId").value(1));
+    }
+
+    /**
+     * Office allocation test.
+     */
+    @Test
+    @DisplayName("Doctor schedule - Controller - Office allocation")
+    @WithMockUser(roles = "ADMIN")
+    @SneakyThrows
+    public void officeAllocationTest() {
+        OfficeAllocationRequestDto request = new OfficeAllocationRequestDto(List.of(new OfficeAllocationRequestDto.Item(
+                null, 1L, (short) 1, LocalTime.of(9, 0), LocalTime.of(12, 0), null)), null, 500L);
+        Mockito.when(officeAllocationService.allocate(Mockito.any())).thenReturn(new OfficeAllocationResultDto(
+                List.of(new OfficeAllocationResultDto.Assignment(null, 1L, (short) 1,
+                        LocalTime.of(9, 0), LocalTime.of(12, 0), 5L)), 0, 1, 0));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/doctor-schedules/office-allocation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignments[0].officeId").value(5))
+                .andExpect(jsonPath("$.officeDays").value(1));
+        Mockito.verify(officeAllocationService).allocate(Mockito.argThat(r -> r.getTimeBudgetMs() == 500L
+                && r.getSchedules().size() == 1));
+    }
+
+    /**
+     * Import test.
+     */
+    @Test
+    @DisplayName("Doctor schedule - Controller - CSV import")
+    @WithMockUser(roles = "ADMIN")
+    @SneakyThrows
+    public void importTest() {
+        Mockito.when(doctorScheduleImportService.importCsv(Mockito.any()))
+                .thenReturn(new ScheduleImportResultDto(2, List.of()))
+                .thenReturn(new ScheduleImportResultDto(0, List.of(
+                        new ScheduleImportResultDto.RowError(3, "Врач с ID 9 не найден."))));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/doctor-schedules/import")
+                        .contentType("text/csv")
+                        .content("1,1,09:00,13:00,5\n2,1,13:00,17:00,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/doctor-schedules/import")
+                        .contentType("text/csv")
+                        .content("9,1,09:00,13:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
 }
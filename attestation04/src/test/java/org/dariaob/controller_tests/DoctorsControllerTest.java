@@ -3,13 +3,24 @@ package org.dariaob.controller_tests;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.dariaob.TestWithContainer;
 import org.dariaob.controllers.DoctorsController;
+import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+import org.dariaob.dto.doctors.DoctorBatchItemDto;
+import org.dariaob.dto.doctors.DoctorCalendarDto;
+import org.dariaob.dto.doctors.DoctorProfileDto;
+import org.dariaob.dto.doctors.DoctorWorkloadDto;
 import org.dariaob.dto.doctors.DoctorRequestDto;
+import org.dariaob.dto.doctors.DoctorResponseDto;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.DoctorSpecializations;
 import org.dariaob.models.Doctors;
 import org.dariaob.models.Offices;
 import org.dariaob.models.Specializations;
+import org.dariaob.services.DoctorCalendarService;
+import org.dariaob.services.DoctorProfileService;
+import org.dariaob.services.WorkloadCounterService;
+import org.dariaob.services.DoctorSearchIndexService;
 import org.dariaob.services.DoctorSpecializationsService;
+import org.dariaob.services.DoctorsBatchService;
 import org.dariaob.services.DoctorsService;
 import org.dariaob.services.OfficesService;
 import org.dariaob.services.SpecializationsService;
@@ -26,7 +37,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -60,6 +74,16 @@ public class DoctorsControllerTest extends TestWithContainer {
     private SpecializationsService specializationsService;
     @MockBean
     private DoctorSpecializationsService doctorSpecializationsService;
+    @MockBean
+    private DoctorCalendarService doctorCalendarService;
+    @MockBean
+    private DoctorSearchIndexService doctorSearchIndexService;
+    @MockBean
+    private DoctorsBatchService doctorsBatchService;
+    @MockBean
+    private DoctorProfileService doctorProfileService;
+    @MockBean
+    private WorkloadCounterService workloadCounterService;
 
     /**
      * Sets .
@@ -90,6 +114,27 @@ public class DoctorsControllerTest extends TestWithContainer {
         return doctor;
     }
 
+    /**
+     * Search doctors test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Doctors - Controller - Search by criteria")
+    void searchDoctorsTest() throws Exception {
+        when(doctorSearchIndexService.findDoctors(List.of(1L, 2L), (short) 2, 1L))
+                .thenReturn(List.of(new DoctorResponseDto(createTestDoctor(false), Set.of("Кардиолог"))));
+
+        mockMvc.perform(get("/api/v1/doctors/search")
+                        .param("specializationIds", "1", "2")
+                        .param("dayOfWeek", "2")
+                        .param("officeId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].specializations[0]", is("Кардиолог")));
+    }
+
     /**
      * Gets doctor by id test.
      *
@@ -126,6 +171,74 @@ public class DoctorsControllerTest extends TestWithContainer {
                 .andExpect(jsonPath("$.message", containsString("not found")));
     }
 
+    /**
+     * Get doctor profile test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Doctors - Controller - Profile - Success")
+    void getDoctorProfileTest() throws Exception {
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        doctor.setName("Dr. House");
+        DoctorProfileDto profile = new DoctorProfileDto(new DoctorResponseDto(doctor, Set.of("Кардиолог")),
+                LocalDate.of(2030, 1, 7), List.of(new DoctorScheduleDto(3L, 1L, (short) 1,
+                LocalTime.of(9, 0), LocalTime.of(13, 0), null)), 2, 5, 9);
+        when(doctorProfileService.getProfile(1L)).thenReturn(profile);
+
+        mockMvc.perform(get("/api/v1/doctors/1/profile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.doctor.name", is("Dr. House")))
+                .andExpect(jsonPath("$.doctor.specializations[0]", is("Кардиолог")))
+                .andExpect(jsonPath("$.weekStart", is("2030-01-07")))
+                .andExpect(jsonPath("$.weekSchedule[0].startTime", is("09:00:00")))
+                .andExpect(jsonPath("$.appointmentsThisWeek", is(5)));
+        verifyNoInteractions(doctorsService, doctorSpecializationsService);
+    }
+
+    /**
+     * Get doctors workload test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Doctors - Controller - Workload - Success")
+    void getDoctorsWorkloadTest() throws Exception {
+        when(workloadCounterService.getWorkload()).thenReturn(List.of(
+                new DoctorWorkloadDto(1L, 2, 5), new DoctorWorkloadDto(3L, 0, 1)));
+
+        mockMvc.perform(get("/api/v1/doctors/workload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].doctorId", is(1)))
+                .andExpect(jsonPath("$[0].today", is(2)))
+                .andExpect(jsonPath("$[1].thisWeek", is(1)));
+        verifyNoInteractions(doctorsService);
+    }
+
+    /**
+     * Get doctor calendar test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Doctors - Controller - Calendar - ETag and 304")
+    void getDoctorCalendarTest() throws Exception {
+        byte[] body = "BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8);
+        when(doctorCalendarService.getCalendar(1L)).thenReturn(new DoctorCalendarDto(body, "\"abc\""));
+
+        mockMvc.perform(get("/api/v1/doctors/1/calendar.ics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+                .andExpect(content().bytes(body));
+
+        mockMvc.perform(get("/api/v1/doctors/1/calendar.ics").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
     /**
      * Create doctor test.
      *
@@ -159,6 +272,37 @@ public class DoctorsControllerTest extends TestWithContainer {
                 .andExpect(jsonPath("$.name", is("Dr. New")));
     }
 
+    /**
+     * Save doctors batch test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doctors - Controller - Save doctors batch - Success")
+    void saveDoctorsBatchTest() throws Exception {
+        DoctorBatchItemDto item = new DoctorBatchItemDto();
+        item.setName("Dr. New");
+        item.setPhone("987654321");
+        item.setOfficeId(1L);
+        item.setSpecializationIds(Set.of(1L));
+
+        Doctors savedDoctor = item.toEntity();
+        savedDoctor.setId(2L);
+        savedDoctor.setOffice(new Offices(1L, "A101", false));
+        when(doctorsBatchService.saveAll(anyList()))
+                .thenReturn(List.of(new DoctorResponseDto(savedDoctor, Set.of("Кардиолог"))));
+
+        mockMvc.perform(post("/api/v1/doctors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(item))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].specializations[0]", is("Кардиолог")));
+        verify(doctorsBatchService).saveAll(argThat(items -> items.size() == 1 && items.get(0).getId() == null));
+        verifyNoInteractions(doctorSpecializationsService);
+    }
+
     /**
      * Create doctor forbidden test.
      *
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.dariaob.Attestation04Application;
 import org.dariaob.controllers.PatientsController;
 import org.dariaob.dto.patients.PatientDto;
+import org.dariaob.dto.patients.PatientTimelineItemDto;
+import org.dariaob.dto.patients.PatientTimelinePageDto;
 import org.dariaob.models.PatientCards;
 import org.dariaob.models.Patients;
 import org.dariaob.repositories.UsersRepository;
@@ -13,6 +15,7 @@ import org.dariaob.security.jwt.JwtFilter;
 import org.dariaob.security.jwt.JwtService;
 import org.dariaob.security.users.UsersDetailsServiceImpl;
 import org.dariaob.services.PatientCardsService;
+import org.dariaob.services.PatientTimelineService;
 import org.dariaob.services.PatientsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -34,6 +37,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -63,6 +67,9 @@ public class PatientsControllerTest {
     @MockitoBean
     private PatientCardsService patientCardsService;
 
+    @MockitoBean
+    private PatientTimelineService patientTimelineService;
+
     private final ObjectMapper mapper =  new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -251,4 +258,29 @@ public class PatientsControllerTest {
         dto.setDeleted(patient.isDeleted());
         return dto;
     }
+
+    /**
+     * Get patient timeline test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Patients - Controller - Timeline")
+    public void getPatientTimelineTest() throws Exception {
+        PatientTimelineItemDto item = new PatientTimelineItemDto();
+        item.setType(PatientTimelineItemDto.Type.CARD_CHANGE);
+        item.setId(7L);
+        item.setAt(LocalDateTime.of(2030, 1, 7, 9, 0));
+        item.setNewDiagnosis("Грипп");
+        Mockito.when(patientTimelineService.getTimeline(1L, "2030-02-01T10:00~APPOINTMENT~5", 1))
+                .thenReturn(new PatientTimelinePageDto(List.of(item), "2030-01-07T09:00~CARD_CHANGE~7"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/patients/1/timeline")
+                        .param("before", "2030-02-01T10:00~APPOINTMENT~5")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].type").value("CARD_CHANGE"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].newDiagnosis").value("Грипп"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("2030-01-07T09:00~CARD_CHANGE~7"));
+    }
 }
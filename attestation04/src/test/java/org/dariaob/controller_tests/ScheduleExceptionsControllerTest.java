@@ -0,0 +1,134 @@
+package org.dariaob.controller_tests;
+
+import lombok.SneakyThrows;
+import org.dariaob.Attestation04Application;
+import org.dariaob.TestWithContainer;
+import org.dariaob.controllers.ScheduleExceptionsController;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.ScheduleExceptionType;
+import org.dariaob.models.ScheduleExceptions;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.ScheduleExceptionsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Schedule exceptions controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        ScheduleExceptionsController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class ScheduleExceptionsControllerTest extends TestWithContainer {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private ScheduleExceptionsService scheduleExceptionsService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private ScheduleExceptions createTestException() {
+        Doctors doctor = new Doctors();
+        doctor.setId(3L);
+        ScheduleExceptions exception = new ScheduleExceptions();
+        exception.setId(10L);
+        exception.setDoctor(doctor);
+        exception.setType(ScheduleExceptionType.VACATION);
+        exception.setDateFrom(LocalDate.of(2030, 1, 7));
+        exception.setDateTo(LocalDate.of(2030, 1, 20));
+        return exception;
+    }
+
+    /**
+     * Create exception test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Schedule exceptions - Controller - Create")
+    public void createTest() {
+        Mockito.when(scheduleExceptionsService.create(any())).thenReturn(createTestException());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/schedule-exceptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"doctorId\": 3, \"type\": \"VACATION\", \"dateFrom\": \"2030-01-07\", \"dateTo\": \"2030-01-20\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.doctorId").value(3))
+                .andExpect(jsonPath("$.dateTo").value("2030-01-20"));
+    }
+
+    /**
+     * Find exceptions test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Schedule exceptions - Controller - Find in range")
+    public void findTest() {
+        Mockito.when(scheduleExceptionsService.find(3L, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31)))
+                .thenReturn(List.of(createTestException()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/schedule-exceptions")
+                        .param("doctorId", "3")
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("VACATION"));
+    }
+
+    /**
+     * Delete requires admin test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Schedule exceptions - Controller - Delete requires authentication")
+    public void deleteUnauthorizedTest() {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/schedule-exceptions/10"))
+                .andExpect(status().is4xxClientError());
+        Mockito.verifyNoInteractions(scheduleExceptionsService);
+    }
+}
@@ -0,0 +1,165 @@
+package org.dariaob.controller_tests;
+
+import lombok.SneakyThrows;
+import org.dariaob.Attestation04Application;
+import org.dariaob.TestWithContainer;
+import org.dariaob.controllers.SlotHoldsController;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.SlotHoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Slot holds controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        SlotHoldsController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class SlotHoldsControllerTest extends TestWithContainer {
+
+    private static final String HOLD_REQUEST = """
+            {"doctorId": 1, "officeId": 2, "ttlMinutes": 5,
+             "workHoursFrom": "2030-01-07T10:00:00", "workHoursFor": "2030-01-07T10:30:00"}
+            """;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private SlotHoldService slotHoldService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private SlotHolds createTestHold(SlotHoldStatus status) {
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        Offices office = new Offices();
+        office.setId(2L);
+        SlotHolds hold = new SlotHolds();
+        hold.setId(7L);
+        hold.setDoctor(doctor);
+        hold.setOffice(office);
+        hold.setHoldFrom(LocalDateTime.of(2030, 1, 7, 10, 0));
+        hold.setHoldTo(LocalDateTime.of(2030, 1, 7, 10, 30));
+        hold.setExpiresAt(LocalDateTime.of(2030, 1, 6, 9, 5));
+        hold.setStatus(status);
+        return hold;
+    }
+
+    /**
+     * Hold test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Slot holds - Controller - Hold")
+    public void holdTest() {
+        Mockito.when(slotHoldService.hold(eq(1L), eq(2L), any(), any(), eq(5)))
+                .thenReturn(createTestHold(SlotHoldStatus.ACTIVE));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/slot-holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    /**
+     * Hold conflict test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Slot holds - Controller - Hold - Conflict")
+    public void holdConflictTest() {
+        Mockito.when(slotHoldService.hold(any(), any(), any(), any(), any()))
+                .thenThrow(new ConflictException("Интервал уже занят приёмом или другой бронью."));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/slot-holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Confirm test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Slot holds - Controller - Confirm")
+    public void confirmTest() {
+        SlotHolds hold = createTestHold(SlotHoldStatus.CONFIRMED);
+        hold.setAppointmentId(42L);
+        Mockito.when(slotHoldService.confirm(7L, 3L, null)).thenReturn(hold);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/slot-holds/7/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientId\": 3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.appointmentId").value(42));
+    }
+
+    /**
+     * Cancel test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Slot holds - Controller - Cancel")
+    public void cancelTest() {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/slot-holds/7"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(slotHoldService).cancel(7L);
+    }
+}
@@ -0,0 +1,138 @@
+package org.dariaob.controller_tests;
+
+import lombok.SneakyThrows;
+import org.dariaob.Attestation04Application;
+import org.dariaob.TestWithContainer;
+import org.dariaob.controllers.WaitlistController;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Patients;
+import org.dariaob.models.WaitlistEntries;
+import org.dariaob.models.WaitlistStatus;
+import org.dariaob.models.WaitlistUrgency;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Waitlist controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        WaitlistController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class WaitlistControllerTest extends TestWithContainer {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private WaitlistService waitlistService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private WaitlistEntries createTestEntry(WaitlistStatus status) {
+        Patients patient = new Patients();
+        patient.setId(3L);
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        WaitlistEntries entry = new WaitlistEntries();
+        entry.setId(5L);
+        entry.setPatient(patient);
+        entry.setDoctor(doctor);
+        entry.setUrgency(WaitlistUrgency.URGENT);
+        entry.setStatus(status);
+        entry.setCreatedAt(LocalDateTime.of(2030, 1, 7, 9, 0));
+        return entry;
+    }
+
+    /**
+     * Join test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Waitlist - Controller - Join")
+    public void joinTest() {
+        Mockito.when(waitlistService.join(any())).thenReturn(createTestEntry(WaitlistStatus.WAITING));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientId\": 3, \"doctorId\": 1, \"urgency\": \"URGENT\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+    }
+
+    /**
+     * Get by id test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Waitlist - Controller - Get by ID")
+    public void getByIdTest() {
+        WaitlistEntries entry = createTestEntry(WaitlistStatus.OFFERED);
+        entry.setHoldId(50L);
+        Mockito.when(waitlistService.getById(5L)).thenReturn(entry);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/waitlist/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").value(50))
+                .andExpect(jsonPath("$.doctorId").value(1));
+    }
+
+    /**
+     * Cancel test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Waitlist - Controller - Cancel")
+    public void cancelTest() {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/waitlist/5"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(waitlistService).cancel(5L);
+    }
+}
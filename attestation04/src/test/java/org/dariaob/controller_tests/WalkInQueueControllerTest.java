@@ -0,0 +1,118 @@
+package org.dariaob.controller_tests;
+
+import lombok.SneakyThrows;
+import org.dariaob.Attestation04Application;
+import org.dariaob.TestWithContainer;
+import org.dariaob.controllers.WalkInQueueController;
+import org.dariaob.dto.walkIn.WalkInPositionDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.dariaob.repositories.UsersRepository;
+import org.dariaob.security.jwt.JwtFilter;
+import org.dariaob.security.jwt.JwtService;
+import org.dariaob.security.users.UsersDetailsServiceImpl;
+import org.dariaob.services.WalkInQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The type Walk-in queue controller test.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = {
+        WalkInQueueController.class,
+        JwtService.class,
+        UsersDetailsServiceImpl.class,
+        JwtFilter.class,
+        UsersRepository.class
+})
+@ContextConfiguration(classes = Attestation04Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class WalkInQueueControllerTest extends TestWithContainer {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private WalkInQueueService walkInQueueService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Enqueue test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Walk-in queue - Controller - Enqueue")
+    public void enqueueTest() {
+        Mockito.when(walkInQueueService.enqueue(5L, "Иванов"))
+                .thenReturn(new WalkInTicketDto(5L, 12L, "Иванов", LocalDateTime.of(2030, 1, 7, 9, 0)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/offices/5/walk-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"label\": \"Иванов\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.number").value(12));
+    }
+
+    /**
+     * Call next on empty queue test.
+     */
+    @Test
+    @SneakyThrows
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Walk-in queue - Controller - Call next on empty queue")
+    public void callNextEmptyTest() {
+        Mockito.when(walkInQueueService.callNext(5L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/offices/5/walk-in/next"))
+                .andExpect(status().isNoContent());
+    }
+
+    /**
+     * Position test.
+     */
+    @Test
+    @SneakyThrows
+    @DisplayName("Walk-in queue - Controller - Position")
+    public void positionTest() {
+        Mockito.when(walkInQueueService.position(5L, 12L)).thenReturn(new WalkInPositionDto(5L, 12L, true, 3L));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/offices/5/walk-in/12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.waiting").value(true))
+                .andExpect(jsonPath("$.ahead").value(3));
+    }
+}
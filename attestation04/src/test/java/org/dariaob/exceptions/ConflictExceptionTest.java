@@ -0,0 +1,16 @@
+package org.dariaob.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictExceptionTest {
+
+    @Test
+    void testExceptionMessage() {
+        String errorMessage = "Время приёма пересекается с другим приёмом";
+        ConflictException exception = new ConflictException(errorMessage);
+
+        assertEquals(errorMessage, exception.getMessage());
+    }
+}
@@ -0,0 +1,187 @@
+package org.dariaob.repository_tests;
+
+import org.dariaob.TestWithContainer;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+import org.dariaob.models.*;
+import org.dariaob.repositories.AppointmentsJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The type Appointments jdbc repository test.
+ */
+@DataJpaTest
+@Import(AppointmentsJdbcRepository.class)
+@ExtendWith(SpringExtension.class)
+@TestPropertySource("classpath:application-test.properties")
+public class AppointmentsJdbcRepositoryTest extends TestWithContainer {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentsJdbcRepository repository;
+
+    private Doctors doctor;
+    private Patients patient;
+    private Offices office;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    public void setUp() {
+        office = new Offices();
+        office.setName("Кабинет 200");
+        office.setDeleted(false);
+        entityManager.persist(office);
+
+        doctor = new Doctors();
+        doctor.setName("Доктор Хаус");
+        doctor.setPhone("+71112229999");
+        doctor.setOffice(office);
+        doctor.setDeleted(false);
+        doctor.setWorkHoursFrom(LocalDateTime.now().withHour(9).withMinute(0));
+        doctor.setWorkHoursFor(LocalDateTime.now().withHour(18).withMinute(0));
+        entityManager.persist(doctor);
+
+        PatientCards card = new PatientCards();
+        card.setSymptoms("Головная боль");
+        card.setDiagnosis("Мигрень");
+        card.setDeleted(false);
+        entityManager.persist(card);
+
+        patient = new Patients();
+        patient.setName("Пётр Петров");
+        patient.setBirthDate(LocalDate.of(1985, 2, 2));
+        patient.setPhone("+79990009999");
+        patient.setPatientCard(card);
+        patient.setDeleted(false);
+        patient.setInsuranceId(777L);
+        entityManager.persist(patient);
+
+        entityManager.flush();
+    }
+
+    /**
+     * Insert active test.
+     */
+    @Test
+    @DisplayName("Appointments - JDBC Repository - Insert active")
+    public void insertActiveTest() {
+        LocalDateTime from = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        Optional<Long> id = repository.insertActive(doctor.getId(), patient.getId(), office.getId(), null,
+                from, from, from.plusMinutes(30));
+
+        assertThat(id.isPresent(), is(true));
+        entityManager.clear();
+        Appointments saved = entityManager.find(Appointments.class, id.get());
+        assertThat(saved.isDeleted(), is(false));
+        assertThat(saved.getInsuranceId(), equalTo(777L));
+        assertThat(saved.getCard().getId(), equalTo(patient.getPatientCard().getId()));
+        assertThat(saved.getWorkHoursFor(), equalTo(from.plusMinutes(30)));
+    }
+
+    /**
+     * Insert for deleted patient test.
+     */
+    @Test
+    @DisplayName("Appointments - JDBC Repository - Insert for deleted patient")
+    public void insertForDeletedPatientTest() {
+        patient.setDeleted(true);
+        entityManager.flush();
+        LocalDateTime from = LocalDateTime.now().plusDays(3).withHour(12).withMinute(0);
+
+        Optional<Long> id = repository.insertActive(doctor.getId(), patient.getId(), office.getId(), 1L,
+                from, from, from.plusMinutes(30));
+
+        assertThat(id.isPresent(), is(false));
+    }
+
+    /**
+     * Insert active batch test.
+     */
+    @Test
+    @DisplayName("Appointments - JDBC Repository - Insert active batch")
+    public void insertActiveBatchTest() {
+        LocalDateTime from = LocalDateTime.now().plusDays(4).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        AppointmentRequestDto first = createRequest(patient.getId(), from);
+        AppointmentRequestDto unknownPatient = createRequest(-1L, from.plusHours(1));
+        AppointmentRequestDto second = createRequest(patient.getId(), from.plusHours(2));
+
+        List<Optional<Long>> ids = repository.insertActiveBatch(List.of(first, unknownPatient, second));
+
+        assertThat(ids, hasSize(3));
+        assertThat(ids.get(0).isPresent(), is(true));
+        assertThat(ids.get(1).isPresent(), is(false));
+        assertThat(ids.get(2).isPresent(), is(true));
+        entityManager.clear();
+        Appointments saved = entityManager.find(Appointments.class, ids.get(2).get());
+        assertThat(saved.getWorkHoursFrom(), equalTo(from.plusHours(2)));
+        assertThat(saved.getInsuranceId(), equalTo(777L));
+    }
+
+    /**
+     * Find due reminders and mark sent test.
+     */
+    @Test
+    @DisplayName("Appointments - JDBC Repository - Due reminders")
+    public void dueRemindersTest() {
+        LocalDateTime from = LocalDateTime.of(2031, 5, 6, 10, 0);
+        Long first = repository.insertActive(doctor.getId(), patient.getId(), office.getId(), null,
+                from, from, from.plusMinutes(30)).orElseThrow();
+        Long second = repository.insertActive(doctor.getId(), patient.getId(), office.getId(), null,
+                from, from.plusMinutes(30), from.plusMinutes(60)).orElseThrow();
+        Long third = repository.insertActive(doctor.getId(), patient.getId(), office.getId(), null,
+                from, from.plusMinutes(60), from.plusMinutes(90)).orElseThrow();
+
+        List<AppointmentReminderDto> page = repository.findDueReminders(ReminderType.DAY_BEFORE, from,
+                from.plusHours(2), from, 0L, 2);
+        assertThat(page.stream().map(AppointmentReminderDto::getAppointmentId).toList(), contains(first, second));
+        assertThat(page.get(0).getPhone(), equalTo("+79990009999"));
+        assertThat(page.get(0).getOfficeName(), equalTo("Кабинет 200"));
+
+        List<AppointmentReminderDto> next = repository.findDueReminders(ReminderType.DAY_BEFORE, from,
+                from.plusHours(2), page.get(1).getWorkHoursFrom(), second, 2);
+        assertThat(next.stream().map(AppointmentReminderDto::getAppointmentId).toList(), contains(third));
+
+        int marked = repository.markRemindersSent(ReminderType.DAY_BEFORE, List.of(first, third), LocalDateTime.now());
+        assertThat(marked, equalTo(2));
+        assertThat(repository.markRemindersSent(ReminderType.DAY_BEFORE, List.of(first), LocalDateTime.now()),
+                equalTo(0));
+
+        List<AppointmentReminderDto> pending = repository.findDueReminders(ReminderType.DAY_BEFORE, from,
+                from.plusHours(2), from, 0L, 10);
+        assertThat(pending.stream().map(AppointmentReminderDto::getAppointmentId).toList(), contains(second));
+        assertThat(repository.findDueReminders(ReminderType.TWO_HOURS_BEFORE, from, from.plusHours(2), from, 0L, 10),
+                hasSize(3));
+    }
+
+    private AppointmentRequestDto createRequest(Long patientId, LocalDateTime from) {
+        AppointmentRequestDto request = new AppointmentRequestDto();
+        request.setDoctorId(doctor.getId());
+        request.setPatientId(patientId);
+        request.setOfficeId(office.getId());
+        request.setWorkHoursFrom(from);
+        request.setWorkHoursFor(from.plusMinutes(30));
+        return request;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -18,6 +19,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -216,4 +219,140 @@ public class AppointmentsRepositoryTest extends TestWithContainer {
         boolean notExists = repository.existsOverlappingAppointment(doctorId, noOverlapFrom, noOverlapTo);
         assertThat(notExists, is(false));
     }
+
+    /**
+     * Overlap with an appointment crossing a month boundary test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Overlap with appointment from the previous month")
+    public void overlapAcrossMonthTest() {
+        LocalDateTime monthStart = LocalDate.now().plusMonths(2).withDayOfMonth(1).atStartOfDay();
+        Appointments crossing = new Appointments();
+        crossing.setDate(monthStart.minusMinutes(30));
+        crossing.setDoctor(doctor);
+        crossing.setPatient(patient);
+        crossing.setWorkHoursFrom(monthStart.minusMinutes(30));
+        crossing.setWorkHoursFor(monthStart.plusMinutes(30));
+        crossing.setDeleted(false);
+        crossing.setCard(patientCard);
+        crossing.setInsuranceId(patient.getInsuranceId());
+        crossing.setOffice(office);
+        entityManager.persist(crossing);
+        entityManager.flush();
+
+        assertThat(repository.existsOverlappingAppointment(doctorId, monthStart, monthStart.plusMinutes(15)), is(true));
+        assertThat(repository.existsOverlappingAppointment(doctorId, monthStart.plusMinutes(30), monthStart.plusHours(1)),
+                is(false));
+        assertThat(repository.findActiveOverlappingAny(Set.of(-1L), Set.of(office.getId()), Set.of(-1L),
+                        monthStart, monthStart.plusMinutes(15)).stream().map(Appointments::getId).toList(),
+                contains(crossing.getId()));
+    }
+
+    /**
+     * Move and reactivate test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Move and reactivate")
+    @Transactional
+    public void moveAndReactivateTest() {
+        Appointments original = repository.findActiveById(appointmentId1).orElseThrow();
+        LocalDateTime from = original.getWorkHoursFrom();
+        List<Appointments> found = repository.findActiveByDoctorIdStartingBetween(doctorId,
+                from.minusMinutes(1), from.plusMinutes(1));
+        assertThat(found.stream().map(Appointments::getId).toList(), contains(appointmentId1));
+
+        int moved = repository.moveAndDeactivate(List.of(appointmentId1, appointmentId2), doctorId, 90);
+        assertThat(moved, equalTo(1));
+        assertThat(repository.findActiveById(appointmentId1).isPresent(), is(false));
+
+        int reactivated = repository.reactivate(List.of(appointmentId1));
+        assertThat(reactivated, equalTo(1));
+        Appointments shifted = repository.findActiveById(appointmentId1).orElseThrow();
+        assertThat(shifted.getWorkHoursFrom().withNano(0), equalTo(from.plusMinutes(90).withNano(0)));
+        assertThat(shifted.getDoctor().getId(), equalTo(doctorId));
+    }
+
+    /**
+     * Find active by office and patient in range test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Find active by office and patient in range")
+    public void findActiveInRangeTest() {
+        LocalDateTime dayStart = LocalDateTime.now().plusDays(1).toLocalDate().atStartOfDay();
+
+        List<Appointments> byOffice = repository.findActiveByOfficeIdStartingBetween(office.getId(),
+                dayStart, dayStart.plusDays(2));
+        assertThat(byOffice.stream().map(Appointments::getId).toList(), contains(appointmentId1));
+
+        List<Appointments> byPatient = repository.findActiveByPatientIdStartingBetween(patientId,
+                dayStart.plusDays(1), dayStart.plusDays(3));
+        assertThat(byPatient, empty());
+    }
+
+    /**
+     * Count upcoming by doctor test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Count upcoming by doctor")
+    public void countUpcomingByDoctorIdTest() {
+        LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+
+        Object[] counts = repository.countUpcomingByDoctorId(doctorId, today, today.plusDays(1),
+                today.plusDays(2)).get(0);
+        assertThat(((Number) counts[0]).longValue(), is(0L));
+        assertThat(((Number) counts[1]).longValue(), is(1L));
+        assertThat(((Number) counts[2]).longValue(), is(1L));
+
+        Object[] none = repository.countUpcomingByDoctorId(-1L, today, today.plusDays(1), today.plusDays(2)).get(0);
+        assertThat(((Number) none[2]).longValue(), is(0L));
+    }
+
+    /**
+     * Count active by doctor and day between test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Count active by doctor and day")
+    public void countActiveByDoctorAndDayBetweenTest() {
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> rows = repository.countActiveByDoctorAndDayBetween(today.atStartOfDay(),
+                today.plusDays(3).atStartOfDay()).stream()
+                .filter(row -> ((Number) row[0]).longValue() == doctorId)
+                .toList();
+        assertThat(rows, hasSize(1));
+        assertThat(rows.get(0)[1], is(today.plusDays(1)));
+        assertThat(((Number) rows.get(0)[2]).longValue(), is(1L));
+    }
+
+    /**
+     * Find active page test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Find active page by cursor")
+    public void findActivePageTest() {
+        List<Appointments> firstPage = repository.findActivePage(0L, Limit.of(1));
+        assertThat(firstPage, hasSize(1));
+
+        Long cursor = firstPage.get(0).getId();
+        List<Appointments> nextPage = repository.findActivePage(cursor, Limit.of(100));
+        assertThat(nextPage.stream().allMatch(a -> a.getId() > cursor && !a.isDeleted()), is(true));
+        assertThat(nextPage.stream().anyMatch(a -> a.getId().equals(appointmentId2)), is(false));
+
+        List<Appointments> lastPage = repository.findActivePage(appointmentId1, Limit.of(100));
+        assertThat(lastPage.stream().anyMatch(a -> a.getId() <= appointmentId1), is(false));
+    }
+
+    /**
+     * Stream all active test.
+     */
+    @Test
+    @DisplayName("Appointments - Repository - Stream all active")
+    @Transactional
+    public void streamAllActiveTest() {
+        try (Stream<Appointments> stream = repository.streamAllActive()) {
+            List<Appointments> appointments = stream.toList();
+            assertThat(appointments, hasSize(repository.findAllActive().size()));
+            assertThat(appointments.stream().noneMatch(Appointments::isDeleted), is(true));
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package org.dariaob.repository_tests;
+
+import org.dariaob.TestWithContainer;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleJdbcRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The type Doctor schedule jdbc repository test.
+ */
+@DataJpaTest
+@Import(DoctorScheduleJdbcRepository.class)
+@ExtendWith(SpringExtension.class)
+@TestPropertySource("classpath:application-test.properties")
+public class DoctorScheduleJdbcRepositoryTest extends TestWithContainer {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DoctorScheduleJdbcRepository repository;
+
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Autowired
+    private DoctorsRepository doctorsRepository;
+
+    @Autowired
+    private OfficesRepository officesRepository;
+
+    private Doctors doctor;
+    private Offices office;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    public void setUp() {
+        office = new Offices();
+        office.setName("Кабинет 300");
+        office.setDeleted(false);
+        entityManager.persist(office);
+
+        doctor = new Doctors();
+        doctor.setName("Доктор Айболит");
+        doctor.setPhone("+71112223344");
+        doctor.setOffice(office);
+        doctor.setDeleted(false);
+        doctor.setWorkHoursFrom(LocalDateTime.now().withHour(9).withMinute(0));
+        doctor.setWorkHoursFor(LocalDateTime.now().withHour(18).withMinute(0));
+        entityManager.persist(doctor);
+
+        entityManager.flush();
+    }
+
+    /**
+     * Insert batch test.
+     */
+    @Test
+    @DisplayName("DoctorSchedule - JDBC Repository - Insert batch")
+    public void insertBatchTest() {
+        List<DoctorSchedule> schedules = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Doctors ref = new Doctors();
+            ref.setId(doctor.getId());
+            schedules.add(new DoctorSchedule(null, ref, (short) (i % 7 + 1), LocalTime.of(8, 0).plusMinutes(i),
+                    LocalTime.of(8, 0).plusMinutes(i + 1), i == 0 ? new Offices(office.getId(), null, false) : null,
+                    false));
+        }
+
+        int inserted = repository.insertBatch(schedules);
+
+        assertThat(inserted, equalTo(600));
+        entityManager.clear();
+        List<DoctorSchedule> saved = doctorScheduleRepository.findActiveByDoctorIds(List.of(doctor.getId()));
+        assertThat(saved, hasSize(600));
+        assertThat(saved.stream().filter(s -> s.getOffice() != null).count(), equalTo(1L));
+    }
+
+    /**
+     * Find active ids test.
+     */
+    @Test
+    @DisplayName("DoctorSchedule - JDBC Repository - Find active doctor and office ids")
+    public void findActiveIdsTest() {
+        assertThat(doctorsRepository.findActiveIds(List.of(doctor.getId(), -1L)), contains(doctor.getId()));
+        assertThat(officesRepository.findActiveIds(List.of(office.getId(), -1L)), contains(office.getId()));
+    }
+}
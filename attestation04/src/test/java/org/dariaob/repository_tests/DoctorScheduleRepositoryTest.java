@@ -41,6 +41,7 @@ public class DoctorScheduleRepositoryTest extends TestWithContainer {
     private Long scheduleId1;
     private Long scheduleId2;
     private Long doctorId;
+    private Long officeId;
 
     /**
      * Sets up.
@@ -51,6 +52,7 @@ public class DoctorScheduleRepositoryTest extends TestWithContainer {
         office.setName("Кабинет 101");
         office.setDeleted(false);
         entityManager.persist(office);
+        officeId = office.getId();
 
         Doctors doctor = new Doctors();
         doctor.setName("Доктор Кто");
@@ -164,4 +166,30 @@ public class DoctorScheduleRepositoryTest extends TestWithContainer {
         assertThat(schedule.isPresent(), is(true));
         assertThat(schedule.get().isDeleted(), is(false));
     }
+
+    /**
+     * Find active by office and day test.
+     */
+    @Test
+    @DisplayName("DoctorSchedule - Repository - Find active by office and day test")
+    public void findActiveByOfficeAndDayTest() {
+        List<DoctorSchedule> schedules = repository.findActiveByOfficeAndDay(officeId, (short) 1);
+        assertThat(schedules.stream().map(DoctorSchedule::getId).toList(), contains(scheduleId1));
+        assertThat(repository.findActiveByOfficeAndDay(officeId, (short) 3), empty());
+        assertThat(repository.findAllActiveWithOffice().stream().map(DoctorSchedule::getId).toList(),
+                hasItems(scheduleId1, scheduleId2));
+    }
+
+    /**
+     * Find all active ordered by doctor and day test.
+     */
+    @Test
+    @DisplayName("DoctorSchedule - Repository - Find all active ordered by doctor and day test")
+    public void findAllActiveOrderedByDoctorAndDayTest() {
+        List<DoctorSchedule> schedules = repository.findAllActiveOrderedByDoctorAndDay().stream()
+                .filter(s -> s.getDoctor().getId().equals(doctorId))
+                .toList();
+        assertThat(schedules.stream().map(DoctorSchedule::getId).toList(), contains(scheduleId1, scheduleId2));
+        assertThat(schedules.get(0).getOffice().getName(), equalTo("Кабинет 101"));
+    }
 }
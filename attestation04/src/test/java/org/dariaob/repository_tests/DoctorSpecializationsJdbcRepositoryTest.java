@@ -0,0 +1,114 @@
+package org.dariaob.repository_tests;
+
+import org.dariaob.TestWithContainer;
+import org.dariaob.models.DoctorSpecializationId;
+import org.dariaob.models.DoctorSpecializations;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.DoctorSpecializationsJdbcRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The type Doctor specializations jdbc repository test.
+ */
+@DataJpaTest
+@Import(DoctorSpecializationsJdbcRepository.class)
+@ExtendWith(SpringExtension.class)
+@TestPropertySource("classpath:application-test.properties")
+public class DoctorSpecializationsJdbcRepositoryTest extends TestWithContainer {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DoctorSpecializationsJdbcRepository repository;
+
+    @Autowired
+    private DoctorSpecializationsRepository doctorSpecializationsRepository;
+
+    @Autowired
+    private DoctorsRepository doctorsRepository;
+
+    @Autowired
+    private SpecializationsRepository specializationsRepository;
+
+    private Doctors doctor;
+    private Specializations cardiologist;
+    private Specializations surgeon;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    public void setUp() {
+        Offices office = new Offices();
+        office.setName("Кабинет 301");
+        office.setDeleted(false);
+        entityManager.persist(office);
+
+        doctor = new Doctors();
+        doctor.setName("Доктор Пакетов");
+        doctor.setPhone("+71112223355");
+        doctor.setOffice(office);
+        doctor.setDeleted(false);
+        doctor.setWorkHoursFrom(LocalDateTime.now().withHour(9).withMinute(0));
+        doctor.setWorkHoursFor(LocalDateTime.now().withHour(18).withMinute(0));
+        entityManager.persist(doctor);
+
+        cardiologist = entityManager.persist(new Specializations(null, "Кардиолог-тест", "Сердце", false));
+        surgeon = entityManager.persist(new Specializations(null, "Хирург-тест", "Операции", true));
+
+        entityManager.flush();
+    }
+
+    /**
+     * Insert and delete batch test.
+     */
+    @Test
+    @DisplayName("DoctorSpecializations - JDBC Repository - Insert and delete batch")
+    public void insertAndDeleteBatchTest() {
+        DoctorSpecializationId first = new DoctorSpecializationId(doctor.getId(), cardiologist.getId());
+        DoctorSpecializationId second = new DoctorSpecializationId(doctor.getId(), surgeon.getId());
+
+        assertThat(repository.insertBatch(List.of(first, second)), equalTo(2));
+        entityManager.clear();
+        assertThat(doctorSpecializationsRepository.findAllByIdDoctorIdIn(List.of(doctor.getId(), -1L)).stream()
+                .map(DoctorSpecializations::getId).toList(), containsInAnyOrder(first, second));
+
+        assertThat(repository.deleteBatch(List.of(second)), equalTo(1));
+        entityManager.clear();
+        assertThat(doctorSpecializationsRepository.findAllByIdDoctorId(doctor.getId()).stream()
+                .map(DoctorSpecializations::getId).toList(), contains(first));
+    }
+
+    /**
+     * Find active by ids test.
+     */
+    @Test
+    @DisplayName("DoctorSpecializations - JDBC Repository - Find active doctors and specializations by ids")
+    public void findActiveByIdsTest() {
+        assertThat(specializationsRepository.findAllActiveByIds(List.of(cardiologist.getId(), surgeon.getId()))
+                .stream().map(Specializations::getId).toList(), contains(cardiologist.getId()));
+        assertThat(doctorsRepository.findAllActiveByIds(List.of(doctor.getId(), -1L))
+                .stream().map(Doctors::getId).toList(), contains(doctor.getId()));
+    }
+}
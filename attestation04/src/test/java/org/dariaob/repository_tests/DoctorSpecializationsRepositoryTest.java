@@ -132,4 +132,21 @@ public class DoctorSpecializationsRepositoryTest extends TestWithContainer {
         boolean exists = repository.existsByIdDoctorIdAndIdSpecializationId(doctorId, specializationId1);
         assertThat(exists, is(false));
     }
+
+    /**
+     * Find active specialization names by doctor ids test.
+     */
+    @Test
+    @DisplayName("DoctorSpecializations - Repository - Active specialization names by doctor ids test")
+    @Transactional
+    public void findActiveSpecializationNamesByDoctorIdsTest() {
+        entityManager.find(Specializations.class, specializationId2).setDeleted(true);
+        entityManager.flush();
+
+        List<Object[]> rows = repository.findActiveSpecializationNamesByDoctorIds(List.of(doctorId, -1L));
+
+        assertThat(rows, hasSize(1));
+        assertThat(rows.get(0)[0], is(doctorId));
+        assertThat(rows.get(0)[1], is("Невролог"));
+    }
 }
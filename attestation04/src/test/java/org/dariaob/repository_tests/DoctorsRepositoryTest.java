@@ -2,9 +2,14 @@ package org.dariaob.repository_tests;
 
 import jakarta.transaction.Transactional;
 import org.dariaob.TestWithContainer;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.DoctorSpecializationId;
+import org.dariaob.models.DoctorSpecializations;
 import org.dariaob.models.Doctors;
 import org.dariaob.models.Offices;
+import org.dariaob.models.Specializations;
 import org.dariaob.repositories.DoctorsRepository;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,8 +21,10 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -210,4 +217,58 @@ public class DoctorsRepositoryTest extends TestWithContainer {
         assertThat(doctorDeletionStatus.get(activeDoctorId2), is(false));
         assertThat(doctorDeletionStatus.get(deletedDoctorId), is(true));
     }
+
+    /**
+     * Find active profile rows test.
+     */
+    @Test
+    @DisplayName("Doctors - Repository - Profile rows in one query")
+    public void findActiveProfileRowsTest() {
+        Doctors doctor = entityManager.find(Doctors.class, activeDoctorId1);
+        Specializations active = entityManager.persist(new Specializations(null, "Терапевт", null, false));
+        Specializations deleted = entityManager.persist(new Specializations(null, "Архивная", null, true));
+        for (Specializations specialization : List.of(active, deleted)) {
+            DoctorSpecializations link = new DoctorSpecializations();
+            link.setId(new DoctorSpecializationId(activeDoctorId1, specialization.getId()));
+            link.setDoctor(doctor);
+            link.setSpecialization(specialization);
+            entityManager.persist(link);
+        }
+        entityManager.persist(new DoctorSchedule(null, doctor, (short) 1, LocalTime.of(9, 0), LocalTime.of(12, 0),
+                null, false));
+        entityManager.persist(new DoctorSchedule(null, doctor, (short) 3, LocalTime.of(9, 0), LocalTime.of(12, 0),
+                null, false));
+        entityManager.persist(new DoctorSchedule(null, doctor, (short) 5, LocalTime.of(9, 0), LocalTime.of(12, 0),
+                null, true));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> rows = repository.findActiveProfileRows(activeDoctorId1);
+
+        assertThat(rows, hasSize(4));
+        Doctors loaded = (Doctors) rows.get(0)[0];
+        assertThat(loaded.getOffice().getName(), is("Терапевтический кабинет №1"));
+        assertThat(rows.stream().map(row -> (Specializations) row[1]).filter(Objects::nonNull)
+                .map(Specializations::getName).distinct().toList(), contains("Терапевт"));
+        assertThat(rows.stream().map(row -> ((DoctorSchedule) row[2]).getDayOfWeek()).distinct().toList(),
+                containsInAnyOrder((short) 1, (short) 3));
+        assertThat(repository.findActiveProfileRows(activeDoctorId2), hasSize(1));
+        assertThat(repository.findActiveProfileRows(deletedDoctorId), empty());
+    }
+
+    /**
+     * Find active doctors with office test.
+     */
+    @Test
+    @DisplayName("Doctors - Repository - Active doctors with office by ids")
+    public void findAllActiveWithOfficeByIdsTest() {
+        entityManager.clear();
+
+        List<Doctors> doctors = repository.findAllActiveWithOfficeByIds(
+                List.of(activeDoctorId1, activeDoctorId2, deletedDoctorId));
+
+        assertThat(doctors.stream().map(Doctors::getId).toList(),
+                containsInAnyOrder(activeDoctorId1, activeDoctorId2));
+        assertThat(doctors.stream().allMatch(doctor -> Hibernate.isInitialized(doctor.getOffice())), is(true));
+    }
 }
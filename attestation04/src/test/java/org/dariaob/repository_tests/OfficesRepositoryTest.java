@@ -106,6 +106,17 @@ public class OfficesRepositoryTest extends TestWithContainer {
         assertThat("Кабинет должен быть активным", office.get().isDeleted(), is(false));
     }
 
+    /**
+     * Lock offices in id order test.
+     */
+    @Test
+    @DisplayName("Offices - Repository - Lock offices by ids test")
+    public void lockAllByIdsTest() {
+        List<Offices> locked = repository.lockAllByIds(List.of(activeOfficeId2, activeOfficeId1));
+
+        assertThat(locked.stream().map(Offices::getId).toList(), contains(activeOfficeId1, activeOfficeId2));
+    }
+
     /**
      * Soft delete test.
      */
@@ -3,6 +3,7 @@ package org.dariaob.repository_tests;
 import org.dariaob.TestWithContainer;
 import org.dariaob.models.PatientCards;
 import org.dariaob.models.PatientCardsHistory;
+import org.dariaob.models.Patients;
 import org.dariaob.repositories.PatientCardsHistoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,9 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -128,4 +131,31 @@ public class PatientCardsHistoryRepositoryTest extends TestWithContainer {
         List<PatientCardsHistory> result = repository.findByChangedBy("ghost");
         assertThat(result, is(empty()));
     }
+
+    /**
+     * Find by patient id before cursor test.
+     */
+    @Test
+    @DisplayName("PatientCardsHistory - Repository - Find by patient before cursor")
+    public void findByPatientIdBeforeTest() {
+        Patients patient = new Patients();
+        patient.setName("Лента Тестовая");
+        patient.setBirthDate(LocalDate.of(1990, 1, 1));
+        patient.setPhone("+79995550011");
+        patient.setPatientCard(entityManager.find(PatientCards.class, cardId));
+        patient.setInsuranceId(1L);
+        entityManager.persist(patient);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PatientCardsHistory> first = repository.findByPatientIdBefore(patient.getId(),
+                LocalDateTime.now(), Long.MAX_VALUE, Limit.of(1));
+        assertThat(first, hasSize(1));
+        assertThat(first.get(0).getNewDiagnosis(), equalTo("Пневмония"));
+
+        List<PatientCardsHistory> next = repository.findByPatientIdBefore(patient.getId(),
+                first.get(0).getChangedAt(), first.get(0).getId(), Limit.of(5));
+        assertThat(next, hasSize(1));
+        assertThat(next.get(0).getNewDiagnosis(), equalTo("Грипп"));
+    }
 }
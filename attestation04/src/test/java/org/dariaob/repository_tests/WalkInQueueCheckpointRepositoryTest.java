@@ -0,0 +1,69 @@
+package org.dariaob.repository_tests;
+
+import org.dariaob.TestWithContainer;
+import org.dariaob.dto.walkIn.WalkInQueueDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.WalkInQueueCheckpointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The type Walk-in queue checkpoint repository test.
+ */
+@DataJpaTest
+@Import(WalkInQueueCheckpointRepository.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ExtendWith(SpringExtension.class)
+@TestPropertySource("classpath:application-test.properties")
+public class WalkInQueueCheckpointRepositoryTest extends TestWithContainer {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WalkInQueueCheckpointRepository repository;
+
+    /**
+     * Save and find all test.
+     */
+    @Test
+    @DisplayName("Walk-in queue - Repository - Save, update and find checkpoints")
+    public void saveAndFindAllTest() {
+        Offices office = new Offices();
+        office.setName("Кабинет 300");
+        entityManager.persist(office);
+        entityManager.flush();
+        LocalDateTime issuedAt = LocalDateTime.of(2030, 1, 7, 9, 15);
+
+        repository.saveAll(List.of(new WalkInQueueDto(office.getId(), 2L, 1L,
+                List.of(new WalkInTicketDto(office.getId(), 2L, "Иванов", issuedAt)))));
+        repository.saveAll(List.of(new WalkInQueueDto(office.getId(), 3L, 1L, List.of(
+                new WalkInTicketDto(office.getId(), 2L, "Иванов", issuedAt),
+                new WalkInTicketDto(office.getId(), 3L, null, issuedAt.plusMinutes(5))))));
+
+        WalkInQueueDto saved = repository.findAll().stream()
+                .filter(queue -> queue.getOfficeId().equals(office.getId()))
+                .findFirst().orElseThrow();
+        assertThat(saved.getLastIssued(), equalTo(3L));
+        assertThat(saved.getCalled(), equalTo(1L));
+        assertThat(saved.getWaiting().stream().map(WalkInTicketDto::getNumber).toList(), contains(2L, 3L));
+        assertThat(saved.getWaiting().get(0).getLabel(), equalTo("Иванов"));
+        assertThat(saved.getWaiting().get(0).getIssuedAt(), equalTo(issuedAt));
+    }
+}
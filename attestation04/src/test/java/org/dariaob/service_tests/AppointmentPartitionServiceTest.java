@@ -0,0 +1,75 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.services.AppointmentPartitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Appointment partition service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AppointmentPartitionServiceTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2030, 1, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AppointmentPartitionService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(service, "monthsAhead", 2);
+        ReflectionTestUtils.setField(service, "retentionMonths", 12);
+    }
+
+    /**
+     * Create future partitions test.
+     */
+    @Test
+    @DisplayName("Appointment partitions - Create future partitions")
+    public void createFuturePartitionsTest() {
+        service.createFuturePartitions(MONTH);
+
+        verify(jdbcTemplate).queryForObject("SELECT create_appointments_partition(?)", String.class,
+                Date.valueOf(LocalDate.of(2030, 1, 1)));
+        verify(jdbcTemplate).queryForObject("SELECT create_appointments_partition(?)", String.class,
+                Date.valueOf(LocalDate.of(2030, 2, 1)));
+        verify(jdbcTemplate).queryForObject("SELECT create_appointments_partition(?)", String.class,
+                Date.valueOf(LocalDate.of(2030, 3, 1)));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Archive old partitions test.
+     */
+    @Test
+    @DisplayName("Appointment partitions - Archive old partitions")
+    public void archiveOldPartitionsTest() {
+        when(jdbcTemplate.queryForObject(eq("SELECT archive_appointments_partitions(?)"), eq(Integer.class),
+                eq(Date.valueOf(LocalDate.of(2029, 1, 1))))).thenReturn(3);
+
+        int archived = service.archiveOldPartitions(MONTH);
+
+        assertThat(archived, equalTo(3));
+    }
+}
@@ -0,0 +1,200 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.reminders.AppointmentReminderDto;
+import org.dariaob.models.ReminderType;
+import org.dariaob.repositories.AppointmentsJdbcRepository;
+import org.dariaob.services.AppointmentReminderService;
+import org.dariaob.services.ReminderSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Appointment reminder service test.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AppointmentReminderServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 4, 8, 0);
+
+    @Mock
+    private AppointmentsJdbcRepository appointmentsJdbcRepository;
+
+    private InMemoryReminderSender sender;
+
+    private AppointmentReminderService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        sender = new InMemoryReminderSender(reminder -> true);
+        createService(2, 4);
+        when(appointmentsJdbcRepository.findDueReminders(any(), any(), any(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+    }
+
+    private void createService(int batchSize, int maxConcurrency) {
+        service = new AppointmentReminderService(appointmentsJdbcRepository, sender);
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        ReflectionTestUtils.setField(service, "bucketMinutes", 60);
+        ReflectionTestUtils.setField(service, "maxConcurrency", maxConcurrency);
+    }
+
+    private static AppointmentReminderDto createReminder(long id, ReminderType type, LocalDateTime from) {
+        return new AppointmentReminderDto(id, type, "Иван Иванов", "+79990000000", "Доктор Хаус",
+                "Кабинет 101", from);
+    }
+
+    /**
+     * Dispatch pages through a bucket test.
+     */
+    @Test
+    @DisplayName("Reminders - Service - Pages are sent and marked in bulk")
+    public void pagesSentAndMarkedTest() {
+        LocalDateTime bucketFrom = NOW.plusHours(2);
+        LocalDateTime bucketTo = bucketFrom.plusHours(1);
+        LocalDateTime from = bucketFrom.plusMinutes(30);
+        when(appointmentsJdbcRepository.findDueReminders(ReminderType.DAY_BEFORE, bucketFrom, bucketTo,
+                bucketFrom, 0L, 2)).thenReturn(List.of(
+                createReminder(1L, ReminderType.DAY_BEFORE, from),
+                createReminder(2L, ReminderType.DAY_BEFORE, from)));
+        when(appointmentsJdbcRepository.findDueReminders(ReminderType.DAY_BEFORE, bucketFrom, bucketTo,
+                from, 2L, 2)).thenReturn(List.of(createReminder(3L, ReminderType.DAY_BEFORE, from.plusMinutes(10))));
+
+        int sent = service.dispatch(NOW);
+
+        assertThat(sent, equalTo(3));
+        assertThat(sender.sent.stream().map(AppointmentReminderDto::getAppointmentId).toList(),
+                containsInAnyOrder(1L, 2L, 3L));
+        verify(appointmentsJdbcRepository).markRemindersSent(eq(ReminderType.DAY_BEFORE),
+                argThat(ids -> ids.containsAll(List.of(1L, 2L)) && ids.size() == 2), any());
+        verify(appointmentsJdbcRepository).markRemindersSent(eq(ReminderType.DAY_BEFORE), eq(List.of(3L)), any());
+    }
+
+    /**
+     * Windows of reminder types test.
+     */
+    @Test
+    @DisplayName("Reminders - Service - Windows of reminder types")
+    public void windowsTest() {
+        service.dispatch(NOW);
+
+        verify(appointmentsJdbcRepository, times(22)).findDueReminders(eq(ReminderType.DAY_BEFORE), any(), any(),
+                any(), anyLong(), anyInt());
+        verify(appointmentsJdbcRepository).findDueReminders(ReminderType.TWO_HOURS_BEFORE, NOW, NOW.plusHours(1),
+                NOW, 0L, 2);
+        verify(appointmentsJdbcRepository).findDueReminders(ReminderType.TWO_HOURS_BEFORE, NOW.plusHours(1),
+                NOW.plusHours(2), NOW.plusHours(1), 0L, 2);
+        verify(appointmentsJdbcRepository, never()).findDueReminders(eq(ReminderType.DAY_BEFORE),
+                argThat(from -> from.isBefore(NOW.plusHours(2))), any(), any(), anyLong(), anyInt());
+        verify(appointmentsJdbcRepository, never()).markRemindersSent(any(), argThat(ids -> !ids.isEmpty()), any());
+    }
+
+    /**
+     * Failed reminders are not marked test.
+     */
+    @Test
+    @DisplayName("Reminders - Service - Failed reminders stay pending")
+    public void failedRemindersNotMarkedTest() {
+        sender = new InMemoryReminderSender(reminder -> {
+            if (reminder.getAppointmentId() == 2L) {
+                throw new IllegalStateException("Шлюз недоступен");
+            }
+            return reminder.getAppointmentId() != 3L;
+        });
+        createService(10, 4);
+        when(appointmentsJdbcRepository.findDueReminders(eq(ReminderType.TWO_HOURS_BEFORE), eq(NOW), any(),
+                any(), anyLong(), anyInt())).thenReturn(List.of(
+                createReminder(1L, ReminderType.TWO_HOURS_BEFORE, NOW.plusMinutes(30)),
+                createReminder(2L, ReminderType.TWO_HOURS_BEFORE, NOW.plusMinutes(30)),
+                createReminder(3L, ReminderType.TWO_HOURS_BEFORE, NOW.plusMinutes(40))));
+
+        int sent = service.dispatch(NOW);
+
+        assertThat(sent, equalTo(1));
+        verify(appointmentsJdbcRepository).markRemindersSent(eq(ReminderType.TWO_HOURS_BEFORE), eq(List.of(1L)), any());
+    }
+
+    /**
+     * Concurrency limit test.
+     */
+    @Test
+    @DisplayName("Reminders - Service - Concurrency is bounded")
+    public void concurrencyBoundedTest() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        sender = new InMemoryReminderSender(reminder -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            return true;
+        });
+        createService(50, 3);
+        List<AppointmentReminderDto> page = LongStream.rangeClosed(1, 30)
+                .mapToObj(id -> createReminder(id, ReminderType.TWO_HOURS_BEFORE, NOW.plusMinutes(10)))
+                .toList();
+        when(appointmentsJdbcRepository.findDueReminders(eq(ReminderType.TWO_HOURS_BEFORE), eq(NOW), any(),
+                any(), anyLong(), anyInt())).thenReturn(page);
+
+        int sent = service.dispatch(NOW);
+
+        assertThat(sent, equalTo(30));
+        assertThat(peak.get(), lessThanOrEqualTo(3));
+        verify(appointmentsJdbcRepository).markRemindersSent(eq(ReminderType.TWO_HOURS_BEFORE),
+                argThat((Collection<Long> ids) -> ids.size() == 30), any());
+    }
+
+    /**
+     * Отправитель, сохраняющий напоминания в памяти.
+     */
+    private static class InMemoryReminderSender implements ReminderSender {
+
+        private final Queue<AppointmentReminderDto> sent = new ConcurrentLinkedQueue<>();
+        private final Predicate<AppointmentReminderDto> outcome;
+
+        InMemoryReminderSender(Predicate<AppointmentReminderDto> outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public boolean send(AppointmentReminderDto reminder) {
+            boolean delivered = outcome.test(reminder);
+            if (delivered) {
+                sent.add(reminder);
+            }
+            return delivered;
+        }
+    }
+}
@@ -1,24 +1,44 @@
 package org.dariaob.service_tests;
 
+import org.dariaob.dto.appointments.AppointmentBatchResultDto;
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.dto.appointments.AppointmentRescheduleDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.*;
+import org.dariaob.repositories.AppointmentsJdbcRepository;
 import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
 import org.dariaob.services.AppointmentsService;
+import org.dariaob.services.SlotReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +50,21 @@ public class AppointmentsServiceTest {
     @Mock
     private AppointmentsRepository repository;
 
+    @Mock
+    private AppointmentsJdbcRepository jdbcRepository;
+
+    @Mock
+    private SlotReservationService slotReservationService;
+
+    @Mock
+    private SlotHoldsRepository slotHoldsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private AppointmentsService service;
 
@@ -78,6 +113,46 @@ public class AppointmentsServiceTest {
         verify(repository, times(1)).findAllActive();
     }
 
+    /**
+     * Appointment get active page test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Get active page test")
+    public void appointmentGetActivePageTest() {
+        when(repository.findActivePage(0L, Limit.of(10))).thenReturn(List.of(testAppointment));
+
+        List<Appointments> result = service.getActiveAppointmentsPage(null, 10);
+
+        assertThat(result, hasSize(1));
+        verify(repository, times(1)).findActivePage(0L, Limit.of(10));
+    }
+
+    /**
+     * Appointment get active page invalid limit test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Get active page test - Invalid limit")
+    public void appointmentGetActivePageInvalidLimitTest() {
+        assertThrows(BadFormatException.class, () -> service.getActiveAppointmentsPage(5L, 0));
+        assertThrows(BadFormatException.class,
+                () -> service.getActiveAppointmentsPage(5L, AppointmentsService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Appointment stream all active test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Stream all active test")
+    public void appointmentStreamAllActiveTest() {
+        when(repository.streamAllActive()).thenReturn(Stream.of(testAppointment));
+
+        List<Appointments> consumed = new ArrayList<>();
+        service.streamAllActiveAppointments(consumed::add);
+
+        assertThat(consumed, contains(testAppointment));
+    }
+
     /**
      * Appointment get by id found test.
      */
@@ -117,6 +192,10 @@ public class AppointmentsServiceTest {
         service.softDeleteAppointment(1L);
 
         verify(repository, times(1)).softDelete(1L);
+        ArgumentCaptor<AppointmentChangedEvent> event = ArgumentCaptor.forClass(AppointmentChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getType(), equalTo(AppointmentChangedEvent.Type.DELETED));
+        assertThat(event.getValue().getDoctorId(), equalTo(1L));
     }
 
     /**
@@ -146,6 +225,382 @@ public class AppointmentsServiceTest {
         verify(repository, times(1)).restore(1L);
     }
 
+    /**
+     * Appointment create success test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Success")
+    public void appointmentCreateSuccessTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(slotReservationService.claim(1L, 1L, request.getWorkHoursFrom(), request.getWorkHoursFor())).thenReturn(true);
+        when(jdbcRepository.insertActive(1L, 1L, 1L, null, request.getWorkHoursFrom(),
+                request.getWorkHoursFrom(), request.getWorkHoursFor())).thenReturn(Optional.of(5L));
+
+        Long id = service.createAppointment(request);
+
+        assertThat(id, equalTo(5L));
+        ArgumentCaptor<AppointmentChangedEvent> event = ArgumentCaptor.forClass(AppointmentChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getType(), equalTo(AppointmentChangedEvent.Type.CREATED));
+        verify(repository, never()).existsOverlappingAppointment(any(), any(), any());
+    }
+
+    /**
+     * Appointment create overlap test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Overlap")
+    public void appointmentCreateOverlapTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(true);
+        when(jdbcRepository.insertActive(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("exclusion",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(ConflictException.class, () -> service.createAppointment(request));
+        verify(slotReservationService, times(1)).release(1L, 1L, request.getWorkHoursFrom(), request.getWorkHoursFor());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Appointment create slot already claimed test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Slot already claimed")
+    public void appointmentCreateSlotClaimedTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(false);
+        when(repository.existsOverlappingAppointment(1L, request.getWorkHoursFrom(), request.getWorkHoursFor()))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> service.createAppointment(request));
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    /**
+     * Appointment create slot shared with a neighbour test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Failed claim not confirmed by DB")
+    public void appointmentCreateClaimNotConfirmedTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(false);
+        when(repository.existsOverlappingAppointment(any(), any(), any())).thenReturn(false);
+        when(repository.findActiveByOfficeIdsBetween(any(), any(), any())).thenReturn(List.of());
+        when(jdbcRepository.insertActive(any(), any(), any(), any(), any(), any(), any())).thenReturn(Optional.of(5L));
+
+        assertThat(service.createAppointment(request), equalTo(5L));
+        verify(slotReservationService, never()).release(any(), any(), any(), any());
+    }
+
+    /**
+     * Appointment create over held slot test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Slot held in the slot map")
+    public void appointmentCreateOverHoldTest() {
+        SlotReservationService slotMap = new SlotReservationService(repository, mock(DoctorScheduleRepository.class));
+        AppointmentsService withSlotMap = new AppointmentsService(repository, jdbcRepository, slotMap,
+                slotHoldsRepository, null, eventPublisher, cacheManager);
+        AppointmentRequestDto request = createTestRequest();
+        request.setWorkHoursFrom(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0));
+        request.setWorkHoursFor(request.getWorkHoursFrom().plusMinutes(30));
+        assertThat(slotMap.claim(1L, 1L, request.getWorkHoursFrom(), request.getWorkHoursFor()), is(true));
+        when(slotHoldsRepository.existsActiveOverlapping(eq(1L), eq(1L), eq(request.getWorkHoursFrom()),
+                eq(request.getWorkHoursFor()), any())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> withSlotMap.createAppointment(request));
+        assertThat(withSlotMap.createAppointments(List.of(request)).get(0).getStatus(),
+                equalTo(AppointmentBatchResultDto.Status.CONFLICT));
+        verifyNoInteractions(jdbcRepository, eventPublisher);
+    }
+
+    /**
+     * Appointment create over held slot outside the slot map horizon test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Slot held outside the slot map horizon")
+    public void appointmentCreateOverHoldOutsideHorizonTest() {
+        SlotReservationService slotMap = new SlotReservationService(repository, mock(DoctorScheduleRepository.class));
+        AppointmentsService withSlotMap = new AppointmentsService(repository, jdbcRepository, slotMap,
+                slotHoldsRepository, null, eventPublisher, cacheManager);
+        AppointmentRequestDto request = createTestRequest();
+        request.setWorkHoursFrom(LocalDateTime.now().plusDays(SlotReservationService.HORIZON_DAYS + 5)
+                .withHour(10).withMinute(0).withSecond(0).withNano(0));
+        request.setWorkHoursFor(request.getWorkHoursFrom().plusMinutes(30));
+        when(slotHoldsRepository.existsActiveOverlapping(eq(1L), eq(1L), eq(request.getWorkHoursFrom()),
+                eq(request.getWorkHoursFor()), any())).thenReturn(true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> withSlotMap.createAppointment(request));
+
+        assertThat(exception.getMessage(), containsString("бронью"));
+        assertThat(withSlotMap.createAppointments(List.of(request)).get(0).getStatus(),
+                equalTo(AppointmentBatchResultDto.Status.CONFLICT));
+        verifyNoInteractions(jdbcRepository, eventPublisher);
+    }
+
+    /**
+     * Appointment create patient not found test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Patient not found")
+    public void appointmentCreatePatientNotFoundTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(true);
+        when(jdbcRepository.insertActive(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> service.createAppointment(request));
+
+        assertThat(exception.getMessage(), equalTo("Пациент с ID 1 не найден или удалён."));
+    }
+
+    /**
+     * Appointment create invalid interval test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Invalid interval")
+    public void appointmentCreateInvalidIntervalTest() {
+        AppointmentRequestDto request = createTestRequest();
+        request.setWorkHoursFor(request.getWorkHoursFrom());
+
+        assertThrows(BadFormatException.class, () -> service.createAppointment(request));
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    /**
+     * Appointment create across month boundary test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Create test - Across month boundary")
+    public void appointmentCreateAcrossMonthTest() {
+        AppointmentRequestDto request = createTestRequest();
+        request.setWorkHoursFrom(LocalDateTime.of(2030, 1, 31, 23, 30));
+        request.setWorkHoursFor(LocalDateTime.of(2030, 2, 1, 0, 30));
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(true);
+        when(jdbcRepository.insertActive(any(), any(), any(), any(), any(), any(), any())).thenReturn(Optional.of(5L));
+
+        assertThat(service.createAppointment(request), equalTo(5L));
+    }
+
+    /**
+     * Batch create test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Batch create test")
+    public void appointmentBatchCreateTest() {
+        AppointmentRequestDto first = createTestRequest();
+        AppointmentRequestDto overlapsFirst = createTestRequest();
+        overlapsFirst.setPatientId(2L);
+        overlapsFirst.setOfficeId(2L);
+        overlapsFirst.setWorkHoursFrom(first.getWorkHoursFrom().plusMinutes(15));
+        overlapsFirst.setWorkHoursFor(first.getWorkHoursFor().plusMinutes(15));
+        AppointmentRequestDto overlapsExisting = createTestRequest();
+        overlapsExisting.setDoctorId(2L);
+        overlapsExisting.setPatientId(3L);
+        overlapsExisting.setOfficeId(3L);
+        AppointmentRequestDto invalid = createTestRequest();
+        invalid.setDoctorId(null);
+        AppointmentRequestDto unknownPatient = createTestRequest();
+        unknownPatient.setPatientId(9L);
+        unknownPatient.setWorkHoursFrom(first.getWorkHoursFor());
+        unknownPatient.setWorkHoursFor(first.getWorkHoursFor().plusMinutes(30));
+
+        Appointments existing = createTestAppointment(7L, first.getWorkHoursFrom(), createTestDoctor(2L, "Доктор"),
+                createTestPatient(8L, "Пациент"), first.getWorkHoursFrom().minusMinutes(10), first.getWorkHoursFrom().plusMinutes(10),
+                testCard, null, createTestOffice(5L, "Кабинет"), false);
+        when(repository.findActiveOverlappingAny(any(), any(), any(), any(), any())).thenReturn(List.of(existing));
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(true);
+        when(jdbcRepository.insertActiveBatch(List.of(first, unknownPatient)))
+                .thenReturn(List.of(Optional.of(11L), Optional.empty()));
+
+        List<AppointmentBatchResultDto> results = service.createAppointments(
+                List.of(first, overlapsFirst, overlapsExisting, invalid, unknownPatient));
+
+        assertThat(results.stream().map(AppointmentBatchResultDto::getStatus).toList(), contains(
+                AppointmentBatchResultDto.Status.CREATED,
+                AppointmentBatchResultDto.Status.CONFLICT,
+                AppointmentBatchResultDto.Status.CONFLICT,
+                AppointmentBatchResultDto.Status.INVALID,
+                AppointmentBatchResultDto.Status.NOT_FOUND));
+        assertThat(results.get(0).getAppointmentId(), equalTo(11L));
+        verify(repository, times(1)).findActiveOverlappingAny(any(), any(), any(), any(), any());
+        verify(slotReservationService).release(1L, 1L, unknownPatient.getWorkHoursFrom(), unknownPatient.getWorkHoursFor());
+        verify(eventPublisher, times(1)).publishEvent(any(AppointmentChangedEvent.class));
+    }
+
+    /**
+     * Batch create rejected by database test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Batch create test - Rejected by database")
+    public void appointmentBatchCreateRejectedTest() {
+        AppointmentRequestDto request = createTestRequest();
+        when(repository.findActiveOverlappingAny(any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(slotReservationService.claim(any(), any(), any(), any())).thenReturn(true);
+        when(jdbcRepository.insertActiveBatch(any()))
+                .thenThrow(new DataIntegrityViolationException("exclusion",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(ConflictException.class, () -> service.createAppointments(List.of(request)));
+        verify(slotReservationService).release(1L, 1L, request.getWorkHoursFrom(), request.getWorkHoursFor());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Batch create too large test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Batch create test - Too large")
+    public void appointmentBatchCreateTooLargeTest() {
+        List<AppointmentRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i <= AppointmentsService.MAX_BATCH_SIZE; i++) {
+            requests.add(createTestRequest());
+        }
+
+        assertThrows(BadFormatException.class, () -> service.createAppointments(requests));
+        assertThrows(BadFormatException.class, () -> service.createAppointments(List.of()));
+        verifyNoInteractions(repository, jdbcRepository);
+    }
+
+    /**
+     * Reschedule test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Reschedule test")
+    public void appointmentRescheduleTest() {
+        AppointmentRescheduleDto request = createTestRescheduleRequest(60L, 2L);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("appointments")).thenReturn(cache);
+        when(repository.findActiveByDoctorIdStartingBetween(1L, request.getFrom(), request.getTo()))
+                .thenReturn(List.of(testAppointment));
+        Appointments unaffected = createTestAppointment(9L, testAppointment.getDate(), createTestDoctor(2L, "Dr. Who"),
+                createTestPatient(5L, "Jane Roe"), testAppointment.getWorkHoursFrom().plusMinutes(30),
+                testAppointment.getWorkHoursFor().plusMinutes(30), testCard, null, createTestOffice(2L, "B202"), false);
+        when(repository.findActiveOverlappingAny(any(), any(), any(), any(), any())).thenReturn(List.of(unaffected));
+        when(repository.moveAndDeactivate(List.of(1L), 2L, 60L)).thenReturn(1);
+
+        List<Long> ids = service.rescheduleDoctorAppointments(request);
+
+        assertThat(ids, contains(1L));
+        verify(repository).reactivate(List.of(1L));
+        verify(cache).evict(1L);
+        verify(cache).evict("doctor:1");
+        verify(cache).evict("doctor:2");
+        verify(cache).evict("patient:1");
+        verify(cache, never()).clear();
+        ArgumentCaptor<AppointmentChangedEvent> events = ArgumentCaptor.forClass(AppointmentChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(1).getDoctorId(), equalTo(2L));
+        assertThat(events.getAllValues().get(1).getFrom(), equalTo(testAppointment.getWorkHoursFrom().plusMinutes(60)));
+    }
+
+    /**
+     * Reschedule conflict test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Reschedule test - Conflict")
+    public void appointmentRescheduleConflictTest() {
+        AppointmentRescheduleDto request = createTestRescheduleRequest(15L, null);
+        when(repository.findActiveByDoctorIdStartingBetween(1L, request.getFrom(), request.getTo()))
+                .thenReturn(List.of(testAppointment));
+        Appointments blocking = createTestAppointment(9L, testAppointment.getDate(), createTestDoctor(3L, "Dr. Who"),
+                testPatient, testAppointment.getWorkHoursFor(), testAppointment.getWorkHoursFor().plusMinutes(30),
+                testCard, null, createTestOffice(2L, "B202"), false);
+        when(repository.findActiveOverlappingAny(any(), any(), any(), any(), any())).thenReturn(List.of(blocking));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.rescheduleDoctorAppointments(request));
+
+        assertThat(exception.getMessage(), containsString("[1]"));
+        verify(repository, never()).moveAndDeactivate(any(), any(), anyLong());
+        verifyNoInteractions(eventPublisher, cacheManager);
+    }
+
+    /**
+     * Reschedule into the past test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Reschedule test - Into the past")
+    public void appointmentRescheduleIntoPastTest() {
+        AppointmentRescheduleDto request = createTestRescheduleRequest(-8L * 24 * 60, null);
+        when(repository.findActiveByDoctorIdStartingBetween(1L, request.getFrom(), request.getTo()))
+                .thenReturn(List.of(testAppointment));
+
+        BadFormatException exception = assertThrows(BadFormatException.class,
+                () -> service.rescheduleDoctorAppointments(request));
+
+        assertThat(exception.getMessage(), containsString("[1]"));
+        verify(repository, never()).moveAndDeactivate(any(), any(), anyLong());
+    }
+
+    /**
+     * Reschedule limits test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Reschedule test - Range and size limits")
+    public void appointmentRescheduleLimitsTest() {
+        AppointmentRescheduleDto tooLong = createTestRescheduleRequest(60L, null);
+        tooLong.setTo(tooLong.getFrom().plusDays(AppointmentsService.MAX_RANGE_DAYS + 1));
+        assertThrows(BadFormatException.class, () -> service.rescheduleDoctorAppointments(tooLong));
+        verifyNoInteractions(repository);
+
+        AppointmentRescheduleDto request = createTestRescheduleRequest(60L, null);
+        List<Appointments> affected = new ArrayList<>();
+        for (int i = 0; i <= AppointmentsService.MAX_BATCH_SIZE; i++) {
+            affected.add(testAppointment);
+        }
+        when(repository.findActiveByDoctorIdStartingBetween(1L, request.getFrom(), request.getTo()))
+                .thenReturn(affected);
+
+        assertThrows(BadFormatException.class, () -> service.rescheduleDoctorAppointments(request));
+        verify(repository, never()).moveAndDeactivate(any(), any(), anyLong());
+    }
+
+    /**
+     * Reschedule without changes test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Reschedule test - Nothing to change")
+    public void appointmentRescheduleNothingToChangeTest() {
+        AppointmentRescheduleDto request = createTestRescheduleRequest(0L, 1L);
+
+        assertThrows(BadFormatException.class, () -> service.rescheduleDoctorAppointments(request));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Get by doctor in range test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Get by doctor in range test")
+    public void appointmentGetByDoctorInRangeTest() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 15, 0, 0);
+        when(repository.findActiveByDoctorIdStartingBetween(1L, from, from.plusDays(7)))
+                .thenReturn(List.of(testAppointment));
+
+        List<Appointments> result = service.getActiveAppointmentsByDoctorInRange(1L, from, from.plusDays(7));
+
+        assertThat(result, contains(testAppointment));
+    }
+
+    /**
+     * Get by office in range invalid test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Get by office in range test - Invalid range")
+    public void appointmentGetByOfficeInRangeInvalidTest() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 15, 0, 0);
+
+        assertThrows(BadFormatException.class,
+                () -> service.getActiveAppointmentsByOfficeInRange(1L, from, from));
+        assertThrows(BadFormatException.class,
+                () -> service.getActiveAppointmentsByOfficeInRange(1L, from, from.plusDays(AppointmentsService.MAX_RANGE_DAYS + 1)));
+        verifyNoInteractions(repository);
+    }
+
     /**
      * Appointment get by doctor test.
      */
@@ -182,6 +637,7 @@ public class AppointmentsServiceTest {
     public void appointmentTimeConflictExistsTest() {
         LocalDateTime from = LocalDateTime.of(2023, 6, 15, 10, 15);
         LocalDateTime to = LocalDateTime.of(2023, 6, 15, 10, 45);
+        when(slotReservationService.mayConflict(1L, from, to)).thenReturn(true);
         when(repository.existsOverlappingAppointment(1L, from, to)).thenReturn(true);
 
         boolean result = service.hasTimeConflict(1L, from, to);
@@ -197,6 +653,7 @@ public class AppointmentsServiceTest {
     public void appointmentTimeConflictNoConflictTest() {
         LocalDateTime from = LocalDateTime.of(2023, 6, 15, 11, 0);
         LocalDateTime to = LocalDateTime.of(2023, 6, 15, 11, 30);
+        when(slotReservationService.mayConflict(1L, from, to)).thenReturn(true);
         when(repository.existsOverlappingAppointment(1L, from, to)).thenReturn(false);
 
         boolean result = service.hasTimeConflict(1L, from, to);
@@ -204,6 +661,46 @@ public class AppointmentsServiceTest {
         assertThat(result, equalTo(false));
     }
 
+    /**
+     * Appointment time conflict answered from slot bitmap test.
+     */
+    @Test
+    @DisplayName("Appointments - Service - Time conflict test - Free in slot bitmap")
+    public void appointmentTimeConflictFreeInBitmapTest() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 15, 11, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 6, 15, 11, 30);
+        when(slotReservationService.mayConflict(1L, from, to)).thenReturn(false);
+
+        boolean result = service.hasTimeConflict(1L, from, to);
+
+        assertThat(result, equalTo(false));
+        verify(repository, never()).existsOverlappingAppointment(any(), any(), any());
+    }
+
+    private AppointmentRequestDto createTestRequest() {
+        AppointmentRequestDto request = new AppointmentRequestDto();
+        request.setDoctorId(1L);
+        request.setPatientId(1L);
+        request.setOfficeId(1L);
+        request.setWorkHoursFrom(LocalDateTime.of(2023, 6, 16, 10, 0));
+        request.setWorkHoursFor(LocalDateTime.of(2023, 6, 16, 10, 30));
+        return request;
+    }
+
+    private AppointmentRescheduleDto createTestRescheduleRequest(Long shiftMinutes, Long targetDoctorId) {
+        // Перенос в прошлое запрещён, поэтому переносимый приём сдвигается в будущее
+        LocalDateTime day = LocalDateTime.now().plusDays(7).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        testAppointment.setWorkHoursFrom(day.withHour(10));
+        testAppointment.setWorkHoursFor(day.withHour(10).withMinute(30));
+        AppointmentRescheduleDto request = new AppointmentRescheduleDto();
+        request.setDoctorId(1L);
+        request.setFrom(day);
+        request.setTo(day.plusDays(1));
+        request.setShiftMinutes(shiftMinutes);
+        request.setTargetDoctorId(targetDoctorId);
+        return request;
+    }
+
     private Doctors createTestDoctor(Long id, String name) {
         Doctors doctor = new Doctors();
         doctor.setId(id);
@@ -0,0 +1,167 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.autocomplete.AutocompleteItemDto;
+import org.dariaob.dto.autocomplete.AutocompleteItemDto.Type;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.PatientChangedEvent;
+import org.dariaob.events.SpecializationChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Patients;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.dariaob.services.AutocompleteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Autocomplete service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AutocompleteServiceTest {
+
+    @Mock
+    private PatientsRepository patientsRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private SpecializationsRepository specializationsRepository;
+
+    @InjectMocks
+    private AutocompleteService service;
+
+    private static Patients createTestPatient(Long id, String name) {
+        Patients patient = new Patients();
+        patient.setId(id);
+        patient.setName(name);
+        return patient;
+    }
+
+    private static Doctors createTestDoctor(Long id, String name) {
+        Doctors doctor = new Doctors();
+        doctor.setId(id);
+        doctor.setName(name);
+        return doctor;
+    }
+
+    private static Specializations createTestSpecialization(Long id, String name) {
+        Specializations specialization = new Specializations();
+        specialization.setId(id);
+        specialization.setName(name);
+        return specialization;
+    }
+
+    private List<Long> ids(String query, List<Type> types) {
+        return service.complete(query, types, null).stream().map(AutocompleteItemDto::getId).toList();
+    }
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        when(patientsRepository.findAllActive()).thenReturn(List.of(
+                createTestPatient(1L, "Иванов Иван Петрович"),
+                createTestPatient(2L, "Пётр Семёнов")));
+        when(doctorsRepository.findAllActive()).thenReturn(List.of(
+                createTestDoctor(3L, "Иванова Анна Сергеевна"),
+                createTestDoctor(4L, "Смирнов Олег")));
+        when(specializationsRepository.findAllActive()).thenReturn(List.of(
+                createTestSpecialization(5L, "Хирург")));
+        service.rebuild();
+    }
+
+    /**
+     * Prefix search test.
+     */
+    @Test
+    @DisplayName("Autocomplete - Service - Prefix, case and ё folding")
+    public void prefixSearchTest() {
+        assertThat(ids("ИВА", null), contains(1L, 3L));
+        assertThat(ids("ива", List.of(Type.DOCTOR)), contains(3L));
+        assertThat(ids("петр", null), contains(2L, 1L));
+        assertThat(ids("семё", null), contains(2L));
+        assertThat(ids("ив ан", null), contains(3L));
+        assertThat(ids("хир", null), contains(5L));
+        assertThat(ids("  - ", null), empty());
+        assertThat(ids("ябл", null), empty());
+        assertThat(service.complete("и", null, 1), hasSize(1));
+    }
+
+    /**
+     * Limit validation test.
+     */
+    @Test
+    @DisplayName("Autocomplete - Service - Limit out of range")
+    public void limitValidationTest() {
+        assertThrows(BadFormatException.class, () -> service.complete("ив", null, 0));
+        assertThrows(BadFormatException.class, () -> service.complete("ив", null, AutocompleteService.MAX_LIMIT + 1));
+    }
+
+    /**
+     * Incremental update test.
+     */
+    @Test
+    @DisplayName("Autocomplete - Service - Updated on entity events")
+    public void incrementalUpdateTest() {
+        when(patientsRepository.findActiveById(1L)).thenReturn(Optional.of(createTestPatient(1L, "Кузнецов Иван")));
+        service.onPatientChanged(new PatientChangedEvent(1L));
+        assertThat(ids("куз", null), contains(1L));
+        assertThat(ids("иванов", null), contains(3L));
+
+        when(doctorsRepository.findActiveById(3L)).thenReturn(Optional.empty());
+        service.onDoctorChanged(new DoctorChangedEvent(3L));
+        assertThat(ids("ива", null), contains(1L));
+
+        when(specializationsRepository.findActiveById(6L))
+                .thenReturn(Optional.of(createTestSpecialization(6L, "Хирург-онколог")));
+        service.onSpecializationChanged(new SpecializationChangedEvent(6L));
+        assertThat(ids("онк", null), contains(6L));
+        assertThat(ids("хирург", null), contains(5L, 6L));
+    }
+
+    /**
+     * Event during the last rebuild attempt is not lost test.
+     */
+    @Test
+    @DisplayName("Autocomplete - Service - Rebuild keeps updates made during the last attempt")
+    public void rebuildKeepsConcurrentUpdateTest() throws InterruptedException {
+        when(doctorsRepository.findActiveById(6L)).thenReturn(Optional.of(createTestDoctor(6L, "Кузнецова Ольга")));
+        Thread[] concurrent = new Thread[1];
+        AtomicInteger loads = new AtomicInteger();
+        when(doctorsRepository.findAllActive()).thenAnswer(inv -> {
+            if (loads.incrementAndGet() < 3) {
+                service.onDoctorChanged(new DoctorChangedEvent(6L));
+            } else {
+                concurrent[0] = new Thread(() -> service.onDoctorChanged(new DoctorChangedEvent(6L)));
+                concurrent[0].start();
+                concurrent[0].join(200);
+            }
+            return List.of(createTestDoctor(4L, "Смирнов Олег"));
+        });
+
+        service.rebuild();
+        concurrent[0].join();
+
+        assertThat(loads.get(), equalTo(3));
+        assertThat(ids("куз", null), contains(6L));
+    }
+}
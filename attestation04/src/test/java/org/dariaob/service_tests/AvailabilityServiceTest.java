@@ -0,0 +1,263 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.availability.FreeSlotDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.ScheduleExceptionsRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.dariaob.services.AvailabilityService;
+import org.dariaob.services.ScheduleExpansionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Availability service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityServiceTest {
+
+    /**
+     * Понедельник
+     */
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    @Mock
+    private DoctorSpecializationsRepository doctorSpecializationsRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private ScheduleExceptionsRepository scheduleExceptionsRepository;
+
+    @Mock
+    private SlotHoldsRepository slotHoldsRepository;
+
+    private ScheduleExpansionService scheduleExpansionService;
+
+    private AvailabilityService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        scheduleExpansionService = new ScheduleExpansionService(doctorScheduleRepository, scheduleExceptionsRepository,
+                new ConcurrentMapCacheManager("doctorWeekSchedule"));
+        service = new AvailabilityService(scheduleExpansionService, appointmentsRepository,
+                doctorSpecializationsRepository, doctorsRepository, slotHoldsRepository);
+    }
+
+    private Doctors createTestDoctor(Long id) {
+        Doctors doctor = new Doctors();
+        doctor.setId(id);
+        doctor.setName("Dr. " + id);
+        return doctor;
+    }
+
+    private DoctorSchedule createTestSchedule(Doctors doctor, Short dayOfWeek, String start, String end) {
+        Offices office = new Offices();
+        office.setId(1L);
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        schedule.setOffice(office);
+        return schedule;
+    }
+
+    private Appointments createTestAppointment(Long id, Doctors doctor, LocalDateTime from, LocalDateTime to) {
+        Appointments appointment = new Appointments();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setWorkHoursFrom(from);
+        appointment.setWorkHoursFor(to);
+        return appointment;
+    }
+
+    /**
+     * Free slots skip busy intervals test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Free slots skip appointments")
+    public void freeSlotsSkipAppointmentsTest() {
+        Doctors doctor = createTestDoctor(1L);
+        when(doctorsRepository.findAllById(any())).thenReturn(List.of(doctor));
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection()))
+                .thenReturn(List.of(createTestSchedule(doctor, (short) 1, "09:00", "11:00")));
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(createTestAppointment(10L, doctor,
+                        NOW.withHour(9).withMinute(30), NOW.withHour(10).withMinute(0))));
+
+        List<FreeSlotDto> slots = service.findFreeSlots(List.of(1L), 30, NOW, 1, 10);
+
+        assertThat(slots, hasSize(3));
+        assertThat(slots.get(0).getStart(), equalTo(NOW.withHour(9)));
+        assertThat(slots.get(1).getStart(), equalTo(NOW.withHour(10)));
+        assertThat(slots.get(2).getStart(), equalTo(NOW.withHour(10).withMinute(30)));
+        assertThat(slots.get(0).getDoctorName(), equalTo("Dr. 1"));
+        assertThat(slots.get(0).getOfficeId(), equalTo(1L));
+    }
+
+    /**
+     * Index is updated by events without reloading test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Incremental update on events")
+    public void incrementalUpdateTest() {
+        Doctors doctor = createTestDoctor(1L);
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection()))
+                .thenReturn(List.of(createTestSchedule(doctor, (short) 1, "09:00", "10:00")));
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of());
+
+        assertThat(service.findFreeSlots(List.of(1L), 60, NOW, 1, 10), hasSize(1));
+
+        AppointmentChangedEvent created = new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                20L, 1L, 1L, 1L, NOW.withHour(9), NOW.withHour(10));
+        service.onAppointmentChanged(created);
+        assertThat(service.findFreeSlots(List.of(1L), 60, NOW, 1, 10), empty());
+
+        AppointmentChangedEvent deleted = new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+                20L, 1L, 1L, 1L, NOW.withHour(9), NOW.withHour(10));
+        service.onAppointmentChanged(deleted);
+        assertThat(service.findFreeSlots(List.of(1L), 60, NOW, 1, 10), hasSize(1));
+
+        verify(doctorScheduleRepository, times(1)).findActiveByDoctorIds(anyCollection());
+
+        scheduleExpansionService.evict(1L);
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(1L));
+        service.findFreeSlots(List.of(1L), 60, NOW, 1, 10);
+        verify(doctorScheduleRepository, times(2)).findActiveByDoctorIds(anyCollection());
+    }
+
+    /**
+     * Slots are merged across doctors in time order test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Slots ordered across doctors and limited")
+    public void slotsOrderedAcrossDoctorsTest() {
+        Doctors first = createTestDoctor(1L);
+        Doctors second = createTestDoctor(2L);
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection())).thenReturn(List.of(
+                createTestSchedule(first, (short) 1, "10:00", "12:00"),
+                createTestSchedule(second, (short) 1, "09:00", "12:00")));
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of());
+
+        List<FreeSlotDto> slots = service.findFreeSlots(List.of(1L, 2L), 60, NOW, 1, 3);
+
+        assertThat(slots, hasSize(3));
+        assertThat(slots.get(0).getDoctorId(), equalTo(2L));
+        assertThat(slots.get(1).getStart(), equalTo(NOW.withHour(10)));
+        assertThat(slots.get(2).getStart(), equalTo(NOW.withHour(10)));
+    }
+
+    /**
+     * Office bookings of other doctors and active holds are subtracted test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Free slots skip office appointments and holds")
+    public void freeSlotsSkipOfficeAppointmentsAndHoldsTest() {
+        Doctors doctor = createTestDoctor(1L);
+        Doctors other = createTestDoctor(2L);
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection()))
+                .thenReturn(List.of(createTestSchedule(doctor, (short) 1, "09:00", "11:00")));
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of());
+        Appointments otherInOffice = createTestAppointment(11L, other,
+                NOW.withHour(9), NOW.withHour(9).withMinute(30));
+        Offices office = new Offices();
+        office.setId(1L);
+        otherInOffice.setOffice(office);
+        when(appointmentsRepository.findActiveByOfficeIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(otherInOffice));
+        SlotHolds hold = new SlotHolds();
+        hold.setDoctor(doctor);
+        hold.setOffice(office);
+        hold.setHoldFrom(NOW.withHour(10));
+        hold.setHoldTo(NOW.withHour(10).withMinute(30));
+        when(slotHoldsRepository.findActiveOverlapping(anyCollection(), anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(hold));
+
+        List<FreeSlotDto> slots = service.findFreeSlots(List.of(1L), 30, NOW, 1, 10);
+
+        assertThat(slots, hasSize(2));
+        assertThat(slots.get(0).getStart(), equalTo(NOW.withHour(9).withMinute(30)));
+        assertThat(slots.get(1).getStart(), equalTo(NOW.withHour(10).withMinute(30)));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+                11L, 2L, 3L, 1L, NOW.withHour(9), NOW.withHour(9).withMinute(30)));
+        assertThat(service.findFreeSlots(List.of(1L), 30, NOW, 1, 10), hasSize(3));
+        verify(appointmentsRepository, times(1)).findActiveByOfficeIdsBetween(anyCollection(), any(), any());
+    }
+
+    /**
+     * Doctor change reloads the doctor name test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Doctor change evicts cached name")
+    public void doctorChangedEvictsTest() {
+        Doctors doctor = createTestDoctor(1L);
+        when(doctorsRepository.findAllById(any())).thenReturn(List.of(doctor));
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection()))
+                .thenReturn(List.of(createTestSchedule(doctor, (short) 1, "09:00", "10:00")));
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of());
+        assertThat(service.findFreeSlots(List.of(1L), 60, NOW, 1, 10).get(0).getDoctorName(), equalTo("Dr. 1"));
+
+        Doctors renamed = createTestDoctor(1L);
+        renamed.setName("Dr. Renamed");
+        when(doctorsRepository.findAllById(any())).thenReturn(List.of(renamed));
+        service.onDoctorChanged(new DoctorChangedEvent(1L));
+
+        assertThat(service.findFreeSlots(List.of(1L), 60, NOW, 1, 10).get(0).getDoctorName(),
+                equalTo("Dr. Renamed"));
+    }
+
+    /**
+     * Invalid parameters test.
+     */
+    @Test
+    @DisplayName("Availability - Service - Invalid parameters")
+    public void invalidParametersTest() {
+        assertThrows(BadFormatException.class, () -> service.findFreeSlots(1L, 1, 14, 10));
+        assertThrows(BadFormatException.class, () -> service.findFreeSlots(1L, 20, 0, 10));
+        assertThrows(BadFormatException.class, () -> service.findFreeSlots(1L, 20, 14, 1000));
+        verifyNoInteractions(doctorSpecializationsRepository);
+    }
+}
@@ -0,0 +1,188 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctors.DoctorCalendarDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.OfficeChangedEvent;
+import org.dariaob.events.PatientChangedEvent;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.Patients;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.services.DoctorCalendarService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Doctor calendar service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DoctorCalendarServiceTest {
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    private DoctorCalendarService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        service = new DoctorCalendarService(doctorsRepository, appointmentsRepository, doctorScheduleRepository,
+                new ConcurrentMapCacheManager("doctorCalendar"));
+    }
+
+    private void stubDoctor() {
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        doctor.setName("Доктор Хаус");
+        when(doctorsRepository.findActiveById(1L)).thenReturn(Optional.of(doctor));
+    }
+
+    private Appointments createTestAppointment(String patientName) {
+        Patients patient = new Patients();
+        patient.setName(patientName);
+        Appointments appointment = new Appointments();
+        appointment.setId(42L);
+        appointment.setPatient(patient);
+        appointment.setOffice(new Offices(5L, "Кабинет 101", false));
+        appointment.setWorkHoursFrom(LocalDateTime.of(2030, 1, 7, 9, 0));
+        appointment.setWorkHoursFor(LocalDateTime.of(2030, 1, 7, 9, 30));
+        return appointment;
+    }
+
+    /**
+     * Render test.
+     */
+    @Test
+    @DisplayName("Doctor calendar - Service - Render iCalendar")
+    public void renderTest() {
+        stubDoctor();
+        DoctorSchedule rule = new DoctorSchedule();
+        rule.setId(3L);
+        rule.setDayOfWeek((short) 2);
+        rule.setStartTime(LocalTime.of(8, 0));
+        rule.setEndTime(LocalTime.of(14, 0));
+        when(appointmentsRepository.findActiveByDoctorIdStartingBetween(any(), any(), any()))
+                .thenReturn(List.of(createTestAppointment("Иванов; Иван, " + "очень длинное имя ".repeat(5))));
+        when(doctorScheduleRepository.findActiveByDoctorIds(List.of(1L))).thenReturn(List.of(rule));
+
+        DoctorCalendarDto calendar = service.render(1L, LocalDateTime.of(2030, 1, 1, 12, 0));
+        String ics = new String(calendar.getBody(), StandardCharsets.UTF_8);
+
+        assertThat(ics, Matchers.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertThat(ics, Matchers.endsWith("END:VCALENDAR\r\n"));
+        assertThat(ics, containsString("UID:appointment-42@clinic\r\n"));
+        assertThat(ics, containsString("DTSTART:20300107T090000\r\n"));
+        assertThat(ics, containsString("SUMMARY:Пациент: Иванов\\; Иван\\, "));
+        assertThat(ics, containsString("LOCATION:Кабинет 101\r\n"));
+        assertThat(ics, containsString("RRULE:FREQ=WEEKLY;BYDAY=TU\r\n"));
+        assertThat(ics, containsString("DTSTART:20291204T080000\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length, lessThanOrEqualTo(75));
+        }
+        assertThat(calendar.getEtag(), matchesPattern("\"[0-9a-f]{32}\""));
+    }
+
+    /**
+     * Cached calendar avoids database test.
+     */
+    @Test
+    @DisplayName("Doctor calendar - Service - Cached until booking changes")
+    public void cachedUntilChangedTest() {
+        stubDoctor();
+        when(appointmentsRepository.findActiveByDoctorIdStartingBetween(any(), any(), any())).thenReturn(List.of());
+
+        DoctorCalendarDto first = service.getCalendar(1L);
+        assertThat(service.getCalendar(1L), sameInstance(first));
+        verify(doctorsRepository, times(1)).findActiveById(1L);
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                7L, 2L, 3L, 4L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(30)));
+        assertThat(service.getCalendar(1L), sameInstance(first));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                7L, 1L, 3L, 4L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(30)));
+        assertThat(service.getCalendar(1L), not(sameInstance(first)));
+
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(null));
+        service.getCalendar(1L);
+        verify(doctorsRepository, times(3)).findActiveById(1L);
+    }
+
+    /**
+     * Calendar evicted on doctor, patient and office changes test.
+     */
+    @Test
+    @DisplayName("Doctor calendar - Service - Evicted on doctor, patient and office changes")
+    public void evictedOnRenamesTest() {
+        stubDoctor();
+        when(appointmentsRepository.findActiveByDoctorIdStartingBetween(any(), any(), any())).thenReturn(List.of());
+        Appointments appointment = createTestAppointment("Иванов");
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        appointment.setDoctor(doctor);
+        when(appointmentsRepository.findActiveByPatientIdStartingBetween(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals(8L) ? List.of(appointment) : List.of());
+
+        DoctorCalendarDto first = service.getCalendar(1L);
+        service.onDoctorChanged(new DoctorChangedEvent(2L));
+        service.onPatientChanged(new PatientChangedEvent(9L));
+        assertThat(service.getCalendar(1L), sameInstance(first));
+
+        service.onDoctorChanged(new DoctorChangedEvent(1L));
+        DoctorCalendarDto second = service.getCalendar(1L);
+        assertThat(second, not(sameInstance(first)));
+
+        service.onPatientChanged(new PatientChangedEvent(8L));
+        DoctorCalendarDto third = service.getCalendar(1L);
+        assertThat(third, not(sameInstance(second)));
+
+        service.onOfficeChanged(new OfficeChangedEvent(5L));
+        assertThat(service.getCalendar(1L), not(sameInstance(third)));
+        verify(doctorsRepository, times(4)).findActiveById(1L);
+    }
+
+    /**
+     * Unknown doctor test.
+     */
+    @Test
+    @DisplayName("Doctor calendar - Service - Unknown doctor")
+    public void unknownDoctorTest() {
+        when(doctorsRepository.findActiveById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(DataNotFoundException.class, () -> service.getCalendar(9L));
+        verifyNoInteractions(appointmentsRepository);
+    }
+}
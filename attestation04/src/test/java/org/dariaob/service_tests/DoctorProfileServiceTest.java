@@ -0,0 +1,144 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctorSchedule.DoctorScheduleDto;
+import org.dariaob.dto.doctors.DoctorProfileDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.DoctorSpecializationChangedEvent;
+import org.dariaob.events.SpecializationChangedEvent;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.services.DoctorProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Doctor profile service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DoctorProfileServiceTest {
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    private DoctorProfileService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        service = new DoctorProfileService(doctorsRepository, appointmentsRepository,
+                new ConcurrentMapCacheManager("doctorProfiles"));
+    }
+
+    private void stubProfile() {
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        doctor.setName("Доктор Хаус");
+        doctor.setOffice(new Offices(5L, "Кабинет 101", false));
+        Specializations cardiologist = new Specializations(2L, "Кардиолог", null, false);
+        Specializations therapist = new Specializations(3L, "Терапевт", null, false);
+        DoctorSchedule friday = new DoctorSchedule(10L, doctor, (short) 5, LocalTime.of(9, 0), LocalTime.of(13, 0),
+                null, false);
+        DoctorSchedule monday = new DoctorSchedule(11L, doctor, (short) 1, LocalTime.of(14, 0), LocalTime.of(18, 0),
+                null, false);
+        List<Object[]> rows = new ArrayList<>();
+        for (Specializations specialization : List.of(cardiologist, therapist)) {
+            for (DoctorSchedule schedule : List.of(friday, monday)) {
+                rows.add(new Object[]{doctor, specialization, schedule});
+            }
+        }
+        when(doctorsRepository.findActiveProfileRows(1L)).thenReturn(rows);
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{1L, 4L, 7L});
+        when(appointmentsRepository.countUpcomingByDoctorId(eq(1L), any(), any(), any())).thenReturn(counts);
+    }
+
+    /**
+     * Build test.
+     */
+    @Test
+    @DisplayName("Doctor profile - Service - Build from joined rows")
+    public void buildTest() {
+        stubProfile();
+
+        DoctorProfileDto profile = service.build(1L, LocalDate.of(2030, 1, 9));
+
+        assertThat(profile.getDoctor().getName(), is("Доктор Хаус"));
+        assertThat(profile.getDoctor().getOffice().getName(), is("Кабинет 101"));
+        assertThat(profile.getDoctor().getSpecializations(), containsInAnyOrder("Кардиолог", "Терапевт"));
+        assertThat(profile.getWeekStart(), is(LocalDate.of(2030, 1, 7)));
+        assertThat(profile.getWeekSchedule().stream().map(DoctorScheduleDto::getId).toList(), contains(11L, 10L));
+        assertThat(profile.getAppointmentsToday(), is(1L));
+        assertThat(profile.getAppointmentsThisWeek(), is(4L));
+        assertThat(profile.getAppointmentsUpcoming(), is(7L));
+        verify(appointmentsRepository).countUpcomingByDoctorId(1L, LocalDate.of(2030, 1, 9).atStartOfDay(),
+                LocalDateTime.of(2030, 1, 10, 0, 0), LocalDateTime.of(2030, 1, 14, 0, 0));
+    }
+
+    /**
+     * Cached until changed test.
+     */
+    @Test
+    @DisplayName("Doctor profile - Service - Cached until doctor data changes")
+    public void cachedUntilChangedTest() {
+        stubProfile();
+
+        DoctorProfileDto first = service.getProfile(1L);
+        assertThat(service.getProfile(1L), sameInstance(first));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                7L, 2L, 3L, 4L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(30)));
+        service.onDoctorSpecializationChanged(new DoctorSpecializationChangedEvent(2L, 3L, true));
+        assertThat(service.getProfile(1L), sameInstance(first));
+
+        service.onDoctorSpecializationChanged(new DoctorSpecializationChangedEvent(1L, 3L, false));
+        DoctorProfileDto second = service.getProfile(1L);
+        assertThat(second, not(sameInstance(first)));
+
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(null));
+        assertThat(service.getProfile(1L), not(sameInstance(second)));
+
+        service.onSpecializationChanged(new SpecializationChangedEvent(3L));
+        service.getProfile(1L);
+        verify(doctorsRepository, times(4)).findActiveProfileRows(1L);
+    }
+
+    /**
+     * Unknown doctor test.
+     */
+    @Test
+    @DisplayName("Doctor profile - Service - Unknown doctor")
+    public void unknownDoctorTest() {
+        when(doctorsRepository.findActiveProfileRows(9L)).thenReturn(List.of());
+
+        assertThrows(DataNotFoundException.class, () -> service.getProfile(9L));
+        verifyNoInteractions(appointmentsRepository);
+    }
+}
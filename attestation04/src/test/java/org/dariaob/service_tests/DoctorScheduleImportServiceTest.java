@@ -0,0 +1,234 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctorSchedule.ScheduleImportResultDto;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleJdbcRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.services.DoctorScheduleImportService;
+import org.dariaob.services.ScheduleConflictService;
+import org.dariaob.services.ScheduleExpansionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Doctor schedule import service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DoctorScheduleImportServiceTest {
+
+    @Mock
+    private DoctorScheduleJdbcRepository doctorScheduleJdbcRepository;
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @Mock
+    private ScheduleExpansionService scheduleExpansionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private DoctorScheduleImportService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        cacheManager = new ConcurrentMapCacheManager("doctorSchedule");
+        service = new DoctorScheduleImportService(doctorScheduleJdbcRepository, doctorScheduleRepository,
+                doctorsRepository, officesRepository,
+                new ScheduleConflictService(doctorScheduleRepository, officesRepository), scheduleExpansionService,
+                eventPublisher, cacheManager);
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Import valid file test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Valid file inserted in one batch")
+    @SuppressWarnings("unchecked")
+    public void importTest() {
+        when(doctorsRepository.findActiveIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(officesRepository.findActiveIds(anyCollection())).thenReturn(List.of(5L));
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of());
+        when(doctorScheduleJdbcRepository.insertBatch(any())).thenReturn(3);
+        cacheManager.getCache("doctorSchedule").put("allActive", List.of());
+
+        ScheduleImportResultDto result = service.importCsv(csv(
+                "doctor_id,day_of_week,start_time,end_time,office_id",
+                "1,1,09:00,13:00,5",
+                "",
+                "2,1,13:00,17:00,5",
+                "1,2,09:00,13:00"));
+
+        assertThat(result.getImported(), equalTo(3));
+        assertThat(result.getErrors(), empty());
+        ArgumentCaptor<List<DoctorSchedule>> captor = ArgumentCaptor.forClass(List.class);
+        verify(doctorScheduleJdbcRepository, times(1)).insertBatch(captor.capture());
+        assertThat(captor.getValue(), hasSize(3));
+        assertThat(captor.getValue().get(2).getOffice(), nullValue());
+        verify(scheduleExpansionService, times(1)).evict(null);
+        verify(eventPublisher, times(1)).publishEvent(any(DoctorScheduleChangedEvent.class));
+        assertThat(cacheManager.getCache("doctorSchedule").get("allActive"), nullValue());
+    }
+
+    /**
+     * Invalid rows test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Errors by line, nothing inserted")
+    public void invalidRowsTest() {
+        when(doctorsRepository.findActiveIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(officesRepository.findActiveIds(anyCollection())).thenReturn(List.of(5L));
+        Doctors other = new Doctors();
+        other.setId(3L);
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of(new DoctorSchedule(70L, other,
+                (short) 3, LocalTime.of(8, 0), LocalTime.of(10, 0), new Offices(5L, "Кабинет 5", false), false)));
+
+        ScheduleImportResultDto result = service.importCsv(csv(
+                "1,8,09:00,13:00",
+                "1,1,14:00,13:00",
+                "x,1,09:00,10:00",
+                "9,1,09:00,10:00",
+                "1,1,09:00,10:00,6",
+                "2,2,09:00,12:00",
+                "2,2,11:00,13:00",
+                "1,3,09:00,11:00,5",
+                "1,4,9,10"));
+
+        assertThat(result.getImported(), equalTo(0));
+        assertThat(result.getErrors().stream().map(ScheduleImportResultDto.RowError::getLine).toList(),
+                contains(1L, 2L, 3L, 4L, 5L, 7L, 8L, 9L));
+        assertThat(result.getErrors().get(5).getMessage(), containsString("строкой 6"));
+        assertThat(result.getErrors().get(6).getMessage(), containsString("запись расписания 70"));
+        verifyNoInteractions(doctorScheduleJdbcRepository, scheduleExpansionService, eventPublisher);
+    }
+
+    /**
+     * Overlap with doctor's existing rules test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Overlap with doctor's existing rules")
+    public void overlapWithExistingRulesTest() {
+        when(doctorsRepository.findActiveIds(anyCollection())).thenReturn(List.of(1L));
+        when(officesRepository.findActiveIds(anyCollection())).thenReturn(List.of(5L, 6L));
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of());
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        when(doctorScheduleRepository.findActiveByDoctorIds(Set.of(1L))).thenReturn(List.of(
+                new DoctorSchedule(70L, doctor, (short) 1, LocalTime.of(8, 0), LocalTime.of(10, 0),
+                        new Offices(6L, "Кабинет 6", false), false),
+                new DoctorSchedule(71L, doctor, (short) 2, LocalTime.of(10, 0), LocalTime.of(12, 0), null, false)));
+
+        ScheduleImportResultDto result = service.importCsv(csv(
+                "1,1,09:00,11:00,5",
+                "1,2,08:00,13:00,5",
+                "1,3,08:00,13:00,5"));
+
+        assertThat(result.getImported(), equalTo(0));
+        assertThat(result.getErrors().stream().map(ScheduleImportResultDto.RowError::getLine).toList(),
+                contains(1L, 2L));
+        assertThat(result.getErrors().get(0).getMessage(), containsString("записью расписания 70"));
+        assertThat(result.getErrors().get(1).getMessage(), containsString("записью расписания 71"));
+        verify(officesRepository).lockAllByIds(Set.of(5L));
+    }
+
+    /**
+     * Caches evicted after commit test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Caches evicted after commit")
+    public void evictedAfterCommitTest() {
+        when(doctorsRepository.findActiveIds(anyCollection())).thenReturn(List.of(1L));
+        when(officesRepository.findActiveIds(anyCollection())).thenReturn(List.of(5L));
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of());
+        when(doctorScheduleJdbcRepository.insertBatch(any())).thenReturn(1);
+        cacheManager.getCache("doctorSchedule").put("allActive", List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.importCsv(csv("1,1,09:00,13:00,5"));
+            verifyNoInteractions(scheduleExpansionService);
+            assertThat(cacheManager.getCache("doctorSchedule").get("allActive"), notNullValue());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(scheduleExpansionService).evict(null);
+        assertThat(cacheManager.getCache("doctorSchedule").get("allActive"), nullValue());
+    }
+
+    /**
+     * Conflict between file rows test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Office conflict inside file")
+    public void conflictInsideFileTest() {
+        when(doctorsRepository.findActiveIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(officesRepository.findActiveIds(anyCollection())).thenReturn(List.of(5L));
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of());
+
+        ScheduleImportResultDto result = service.importCsv(csv("1,1,09:00,13:00,5", "2,1,12:00,15:00,5"));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getLine(), equalTo(2L));
+        assertThat(result.getErrors().get(0).getMessage(), containsString("строка 1"));
+    }
+
+    /**
+     * Too many rows test.
+     */
+    @Test
+    @DisplayName("Schedule import - Service - Too many rows")
+    public void tooManyRowsTest() {
+        String[] lines = new String[DoctorScheduleImportService.MAX_ROWS + 1];
+        Arrays.fill(lines, "1,1,09:00,10:00");
+
+        assertThrows(BadFormatException.class, () -> service.importCsv(csv(lines)));
+        verifyNoInteractions(doctorsRepository);
+    }
+}
@@ -5,12 +5,15 @@ import org.dariaob.models.Doctors;
 import org.dariaob.models.Offices;
 import org.dariaob.repositories.DoctorScheduleRepository;
 import org.dariaob.services.DoctorScheduleService;
+import org.dariaob.services.ScheduleConflictService;
+import org.dariaob.services.ScheduleExpansionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalTime;
 import java.util.List;
@@ -30,6 +33,15 @@ public class DoctorScheduleServiceTest {
     @Mock
     private DoctorScheduleRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ScheduleExpansionService scheduleExpansionService;
+
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+
     @InjectMocks
     private DoctorScheduleService service;
 
@@ -145,6 +157,8 @@ public class DoctorScheduleServiceTest {
 
         assertThat(result.getId(), equalTo(1L));
         assertThat(result.getOffice().getName(), equalTo("A101"));
+        verify(scheduleConflictService).check(newSchedule);
+        verify(scheduleExpansionService).evict(1L);
     }
 
     /**
@@ -186,11 +200,14 @@ public class DoctorScheduleServiceTest {
     @Test
     @DisplayName("DoctorSchedule - Service - Soft delete schedule test")
     public void doctorScheduleSoftDeleteTest() {
+        DoctorSchedule existing = createTestSchedule(1L, createTestDoctor(3L), (short) 1, "09:00", "17:00", null);
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
         doNothing().when(repository).softDelete(1L);
 
         service.delete(1L);
 
         verify(repository).softDelete(1L);
+        verify(scheduleExpansionService).evict(3L);
     }
 
     /**
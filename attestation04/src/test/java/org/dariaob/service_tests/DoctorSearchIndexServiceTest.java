@@ -0,0 +1,197 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.DoctorSpecializationChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.DoctorSpecializationId;
+import org.dariaob.models.DoctorSpecializations;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.services.DoctorSearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Doctor search index service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DoctorSearchIndexServiceTest {
+
+    private static final Offices OFFICE_A = new Offices(5L, "Корпус А, 101", false);
+    private static final Offices OFFICE_B = new Offices(6L, "Корпус Б, 201", false);
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private DoctorSpecializationsRepository doctorSpecializationsRepository;
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @InjectMocks
+    private DoctorSearchIndexService service;
+
+    private Doctors doctor1;
+    private Doctors doctor2;
+    private Doctors doctor3;
+
+    private static Doctors createTestDoctor(Long id, Offices office) {
+        Doctors doctor = new Doctors();
+        doctor.setId(id);
+        doctor.setOffice(office);
+        return doctor;
+    }
+
+    private static DoctorSpecializations link(Long doctorId, Long specializationId) {
+        DoctorSpecializations link = new DoctorSpecializations();
+        link.setId(new DoctorSpecializationId(doctorId, specializationId));
+        return link;
+    }
+
+    private static DoctorSchedule schedule(Doctors doctor, int day, Offices office) {
+        return new DoctorSchedule(null, doctor, (short) day, LocalTime.of(9, 0), LocalTime.of(13, 0), office, false);
+    }
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        doctor1 = createTestDoctor(1L, OFFICE_A);
+        doctor2 = createTestDoctor(2L, OFFICE_B);
+        doctor3 = createTestDoctor(3L, OFFICE_A);
+        when(doctorsRepository.findAllActive()).thenReturn(List.of(doctor1, doctor2, doctor3));
+        when(doctorSpecializationsRepository.findAll()).thenReturn(List.of(
+                link(1L, 10L), link(1L, 20L), link(2L, 10L), link(2L, 20L), link(3L, 10L)));
+        when(doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()).thenReturn(List.of(
+                schedule(doctor1, 2, null),
+                schedule(doctor2, 2, OFFICE_B),
+                schedule(doctor2, 4, OFFICE_A),
+                schedule(doctor3, 2, OFFICE_A)));
+        service.rebuild();
+    }
+
+    /**
+     * Search by several criteria test.
+     */
+    @Test
+    @DisplayName("Doctor search - Service - Bitwise AND of criteria")
+    public void searchTest() {
+        assertThat(service.search(List.of(10L, 20L), null, null), contains(1L, 2L));
+        assertThat(service.search(List.of(10L, 20L), (short) 2, 5L), contains(1L));
+        assertThat(service.search(List.of(10L), (short) 2, null), contains(1L, 2L, 3L));
+        assertThat(service.search(null, null, 5L), contains(1L, 2L, 3L));
+        assertThat(service.search(null, (short) 4, 6L), empty());
+        assertThat(service.search(List.of(99L), null, null), empty());
+        assertThat(service.search(List.of(), null, null), hasSize(3));
+        assertThrows(BadFormatException.class, () -> service.search(null, (short) 8, null));
+    }
+
+    /**
+     * Incremental updates test.
+     */
+    @Test
+    @DisplayName("Doctor search - Service - Incremental updates")
+    public void incrementalTest() {
+        service.onSpecializationChanged(new DoctorSpecializationChangedEvent(3L, 20L, true));
+        assertThat(service.search(List.of(10L, 20L), null, null), contains(1L, 2L, 3L));
+
+        service.onSpecializationChanged(new DoctorSpecializationChangedEvent(1L, 20L, false));
+        assertThat(service.search(List.of(20L), null, null), contains(2L, 3L));
+
+        when(doctorsRepository.findActiveById(2L)).thenReturn(Optional.empty());
+        service.onDoctorChanged(new DoctorChangedEvent(2L));
+        assertThat(service.search(List.of(10L), null, null), contains(1L, 3L));
+        assertThat(service.search(null, (short) 4, null), empty());
+
+        when(doctorsRepository.findActiveById(4L)).thenReturn(Optional.of(createTestDoctor(4L, OFFICE_B)));
+        when(doctorSpecializationsRepository.findAllByIdDoctorId(4L)).thenReturn(List.of(link(4L, 10L)));
+        when(doctorScheduleRepository.findActiveByDoctorIds(List.of(4L)))
+                .thenReturn(List.of(schedule(createTestDoctor(4L, OFFICE_B), 5, null)));
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(4L));
+        assertThat(service.search(List.of(10L), (short) 5, 6L), contains(4L));
+    }
+
+    /**
+     * Full rebuild on unknown doctor test.
+     */
+    @Test
+    @DisplayName("Doctor search - Service - Rebuild on global schedule change")
+    public void rebuildTest() {
+        when(doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()).thenReturn(List.of(
+                schedule(doctor3, 6, null)));
+
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(null));
+
+        assertThat(service.search(null, (short) 2, null), empty());
+        assertThat(service.search(null, (short) 6, 5L), contains(3L));
+        verify(doctorsRepository, times(2)).findAllActive();
+    }
+
+    /**
+     * Rebuild under concurrent updates test.
+     */
+    @Test
+    @DisplayName("Doctor search - Service - Rebuild keeps retrying under concurrent updates")
+    public void rebuildUnderUpdatesTest() {
+        List<DoctorSpecializations> links = List.of(link(1L, 10L), link(3L, 30L));
+        AtomicInteger loads = new AtomicInteger();
+        when(doctorSpecializationsRepository.findAll()).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() < 3) {
+                service.onSpecializationChanged(new DoctorSpecializationChangedEvent(3L, 30L, true));
+            }
+            return links;
+        });
+
+        service.rebuild();
+
+        assertThat(loads.get(), equalTo(3));
+        assertThat(service.search(List.of(30L), null, null), contains(3L));
+        assertThat(service.search(List.of(20L), null, null), empty());
+    }
+
+    /**
+     * Find doctors with specialization names test.
+     */
+    @Test
+    @DisplayName("Doctor search - Service - Doctors with specialization names in two queries")
+    public void findDoctorsTest() {
+        List<Object[]> names = new ArrayList<>();
+        names.add(new Object[]{1L, "Кардиолог"});
+        names.add(new Object[]{1L, "Терапевт"});
+        when(doctorSpecializationsRepository.findActiveSpecializationNamesByDoctorIds(List.of(1L, 2L)))
+                .thenReturn(names);
+        when(doctorsRepository.findAllActiveWithOfficeByIds(List.of(1L, 2L))).thenReturn(List.of(doctor2, doctor1));
+
+        List<DoctorResponseDto> found = service.findDoctors(List.of(20L), null, null);
+
+        assertThat(found.stream().map(DoctorResponseDto::getId).toList(), contains(1L, 2L));
+        assertThat(found.get(0).getSpecializations(), containsInAnyOrder("Кардиолог", "Терапевт"));
+        assertThat(found.get(1).getSpecializations(), empty());
+        assertThat(service.findDoctors(List.of(99L), null, null), empty());
+        verify(doctorsRepository, times(1)).findAllActiveWithOfficeByIds(any());
+    }
+}
@@ -1,5 +1,6 @@
 package org.dariaob.service_tests;
 
+import org.dariaob.events.DoctorSpecializationChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.DoctorSpecializationId;
 import org.dariaob.models.DoctorSpecializations;
@@ -12,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 
@@ -28,6 +30,9 @@ public class DoctorSpecializationsServiceTest {
     @Mock
     private DoctorSpecializationsRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DoctorSpecializationsService service;
 
@@ -63,6 +68,9 @@ public class DoctorSpecializationsServiceTest {
 
         assertThat(result.getId().getDoctorId(), equalTo(2L));
         assertThat(result.getId().getSpecializationId(), equalTo(20L));
+        Mockito.verify(eventPublisher).publishEvent(Mockito.argThat((Object event) ->
+                event instanceof DoctorSpecializationChangedEvent changed && changed.isAssigned()
+                        && changed.getSpecializationId().equals(20L)));
     }
 
     /**
@@ -88,6 +96,8 @@ public class DoctorSpecializationsServiceTest {
         service.deleteSpecialization(4L, 40L);
 
         Mockito.verify(repository).deleteByDoctorIdAndSpecializationId(4L, 40L);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.argThat((Object event) ->
+                event instanceof DoctorSpecializationChangedEvent changed && !changed.isAssigned()));
     }
 
     /**
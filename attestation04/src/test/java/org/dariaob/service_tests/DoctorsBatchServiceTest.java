@@ -0,0 +1,156 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctors.DoctorBatchItemDto;
+import org.dariaob.dto.doctors.DoctorResponseDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSpecializationId;
+import org.dariaob.models.DoctorSpecializations;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.Specializations;
+import org.dariaob.repositories.DoctorSpecializationsJdbcRepository;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.dariaob.services.DoctorsBatchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Doctors batch service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DoctorsBatchServiceTest {
+
+    private static final Offices OFFICE = new Offices(5L, "Кабинет 101", false);
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @Mock
+    private SpecializationsRepository specializationsRepository;
+
+    @Mock
+    private DoctorSpecializationsRepository doctorSpecializationsRepository;
+
+    @Mock
+    private DoctorSpecializationsJdbcRepository doctorSpecializationsJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DoctorsBatchService service;
+
+    private static DoctorBatchItemDto item(Long id, String phone, Set<Long> specializationIds) {
+        DoctorBatchItemDto item = new DoctorBatchItemDto();
+        item.setId(id);
+        item.setName("Доктор " + phone);
+        item.setPhone(phone);
+        item.setOfficeId(OFFICE.getId());
+        item.setSpecializationIds(specializationIds);
+        return item;
+    }
+
+    private static DoctorSpecializations link(Long doctorId, Long specializationId) {
+        DoctorSpecializations link = new DoctorSpecializations();
+        link.setId(new DoctorSpecializationId(doctorId, specializationId));
+        return link;
+    }
+
+    /**
+     * Create and update test.
+     */
+    @Test
+    @DisplayName("Doctors batch - Service - Create and update with specializations")
+    public void createAndUpdateTest() {
+        Doctors existing = new Doctors();
+        existing.setId(7L);
+        when(specializationsRepository.findAllActiveByIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new Specializations(1L, "Кардиолог", null, false),
+                new Specializations(2L, "Хирург", null, false)));
+        when(officesRepository.findAllById(Set.of(5L))).thenReturn(List.of(OFFICE));
+        when(doctorsRepository.findAllActiveByIds(Set.of(7L))).thenReturn(List.of(existing));
+        when(doctorsRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Doctors> doctors = new ArrayList<>(invocation.getArgument(0));
+            doctors.get(0).setId(8L);
+            return doctors;
+        });
+        when(doctorSpecializationsRepository.findAllByIdDoctorIdIn(Set.of(7L)))
+                .thenReturn(List.of(link(7L, 1L), link(7L, 3L)));
+
+        List<DoctorResponseDto> result = service.saveAll(List.of(
+                item(null, "+70000000001", Set.of(1L)),
+                item(7L, "+70000000002", Set.of(1L, 2L))));
+
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getId(), equalTo(8L));
+        assertThat(result.get(1).getSpecializations(), containsInAnyOrder("Кардиолог", "Хирург"));
+        assertThat(existing.getPhone(), equalTo("+70000000002"));
+        verify(doctorSpecializationsJdbcRepository).insertBatch(argThat(links -> links.size() == 2
+                && links.containsAll(List.of(new DoctorSpecializationId(8L, 1L), new DoctorSpecializationId(7L, 2L)))));
+        verify(doctorSpecializationsJdbcRepository).deleteBatch(List.of(new DoctorSpecializationId(7L, 3L)));
+        verify(eventPublisher, times(2)).publishEvent(isA(DoctorChangedEvent.class));
+        verify(specializationsRepository, never()).findActiveById(anyLong());
+    }
+
+    /**
+     * Missing specialization test.
+     */
+    @Test
+    @DisplayName("Doctors batch - Service - Missing specialization")
+    public void missingSpecializationTest() {
+        when(specializationsRepository.findAllActiveByIds(Set.of(1L, 9L)))
+                .thenReturn(List.of(new Specializations(1L, "Кардиолог", null, false)));
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> service.saveAll(List.of(item(null, "+70000000001", Set.of(1L, 9L)))));
+
+        assertThat(exception.getMessage(), containsString("[9]"));
+        verify(doctorsRepository, never()).saveAll(anyList());
+        verifyNoInteractions(doctorSpecializationsJdbcRepository);
+    }
+
+    /**
+     * Invalid batch test.
+     */
+    @Test
+    @DisplayName("Doctors batch - Service - Invalid batch")
+    public void invalidBatchTest() {
+        assertThrows(BadFormatException.class, () -> service.saveAll(List.of()));
+        assertThrows(BadFormatException.class, () -> service.saveAll(List.of(
+                item(null, "+70000000001", Set.of()), item(null, "+70000000001", Set.of()))));
+
+        DoctorBatchItemDto noOffice = item(null, "+70000000003", null);
+        noOffice.setOfficeId(null);
+        assertThrows(BadFormatException.class, () -> service.saveAll(List.of(noOffice)));
+
+        when(officesRepository.findAllById(Set.of(5L))).thenReturn(List.of(new Offices(5L, "Кабинет 101", true)));
+        assertThrows(DataNotFoundException.class,
+                () -> service.saveAll(List.of(item(null, "+70000000004", null))));
+        verify(doctorsRepository, never()).saveAll(anyList());
+        verify(doctorSpecializationsRepository, never()).findAllByIdDoctorIdIn(anyCollection());
+    }
+}
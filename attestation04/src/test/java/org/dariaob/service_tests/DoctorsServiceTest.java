@@ -1,5 +1,6 @@
 package org.dariaob.service_tests;
 
+import org.dariaob.events.DoctorChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Doctors;
 import org.dariaob.repositories.DoctorsRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +30,9 @@ public class DoctorsServiceTest {
     @Mock
     private DoctorsRepository doctorsRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DoctorsService doctorsService;
 
@@ -140,6 +145,7 @@ public class DoctorsServiceTest {
         // Assert
         verify(doctorsRepository, times(1)).findActiveById(1L);
         verify(doctorsRepository, times(1)).softDelete(1L);
+        verify(eventPublisher).publishEvent(isA(DoctorChangedEvent.class));
     }
 
     /**
@@ -214,6 +220,8 @@ public class DoctorsServiceTest {
         assertThat(result.getId(), equalTo(1L));
         assertThat(result.getName(), equalTo("New Doctor"));
         verify(doctorsRepository, times(1)).save(doctorToSave);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof DoctorChangedEvent changed
+                && changed.getDoctorId().equals(1L)));
     }
 
     private Doctors createTestDoctor(Long id, String name, String phone) {
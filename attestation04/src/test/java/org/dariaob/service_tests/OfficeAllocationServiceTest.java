@@ -0,0 +1,168 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctorSchedule.OfficeAllocationRequestDto;
+import org.dariaob.dto.doctorSchedule.OfficeAllocationResultDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.services.OfficeAllocationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Office allocation service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class OfficeAllocationServiceTest {
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @InjectMocks
+    private OfficeAllocationService service;
+
+    private void stubOffices(long count) {
+        when(officesRepository.findAllActive()).thenReturn(LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new Offices(id, "Кабинет " + id, false))
+                .toList());
+    }
+
+    private OfficeAllocationRequestDto.Item item(Long doctorId, int day, String start, String end, Long preferred) {
+        return new OfficeAllocationRequestDto.Item(null, doctorId, (short) day,
+                LocalTime.parse(start), LocalTime.parse(end), preferred);
+    }
+
+    /**
+     * Allocation without conflicts test.
+     */
+    @Test
+    @DisplayName("Office allocation - Service - Conflict-free with fewest offices and preferences")
+    public void allocateTest() {
+        stubOffices(3);
+        List<OfficeAllocationRequestDto.Item> items = List.of(
+                item(1L, 1, "09:00", "13:00", 3L),
+                item(2L, 1, "11:00", "15:00", 3L),
+                item(3L, 1, "13:00", "17:00", null),
+                item(4L, 2, "09:00", "13:00", 2L));
+
+        OfficeAllocationResultDto result = service.allocate(new OfficeAllocationRequestDto(items, null, 200L));
+
+        assertThat(result.getConflicts(), equalTo(0));
+        assertThat(result.getOfficeDays(), equalTo(3));
+        assertThat(result.getPreferenceMisses(), equalTo(1));
+        List<OfficeAllocationResultDto.Assignment> assignments = result.getAssignments();
+        assertThat(assignments, hasSize(4));
+        assertThat(assignments.get(0).getOfficeId(), not(equalTo(assignments.get(1).getOfficeId())));
+        assertThat(assignments.get(3).getOfficeId(), equalTo(2L));
+        assertThat(assignments.get(2).getStartTime(), equalTo(LocalTime.of(13, 0)));
+    }
+
+    /**
+     * Too few offices test.
+     */
+    @Test
+    @DisplayName("Office allocation - Service - Minimal conflicts when offices are short")
+    public void tooFewOfficesTest() {
+        stubOffices(2);
+        List<OfficeAllocationRequestDto.Item> items = List.of(
+                item(1L, 3, "09:00", "12:00", null),
+                item(2L, 3, "09:00", "12:00", null),
+                item(3L, 3, "09:00", "12:00", null));
+
+        OfficeAllocationResultDto result = service.allocate(new OfficeAllocationRequestDto(items, null, 100L));
+
+        assertThat(result.getConflicts(), equalTo(1));
+        assertThat(result.getOfficeDays(), equalTo(2));
+    }
+
+    /**
+     * Large week within time budget test.
+     */
+    @Test
+    @DisplayName("Office allocation - Service - 500 doctors within time budget")
+    public void largeWeekTest() {
+        stubOffices(300);
+        SplittableRandom random = new SplittableRandom(7);
+        List<OfficeAllocationRequestDto.Item> items = new ArrayList<>();
+        for (long doctor = 1; doctor <= 500; doctor++) {
+            for (int day = 1; day <= 5; day++) {
+                int start = 8 + random.nextInt(8);
+                items.add(item(doctor, day, String.format("%02d:00", start),
+                        String.format("%02d:00", start + 2 + random.nextInt(4)), 1 + random.nextLong(300)));
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        OfficeAllocationResultDto result = service.allocate(new OfficeAllocationRequestDto(items, null, 1_000L));
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(result.getConflicts(), equalTo(0));
+        assertThat(result.getAssignments(), hasSize(2500));
+        assertThat(elapsedMs, lessThan(5_000L));
+    }
+
+    /**
+     * Current schedule is used when request has none test.
+     */
+    @Test
+    @DisplayName("Office allocation - Service - Current schedule by default")
+    public void currentScheduleTest() {
+        stubOffices(2);
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setId(9L);
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek((short) 4);
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(12, 0));
+        schedule.setOffice(new Offices(2L, "Кабинет 2", false));
+        when(doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()).thenReturn(List.of(schedule));
+
+        OfficeAllocationResultDto result = service.allocate(new OfficeAllocationRequestDto());
+
+        assertThat(result.getAssignments().get(0).getScheduleId(), equalTo(9L));
+        assertThat(result.getAssignments().get(0).getOfficeId(), equalTo(2L));
+        assertThat(result.getPreferenceMisses(), equalTo(0));
+    }
+
+    /**
+     * Invalid request test.
+     */
+    @Test
+    @DisplayName("Office allocation - Service - Invalid request")
+    public void invalidRequestTest() {
+        assertThrows(BadFormatException.class,
+                () -> service.allocate(new OfficeAllocationRequestDto(List.of(), null, 0L)));
+
+        stubOffices(1);
+        assertThrows(BadFormatException.class, () -> service.allocate(new OfficeAllocationRequestDto(
+                List.of(item(1L, 8, "09:00", "12:00", null)), null, null)));
+        assertThrows(BadFormatException.class, () -> service.allocate(new OfficeAllocationRequestDto(
+                List.of(item(1L, 1, "12:00", "12:00", null)), null, null)));
+        assertThrows(DataNotFoundException.class, () -> service.allocate(new OfficeAllocationRequestDto(
+                List.of(), List.of(42L), null)));
+    }
+}
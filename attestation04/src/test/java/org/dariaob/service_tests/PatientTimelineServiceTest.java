@@ -0,0 +1,158 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.patients.PatientTimelineItemDto;
+import org.dariaob.dto.patients.PatientTimelinePageDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.PatientCardsHistory;
+import org.dariaob.models.Patients;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.PatientCardsHistoryRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.services.PatientTimelineService;
+import org.dariaob.utils.SortedMerge;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Patient timeline service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PatientTimelineServiceTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Mock
+    private PatientsRepository patientsRepository;
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    @Mock
+    private PatientCardsHistoryRepository patientCardsHistoryRepository;
+
+    @InjectMocks
+    private PatientTimelineService service;
+
+    private static Appointments createTestAppointment(Long id, LocalDateTime from) {
+        Doctors doctor = new Doctors();
+        doctor.setId(3L);
+        doctor.setName("Доктор Хаус");
+        Appointments appointment = new Appointments();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setWorkHoursFrom(from);
+        appointment.setWorkHoursFor(from.plusMinutes(30));
+        return appointment;
+    }
+
+    private static PatientCardsHistory createTestChange(Long id, LocalDateTime at) {
+        PatientCardsHistory change = new PatientCardsHistory();
+        change.setId(id);
+        change.setChangedAt(at);
+        change.setNewDiagnosis("Диагноз " + id);
+        return change;
+    }
+
+    /**
+     * Merge test.
+     */
+    @Test
+    @DisplayName("Patient timeline - Service - Sorted merge of k sources")
+    public void sortedMergeTest() {
+        Iterator<Integer> merged = SortedMerge.merge(List.of(
+                List.of(1, 4, 9).iterator(),
+                List.<Integer>of().iterator(),
+                List.of(2, 3, 10).iterator(),
+                List.of(5).iterator()), Comparator.naturalOrder());
+        List<Integer> result = new ArrayList<>();
+        merged.forEachRemaining(result::add);
+
+        assertThat(result, contains(1, 2, 3, 4, 5, 9, 10));
+    }
+
+    /**
+     * First page test.
+     */
+    @Test
+    @DisplayName("Patient timeline - Service - First page merges sources")
+    public void firstPageTest() {
+        when(patientsRepository.findActiveById(1L)).thenReturn(Optional.of(new Patients()));
+        when(appointmentsRepository.findActiveByPatientIdBefore(eq(1L), any(), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(createTestAppointment(10L, T.plusDays(2)), createTestAppointment(11L, T)));
+        when(patientCardsHistoryRepository.findByPatientIdBefore(eq(1L), any(), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(createTestChange(20L, T.plusDays(1)), createTestChange(21L, T)));
+
+        PatientTimelinePageDto page = service.getTimeline(1L, null, 3);
+
+        assertThat(page.getItems().stream().map(PatientTimelineItemDto::getId).toList(), contains(10L, 20L, 21L));
+        assertThat(page.getItems().get(0).getDoctorName(), equalTo("Доктор Хаус"));
+        assertThat(page.getNextCursor(), equalTo("2030-01-07T09:00~CARD_CHANGE~21"));
+    }
+
+    /**
+     * Next page from cursor test.
+     */
+    @Test
+    @DisplayName("Patient timeline - Service - Next page from cursor")
+    public void nextPageTest() {
+        when(patientsRepository.findActiveById(1L)).thenReturn(Optional.of(new Patients()));
+        when(appointmentsRepository.findActiveByPatientIdBefore(1L, T, Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(createTestAppointment(11L, T)));
+        when(patientCardsHistoryRepository.findByPatientIdBefore(1L, T, 21L, Limit.of(3)))
+                .thenReturn(List.of());
+
+        PatientTimelinePageDto page = service.getTimeline(1L, "2030-01-07T09:00~CARD_CHANGE~21", 3);
+
+        assertThat(page.getItems().stream().map(PatientTimelineItemDto::getId).toList(), contains(11L));
+        assertThat(page.getNextCursor(), nullValue());
+    }
+
+    /**
+     * Cursor bound for later type test.
+     */
+    @Test
+    @DisplayName("Patient timeline - Service - Same time events of later type are skipped")
+    public void cursorTypeBoundTest() {
+        when(patientsRepository.findActiveById(1L)).thenReturn(Optional.of(new Patients()));
+
+        service.getTimeline(1L, "2030-01-07T09:00~APPOINTMENT~11", 5);
+
+        verify(appointmentsRepository).findActiveByPatientIdBefore(1L, T, 11L, Limit.of(5));
+        verify(patientCardsHistoryRepository).findByPatientIdBefore(1L, T, Long.MIN_VALUE, Limit.of(5));
+    }
+
+    /**
+     * Invalid input test.
+     */
+    @Test
+    @DisplayName("Patient timeline - Service - Invalid cursor, limit and patient")
+    public void invalidInputTest() {
+        assertThrows(BadFormatException.class, () -> service.getTimeline(1L, "garbage", 10));
+        assertThrows(BadFormatException.class, () -> service.getTimeline(1L, "2030-01-07T09:00~UNKNOWN~1", 10));
+        assertThrows(BadFormatException.class, () -> service.getTimeline(1L, null, 0));
+        when(patientsRepository.findActiveById(2L)).thenReturn(Optional.empty());
+        assertThrows(DataNotFoundException.class, () -> service.getTimeline(2L, null, 10));
+        verifyNoInteractions(appointmentsRepository, patientCardsHistoryRepository);
+    }
+}
@@ -1,5 +1,6 @@
 package org.dariaob.service_tests;
 
+import org.dariaob.events.PatientChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.PatientCards;
 import org.dariaob.models.Patients;
@@ -12,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,6 +32,9 @@ public class PatientsServiceTest {
     @Mock
     private PatientsRepository patientsRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PatientsService patientsService;
 
@@ -85,6 +90,7 @@ public class PatientsServiceTest {
         Patients result = patientsService.save(newPatient);
         assertThat(result.getId(), is(10L));
         assertThat(result.getName(), is("Иван Иванов"));
+        Mockito.verify(eventPublisher).publishEvent(Mockito.isA(PatientChangedEvent.class));
     }
 
     /**
@@ -0,0 +1,114 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.doctorSchedule.ScheduleConflictDto;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.services.ScheduleConflictService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Schedule conflict service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScheduleConflictServiceTest {
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @InjectMocks
+    private ScheduleConflictService service;
+
+    private DoctorSchedule createTestSchedule(Long id, Long doctorId, Long officeId, Short dayOfWeek,
+                                              String start, String end) {
+        Doctors doctor = new Doctors();
+        doctor.setId(doctorId);
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setId(id);
+        schedule.setDoctor(doctor);
+        schedule.setOffice(new Offices(officeId, "Кабинет " + officeId, false));
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        return schedule;
+    }
+
+    /**
+     * Audit finds every conflict test.
+     */
+    @Test
+    @DisplayName("Schedule conflicts - Service - Audit finds every conflict")
+    public void auditTest() {
+        when(doctorScheduleRepository.findAllActiveWithOffice()).thenReturn(List.of(
+                createTestSchedule(1L, 10L, 5L, (short) 1, "09:00", "13:00"),
+                createTestSchedule(2L, 11L, 5L, (short) 1, "12:00", "15:00"),
+                createTestSchedule(3L, 12L, 5L, (short) 1, "10:00", "12:30"),
+                createTestSchedule(4L, 13L, 5L, (short) 1, "15:00", "16:00"),
+                createTestSchedule(5L, 10L, 5L, (short) 1, "12:45", "14:00"),
+                createTestSchedule(6L, 14L, 6L, (short) 1, "09:00", "13:00"),
+                createTestSchedule(7L, 15L, 5L, (short) 2, "09:00", "13:00")));
+
+        List<ScheduleConflictDto> conflicts = service.audit();
+
+        assertThat(conflicts.stream().map(c -> c.getFirstScheduleId() + "-" + c.getSecondScheduleId()).toList(),
+                containsInAnyOrder("1-3", "1-2", "3-2", "2-5"));
+        ScheduleConflictDto first = conflicts.get(0);
+        assertThat(first.getOfficeId(), equalTo(5L));
+        assertThat(first.getOverlapFrom(), equalTo(LocalTime.of(10, 0)));
+        assertThat(first.getOverlapTo(), equalTo(LocalTime.of(12, 30)));
+    }
+
+    /**
+     * Check on create and update test.
+     */
+    @Test
+    @DisplayName("Schedule conflicts - Service - Check on create and update")
+    public void checkTest() {
+        DoctorSchedule existing = createTestSchedule(1L, 10L, 5L, (short) 1, "09:00", "13:00");
+        when(doctorScheduleRepository.findActiveByOfficeAndDay(5L, (short) 1)).thenReturn(List.of(existing));
+
+        ConflictException ex = assertThrows(ConflictException.class,
+                () -> service.check(createTestSchedule(null, 11L, 5L, (short) 1, "12:00", "14:00")));
+        assertThat(ex.getMessage(), containsString("1"));
+        assertDoesNotThrow(() -> service.check(createTestSchedule(null, 11L, 5L, (short) 1, "13:00", "14:00")));
+        assertDoesNotThrow(() -> service.check(createTestSchedule(null, 10L, 5L, (short) 1, "12:00", "14:00")));
+        assertDoesNotThrow(() -> service.check(createTestSchedule(1L, 11L, 5L, (short) 1, "10:00", "14:00")));
+        InOrder order = inOrder(officesRepository, doctorScheduleRepository);
+        order.verify(officesRepository).lockAllByIds(List.of(5L));
+        order.verify(doctorScheduleRepository).findActiveByOfficeAndDay(5L, (short) 1);
+    }
+
+    /**
+     * Schedules without office are not checked test.
+     */
+    @Test
+    @DisplayName("Schedule conflicts - Service - Schedule without office")
+    public void withoutOfficeTest() {
+        DoctorSchedule schedule = createTestSchedule(null, 11L, 5L, (short) 1, "12:00", "14:00");
+        schedule.setOffice(null);
+
+        assertDoesNotThrow(() -> service.check(schedule));
+        verifyNoInteractions(doctorScheduleRepository, officesRepository);
+    }
+}
@@ -0,0 +1,144 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.scheduleExceptions.ScheduleExceptionRequestDto;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.ScheduleExceptionType;
+import org.dariaob.models.ScheduleExceptions;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.ScheduleExceptionsRepository;
+import org.dariaob.services.ScheduleExceptionsService;
+import org.dariaob.services.ScheduleExpansionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Schedule exceptions service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScheduleExceptionsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private ScheduleExceptionsRepository scheduleExceptionsRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @Mock
+    private ScheduleExpansionService scheduleExpansionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ScheduleExceptionsService service;
+
+    private ScheduleExceptionRequestDto createTestRequest(Long doctorId, ScheduleExceptionType type) {
+        ScheduleExceptionRequestDto request = new ScheduleExceptionRequestDto();
+        request.setDoctorId(doctorId);
+        request.setType(type);
+        request.setDateFrom(DAY);
+        return request;
+    }
+
+    /**
+     * Create vacation test.
+     */
+    @Test
+    @DisplayName("Schedule exceptions - Service - Create evicts doctor's weeks")
+    public void createTest() {
+        Doctors doctor = new Doctors();
+        doctor.setId(3L);
+        when(doctorsRepository.getReferenceById(3L)).thenReturn(doctor);
+        when(scheduleExceptionsRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ScheduleExceptionRequestDto request = createTestRequest(3L, ScheduleExceptionType.VACATION);
+        request.setDateTo(DAY.plusDays(13));
+
+        ScheduleExceptions saved = service.create(request);
+
+        assertThat(saved.getDateTo(), equalTo(DAY.plusDays(13)));
+        assertThat(saved.getStartTime(), nullValue());
+        verify(scheduleExpansionService).evict(3L);
+        ArgumentCaptor<DoctorScheduleChangedEvent> event = ArgumentCaptor.forClass(DoctorScheduleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getDoctorId(), equalTo(3L));
+    }
+
+    /**
+     * Clinic holiday defaults to one day test.
+     */
+    @Test
+    @DisplayName("Schedule exceptions - Service - Clinic holiday")
+    public void clinicHolidayTest() {
+        when(scheduleExceptionsRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ScheduleExceptions saved = service.create(createTestRequest(null, ScheduleExceptionType.HOLIDAY));
+
+        assertThat(saved.getDoctor(), nullValue());
+        assertThat(saved.getDateTo(), equalTo(DAY));
+        verify(scheduleExpansionService).evict(null);
+    }
+
+    /**
+     * Invalid exceptions test.
+     */
+    @Test
+    @DisplayName("Schedule exceptions - Service - Invalid exceptions")
+    public void invalidExceptionsTest() {
+        ScheduleExceptionRequestDto backwards = createTestRequest(3L, ScheduleExceptionType.VACATION);
+        backwards.setDateTo(DAY.minusDays(1));
+        ScheduleExceptionRequestDto halfTime = createTestRequest(3L, ScheduleExceptionType.SICK_LEAVE);
+        halfTime.setStartTime(LocalTime.of(10, 0));
+        ScheduleExceptionRequestDto shiftWithoutTime = createTestRequest(3L, ScheduleExceptionType.EXTRA_SHIFT);
+
+        assertThrows(BadFormatException.class, () -> service.create(backwards));
+        assertThrows(BadFormatException.class, () -> service.create(halfTime));
+        assertThrows(BadFormatException.class, () -> service.create(shiftWithoutTime));
+        assertThrows(BadFormatException.class, () -> service.create(createTestRequest(null, ScheduleExceptionType.VACATION)));
+        verifyNoInteractions(scheduleExceptionsRepository, scheduleExpansionService);
+    }
+
+    /**
+     * Unknown doctor and delete test.
+     */
+    @Test
+    @DisplayName("Schedule exceptions - Service - Unknown doctor and delete")
+    public void unknownDoctorAndDeleteTest() {
+        when(scheduleExceptionsRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("fk"));
+        assertThrows(DataNotFoundException.class,
+                () -> service.create(createTestRequest(9L, ScheduleExceptionType.VACATION)));
+
+        when(scheduleExceptionsRepository.findActiveById(1L)).thenReturn(Optional.of(new ScheduleExceptions()));
+        service.delete(1L);
+        verify(scheduleExceptionsRepository).softDelete(1L);
+        verify(scheduleExpansionService).evict(null);
+
+        when(scheduleExceptionsRepository.findActiveById(2L)).thenReturn(Optional.empty());
+        assertThrows(DataNotFoundException.class, () -> service.delete(2L));
+    }
+}
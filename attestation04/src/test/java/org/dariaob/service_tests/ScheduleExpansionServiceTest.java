@@ -0,0 +1,206 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.ScheduleExceptionType;
+import org.dariaob.models.ScheduleExceptions;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.ScheduleExceptionsRepository;
+import org.dariaob.services.ScheduleExpansionService;
+import org.dariaob.utils.WorkingWindows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Schedule expansion service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScheduleExpansionServiceTest {
+
+    /**
+     * Понедельник
+     */
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private ScheduleExceptionsRepository scheduleExceptionsRepository;
+
+    private ScheduleExpansionService service;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        cacheManager = new ConcurrentMapCacheManager("doctorWeekSchedule");
+        service = new ScheduleExpansionService(doctorScheduleRepository, scheduleExceptionsRepository, cacheManager);
+    }
+
+    private DoctorSchedule createTestSchedule(Long doctorId, Short dayOfWeek, String start, String end, Long officeId) {
+        Doctors doctor = new Doctors();
+        doctor.setId(doctorId);
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        schedule.setOffice(officeId != null ? new Offices(officeId, "Кабинет " + officeId, false) : null);
+        return schedule;
+    }
+
+    private ScheduleExceptions createTestException(Doctors doctor, ScheduleExceptionType type, LocalDate from,
+                                                   LocalDate to, String start, String end, Long officeId) {
+        ScheduleExceptions exception = new ScheduleExceptions();
+        exception.setDoctor(doctor);
+        exception.setType(type);
+        exception.setDateFrom(from);
+        exception.setDateTo(to);
+        exception.setStartTime(start != null ? LocalTime.parse(start) : null);
+        exception.setEndTime(end != null ? LocalTime.parse(end) : null);
+        exception.setOffice(officeId != null ? new Offices(officeId, "Кабинет " + officeId, false) : null);
+        return exception;
+    }
+
+    /**
+     * Expand range across weeks test.
+     */
+    @Test
+    @DisplayName("Schedule expansion - Service - Dated windows across weeks")
+    public void expandAcrossWeeksTest() {
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection())).thenReturn(List.of(
+                createTestSchedule(1L, (short) 5, "14:00", "18:00", null),
+                createTestSchedule(1L, (short) 1, "09:00", "13:00", 5L),
+                createTestSchedule(1L, (short) 3, "12:00", "10:00", 5L)));
+
+        WorkingWindows windows = service.expand(1L, MONDAY.plusDays(2), MONDAY.plusDays(8));
+
+        assertThat(windows.getOrigin(), equalTo(MONDAY.plusDays(2)));
+        assertThat(windows.size(), equalTo(2));
+        assertThat(windows.start(0), equalTo(LocalDateTime.of(2030, 1, 11, 14, 0)));
+        assertThat(windows.officeId(0), nullValue());
+        assertThat(windows.start(1), equalTo(LocalDateTime.of(2030, 1, 14, 9, 0)));
+        assertThat(windows.end(1), equalTo(LocalDateTime.of(2030, 1, 14, 13, 0)));
+        assertThat(windows.officeId(1), equalTo(5L));
+        assertThat(windows.indexRange(MONDAY.plusDays(7)), equalTo(new int[]{1, 2}));
+    }
+
+    /**
+     * Weeks are cached per doctor test.
+     */
+    @Test
+    @DisplayName("Schedule expansion - Service - Weeks cached until evicted")
+    public void cachedUntilEvictedTest() {
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection())).thenReturn(List.of(
+                createTestSchedule(1L, (short) 1, "09:00", "13:00", 5L),
+                createTestSchedule(2L, (short) 2, "10:00", "11:00", 6L)));
+
+        Map<Long, WorkingWindows> first = service.expand(List.of(1L, 2L), MONDAY, MONDAY.plusDays(14));
+        assertThat(first.get(1L).size(), equalTo(2));
+        assertThat(first.get(2L).size(), equalTo(2));
+
+        service.expand(List.of(1L, 2L), MONDAY.plusDays(3), MONDAY.plusDays(10));
+        verify(doctorScheduleRepository, times(1)).findActiveByDoctorIds(anyCollection());
+
+        service.evict(2L);
+        service.expand(List.of(1L, 2L), MONDAY, MONDAY.plusDays(14));
+        verify(doctorScheduleRepository).findActiveByDoctorIds(Set.of(2L));
+
+        service.evict(null);
+        service.expand(1L, MONDAY, MONDAY.plusDays(1));
+        verify(doctorScheduleRepository, times(3)).findActiveByDoctorIds(anyCollection());
+    }
+
+    /**
+     * Evicted doctor's weeks removed from cache test.
+     */
+    @Test
+    @DisplayName("Schedule expansion - Service - Evicted doctor's weeks removed from cache")
+    public void evictRemovesEntriesTest() {
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection())).thenReturn(List.of(
+                createTestSchedule(1L, (short) 1, "09:00", "13:00", 5L),
+                createTestSchedule(2L, (short) 2, "10:00", "11:00", 6L)));
+        service.expand(List.of(1L, 2L), MONDAY, MONDAY.plusDays(14));
+        Map<?, ?> store = (Map<?, ?>) cacheManager.getCache("doctorWeekSchedule").getNativeCache();
+        assertThat(store.size(), equalTo(4));
+
+        service.evict(2L);
+        assertThat(store.size(), equalTo(2));
+        service.expand(List.of(1L, 2L), MONDAY, MONDAY.plusDays(14));
+        assertThat(store.size(), equalTo(4));
+
+        service.evict(null);
+        assertThat(store.size(), equalTo(0));
+    }
+
+    /**
+     * Exceptions merged into weekly rules test.
+     */
+    @Test
+    @DisplayName("Schedule expansion - Service - Holidays, leave and extra shifts")
+    public void exceptionsMergedTest() {
+        when(doctorScheduleRepository.findActiveByDoctorIds(anyCollection())).thenReturn(List.of(
+                createTestSchedule(1L, (short) 1, "09:00", "13:00", 5L),
+                createTestSchedule(1L, (short) 2, "09:00", "13:00", 5L),
+                createTestSchedule(1L, (short) 3, "09:00", "13:00", 5L)));
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        when(scheduleExceptionsRepository.findActiveForDoctorsBetween(anyCollection(), any(), any())).thenReturn(List.of(
+                createTestException(null, ScheduleExceptionType.HOLIDAY, MONDAY, MONDAY, null, null, null),
+                createTestException(doctor, ScheduleExceptionType.SICK_LEAVE, MONDAY.plusDays(1), MONDAY.plusDays(1),
+                        "10:00", "11:00", null),
+                createTestException(doctor, ScheduleExceptionType.EXTRA_SHIFT, MONDAY.plusDays(2), MONDAY.plusDays(2),
+                        "12:00", "15:00", 7L),
+                createTestException(doctor, ScheduleExceptionType.EXTRA_SHIFT, MONDAY.plusDays(5), MONDAY.plusDays(5),
+                        "10:00", "12:00", 7L)));
+
+        WorkingWindows windows = service.expand(1L, MONDAY, MONDAY.plusDays(7));
+
+        assertThat(windows.size(), equalTo(5));
+        assertThat(windows.start(0), equalTo(LocalDateTime.of(2030, 1, 8, 9, 0)));
+        assertThat(windows.end(0), equalTo(LocalDateTime.of(2030, 1, 8, 10, 0)));
+        assertThat(windows.start(1), equalTo(LocalDateTime.of(2030, 1, 8, 11, 0)));
+        assertThat(windows.end(2), equalTo(LocalDateTime.of(2030, 1, 9, 13, 0)));
+        assertThat(windows.officeId(2), equalTo(5L));
+        assertThat(windows.start(3), equalTo(LocalDateTime.of(2030, 1, 9, 13, 0)));
+        assertThat(windows.end(3), equalTo(LocalDateTime.of(2030, 1, 9, 15, 0)));
+        assertThat(windows.officeId(3), equalTo(7L));
+        assertThat(windows.start(4), equalTo(LocalDateTime.of(2030, 1, 12, 10, 0)));
+    }
+
+    /**
+     * Invalid range test.
+     */
+    @Test
+    @DisplayName("Schedule expansion - Service - Invalid range")
+    public void invalidRangeTest() {
+        assertThrows(BadFormatException.class, () -> service.expand(1L, MONDAY, MONDAY.minusDays(1)));
+        assertThrows(BadFormatException.class, () -> service.expand(1L, MONDAY, MONDAY.plusYears(2)));
+        verifyNoInteractions(doctorScheduleRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package org.dariaob.service_tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.dariaob.dto.doctorSchedule.ScheduleMatrixDto;
+import org.dariaob.events.DoctorChangedEvent;
+import org.dariaob.events.DoctorScheduleChangedEvent;
+import org.dariaob.events.OfficeChangedEvent;
+import org.dariaob.models.DoctorSchedule;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.services.ScheduleMatrixService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Schedule matrix service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScheduleMatrixServiceTest {
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ScheduleMatrixService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        service = new ScheduleMatrixService(doctorScheduleRepository, doctorsRepository, mapper,
+                new ConcurrentMapCacheManager("doctorScheduleMatrix"));
+    }
+
+    private DoctorSchedule createTestSchedule(Long id, Long doctorId, Short dayOfWeek, String start, String end,
+                                              Offices office) {
+        Doctors doctor = new Doctors();
+        doctor.setId(doctorId);
+        doctor.setName("Врач " + doctorId);
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setId(id);
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        schedule.setOffice(office);
+        return schedule;
+    }
+
+    /**
+     * Build matrix test.
+     */
+    @Test
+    @DisplayName("Schedule matrix - Service - Rows by doctor and day")
+    public void buildTest() {
+        when(doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()).thenReturn(List.of(
+                createTestSchedule(1L, 10L, (short) 1, "09:00", "12:00", new Offices(5L, "Кабинет 101", false)),
+                createTestSchedule(2L, 10L, (short) 1, "14:00", "17:00", null),
+                createTestSchedule(3L, 10L, (short) 7, "10:00", "12:00", null),
+                createTestSchedule(4L, 11L, (short) 3, "08:00", "12:00", null)));
+        Doctors unscheduled = new Doctors();
+        unscheduled.setId(9L);
+        unscheduled.setName("Врач 9");
+        when(doctorsRepository.findAllActive()).thenReturn(List.of(
+                createTestSchedule(5L, 11L, (short) 1, "08:00", "09:00", null).getDoctor(), unscheduled));
+
+        ScheduleMatrixDto matrix = service.build();
+
+        assertThat(matrix.getDoctors(), hasSize(3));
+        ScheduleMatrixDto.Row empty = matrix.getDoctors().remove(0);
+        assertThat(empty.getDoctorId(), equalTo(9L));
+        assertThat(empty.getDays(), hasSize(7));
+        assertThat(empty.getDays().stream().allMatch(List::isEmpty), is(true));
+        ScheduleMatrixDto.Row first = matrix.getDoctors().get(0);
+        assertThat(first.getDoctorName(), equalTo("Врач 10"));
+        assertThat(first.getDays(), hasSize(7));
+        assertThat(first.getDays().get(0), hasSize(2));
+        assertThat(first.getDays().get(0).get(0).getOfficeName(), equalTo("Кабинет 101"));
+        assertThat(first.getDays().get(0).get(1).getOfficeId(), nullValue());
+        assertThat(first.getDays().get(6).get(0).getScheduleId(), equalTo(3L));
+        assertThat(matrix.getDoctors().get(1).getDays().get(2).get(0).getStartTime(), equalTo(LocalTime.of(8, 0)));
+    }
+
+    /**
+     * Cached JSON test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Schedule matrix - Service - JSON cached until schedule, doctor or office changes")
+    public void cachedJsonTest() throws Exception {
+        when(doctorScheduleRepository.findAllActiveOrderedByDoctorAndDay()).thenReturn(List.of(
+                createTestSchedule(1L, 10L, (short) 2, "09:00", "12:00", null)));
+
+        byte[] json = service.getMatrixJson();
+        assertThat(service.getMatrixJson(), sameInstance(json));
+        JsonNode root = mapper.readTree(json);
+        assertThat(root.at("/doctors/0/days/1/0/startTime").asText(), equalTo("09:00:00"));
+        verify(doctorScheduleRepository, times(1)).findAllActiveOrderedByDoctorAndDay();
+
+        service.onScheduleChanged(new DoctorScheduleChangedEvent(10L));
+        byte[] rebuilt = service.getMatrixJson();
+        assertThat(rebuilt, not(sameInstance(json)));
+
+        service.onDoctorChanged(new DoctorChangedEvent(10L));
+        byte[] renamed = service.getMatrixJson();
+        assertThat(renamed, not(sameInstance(rebuilt)));
+
+        service.onOfficeChanged(new OfficeChangedEvent(5L));
+        assertThat(service.getMatrixJson(), not(sameInstance(renamed)));
+        verify(doctorScheduleRepository, times(4)).findAllActiveOrderedByDoctorAndDay();
+    }
+}
@@ -0,0 +1,228 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.appointments.AppointmentRequestDto;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.Doctors;
+import org.dariaob.models.Offices;
+import org.dariaob.models.SlotHoldStatus;
+import org.dariaob.models.SlotHolds;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.dariaob.services.AppointmentsService;
+import org.dariaob.services.SlotHoldService;
+import org.dariaob.services.SlotReservationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Slot hold service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SlotHoldServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    private static final LocalDateTime TO = FROM.plusMinutes(30);
+
+    @Mock
+    private SlotHoldsRepository slotHoldsRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    @Mock
+    private AppointmentsService appointmentsService;
+
+    @Mock
+    private SlotReservationService slotReservationService;
+
+    @InjectMocks
+    private SlotHoldService service;
+
+    private SlotHolds holdWithId(SlotHolds hold, Long id) {
+        hold.setId(id);
+        return hold;
+    }
+
+    private SlotHolds createActiveHold() {
+        when(slotReservationService.isCovered(FROM, TO)).thenReturn(true);
+        when(slotReservationService.claim(1L, 2L, FROM, TO)).thenReturn(true);
+        return saveHold();
+    }
+
+    private SlotHolds saveHold() {
+        Doctors doctor = new Doctors();
+        doctor.setId(1L);
+        Offices office = new Offices();
+        office.setId(2L);
+        when(doctorsRepository.getReferenceById(1L)).thenReturn(doctor);
+        when(officesRepository.getReferenceById(2L)).thenReturn(office);
+        when(slotHoldsRepository.saveAndFlush(any(SlotHolds.class))).thenAnswer(inv -> holdWithId(inv.getArgument(0), 7L));
+        return service.hold(1L, 2L, FROM, TO, 5);
+    }
+
+    /**
+     * Hold success test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - Success")
+    public void holdSuccessTest() {
+        SlotHolds hold = createActiveHold();
+
+        assertThat(hold.getId(), equalTo(7L));
+        assertThat(hold.getStatus(), equalTo(SlotHoldStatus.ACTIVE));
+        assertThat(hold.getExpiresAt(), greaterThan(LocalDateTime.now().plusMinutes(4)));
+        assertThat(service.activeLocalHolds(), equalTo(1));
+        verify(slotHoldsRepository, never()).tryAdvisoryXactLock(anyInt(), anyInt());
+    }
+
+    /**
+     * Hold conflict test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - Conflict")
+    public void holdConflictTest() {
+        when(slotReservationService.isCovered(FROM, TO)).thenReturn(true);
+        when(slotReservationService.claim(1L, 2L, FROM, TO)).thenReturn(false);
+        when(appointmentsRepository.existsOverlappingAppointment(1L, FROM, TO)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> service.hold(1L, 2L, FROM, TO, null));
+        verify(slotHoldsRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Hold sharing a boundary slot with an appointment test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - Failed claim not confirmed by DB marks the slot map")
+    public void holdSharedBoundaryTest() {
+        when(slotReservationService.isCovered(FROM, TO)).thenReturn(true);
+        when(slotReservationService.claim(1L, 2L, FROM, TO)).thenReturn(false);
+        when(appointmentsRepository.findActiveByOfficeIdsBetween(any(), eq(FROM), eq(TO))).thenReturn(List.of());
+        SlotHolds hold = saveHold();
+
+        verify(slotReservationService).occupy(1L, 2L, FROM, TO);
+        when(slotHoldsRepository.findById(7L)).thenReturn(Optional.of(hold));
+        service.cancel(7L);
+        verify(slotReservationService).release(1L, 2L, FROM, TO);
+    }
+
+    /**
+     * Hold outside the slot map horizon test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - Outside horizon checked in DB")
+    public void holdOutsideHorizonTest() {
+        when(slotReservationService.isCovered(FROM, TO)).thenReturn(false);
+        when(slotHoldsRepository.existsActiveOverlapping(eq(1L), eq(2L), eq(FROM), eq(TO), any()))
+                .thenReturn(false, true);
+        SlotHolds hold = saveHold();
+
+        assertThat(hold.getId(), equalTo(7L));
+        assertThrows(ConflictException.class, () -> service.hold(1L, 2L, FROM, TO, null));
+        verify(slotReservationService, never()).claim(any(), any(), any(), any());
+
+        when(slotHoldsRepository.findById(7L)).thenReturn(Optional.of(hold));
+        service.cancel(7L);
+        verify(slotReservationService, never()).release(any(), any(), any(), any());
+    }
+
+    /**
+     * Hold in the past test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - In the past")
+    public void holdInPastTest() {
+        LocalDateTime past = LocalDateTime.now().minusHours(1);
+
+        assertThrows(BadFormatException.class, () -> service.hold(1L, 2L, past, past.plusMinutes(30), null));
+        verifyNoInteractions(slotReservationService, slotHoldsRepository);
+    }
+
+    /**
+     * Hold invalid ttl test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Hold - Invalid TTL")
+    public void holdInvalidTtlTest() {
+        assertThrows(BadFormatException.class, () -> service.hold(1L, 2L, FROM, TO, 120));
+        verifyNoInteractions(slotReservationService);
+    }
+
+    /**
+     * Confirm test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Confirm")
+    public void confirmTest() {
+        SlotHolds hold = createActiveHold();
+        when(slotHoldsRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(appointmentsService.createHeldAppointment(any())).thenReturn(42L);
+        when(slotHoldsRepository.save(hold)).thenReturn(hold);
+
+        SlotHolds confirmed = service.confirm(7L, 3L, null);
+
+        assertThat(confirmed.getStatus(), equalTo(SlotHoldStatus.CONFIRMED));
+        assertThat(confirmed.getAppointmentId(), equalTo(42L));
+        assertThat(service.activeLocalHolds(), equalTo(0));
+        ArgumentCaptor<AppointmentRequestDto> request = ArgumentCaptor.forClass(AppointmentRequestDto.class);
+        verify(appointmentsService).createHeldAppointment(request.capture());
+        assertThat(request.getValue().getPatientId(), equalTo(3L));
+        assertThat(request.getValue().getWorkHoursFrom(), equalTo(FROM));
+        verify(slotReservationService, never()).release(any(), any(), any(), any());
+    }
+
+    /**
+     * Confirm failure keeps hold test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Confirm failure keeps hold")
+    public void confirmFailureKeepsHoldTest() {
+        SlotHolds hold = createActiveHold();
+        when(slotHoldsRepository.findById(7L)).thenReturn(Optional.of(hold));
+        when(appointmentsService.createHeldAppointment(any())).thenThrow(new ConflictException("overlap"));
+
+        assertThrows(ConflictException.class, () -> service.confirm(7L, 3L, null));
+        assertThat(service.activeLocalHolds(), equalTo(1));
+        assertThat(hold.getStatus(), equalTo(SlotHoldStatus.ACTIVE));
+    }
+
+    /**
+     * Cancel test.
+     */
+    @Test
+    @DisplayName("Slot holds - Service - Cancel releases interval")
+    public void cancelTest() {
+        SlotHolds hold = createActiveHold();
+        when(slotHoldsRepository.findById(7L)).thenReturn(Optional.of(hold));
+
+        service.cancel(7L);
+
+        assertThat(hold.getStatus(), equalTo(SlotHoldStatus.CANCELLED));
+        verify(slotReservationService).release(1L, 2L, FROM, TO);
+        assertThrows(ConflictException.class, () -> service.confirm(7L, 3L, null));
+    }
+}
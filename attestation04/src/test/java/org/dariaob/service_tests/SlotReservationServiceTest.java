@@ -0,0 +1,324 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.models.Appointments;
+import org.dariaob.models.Doctors;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.repositories.DoctorScheduleRepository;
+import org.dariaob.services.SlotReservationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Slot reservation service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SlotReservationServiceTest {
+
+    private static final LocalDateTime TOMORROW = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @InjectMocks
+    private SlotReservationService service;
+
+    private Appointments createTestAppointment(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        Doctors doctor = new Doctors();
+        doctor.setId(doctorId);
+        Appointments appointment = new Appointments();
+        appointment.setDoctor(doctor);
+        appointment.setWorkHoursFrom(from);
+        appointment.setWorkHoursFor(to);
+        return appointment;
+    }
+
+    /**
+     * Claim and release test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Claim, conflict and release")
+    public void claimAndReleaseTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(10);
+
+        assertThat(service.claim(1L, from, from.plusMinutes(30)), is(true));
+        assertThat(service.claim(1L, from.plusMinutes(25), from.plusMinutes(40)), is(false));
+        assertThat(service.claim(1L, from.plusMinutes(30), from.plusMinutes(40)), is(true));
+        assertThat(service.claim(2L, from, from.plusMinutes(30)), is(true));
+
+        service.release(1L, from, from.plusMinutes(30));
+
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(30)), is(false));
+        assertThat(service.mayConflict(1L, from.plusMinutes(30), from.plusMinutes(35)), is(true));
+    }
+
+    /**
+     * Office claims test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Doctor and office claimed together")
+    public void officeClaimTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        when(appointmentsRepository.findActiveByOfficeIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(14);
+
+        assertThat(service.claim(1L, 5L, from, from.plusMinutes(30)), is(true));
+        assertThat(service.claim(2L, 5L, from.plusMinutes(15), from.plusMinutes(45)), is(false));
+        assertThat(service.mayConflict(2L, from, from.plusMinutes(30)), is(false));
+
+        service.release(1L, 5L, from, from.plusMinutes(30));
+
+        assertThat(service.claim(2L, 5L, from.plusMinutes(15), from.plusMinutes(45)), is(true));
+    }
+
+    /**
+     * Failed claim leaves no partial reservation test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Failed claim rolls back")
+    public void failedClaimRollsBackTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(8);
+
+        assertThat(service.claim(1L, from.plusHours(10), from.plusHours(11)), is(true));
+        assertThat(service.claim(1L, from, from.plusHours(10).plusMinutes(5)), is(false));
+
+        assertThat(service.mayConflict(1L, from, from.plusHours(10)), is(false));
+    }
+
+    /**
+     * Touching intervals off the five-minute grid test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Touching intervals share no slot")
+    public void touchingIntervalsTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(10);
+
+        assertThat(service.claim(1L, from, from.plusMinutes(7)), is(true));
+        assertThat(service.claim(1L, from.plusMinutes(7), from.plusMinutes(15)), is(true));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+                1L, 1L, 1L, 1L, from, from.plusMinutes(7)));
+
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(7)), is(false));
+        assertThat(service.mayConflict(1L, from.plusMinutes(7), from.plusMinutes(8)), is(true));
+        assertThat(service.claim(1L, from.plusMinutes(5), from.plusMinutes(10)), is(false));
+    }
+
+    /**
+     * Release keeps a slot shared by a neighbour off the minute grid test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Release keeps a partially shared slot")
+    public void releaseKeepsSharedSlotTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(10);
+        LocalDateTime boundary = from.plusMinutes(7).plusSeconds(30);
+
+        assertThat(service.claim(1L, from, boundary), is(true));
+        assertThat(service.claim(1L, boundary, from.plusMinutes(15)), is(false));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                2L, 1L, 1L, 1L, boundary, from.plusMinutes(15)));
+        service.release(1L, from, boundary);
+
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(7)), is(false));
+        assertThat(service.mayConflict(1L, boundary, boundary.plusSeconds(10)), is(true));
+        assertThat(service.mayConflict(1L, from.plusMinutes(10), from.plusMinutes(11)), is(true));
+    }
+
+    /**
+     * Claim released when the transaction rolls back test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Claim released on rollback")
+    public void claimReleasedOnRollbackTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(service.claim(1L, from, from.plusMinutes(30)), is(true));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(30)), is(false));
+    }
+
+    /**
+     * Claim released explicitly is not released again on rollback test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Claim released once per transaction")
+    public void claimReleasedOnceTest() {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(service.claim(1L, from, from.plusMinutes(30)), is(true));
+            service.release(1L, from, from.plusMinutes(30));
+            service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED,
+                    2L, 1L, 1L, 1L, from, from.plusMinutes(30)));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(30)), is(true));
+    }
+
+    /**
+     * Day is loaded from existing appointments test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Day loaded from appointments")
+    public void dayLoadedFromAppointmentsTest() {
+        LocalDateTime from = TOMORROW.withHour(9);
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(createTestAppointment(1L, from, from.plusMinutes(20))));
+
+        assertThat(service.claim(1L, from.plusMinutes(10), from.plusMinutes(30)), is(false));
+        assertThat(service.claim(1L, from.plusMinutes(20), from.plusMinutes(30)), is(true));
+        verify(appointmentsRepository, times(1)).findActiveByDoctorIdsBetween(anyCollection(), any(), any());
+    }
+
+    /**
+     * Rebuild and events test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Rebuild and sync on events")
+    public void rebuildAndEventsTest() {
+        LocalDateTime from = TOMORROW.withHour(12);
+        when(doctorScheduleRepository.findAllActive()).thenReturn(List.of());
+        when(appointmentsRepository.findAllActiveBetween(any(), any()))
+                .thenReturn(List.of(createTestAppointment(1L, from, from.plusMinutes(30))));
+
+        service.rebuild();
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(5)), is(true));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+                1L, 1L, 1L, 1L, from, from.plusMinutes(30)));
+        assertThat(service.mayConflict(1L, from, from.plusMinutes(30)), is(false));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.RESTORED,
+                1L, 1L, 1L, 1L, from, from.plusMinutes(30)));
+        assertThat(service.claim(1L, from, from.plusMinutes(30)), is(false));
+        verify(appointmentsRepository, never()).findActiveByDoctorIdsBetween(anyCollection(), any(), any());
+    }
+
+    /**
+     * Outside horizon always requires DB check test.
+     */
+    @Test
+    @DisplayName("Slot reservation - Outside horizon")
+    public void outsideHorizonTest() {
+        LocalDateTime past = LocalDateTime.now().minusDays(3);
+
+        assertThat(service.mayConflict(1L, past, past.plusMinutes(30)), is(true));
+        assertThat(service.claim(1L, past, past.plusMinutes(30)), is(true));
+        verifyNoInteractions(appointmentsRepository);
+    }
+
+    /**
+     * Concurrent claims test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Slot reservation - Only one concurrent claim wins")
+    public void concurrentClaimsTest() throws Exception {
+        when(appointmentsRepository.findActiveByDoctorIdsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        LocalDateTime from = TOMORROW.withHour(8);
+        AtomicInteger won = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    if (service.claim(1L, from, from.plusMinutes(15))) {
+                        won.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(won.get(), equalTo(1));
+    }
+
+    /**
+     * Database check locks per doctor and office test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Slot reservation - Database check locks are held per doctor and office until completion")
+    public void lockUntilCompletionTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.lockUntilCompletion(1L, 2L);
+
+            assertThat(executor.submit(() -> lockInTransaction(3L, 4L)).get(1, TimeUnit.SECONDS), is(true));
+            Future<Boolean> sameOffice = executor.submit(() -> lockInTransaction(3L, 2L));
+            assertThrows(TimeoutException.class, () -> sameOffice.get(200, TimeUnit.MILLISECONDS));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertThat(sameOffice.get(1, TimeUnit.SECONDS), is(true));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdown();
+        }
+    }
+
+    private boolean lockInTransaction(Long doctorId, Long officeId) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.lockUntilCompletion(doctorId, officeId);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return true;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
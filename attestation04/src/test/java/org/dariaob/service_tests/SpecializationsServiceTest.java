@@ -1,5 +1,6 @@
 package org.dariaob.service_tests;
 
+import org.dariaob.events.SpecializationChangedEvent;
 import org.dariaob.exceptions.DataNotFoundException;
 import org.dariaob.models.Specializations;
 import org.dariaob.repositories.SpecializationsRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +28,9 @@ class SpecializationsServiceTest {
     @Mock
     private SpecializationsRepository specializationsRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SpecializationsService specializationsService;
 
@@ -166,6 +171,7 @@ class SpecializationsServiceTest {
 
         assertThat(saved).isEqualTo(spec);
         verify(specializationsRepository).save(spec);
+        verify(eventPublisher).publishEvent(isA(SpecializationChangedEvent.class));
     }
 
     /**
@@ -0,0 +1,81 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.services.TimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The type Timer wheel test.
+ */
+public class TimerWheelTest {
+
+    /**
+     * Expiry in deadline order test.
+     */
+    @Test
+    @DisplayName("Timer wheel - Expires entries when their tick passes")
+    public void expiresByDeadlineTest() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+        wheel.schedule(1L, "a", 1500);
+        wheel.schedule(2L, "b", 3000);
+
+        assertThat(wheel.advance(1000), empty());
+        assertThat(wheel.advance(2000), contains("a"));
+        assertThat(wheel.advance(2999), empty());
+        assertThat(wheel.advance(3000), contains("b"));
+        assertThat(wheel.size(), equalTo(0));
+    }
+
+    /**
+     * Deadlines longer than one rotation test.
+     */
+    @Test
+    @DisplayName("Timer wheel - Deadlines beyond one rotation")
+    public void multipleRotationsTest() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 0);
+        wheel.schedule(1L, "late", 10_000);
+
+        assertThat(wheel.advance(4000), empty());
+        assertThat(wheel.advance(8000), empty());
+        assertThat(wheel.advance(10_000), contains("late"));
+    }
+
+    /**
+     * Cancel and reschedule test.
+     */
+    @Test
+    @DisplayName("Timer wheel - Cancel and reschedule")
+    public void cancelAndRescheduleTest() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+        wheel.schedule(1L, "a", 2000);
+        wheel.schedule(2L, "b", 2000);
+
+        assertThat(wheel.cancel(1L), equalTo("a"));
+        assertThat(wheel.cancel(1L), nullValue());
+        wheel.schedule(2L, "b2", 5000);
+
+        assertThat(wheel.advance(3000), empty());
+        List<String> expired = wheel.advance(6000);
+        assertThat(expired, contains("b2"));
+    }
+
+    /**
+     * Long pause sweeps the whole wheel test.
+     */
+    @Test
+    @DisplayName("Timer wheel - Long pause between sweeps")
+    public void longPauseTest() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 0);
+        wheel.schedule(1L, "a", 1000);
+        wheel.schedule(2L, "b", 3000);
+        wheel.schedule(3L, "c", 60_000);
+
+        assertThat(wheel.advance(20_000), containsInAnyOrder("a", "b"));
+        assertThat(wheel.size(), equalTo(1));
+    }
+}
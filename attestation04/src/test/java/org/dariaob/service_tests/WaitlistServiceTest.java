@@ -0,0 +1,299 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.waitlist.WaitlistRequestDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.exceptions.BadFormatException;
+import org.dariaob.exceptions.ConflictException;
+import org.dariaob.models.*;
+import org.dariaob.repositories.DoctorSpecializationsRepository;
+import org.dariaob.repositories.DoctorsRepository;
+import org.dariaob.repositories.PatientsRepository;
+import org.dariaob.repositories.SlotHoldsRepository;
+import org.dariaob.repositories.SpecializationsRepository;
+import org.dariaob.repositories.WaitlistEntriesRepository;
+import org.dariaob.services.SlotHoldService;
+import org.dariaob.services.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Waitlist service test.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WaitlistServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(2).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    private static final LocalDateTime TO = FROM.plusMinutes(30);
+
+    @Mock
+    private WaitlistEntriesRepository waitlistEntriesRepository;
+
+    @Mock
+    private PatientsRepository patientsRepository;
+
+    @Mock
+    private DoctorsRepository doctorsRepository;
+
+    @Mock
+    private SpecializationsRepository specializationsRepository;
+
+    @Mock
+    private DoctorSpecializationsRepository doctorSpecializationsRepository;
+
+    @Mock
+    private SlotHoldsRepository slotHoldsRepository;
+
+    @Mock
+    private SlotHoldService slotHoldService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WaitlistService service;
+
+    private final Map<Long, WaitlistEntries> saved = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        when(patientsRepository.getReferenceById(any())).thenAnswer(inv -> withId(new Patients(), inv.getArgument(0)));
+        when(doctorsRepository.getReferenceById(any())).thenAnswer(inv -> withId(new Doctors(), inv.getArgument(0)));
+        when(specializationsRepository.getReferenceById(any())).thenAnswer(inv -> {
+            Specializations specialization = new Specializations();
+            specialization.setId(inv.getArgument(0));
+            return specialization;
+        });
+        when(waitlistEntriesRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            WaitlistEntries entry = inv.getArgument(0);
+            entry.setId(ids.incrementAndGet());
+            saved.put(entry.getId(), entry);
+            return entry;
+        });
+        when(waitlistEntriesRepository.findById(any())).thenAnswer(inv -> Optional.ofNullable(saved.get(inv.<Long>getArgument(0))));
+        when(doctorSpecializationsRepository.findAllByIdDoctorId(1L)).thenReturn(List.of(
+                new DoctorSpecializations(new DoctorSpecializationId(1L, 7L), null, null)));
+        SlotHolds hold = new SlotHolds();
+        hold.setId(50L);
+        when(slotHoldService.hold(1L, 2L, FROM, TO, WaitlistService.OFFER_TTL_MINUTES)).thenReturn(hold);
+    }
+
+    private static Patients withId(Patients patient, Long id) {
+        patient.setId(id);
+        return patient;
+    }
+
+    private static Doctors withId(Doctors doctor, Long id) {
+        doctor.setId(id);
+        return doctor;
+    }
+
+    private WaitlistRequestDto createRequest(Long doctorId, Long specializationId, WaitlistUrgency urgency) {
+        WaitlistRequestDto request = new WaitlistRequestDto();
+        request.setPatientId(3L);
+        request.setDoctorId(doctorId);
+        request.setSpecializationId(specializationId);
+        request.setUrgency(urgency);
+        return request;
+    }
+
+    /**
+     * Urgent entry gets the slot first test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Urgent entry is offered first")
+    public void urgentEntryOfferedFirstTest() {
+        WaitlistEntries routine = service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+        WaitlistEntries urgent = service.join(createRequest(null, 7L, WaitlistUrgency.URGENT));
+
+        service.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+                10L, 1L, 4L, 2L, FROM, TO));
+
+        assertThat(urgent.getStatus(), equalTo(WaitlistStatus.OFFERED));
+        assertThat(urgent.getHoldId(), equalTo(50L));
+        assertThat(routine.getStatus(), equalTo(WaitlistStatus.WAITING));
+        assertThat(service.waitingCount(), equalTo(1));
+    }
+
+    /**
+     * Earlier entry wins with equal urgency test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Earlier entry wins with equal urgency")
+    public void earlierEntryWinsTest() {
+        WaitlistEntries first = service.join(createRequest(1L, null, WaitlistUrgency.SOON));
+        service.join(createRequest(null, 7L, WaitlistUrgency.SOON));
+
+        Optional<Long> offered = service.offerFreedSlot(1L, 2L, FROM, TO, null);
+
+        assertThat(offered, equalTo(Optional.of(first.getId())));
+    }
+
+    /**
+     * Slot outside of the window is not offered test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Slot outside the window")
+    public void slotOutsideWindowTest() {
+        WaitlistRequestDto request = createRequest(1L, null, WaitlistUrgency.URGENT);
+        request.setEarliest(TO);
+        service.join(request);
+
+        Optional<Long> offered = service.offerFreedSlot(1L, 2L, FROM, TO, null);
+
+        assertThat(offered.isPresent(), is(false));
+        assertThat(service.waitingCount(), equalTo(1));
+        verifyNoInteractions(slotHoldService);
+    }
+
+    /**
+     * Failed hold returns entry to the queue test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Failed hold keeps entry waiting")
+    public void failedHoldRequeuesTest() {
+        service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+        when(slotHoldService.hold(any(), any(), any(), any(), any())).thenThrow(new ConflictException("busy"));
+
+        Optional<Long> offered = service.offerFreedSlot(1L, 2L, FROM, TO, null);
+
+        assertThat(offered.isPresent(), is(false));
+        assertThat(service.waitingCount(), equalTo(1));
+    }
+
+    /**
+     * Cancelled entry is skipped test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Cancelled entry is skipped")
+    public void cancelledEntrySkippedTest() {
+        WaitlistEntries entry = service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+
+        service.cancel(entry.getId());
+
+        assertThat(service.offerFreedSlot(1L, 2L, FROM, TO, null).isPresent(), is(false));
+        assertThat(entry.getStatus(), equalTo(WaitlistStatus.CANCELLED));
+    }
+
+    /**
+     * Cancelled offer passes the slot on only after commit test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Cancelled offer re-offered after commit")
+    public void cancelOfferedReofferedAfterCommitTest() {
+        WaitlistEntries first = service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+        WaitlistEntries second = service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+        service.offerFreedSlot(1L, 2L, FROM, TO, null);
+        SlotHolds hold = new SlotHolds();
+        hold.setId(50L);
+        hold.setStatus(SlotHoldStatus.ACTIVE);
+        hold.setDoctor(withId(new Doctors(), 1L));
+        Offices office = new Offices();
+        office.setId(2L);
+        hold.setOffice(office);
+        hold.setHoldFrom(FROM);
+        hold.setHoldTo(TO);
+        when(slotHoldService.getById(50L)).thenReturn(hold);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.cancel(first.getId());
+            verify(slotHoldService).cancel(50L);
+            verify(slotHoldService, times(1)).hold(any(), any(), any(), any(), any());
+            assertThat(second.getStatus(), equalTo(WaitlistStatus.WAITING));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(first.getStatus(), equalTo(WaitlistStatus.CANCELLED));
+        assertThat(second.getStatus(), equalTo(WaitlistStatus.OFFERED));
+        verify(slotHoldService, times(2)).hold(1L, 2L, FROM, TO, WaitlistService.OFFER_TTL_MINUTES);
+    }
+
+    /**
+     * Rebuild test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Rebuild queues from database")
+    public void rebuildTest() {
+        WaitlistEntries entry = new WaitlistEntries();
+        entry.setId(5L);
+        entry.setDoctor(withId(new Doctors(), 1L));
+        entry.setUrgency(WaitlistUrgency.ROUTINE);
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(LocalDateTime.now());
+        saved.put(5L, entry);
+        when(waitlistEntriesRepository.findAllByStatus(WaitlistStatus.WAITING)).thenReturn(List.of(entry));
+
+        service.rebuild();
+
+        assertThat(service.waitingCount(), equalTo(1));
+        assertThat(service.offerFreedSlot(1L, 2L, FROM, TO, null), equalTo(Optional.of(5L)));
+    }
+
+    /**
+     * Join with both doctor and specialization test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Join requires doctor or specialization")
+    public void joinInvalidTest() {
+        assertThrows(BadFormatException.class, () -> service.join(createRequest(1L, 7L, null)));
+        assertThrows(BadFormatException.class, () -> service.join(createRequest(null, null, null)));
+        verify(waitlistEntriesRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Join enqueued only after commit test.
+     */
+    @Test
+    @DisplayName("Waitlist - Service - Join enqueued after commit, not after rollback")
+    public void joinEnqueuedAfterCommitTest() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+            assertThat(service.waitingCount(), equalTo(0));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(service.waitingCount(), equalTo(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.join(createRequest(1L, null, WaitlistUrgency.ROUTINE));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(service.waitingCount(), equalTo(1));
+    }
+}
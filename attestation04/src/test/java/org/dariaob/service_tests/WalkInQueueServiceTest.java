@@ -0,0 +1,203 @@
+package org.dariaob.service_tests;
+
+import org.dariaob.dto.walkIn.WalkInPositionDto;
+import org.dariaob.dto.walkIn.WalkInQueueDto;
+import org.dariaob.dto.walkIn.WalkInTicketDto;
+import org.dariaob.exceptions.DataNotFoundException;
+import org.dariaob.models.Offices;
+import org.dariaob.repositories.OfficesRepository;
+import org.dariaob.repositories.WalkInQueueCheckpointRepository;
+import org.dariaob.services.WalkInQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Walk-in queue service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WalkInQueueServiceTest {
+
+    @Mock
+    private OfficesRepository officesRepository;
+
+    @Mock
+    private WalkInQueueCheckpointRepository checkpointRepository;
+
+    @InjectMocks
+    private WalkInQueueService service;
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    private void stubOffice(Long id) {
+        when(officesRepository.findActiveById(id)).thenReturn(Optional.of(new Offices(id, "Кабинет " + id, false)));
+    }
+
+    /**
+     * Enqueue, position and call next test.
+     */
+    @Test
+    @DisplayName("Walk-in queue - Service - Enqueue, position and call next")
+    public void enqueueAndCallNextTest() {
+        stubOffice(1L);
+
+        WalkInTicketDto first = service.enqueue(1L, "Иванов");
+        WalkInTicketDto second = service.enqueue(1L, null);
+        WalkInTicketDto third = service.enqueue(1L, "Петров");
+
+        assertThat(List.of(first.getNumber(), second.getNumber(), third.getNumber()), contains(1L, 2L, 3L));
+        assertThat(service.position(1L, 3).getAhead(), equalTo(2L));
+
+        assertThat(service.callNext(1L).map(WalkInTicketDto::getLabel), equalTo(Optional.of("Иванов")));
+        WalkInPositionDto called = service.position(1L, 1);
+        assertThat(called.isWaiting(), is(false));
+        assertThat(service.position(1L, 3).getAhead(), equalTo(1L));
+
+        WalkInQueueDto snapshot = service.snapshot(1L);
+        assertThat(snapshot.getLastIssued(), equalTo(3L));
+        assertThat(snapshot.getCalled(), equalTo(1L));
+        assertThat(snapshot.getWaiting().stream().map(WalkInTicketDto::getNumber).toList(), contains(2L, 3L));
+
+        service.callNext(1L);
+        service.callNext(1L);
+        assertThat(service.callNext(1L).isPresent(), is(false));
+        verify(officesRepository, times(1)).findActiveById(1L);
+    }
+
+    /**
+     * Unknown office and ticket test.
+     */
+    @Test
+    @DisplayName("Walk-in queue - Service - Unknown office and ticket")
+    public void unknownOfficeAndTicketTest() {
+        when(officesRepository.findActiveById(9L)).thenReturn(Optional.empty());
+        stubOffice(1L);
+
+        assertThrows(DataNotFoundException.class, () -> service.enqueue(9L, null));
+        assertThrows(DataNotFoundException.class, () -> service.position(1L, 1));
+    }
+
+    /**
+     * Concurrent kiosks test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @DisplayName("Walk-in queue - Service - Concurrent kiosks get unique numbers")
+    public void concurrentEnqueueTest() throws Exception {
+        stubOffice(1L);
+        service.enqueue(1L, null);
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 250; j++) {
+                        numbers.add(service.enqueue(1L, null).getNumber());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numbers, hasSize(2000));
+        assertThat(service.snapshot(1L).getWaiting(), hasSize(2001));
+        Set<Long> called = new HashSet<>();
+        for (int i = 0; i < 2001; i++) {
+            called.add(service.callNext(1L).orElseThrow().getNumber());
+        }
+        assertThat(called, hasSize(2001));
+        assertThat(service.callNext(1L).isPresent(), is(false));
+        assertThat(service.snapshot(1L).getCalled(), equalTo(2001L));
+    }
+
+    /**
+     * Checkpoint and restore test.
+     */
+    @Test
+    @DisplayName("Walk-in queue - Service - Checkpoint changed queues and restore")
+    @SuppressWarnings("unchecked")
+    public void checkpointAndRestoreTest() {
+        stubOffice(1L);
+        service.enqueue(1L, "Иванов");
+        service.enqueue(1L, "Петров");
+        service.callNext(1L);
+
+        assertThat(service.checkpoint(), equalTo(1));
+        assertThat(service.checkpoint(), equalTo(0));
+        ArgumentCaptor<List<WalkInQueueDto>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        assertThat(saved.getValue().get(0).getCalled(), equalTo(1L));
+
+        WalkInQueueService restored = new WalkInQueueService(officesRepository, checkpointRepository);
+        when(checkpointRepository.findAll()).thenReturn(List.of(new WalkInQueueDto(2L, 7L, 5L, List.of(
+                new WalkInTicketDto(2L, 6L, "А", LocalDateTime.now()),
+                new WalkInTicketDto(2L, 7L, "Б", LocalDateTime.now())))));
+        try {
+            restored.restore();
+
+            assertThat(restored.position(2L, 7).getAhead(), equalTo(1L));
+            assertThat(restored.enqueue(2L, null).getNumber(), equalTo(8L));
+            assertThat(restored.callNext(2L).map(WalkInTicketDto::getLabel), equalTo(Optional.of("А")));
+            verify(officesRepository, never()).findActiveById(2L);
+        } finally {
+            restored.shutdown();
+        }
+        verify(checkpointRepository, times(2)).saveAll(any());
+    }
+
+    /**
+     * Position when tickets are called out of order test.
+     */
+    @Test
+    @DisplayName("Walk-in queue - Service - Position with tickets called out of order")
+    public void positionOutOfOrderTest() {
+        WalkInQueueService restored = new WalkInQueueService(officesRepository, checkpointRepository);
+        when(checkpointRepository.findAll()).thenReturn(List.of(new WalkInQueueDto(2L, 3L, 0L, List.of(
+                new WalkInTicketDto(2L, 3L, "В", LocalDateTime.now()),
+                new WalkInTicketDto(2L, 1L, "А", LocalDateTime.now()),
+                new WalkInTicketDto(2L, 2L, "Б", LocalDateTime.now())))));
+        try {
+            restored.restore();
+
+            assertThat(restored.callNext(2L).map(WalkInTicketDto::getNumber), equalTo(Optional.of(3L)));
+            assertThat(restored.position(2L, 2).getAhead(), equalTo(1L));
+            assertThat(restored.position(2L, 1).getAhead(), equalTo(0L));
+        } finally {
+            restored.shutdown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.dariaob.service_tests;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dariaob.dto.doctors.DoctorWorkloadDto;
+import org.dariaob.events.AppointmentChangedEvent;
+import org.dariaob.repositories.AppointmentsRepository;
+import org.dariaob.services.WorkloadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Workload counter service test.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WorkloadCounterServiceTest {
+
+    @Mock
+    private AppointmentsRepository appointmentsRepository;
+
+    private SimpleMeterRegistry registry;
+
+    private WorkloadCounterService service;
+
+    /**
+     * Sets .
+     */
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        service = new WorkloadCounterService(appointmentsRepository, registry);
+    }
+
+    private static AppointmentChangedEvent event(AppointmentChangedEvent.Type type, Long doctorId, LocalDateTime from) {
+        return new AppointmentChangedEvent(type, 1L, doctorId, 2L, 3L, from, from.plusMinutes(30));
+    }
+
+    private double gauge(long doctorId, String period) {
+        Gauge gauge = registry.find(WorkloadCounterService.METRIC_NAME)
+                .tag("doctor", String.valueOf(doctorId))
+                .tag("period", period)
+                .gauge();
+        return gauge != null ? gauge.value() : -1;
+    }
+
+    /**
+     * Events test.
+     */
+    @Test
+    @DisplayName("Workload counters - Service - Booking, cancel and restore")
+    public void eventsTest() {
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 2L, now));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.DELETED, 2L, now));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.RESTORED, 2L, now));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now.minusWeeks(3)));
+
+        assertThat(service.today(1L), is(2L));
+        assertThat(service.thisWeek(1L), is(2L));
+        assertThat(service.today(2L), is(1L));
+        assertThat(gauge(1L, "today"), is(2.0));
+        assertThat(gauge(2L, "week"), is(1.0));
+        assertThat(service.getWorkload().stream().map(DoctorWorkloadDto::getDoctorId).toList(), contains(1L, 2L));
+        verifyNoInteractions(appointmentsRepository);
+    }
+
+    /**
+     * Reconcile test.
+     */
+    @Test
+    @DisplayName("Workload counters - Service - Reconcile with database")
+    public void reconcileTest() {
+        LocalDate today = LocalDate.now();
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, today.atTime(12, 0)));
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, today.atTime(13, 0)));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, today, 5L});
+        rows.add(new Object[]{3L, today, 1L});
+        when(appointmentsRepository.countActiveByDoctorAndDayBetween(any(), any())).thenReturn(rows);
+
+        service.reconcile();
+
+        assertThat(service.today(1L), is(5L));
+        assertThat(service.thisWeek(3L), is(1L));
+        assertThat(gauge(1L, "today"), is(5.0));
+        assertThat(gauge(3L, "week"), is(1.0));
+        verify(appointmentsRepository, times(1)).countActiveByDoctorAndDayBetween(any(), any());
+    }
+
+    /**
+     * Reconcile retried test.
+     */
+    @Test
+    @DisplayName("Workload counters - Service - Reconcile retried after concurrent update")
+    public void reconcileRetriedTest() {
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, now.toLocalDate(), 1L});
+        when(appointmentsRepository.countActiveByDoctorAndDayBetween(any(), any()))
+                .thenAnswer(invocation -> {
+                    service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now));
+                    return rows;
+                })
+                .thenReturn(rows);
+
+        service.reconcile();
+
+        assertThat(service.today(1L), is(1L));
+        verify(appointmentsRepository, times(2)).countActiveByDoctorAndDayBetween(any(), any());
+    }
+
+    /**
+     * Reconcile skipped test.
+     */
+    @Test
+    @DisplayName("Workload counters - Service - Reconcile keeps counters while events keep arriving")
+    public void reconcileSkippedTest() {
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+        service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, now.toLocalDate(), 1L});
+        when(appointmentsRepository.countActiveByDoctorAndDayBetween(any(), any()))
+                .thenAnswer(invocation -> {
+                    service.onAppointmentChanged(event(AppointmentChangedEvent.Type.CREATED, 1L, now));
+                    return rows;
+                });
+
+        service.reconcile();
+
+        assertThat(service.today(1L), is(4L));
+        verify(appointmentsRepository, times(3)).countActiveByDoctorAndDayBetween(any(), any());
+    }
+}
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS slot_holds (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    office_id BIGINT NOT NULL,
+    hold_from TIMESTAMP NOT NULL,
+    hold_to TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    appointment_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id),
+    FOREIGN KEY (office_id) REFERENCES offices(id),
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id),
+    CONSTRAINT slot_holds_time_order CHECK (hold_to > hold_from)
+);
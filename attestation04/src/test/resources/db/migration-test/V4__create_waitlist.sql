@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT,
+    specialization_id BIGINT,
+    urgency VARCHAR(16) NOT NULL,
+    earliest TIMESTAMP,
+    latest TIMESTAMP,
+    status VARCHAR(16) NOT NULL,
+    hold_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (patient_id) REFERENCES patients(id),
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id),
+    FOREIGN KEY (specialization_id) REFERENCES specializations(id),
+    FOREIGN KEY (hold_id) REFERENCES slot_holds(id)
+);
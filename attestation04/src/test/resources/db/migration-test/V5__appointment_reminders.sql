@@ -0,0 +1,4 @@
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS reminder_24h_sent_at TIMESTAMP;
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS reminder_2h_sent_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_appointments_from_active ON appointments(work_hours_from);
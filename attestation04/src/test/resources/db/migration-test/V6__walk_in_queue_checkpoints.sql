@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS walk_in_queue_checkpoints (
+    office_id BIGINT PRIMARY KEY,
+    last_issued BIGINT NOT NULL,
+    called BIGINT NOT NULL,
+    tickets TEXT NOT NULL,
+    checkpointed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (office_id) REFERENCES offices(id)
+);
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS schedule_exceptions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id BIGINT,
+    type VARCHAR(16) NOT NULL,
+    date_from DATE NOT NULL,
+    date_to DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    office_id BIGINT,
+    reason VARCHAR(255),
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (doctor_id) REFERENCES doctors(id),
+    FOREIGN KEY (office_id) REFERENCES offices(id)
+);